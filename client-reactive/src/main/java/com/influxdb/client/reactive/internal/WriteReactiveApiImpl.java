@@ -29,6 +29,7 @@ import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.WriteOptions;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.internal.AbstractWriteClient;
+import com.influxdb.client.internal.GzipInterceptor;
 import com.influxdb.client.reactive.WriteReactiveApi;
 import com.influxdb.client.service.WriteService;
 import com.influxdb.client.write.Point;
@@ -46,9 +47,10 @@ public class WriteReactiveApiImpl extends AbstractWriteClient implements WriteRe
 
     WriteReactiveApiImpl(@Nonnull final WriteOptions writeOptions,
                          @Nonnull final WriteService service,
-                         @Nonnull final InfluxDBClientOptions options) {
+                         @Nonnull final InfluxDBClientOptions options,
+                         @Nonnull final GzipInterceptor gzipInterceptor) {
 
-        super(writeOptions, options, writeOptions.getWriteScheduler(), service);
+        super(writeOptions, options, writeOptions.getWriteScheduler(), service, gzipInterceptor);
     }
 
     @Override
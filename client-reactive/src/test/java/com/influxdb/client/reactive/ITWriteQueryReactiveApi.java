@@ -123,7 +123,7 @@ class ITWriteQueryReactiveApi extends AbstractITInfluxDBClientTest {
 
         String bucketName = bucket.getName();
 
-        writeClient = influxDBClient.getWriteReactiveApi();
+        writeClient = influxDBClient.getWriteReactiveApi(WriteOptions.builder().retainEventPayload(true).build());
 
         String lineProtocol = "h2o_feet,location=coyote_creek level\\ water_level=1.0 1";
         Maybe<String> record = Maybe.just(lineProtocol);
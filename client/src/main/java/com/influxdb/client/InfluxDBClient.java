@@ -79,6 +79,31 @@ public interface InfluxDBClient extends AutoCloseable {
     @Nonnull
     WriteApi getWriteApi(@Nonnull final WriteOptions writeOptions);
 
+    /**
+     * Get the handle of the asynchronous non-blocking Write client shared by this client.
+     *
+     * @return the new handle of the shared Write API
+     * @see #getSharedWriteApi(WriteOptions)
+     */
+    @Nonnull
+    WriteApi getSharedWriteApi();
+
+    /**
+     * Get the handle of the asynchronous non-blocking Write client shared by this client.
+     * <p>
+     * All handles created for the same {@code writeOptions} instance write into one batching pipeline,
+     * so the data of the handles targeting the same bucket and organization are written in the same batches.
+     * The pipeline is closed when its last handle or this client is closed. The pipelines with the default
+     * {@link WriteOptions#getWriteScheduler()} run on the bounded pool of threads shared by the client.
+     * <p>
+     * The {@link WriteApi#flush()}, the events and the metrics of the handle are of the whole pipeline.
+     *
+     * @param writeOptions the writes configuration of the shared pipeline
+     * @return the new handle of the shared Write API
+     */
+    @Nonnull
+    WriteApi getSharedWriteApi(@Nonnull final WriteOptions writeOptions);
+
     /**
      * Get the synchronous blocking Write client.
      *
@@ -87,6 +112,16 @@ public interface InfluxDBClient extends AutoCloseable {
     @Nonnull
     WriteApiBlocking getWriteApiBlocking();
 
+    /**
+     * Get the synchronous blocking Write client.
+     *
+     * @param writeOptions the writes configuration, the {@link WriteOptions#getBatchSize()}
+     *                     and {@link WriteOptions#getMaxBatchBytes()} limit the size of the one write request
+     * @return the new client instance for the Write API
+     */
+    @Nonnull
+    WriteApiBlocking getWriteApiBlocking(@Nonnull final WriteOptions writeOptions);
+
     /**
      * Get the {@link Authorization} client.
      *
@@ -272,6 +307,8 @@ public interface InfluxDBClient extends AutoCloseable {
      * Enable Gzip compress for http requests.
      * <p>
      * Currently only the "Write" and "Query" endpoints supports the Gzip compression.
+     * The compression is applied by {@link InfluxDBClientOptions#getCompression()}
+     * or by the {@link com.influxdb.client.compression.DefaultCompressionPolicy#DEFAULTS}.
      *
      * @return the {@link InfluxDBClient} instance to be able to use it in a fluent manner.
      */
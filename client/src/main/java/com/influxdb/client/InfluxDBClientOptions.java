@@ -34,6 +34,7 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import com.influxdb.Arguments;
 import com.influxdb.LogLevel;
+import com.influxdb.client.compression.CompressionPolicy;
 import com.influxdb.client.write.PointSettings;
 import com.influxdb.exceptions.InfluxException;
 
@@ -53,6 +54,7 @@ public final class InfluxDBClientOptions {
     private final String url;
     private final OkHttpClient.Builder okHttpClient;
     private final LogLevel logLevel;
+    private final CompressionPolicy compression;
 
     private AuthScheme authScheme;
     private char[] token;
@@ -70,6 +72,7 @@ public final class InfluxDBClientOptions {
         this.url = builder.url;
         this.okHttpClient = builder.okHttpClient;
         this.logLevel = builder.logLevel;
+        this.compression = builder.compression;
         this.authScheme = builder.authScheme;
         this.token = builder.token;
         this.username = builder.username;
@@ -123,6 +126,15 @@ public final class InfluxDBClientOptions {
         return logLevel;
     }
 
+    /**
+     * @return the compression of the requests and responses, {@code null} if the compression is disabled
+     * @see InfluxDBClientOptions.Builder#compression(CompressionPolicy)
+     */
+    @Nullable
+    public CompressionPolicy getCompression() {
+        return compression;
+    }
+
     /**
      * @return the authorization scheme
      * @see InfluxDBClientOptions.Builder#authenticateToken(char[])
@@ -208,6 +220,7 @@ public final class InfluxDBClientOptions {
         private String url;
         private OkHttpClient.Builder okHttpClient;
         private LogLevel logLevel;
+        private CompressionPolicy compression;
 
         private AuthScheme authScheme;
         private char[] token;
@@ -266,6 +279,22 @@ public final class InfluxDBClientOptions {
             return this;
         }
 
+        /**
+         * Set the compression of the requests and responses by the type of the request.
+         * The compression could be later disabled by {@link InfluxDBClient#disableGzip()}.
+         *
+         * @param compression the compression policy, {@code null} to disable the compression
+         * @return {@code this}
+         * @see com.influxdb.client.compression.DefaultCompressionPolicy
+         */
+        @Nonnull
+        public InfluxDBClientOptions.Builder compression(@Nullable final CompressionPolicy compression) {
+
+            this.compression = compression;
+
+            return this;
+        }
+
         /**
          * Setup authorization by {@link AuthScheme#SESSION}.
          *
@@ -22,11 +22,17 @@
 package com.influxdb.client;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteDrainResult;
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
 import com.influxdb.client.write.events.AbstractWriteEvent;
 import com.influxdb.client.write.events.BackpressureEvent;
 import com.influxdb.client.write.events.EventListener;
@@ -40,6 +46,10 @@ import com.influxdb.client.write.events.WriteSuccessEvent;
  * <p>
  * The data are formatted in <a href="https://bit.ly/2QL99fu">Line Protocol</a>.
  * <p>
+ * If the write buffer is full and the {@link WriteOptions#getBackpressureStrategy()} is
+ * {@link io.reactivex.BackpressureOverflowStrategy#ERROR}, the write methods throw
+ * the {@link com.influxdb.exceptions.InfluxException}.
+ * <p>
  *
  * @author Jakub Bednar (bednar@github) (20/09/2018 10:58)
  */
@@ -148,6 +158,31 @@ public interface WriteApi extends AutoCloseable {
                      @Nonnull final String org,
                      @Nonnull final List<Point> points);
 
+    /**
+     * Write columnar batch of Data points into specified bucket.
+     *
+     * <p>
+     * The {@link InfluxDBClientOptions#getBucket()} will be use as destination bucket
+     * and {@link InfluxDBClientOptions#getOrg()} will be used as destination organization.
+     * </p>
+     *
+     * @param batch specifies the batch of Data points to write into bucket.
+     *              The {@code batch} is considered as one batch unit and must not be modified after write.
+     */
+    void writePointBatch(@Nonnull final PointBatch batch);
+
+    /**
+     * Write columnar batch of Data points into specified bucket.
+     *
+     * @param bucket specifies the destination bucket for writes
+     * @param org    specifies the destination organization for writes
+     * @param batch  specifies the batch of Data points to write into bucket.
+     *               The {@code batch} is considered as one batch unit and must not be modified after write.
+     */
+    void writePointBatch(@Nonnull final String bucket,
+                         @Nonnull final String org,
+                         @Nonnull final PointBatch batch);
+
     /**
      * Write Measurement into specified bucket.
      *
@@ -221,13 +256,89 @@ public interface WriteApi extends AutoCloseable {
     <T extends AbstractWriteEvent> ListenerRegistration listenEvents(@Nonnull final Class<T> eventType,
                                                                      @Nonnull final EventListener<T> listener);
 
+    /**
+     * Get the snapshot of the counters and the histograms of the writes: the enqueued, dropped, written
+     * and failed points, the size of the batches, the depth of the write buffer, the requests in flight,
+     * the latency of the requests, the retries by the status code and the serialization time.
+     *
+     * @return the snapshot of the write metrics
+     */
+    @Nonnull
+    WriteMetrics getMetrics();
+
+    /**
+     * Listen the measurements of the writes. The listener is the hook to export the metrics
+     * into the monitoring system, see {@link WriteMetricsListener}.
+     *
+     * @param listener the listener of the measurements
+     * @return lister for the measurements
+     */
+    @Nonnull
+    ListenerRegistration listenMetrics(@Nonnull final WriteMetricsListener listener);
+
     /**
      * Forces the client to flush all pending writes from the buffer toInfluxDB 2.0via HTTP.
      */
     void flush();
 
+    /**
+     * Forces the client to flush all pending writes and waits until the data points accepted before the call
+     * are written, failed or dropped.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the {@code timeout}
+     * @return the outcome of the flush with the number of the unflushed points if the timeout elapsed
+     */
+    @Nonnull
+    WriteDrainResult flush(final long timeout, @Nonnull final TimeUnit unit);
+
+    /**
+     * Forces the client to flush all pending writes. The future is completed when the data points accepted
+     * before the call are written, failed or dropped.
+     *
+     * @return the future of the outcome of the flush
+     */
+    @Nonnull
+    CompletableFuture<WriteDrainResult> flushAsync();
+
+    /**
+     * Get the current number of data points collected in batch. The value is adapted to the latency of InfluxDB
+     * when the {@link WriteOptions.Builder#adaptiveBatching(boolean)} is enabled.
+     *
+     * @return the number of data points collected in batch
+     */
+    int getEffectiveBatchSize();
+
+    /**
+     * Get the current time to wait at most before the batch is written (milliseconds). The value is adapted
+     * to the latency of InfluxDB when the {@link WriteOptions.Builder#adaptiveBatching(boolean)} is enabled.
+     *
+     * @return the time to wait at most (milliseconds)
+     */
+    int getEffectiveFlushInterval();
+
     /**
      * Close threads for asynchronous batch writing.
      */
     void close();
+
+    /**
+     * Close threads for asynchronous batch writing and waits until all accepted data points are written,
+     * failed or dropped. The points not flushed before the timeout are still written in the background.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the {@code timeout}
+     * @return the outcome of the close with the number of the unflushed points if the timeout elapsed
+     */
+    @Nonnull
+    WriteDrainResult close(final long timeout, @Nonnull final TimeUnit unit);
+
+    /**
+     * Close threads for asynchronous batch writing. The future is completed when all accepted data points
+     * are written, failed or dropped.
+     *
+     * @return the future of the outcome of the close
+     */
+    @Nonnull
+    CompletableFuture<WriteDrainResult> closeAsync();
 }
\ No newline at end of file
@@ -21,12 +21,17 @@
  */
 package com.influxdb.client;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.PartialWriteException;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteResult;
 import com.influxdb.exceptions.InfluxException;
 
 
@@ -35,6 +40,16 @@ import com.influxdb.exceptions.InfluxException;
  * <p>
  * The data are formatted in <a href="https://bit.ly/2QL99fu">Line Protocol</a>.
  * <p>
+ * The lists of the records, data points and measurements are written by the chunks configured
+ * by {@link WriteOptions#getBatchSize()} and {@link WriteOptions#getMaxBatchBytes()},
+ * see {@link InfluxDBClient#getWriteApiBlocking(WriteOptions)}. The not written chunk stops the write and its error
+ * is thrown. If the previous chunks are already written the error is reported by {@link PartialWriteException}
+ * with the outcome of the written chunks. The {@code ...WithResult} methods don't stop by the not written chunk
+ * and report the outcome of every chunk by {@link WriteResult}.
+ * <p>
+ * The {@link Iterator}, {@link Iterable} and {@link Stream} of the data are encoded lazily into the chunked
+ * transfer of the request, so the written data doesn't have to fit into memory.
+ * <p>
  *
  * @author Jakub Bednar (bednar@github) (20/09/2018 10:58)
  */
@@ -92,14 +107,17 @@ public interface WriteApiBlocking {
      * </p>
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The records are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writeRecords(WritePrecision, List)}.
      * </p>
      *
      * @param precision specifies the precision for the unix timestamps within the body line-protocol (optional)
      * @param records   specifies the records in InfluxDB Line Protocol
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     void writeRecords(@Nonnull final WritePrecision precision,
                       @Nonnull final List<String> records) throws InfluxException;
@@ -108,7 +126,9 @@ public interface WriteApiBlocking {
      * Write Line Protocol records into specified bucket.
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The records are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writeRecords(String, String, WritePrecision, List)}.
      * </p>
@@ -117,7 +137,8 @@ public interface WriteApiBlocking {
      * @param org       specifies the destination organization for writes
      * @param precision specifies the precision for the unix timestamps within the body line-protocol (optional)
      * @param records   specifies the records in InfluxDB Line Protocol
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     void writeRecords(@Nonnull final String bucket,
                       @Nonnull final String org,
@@ -170,13 +191,16 @@ public interface WriteApiBlocking {
      * </p>
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The points are grouped by precision and written by the chunks of {@link WriteOptions#getBatchSize()} points
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writePoints(List)}.
      * </p>
      *
      * @param points specifies the Data points to write into bucket
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     void writePoints(@Nonnull final List<Point> points) throws InfluxException;
 
@@ -185,7 +209,9 @@ public interface WriteApiBlocking {
      * Write Data points into specified bucket.
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The points are grouped by precision and written by the chunks of {@link WriteOptions#getBatchSize()} points
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writePoints(String, String, List)}.
      * </p>
@@ -193,12 +219,50 @@ public interface WriteApiBlocking {
      * @param bucket specifies the destination bucket ID for writes
      * @param org    specifies the destination organization ID for writes
      * @param points specifies the Data points to write into bucket
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     void writePoints(@Nonnull final String bucket,
                      @Nonnull final String org,
                      @Nonnull final List<Point> points) throws InfluxException;
 
+    /**
+     * Write columnar batch of Data points into specified bucket.
+     *
+     * <p>
+     * The {@link InfluxDBClientOptions#getBucket()} will be use as destination bucket
+     * and {@link InfluxDBClientOptions#getOrg()} will be used as destination organization.
+     * </p>
+     *
+     * <p>
+     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * The method blocks the executing thread until their operation finished.
+     * There is also non-blocking alternative {@link WriteApi#writePointBatch(PointBatch)}.
+     * </p>
+     *
+     * @param batch specifies the batch of Data points to write into bucket
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     */
+    void writePointBatch(@Nonnull final PointBatch batch) throws InfluxException;
+
+    /**
+     * Write columnar batch of Data points into specified bucket.
+     *
+     * <p>
+     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * The method blocks the executing thread until their operation finished.
+     * There is also non-blocking alternative {@link WriteApi#writePointBatch(String, String, PointBatch)}.
+     * </p>
+     *
+     * @param bucket specifies the destination bucket ID for writes
+     * @param org    specifies the destination organization ID for writes
+     * @param batch  specifies the batch of Data points to write into bucket
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     */
+    void writePointBatch(@Nonnull final String bucket,
+                         @Nonnull final String org,
+                         @Nonnull final PointBatch batch) throws InfluxException;
+
     /**
      * Write Measurement into specified bucket.
      *
@@ -251,7 +315,9 @@ public interface WriteApiBlocking {
      * </p>
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The measurements are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writeMeasurements(WritePrecision, List)}.
      * </p>
@@ -259,7 +325,8 @@ public interface WriteApiBlocking {
      * @param precision    specifies the precision for the unix timestamps within the body line-protocol (optional)
      * @param <M>          measurement type
      * @param measurements specifies the Measurements to write into bucket
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     <M> void writeMeasurements(@Nonnull final WritePrecision precision,
                                @Nonnull final List<M> measurements) throws InfluxException;
@@ -268,7 +335,9 @@ public interface WriteApiBlocking {
      * Write Measurements into specified bucket.
      *
      * <p>
-     * NOTE: This method directly write data info InfluxDB 2.0 without batching, jittering and backpressure.
+     * NOTE: This method directly write data info InfluxDB 2.0 without jittering and backpressure.
+     * The measurements are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes. The not written chunk stops the write.
      * The method blocks the executing thread until their operation finished.
      * There is also non-blocking alternative {@link WriteApi#writeMeasurements(String, String, WritePrecision, List)}.
      * </p>
@@ -278,10 +347,368 @@ public interface WriteApiBlocking {
      * @param precision    specifies the precision for the unix timestamps within the body line-protocol (optional)
      * @param <M>          measurement type
      * @param measurements specifies the Measurements to write into bucket
-     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB
+     * @throws InfluxException if a problem occurred during write time-series data into InfluxDB,
+     *                         {@link PartialWriteException} if the previous chunks are already written
      */
     <M> void writeMeasurements(@Nonnull final String bucket,
                                @Nonnull final String org,
                                @Nonnull final WritePrecision precision,
                                @Nonnull final List<M> measurements) throws InfluxException;
-}
\ No newline at end of file
+
+    /**
+     * Write Line Protocol records into specified bucket.
+     *
+     * <p>
+     * The {@link InfluxDBClientOptions#getBucket()} will be use as destination bucket
+     * and {@link InfluxDBClientOptions#getOrg()} will be used as destination organization.
+     * </p>
+     *
+     * <p>
+     * NOTE: The records are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writeRecords(WritePrecision, List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param precision specifies the precision for the unix timestamps within the body line-protocol
+     * @param records   specifies the records in InfluxDB Line Protocol
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writeRecordsWithResult(@Nonnull final WritePrecision precision,
+                                       @Nonnull final List<String> records);
+
+    /**
+     * Write Line Protocol records into specified bucket.
+     *
+     * <p>
+     * NOTE: The records are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writeRecords(String, String, WritePrecision, List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket    specifies the destination bucket for writes
+     * @param org       specifies the destination organization for writes
+     * @param precision specifies the precision for the unix timestamps within the body line-protocol
+     * @param records   specifies the records in InfluxDB Line Protocol
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writeRecordsWithResult(@Nonnull final String bucket,
+                                       @Nonnull final String org,
+                                       @Nonnull final WritePrecision precision,
+                                       @Nonnull final List<String> records);
+
+    /**
+     * Write Data points into specified bucket.
+     *
+     * <p>
+     * The {@link InfluxDBClientOptions#getBucket()} will be use as destination bucket
+     * and {@link InfluxDBClientOptions#getOrg()} will be used as destination organization.
+     * </p>
+     *
+     * <p>
+     * NOTE: The points are grouped by precision and written by the chunks
+     * of {@link WriteOptions#getBatchSize()} points
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writePoints(List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param points specifies the Data points to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writePointsWithResult(@Nonnull final List<Point> points);
+
+    /**
+     * Write Data points into specified bucket.
+     *
+     * <p>
+     * NOTE: The points are grouped by precision and written by the chunks
+     * of {@link WriteOptions#getBatchSize()} points
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writePoints(String, String, List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket specifies the destination bucket for writes
+     * @param org    specifies the destination organization for writes
+     * @param points specifies the Data points to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writePointsWithResult(@Nonnull final String bucket,
+                                      @Nonnull final String org,
+                                      @Nonnull final List<Point> points);
+
+    /**
+     * Write Measurements into specified bucket.
+     *
+     * <p>
+     * The {@link InfluxDBClientOptions#getBucket()} will be use as destination bucket
+     * and {@link InfluxDBClientOptions#getOrg()} will be used as destination organization.
+     * </p>
+     *
+     * <p>
+     * NOTE: The measurements are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writeMeasurements(WritePrecision, List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param <M>          measurement type
+     * @param measurements specifies the Measurements to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    <M> WriteResult writeMeasurementsWithResult(@Nonnull final WritePrecision precision,
+                                                @Nonnull final List<M> measurements);
+
+    /**
+     * Write Measurements into specified bucket.
+     *
+     * <p>
+     * NOTE: The measurements are written by the chunks of {@link WriteOptions#getBatchSize()} records
+     * or {@link WriteOptions#getMaxBatchBytes()} bytes,
+     * the same as by {@link #writeMeasurements(String, String, WritePrecision, List)}.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param <M>          measurement type
+     * @param measurements specifies the Measurements to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    <M> WriteResult writeMeasurementsWithResult(@Nonnull final String bucket,
+                                                @Nonnull final String org,
+                                                @Nonnull final WritePrecision precision,
+                                                @Nonnull final List<M> measurements);
+
+    /**
+     * Write Line Protocol records into specified bucket.
+     *
+     * <p>
+     * NOTE: The records are pulled from the {@code records} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param records      specifies the records in InfluxDB Line Protocol
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writeRecords(@Nonnull final String bucket,
+                             @Nonnull final String org,
+                             @Nonnull final WritePrecision precision,
+                             @Nonnull final Iterator<String> records);
+
+    /**
+     * Write Line Protocol records into specified bucket.
+     *
+     * <p>
+     * NOTE: The records are pulled from the {@code records} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param records      specifies the records in InfluxDB Line Protocol
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writeRecords(@Nonnull final String bucket,
+                             @Nonnull final String org,
+                             @Nonnull final WritePrecision precision,
+                             @Nonnull final Iterable<String> records);
+
+    /**
+     * Write Line Protocol records into specified bucket.
+     *
+     * <p>
+     * NOTE: The records are pulled from the {@code records} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param records      specifies the records in InfluxDB Line Protocol
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writeRecords(@Nonnull final String bucket,
+                             @Nonnull final String org,
+                             @Nonnull final WritePrecision precision,
+                             @Nonnull final Stream<String> records);
+
+    /**
+     * Write Data points into specified bucket.
+     *
+     * <p>
+     * NOTE: The points are pulled from the {@code points} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The request contains only the points with the same precision.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param points       specifies the Data points to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writePoints(@Nonnull final String bucket,
+                            @Nonnull final String org,
+                            @Nonnull final Iterator<Point> points);
+
+    /**
+     * Write Data points into specified bucket.
+     *
+     * <p>
+     * NOTE: The points are pulled from the {@code points} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The request contains only the points with the same precision.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param points       specifies the Data points to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writePoints(@Nonnull final String bucket,
+                            @Nonnull final String org,
+                            @Nonnull final Iterable<Point> points);
+
+    /**
+     * Write Data points into specified bucket.
+     *
+     * <p>
+     * NOTE: The points are pulled from the {@code points} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The request contains only the points with the same precision.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param points       specifies the Data points to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    WriteResult writePoints(@Nonnull final String bucket,
+                            @Nonnull final String org,
+                            @Nonnull final Stream<Point> points);
+
+    /**
+     * Write Measurements into specified bucket.
+     *
+     * <p>
+     * NOTE: The measurements are pulled from the {@code measurements} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param <M>          measurement type
+     * @param measurements specifies the Measurements to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                      @Nonnull final String org,
+                                      @Nonnull final WritePrecision precision,
+                                      @Nonnull final Iterator<M> measurements);
+
+    /**
+     * Write Measurements into specified bucket.
+     *
+     * <p>
+     * NOTE: The measurements are pulled from the {@code measurements} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param <M>          measurement type
+     * @param measurements specifies the Measurements to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                      @Nonnull final String org,
+                                      @Nonnull final WritePrecision precision,
+                                      @Nonnull final Iterable<M> measurements);
+
+    /**
+     * Write Measurements into specified bucket.
+     *
+     * <p>
+     * NOTE: The measurements are pulled from the {@code measurements} and encoded directly into the request body,
+     * so only the small part of the data is held in memory. The request ends after
+     * {@link WriteOptions#getBatchSize()} records or {@link WriteOptions#getMaxBatchBytes()} bytes
+     * and the next data are written by the next request.
+     * The not written chunk doesn't stop the writing of the next chunks and it is reported by the result.
+     * The method blocks the executing thread until their operation finished.
+     * </p>
+     *
+     * @param bucket       specifies the destination bucket for writes
+     * @param org          specifies the destination organization for writes
+     * @param precision    specifies the precision for the unix timestamps within the body line-protocol
+     * @param <M>          measurement type
+     * @param measurements specifies the Measurements to write into bucket
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                      @Nonnull final String org,
+                                      @Nonnull final WritePrecision precision,
+                                      @Nonnull final Stream<M> measurements);
+}
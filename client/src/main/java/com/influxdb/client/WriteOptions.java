@@ -22,10 +22,12 @@
 package com.influxdb.client;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 
 import com.influxdb.Arguments;
+import com.influxdb.client.write.WriteRetryPolicy;
 
 import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.Scheduler;
@@ -38,10 +40,34 @@ import io.reactivex.schedulers.Schedulers;
  * The default setting use the batching configured to (consistent with Telegraf):
  * <ul>
  * <li>batchSize = 1000</li>
+ * <li>maxBatchBytes = 0 - the size of batch is not limited</li>
  * <li>flushInterval = 1000 ms</li>
  * <li>retryInterval = 1000 ms</li>
+ * <li>maxRetries = {@link Integer#MAX_VALUE} - unlimited</li>
+ * <li>maxRetryDelay = 125_000 ms</li>
+ * <li>exponentialBase = 2</li>
+ * <li>maxRetryTime = 0 - unlimited</li>
+ * <li>retryBudget = 0 - the retries are not limited by the traffic</li>
+ * <li>retryPolicy = null - the {@link com.influxdb.client.write.DefaultWriteRetryPolicy}</li>
  * <li>jitterInterval = 0</li>
  * <li>bufferLimit = 10_000</li>
+ * <li>bufferLimitBytes = 0 - unlimited</li>
+ * <li>backpressureTimeout = 0 - the producer is not blocked</li>
+ * <li>maxConcurrentRequests = 1</li>
+ * <li>preserveWriteOrder = false</li>
+ * <li>coalesce = false</li>
+ * <li>serializeOnWrite = false</li>
+ * <li>retainEventPayload = false</li>
+ * <li>compressionThreads = 0 - the batches are compressed by the request</li>
+ * <li>spoolDirectory = null - the batches are not spooled to the disk</li>
+ * <li>spoolMaxSize = 1 GiB</li>
+ * <li>spoolMaxAge = 0 - unlimited</li>
+ * <li>spoolSync = false - the spooled batches are not forced to the storage device</li>
+ * <li>adaptiveBatching = false</li>
+ * <li>minBatchSize = 1</li>
+ * <li>maxBatchSize = 0 - 10 times the batchSize</li>
+ * <li>maxFlushInterval = 0 - 10 times the flushInterval</li>
+ * <li>targetLatency = 1000 ms</li>
  * </ul>
  * <p>
  * The default backpressure strategy is {@link BackpressureOverflowStrategy#DROP_OLDEST}.
@@ -56,7 +82,15 @@ public final class WriteOptions {
     private static final int DEFAULT_FLUSH_INTERVAL = 1000;
     private static final int DEFAULT_JITTER_INTERVAL = 0;
     private static final int DEFAULT_RETRY_INTERVAL = 1000;
+    private static final int DEFAULT_MAX_RETRIES = Integer.MAX_VALUE;
+    private static final int DEFAULT_MAX_RETRY_DELAY = 125_000;
+    private static final int DEFAULT_EXPONENTIAL_BASE = 2;
+    private static final int DEFAULT_MAX_RETRY_TIME = 0;
     private static final int DEFAULT_BUFFER_LIMIT = 10000;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1;
+    private static final long DEFAULT_SPOOL_MAX_SIZE = 1024L * 1024 * 1024;
+    private static final int DEFAULT_TARGET_LATENCY = 1000;
+    private static final int DEFAULT_ADAPTIVE_RANGE = 10;
 
     /**
      * Default configuration with values that are consistent with Telegraf.
@@ -64,12 +98,36 @@ public final class WriteOptions {
     public static final WriteOptions DEFAULTS = WriteOptions.builder().build();
 
     private final int batchSize;
+    private final long maxBatchBytes;
     private final int flushInterval;
     private final int jitterInterval;
     private final int retryInterval;
+    private final int maxRetries;
+    private final int maxRetryDelay;
+    private final int exponentialBase;
+    private final int maxRetryTime;
+    private final double retryBudget;
+    private final WriteRetryPolicy retryPolicy;
     private final int bufferLimit;
+    private final long bufferLimitBytes;
+    private final int backpressureTimeout;
     private final Scheduler writeScheduler;
     private final BackpressureOverflowStrategy backpressureStrategy;
+    private final int maxConcurrentRequests;
+    private final boolean preserveWriteOrder;
+    private final boolean coalesce;
+    private final boolean serializeOnWrite;
+    private final boolean retainEventPayload;
+    private final int compressionThreads;
+    private final String spoolDirectory;
+    private final long spoolMaxSize;
+    private final long spoolMaxAge;
+    private final boolean spoolSync;
+    private final boolean adaptiveBatching;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int maxFlushInterval;
+    private final int targetLatency;
 
     /**
      * @return the number of data point to collect in batch
@@ -79,6 +137,14 @@ public final class WriteOptions {
         return batchSize;
     }
 
+    /**
+     * @return the size of the encoded batch that closes the batch (bytes), {@code 0} for unlimited
+     * @see WriteOptions.Builder#maxBatchBytes(long)
+     */
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
     /**
      * @return the time to wait at most (milliseconds)
      * @see WriteOptions.Builder#flushInterval(int) (int)
@@ -108,6 +174,56 @@ public final class WriteOptions {
         return retryInterval;
     }
 
+    /**
+     * @return the number of max retries when write fails, {@code 0} disables the retries
+     * @see WriteOptions.Builder#maxRetries(int)
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @return the maximum delay between each retry attempt (milliseconds)
+     * @see WriteOptions.Builder#maxRetryDelay(int)
+     */
+    public int getMaxRetryDelay() {
+        return maxRetryDelay;
+    }
+
+    /**
+     * @return the base for the exponential retry delay
+     * @see WriteOptions.Builder#exponentialBase(int)
+     */
+    public int getExponentialBase() {
+        return exponentialBase;
+    }
+
+    /**
+     * @return the maximum total retry time of the batch (milliseconds), {@code 0} for unlimited
+     * @see WriteOptions.Builder#maxRetryTime(int)
+     */
+    public int getMaxRetryTime() {
+        return maxRetryTime;
+    }
+
+    /**
+     * @return the ratio of the retries to the written batches, {@code 0} for unlimited
+     * @see WriteOptions.Builder#retryBudget(double)
+     */
+    public double getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * @return the policy which decides whether and when the failed write is retried, {@code null} for
+     * the {@link com.influxdb.client.write.DefaultWriteRetryPolicy}
+     * @see WriteOptions.Builder#retryPolicy(WriteRetryPolicy)
+     */
+    @Nullable
+    public WriteRetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
     /**
      * @return Maximum number of points stored in the retry buffer.
      * @see WriteOptions.Builder#bufferLimit(int)
@@ -116,6 +232,22 @@ public final class WriteOptions {
         return bufferLimit;
     }
 
+    /**
+     * @return Maximum size of the encoded batches stored in the retry buffer (bytes), {@code 0} for unlimited.
+     * @see WriteOptions.Builder#bufferLimitBytes(long)
+     */
+    public long getBufferLimitBytes() {
+        return bufferLimitBytes;
+    }
+
+    /**
+     * @return the time to block the producer when the buffer is full (milliseconds)
+     * @see WriteOptions.Builder#backpressureTimeout(int)
+     */
+    public int getBackpressureTimeout() {
+        return backpressureTimeout;
+    }
+
     /**
      * @return The scheduler which is used for write data points.
      * @see WriteOptions.Builder#writeScheduler(Scheduler)
@@ -126,7 +258,7 @@ public final class WriteOptions {
     }
 
     /**
-     * @return the strategy to deal with buffer overflow when using onBackpressureBuffer
+     * @return the strategy to deal with buffer overflow
      * @see WriteOptions.Builder#backpressureStrategy(BackpressureOverflowStrategy)
      */
     @Nonnull
@@ -134,17 +266,166 @@ public final class WriteOptions {
         return backpressureStrategy;
     }
 
+    /**
+     * @return the maximum number of the write requests in flight
+     * @see WriteOptions.Builder#maxConcurrentRequests(int)
+     */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * @return {@code true} if the batches for the same bucket, organization and precision are written in order
+     * @see WriteOptions.Builder#preserveWriteOrder(boolean)
+     */
+    public boolean isPreserveWriteOrder() {
+        return preserveWriteOrder;
+    }
+
+    /**
+     * @return {@code true} if the data points with the same series and timestamp are merged within the batch
+     * @see WriteOptions.Builder#coalesce(boolean)
+     */
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * @return {@code true} if the data are serialized into the Line Protocol by the thread which writes them
+     * @see WriteOptions.Builder#serializeOnWrite(boolean)
+     */
+    public boolean isSerializeOnWrite() {
+        return serializeOnWrite;
+    }
+
+    /**
+     * @return {@code true} if the {@link com.influxdb.client.write.events.WriteSuccessEvent} carries
+     * the written Line Protocol
+     * @see WriteOptions.Builder#retainEventPayload(boolean)
+     */
+    public boolean isRetainEventPayload() {
+        return retainEventPayload;
+    }
+
+    /**
+     * @return the number of the threads which compress the batches before they are sent,
+     * {@code 0} if the batches are compressed by the request
+     * @see WriteOptions.Builder#compressionThreads(int)
+     */
+    public int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    /**
+     * @return the directory of the write-ahead spool, {@code null} if the batches are not spooled
+     * @see WriteOptions.Builder#spoolDirectory(String)
+     */
+    @Nullable
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    /**
+     * @return the maximum size of the spooled batches (bytes)
+     * @see WriteOptions.Builder#spoolMaxSize(long)
+     */
+    public long getSpoolMaxSize() {
+        return spoolMaxSize;
+    }
+
+    /**
+     * @return the maximum age of the spooled batches (milliseconds), {@code 0} for unlimited
+     * @see WriteOptions.Builder#spoolMaxAge(long)
+     */
+    public long getSpoolMaxAge() {
+        return spoolMaxAge;
+    }
+
+    /**
+     * @return {@code true} if every spooled batch is forced to the storage device
+     * @see WriteOptions.Builder#spoolSync(boolean)
+     */
+    public boolean isSpoolSync() {
+        return spoolSync;
+    }
+
+    /**
+     * @return {@code true} if the batch size and the flush interval are adapted to the latency of InfluxDB
+     * @see WriteOptions.Builder#adaptiveBatching(boolean)
+     */
+    public boolean isAdaptiveBatching() {
+        return adaptiveBatching;
+    }
+
+    /**
+     * @return the minimal number of data points to collect in batch by the adaptive batching
+     * @see WriteOptions.Builder#minBatchSize(int)
+     */
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    /**
+     * @return the maximal number of data points to collect in batch by the adaptive batching
+     * @see WriteOptions.Builder#maxBatchSize(int)
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @return the maximal time to wait by the adaptive batching (milliseconds)
+     * @see WriteOptions.Builder#maxFlushInterval(int)
+     */
+    public int getMaxFlushInterval() {
+        return maxFlushInterval;
+    }
+
+    /**
+     * @return the latency of the write requests that the adaptive batching keeps under (milliseconds)
+     * @see WriteOptions.Builder#targetLatency(int)
+     */
+    public int getTargetLatency() {
+        return targetLatency;
+    }
+
     private WriteOptions(@Nonnull final Builder builder) {
 
         Arguments.checkNotNull(builder, "WriteOptions.Builder");
 
         batchSize = builder.batchSize;
+        maxBatchBytes = builder.maxBatchBytes;
         flushInterval = builder.flushInterval;
         jitterInterval = builder.jitterInterval;
         retryInterval = builder.retryInterval;
+        maxRetries = builder.maxRetries;
+        maxRetryDelay = builder.maxRetryDelay;
+        exponentialBase = builder.exponentialBase;
+        maxRetryTime = builder.maxRetryTime;
+        retryBudget = builder.retryBudget;
+        retryPolicy = builder.retryPolicy;
         bufferLimit = builder.bufferLimit;
+        bufferLimitBytes = builder.bufferLimitBytes;
+        backpressureTimeout = builder.backpressureTimeout;
         writeScheduler = builder.writeScheduler;
         backpressureStrategy = builder.backpressureStrategy;
+        maxConcurrentRequests = builder.maxConcurrentRequests;
+        preserveWriteOrder = builder.preserveWriteOrder;
+        coalesce = builder.coalesce;
+        serializeOnWrite = builder.serializeOnWrite;
+        retainEventPayload = builder.retainEventPayload;
+        compressionThreads = builder.compressionThreads;
+        spoolDirectory = builder.spoolDirectory;
+        spoolMaxSize = builder.spoolMaxSize;
+        spoolMaxAge = builder.spoolMaxAge;
+        spoolSync = builder.spoolSync;
+        adaptiveBatching = builder.adaptiveBatching;
+        minBatchSize = Math.min(builder.minBatchSize, batchSize);
+        maxBatchSize = builder.maxBatchSize > 0
+                ? Math.max(builder.maxBatchSize, batchSize) : DEFAULT_ADAPTIVE_RANGE * batchSize;
+        maxFlushInterval = builder.maxFlushInterval > 0
+                ? Math.max(builder.maxFlushInterval, flushInterval) : DEFAULT_ADAPTIVE_RANGE * flushInterval;
+        targetLatency = builder.targetLatency;
     }
 
     /**
@@ -164,12 +445,36 @@ public final class WriteOptions {
     public static class Builder {
 
         private int batchSize = DEFAULT_BATCH_SIZE;
+        private long maxBatchBytes = 0;
         private int flushInterval = DEFAULT_FLUSH_INTERVAL;
         private int jitterInterval = DEFAULT_JITTER_INTERVAL;
         private int retryInterval = DEFAULT_RETRY_INTERVAL;
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+        private int maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+        private int exponentialBase = DEFAULT_EXPONENTIAL_BASE;
+        private int maxRetryTime = DEFAULT_MAX_RETRY_TIME;
+        private double retryBudget = 0;
+        private WriteRetryPolicy retryPolicy;
         private int bufferLimit = DEFAULT_BUFFER_LIMIT;
+        private long bufferLimitBytes = 0;
+        private int backpressureTimeout = 0;
         private Scheduler writeScheduler = Schedulers.newThread();
         private BackpressureOverflowStrategy backpressureStrategy = BackpressureOverflowStrategy.DROP_OLDEST;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        private boolean preserveWriteOrder = false;
+        private boolean coalesce = false;
+        private boolean serializeOnWrite = false;
+        private boolean retainEventPayload = false;
+        private int compressionThreads = 0;
+        private String spoolDirectory;
+        private long spoolMaxSize = DEFAULT_SPOOL_MAX_SIZE;
+        private long spoolMaxAge = 0;
+        private boolean spoolSync = false;
+        private boolean adaptiveBatching = false;
+        private int minBatchSize = 1;
+        private int maxBatchSize = 0;
+        private int maxFlushInterval = 0;
+        private int targetLatency = DEFAULT_TARGET_LATENCY;
 
         /**
          * Set the number of data point to collect in batch.
@@ -184,6 +489,24 @@ public final class WriteOptions {
             return this;
         }
 
+        /**
+         * Set the size of the encoded batch which closes the batch (bytes). The batch is written when it contains
+         * {@link #batchSize(int)} data points or when its Line Protocol reaches the {@code maxBatchBytes}.
+         * <br><br>
+         * Independently on this option the batch rejected by InfluxDB as too large (HTTP 413) is split
+         * into halves which are written separately.
+         *
+         * @param maxBatchBytes the size of the encoded batch which closes the batch (bytes).
+         *                      Default 0 - the size is not limited.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxBatchBytes(final long maxBatchBytes) {
+            Arguments.checkNotNegativeNumber(maxBatchBytes, "maxBatchBytes");
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
         /**
          * Set the time to wait at most (milliseconds).
          *
@@ -213,9 +536,10 @@ public final class WriteOptions {
         }
 
         /**
-         * Set the the time to wait before retry unsuccessful write (milliseconds).
+         * Set the the time to wait before the first retry of unsuccessful write (milliseconds).
          * <br><br>
          * The retry interval is used when the InfluxDB server does not specify "Retry-After" header.
+         * The next retries are delayed exponentially - see {@link #exponentialBase(int)}.
          * <br>
          * Retry-After: A non-negative decimal integer indicating the seconds to delay after the response is received.
          *
@@ -229,10 +553,102 @@ public final class WriteOptions {
             return this;
         }
 
+        /**
+         * Set the number of max retries when write fails.
+         *
+         * @param maxRetries number of max retries when write fails, {@code 0} disables the retries.
+         *                   Default {@link Integer#MAX_VALUE} - unlimited.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxRetries(final int maxRetries) {
+            Arguments.checkNotNegativeNumber(maxRetries, "maxRetries");
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Set the maximum delay between each retry attempt (milliseconds).
+         *
+         * @param maxRetryDelay maximum delay between each retry attempt (milliseconds). Default 125_000 ms.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxRetryDelay(final int maxRetryDelay) {
+            Arguments.checkPositiveNumber(maxRetryDelay, "maxRetryDelay");
+            this.maxRetryDelay = maxRetryDelay;
+            return this;
+        }
+
+        /**
+         * Set the base for the exponential retry delay. The next delay is computed as:
+         * {@code retryInterval * exponentialBase^(attempts - 1)}.
+         * <br><br>
+         * Example for {@code retryInterval = 1_000, exponentialBase = 2, maxRetryDelay = 125_000}:
+         * 1s, 2s, 4s, 8s, 16s, 32s, 64s, 125s, 125s, ...
+         *
+         * @param exponentialBase the base for the exponential retry delay. Default 2.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder exponentialBase(final int exponentialBase) {
+            Arguments.checkPositiveNumber(exponentialBase, "exponentialBase");
+            this.exponentialBase = exponentialBase;
+            return this;
+        }
+
+        /**
+         * Set the maximum total retry time of the batch (milliseconds). The batch is not retried
+         * if the next attempt would start after this time measured from the first attempt.
+         *
+         * @param maxRetryTime the maximum total retry time (milliseconds), 0 for unlimited. Default 0.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxRetryTime(final int maxRetryTime) {
+            Arguments.checkNotNegativeNumber(maxRetryTime, "maxRetryTime");
+            this.maxRetryTime = maxRetryTime;
+            return this;
+        }
+
+        /**
+         * Set the ratio of the retries to the written batches. For example {@code 0.1} allows one retry for every
+         * ten written batches in addition to the small reserve, so the outage of InfluxDB is not amplified
+         * by the retries of all batches.
+         *
+         * @param retryBudget the ratio of the retries to the written batches. Default 0 - unlimited.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder retryBudget(final double retryBudget) {
+            Arguments.checkNotNegativeNumber(retryBudget, "retryBudget");
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        /**
+         * Set the policy which decides whether and when the failed write is retried. The policy replaces
+         * the {@link com.influxdb.client.write.DefaultWriteRetryPolicy} configured by {@link #retryInterval(int)},
+         * {@link #maxRetries(int)}, {@link #maxRetryDelay(int)}, {@link #exponentialBase(int)},
+         * {@link #maxRetryTime(int)} and {@link #retryBudget(double)}.
+         *
+         * @param retryPolicy the retry policy. Default {@code null} - the default policy.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder retryPolicy(@Nullable final WriteRetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         /**
          * The client maintains a buffer for failed writes so that the writes will be retried later on. This may
          * help to overcome temporary network problems or InfluxDB load spikes.
-         * When the buffer is full and new points are written, oldest entries in the buffer are lost.
+         * When the buffer is full and new points are written, the {@link #backpressureStrategy} is applied.
+         * <br><br>
+         * The point is stored in the buffer from the write call until its batch is written into InfluxDB.
+         * The buffer holds at least one batch, so the limit smaller than the {@link #batchSize(int)}
+         * ({@link #maxBatchSize(int)} for the {@link #adaptiveBatching(boolean)}) is raised to the size of batch.
          *
          * @param bufferLimit maximum number of points stored in the retry buffer
          * @return {@code this}
@@ -244,9 +660,42 @@ public final class WriteOptions {
             return this;
         }
 
+        /**
+         * Set the maximum size of the encoded batches stored in the retry buffer (bytes). When the buffer is full
+         * and new points are written, the {@link #backpressureStrategy} is applied.
+         *
+         * @param bufferLimitBytes maximum size of the batches stored in the retry buffer.
+         *                         Default 0 - the size is not limited.
+         * @return {@code this}
+         * @see #bufferLimit(int)
+         */
+        @Nonnull
+        public Builder bufferLimitBytes(final long bufferLimitBytes) {
+            Arguments.checkNotNegativeNumber(bufferLimitBytes, "bufferLimitBytes");
+            this.bufferLimitBytes = bufferLimitBytes;
+            return this;
+        }
+
+        /**
+         * Set the time to block the producer when the retry buffer is full (milliseconds). The write call waits
+         * for the free space in the buffer and then the {@link #backpressureStrategy} is applied.
+         *
+         * @param backpressureTimeout the time to block the producer (milliseconds).
+         *                            Default 0 - the strategy is applied immediately.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder backpressureTimeout(final int backpressureTimeout) {
+            Arguments.checkNotNegativeNumber(backpressureTimeout, "backpressureTimeout");
+            this.backpressureTimeout = backpressureTimeout;
+            return this;
+        }
+
         /**
          * Set the scheduler which is used for write data points. It is useful for disabling batch writes or
-         * for tuning the performance. Default value is {@link Schedulers#newThread()}.
+         * for tuning the performance. Default value is {@link Schedulers#newThread()}. The default scheduler
+         * runs the batching on its own thread and the requests on the bounded pool,
+         * see {@link #maxConcurrentRequests(int)}. The custom scheduler is used for the requests as is.
          *
          * @param writeScheduler the scheduler which is used for write data points.
          * @return {@code this}
@@ -261,9 +710,13 @@ public final class WriteOptions {
         }
 
         /**
-         * Set the strategy to deal with buffer overflow when using onBackpressureBuffer.
+         * Set the strategy to deal with buffer overflow. The {@link BackpressureOverflowStrategy#DROP_OLDEST} drops
+         * the oldest batches waiting to write, the {@link BackpressureOverflowStrategy#DROP_LATEST} drops the new
+         * points and the {@link BackpressureOverflowStrategy#ERROR} fails the write of the new points
+         * by the {@link com.influxdb.exceptions.InfluxException} thrown to the caller.
+         * The {@link com.influxdb.client.write.events.BackpressureEvent} is published in all cases.
          *
-         * @param backpressureStrategy the strategy to deal with buffer overflow when using onBackpressureBuffer.
+         * @param backpressureStrategy the strategy to deal with buffer overflow.
          *                             Default {@link BackpressureOverflowStrategy#DROP_OLDEST};
          * @return {@code this}
          */
@@ -274,6 +727,261 @@ public final class WriteOptions {
             return this;
         }
 
+        /**
+         * Set the maximum number of the write requests in flight. The batches are sent one by one by default.
+         * <br><br>
+         * If the value is greater than 1 then the requests are executed concurrently on the
+         * {@link #writeScheduler(Scheduler)}. The retry of the failed request doesn't block the other requests,
+         * unless the {@link #preserveWriteOrder(boolean)} is enabled.
+         * With the default {@link Schedulers#newThread()} the requests and the delayed retries are executed
+         * on the pool of {@code maxConcurrentRequests} threads owned by the {@link com.influxdb.client.WriteApi},
+         * so a thread is not created per request.
+         *
+         * @param maxConcurrentRequests the maximum number of the write requests in flight
+         * @return {@code this}
+         * @see #preserveWriteOrder(boolean)
+         */
+        @Nonnull
+        public Builder maxConcurrentRequests(final int maxConcurrentRequests) {
+            Arguments.checkPositiveNumber(maxConcurrentRequests, "maxConcurrentRequests");
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Write the batches for the same bucket, organization and precision in order when the requests are executed
+         * concurrently. The next batch for the same destination is sent after the previous one is written
+         * or failed, including its retries. Default {@code false}.
+         * <br><br>
+         * The option is used only if the {@link #maxConcurrentRequests(int)} is greater than 1. With one request
+         * in flight the batches are always written in order, the failed batch is retried before the next batch
+         * is sent.
+         *
+         * @param preserveWriteOrder write the batches for the same destination in order
+         * @return {@code this}
+         * @see #maxConcurrentRequests(int)
+         */
+        @Nonnull
+        public Builder preserveWriteOrder(final boolean preserveWriteOrder) {
+            this.preserveWriteOrder = preserveWriteOrder;
+            return this;
+        }
+
+        /**
+         * Merge the data points with the same measurement, tags and timestamp within the batch before it is written.
+         * The fields of the merged points are combined, the value of the later point wins for the same field.
+         * Default {@code false}.
+         * <br><br>
+         * The {@link com.influxdb.client.write.Point}s and the measurements with the timestamp are merged.
+         * The Line Protocol records, the {@link com.influxdb.client.write.PointBatch}es and the data points without
+         * the timestamp are written as they are.
+         *
+         * @param coalesce merge the data points with the same series and timestamp
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder coalesce(final boolean coalesce) {
+            this.coalesce = coalesce;
+            return this;
+        }
+
+        /**
+         * Serialize the data into the Line Protocol by the thread which writes them, before they are handed
+         * to the batching. The concurrent producers serialize their data in parallel and the batching only
+         * copies the encoded records into the batch. Default {@code false} - the data are serialized
+         * by the batching, one at a time.
+         * <br><br>
+         * The {@link com.influxdb.client.write.Point}s and the measurements are serialized at the time of the write,
+         * so the later changes of them are not written. The data are not serialized on write when
+         * the {@link #coalesce(boolean)} is enabled, the coalescing merges the data points before the serialization.
+         *
+         * @param serializeOnWrite serialize the data by the thread which writes them
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder serializeOnWrite(final boolean serializeOnWrite) {
+            this.serializeOnWrite = serializeOnWrite;
+            return this;
+        }
+
+        /**
+         * Retain the written Line Protocol in the {@link com.influxdb.client.write.events.WriteSuccessEvent}.
+         * By default the event carries only the metadata of the batch: the destination, the number of the records,
+         * the size, the latency and the attempt, so the written batches are not kept alive by the listeners.
+         * Default {@code false}.
+         *
+         * @param retainEventPayload retain the written Line Protocol in the success event
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder retainEventPayload(final boolean retainEventPayload) {
+            this.retainEventPayload = retainEventPayload;
+            return this;
+        }
+
+        /**
+         * Set the number of the threads which compress the batches before they are sent. The next batches
+         * are compressed concurrently with the request in flight and the compressed batch is sent
+         * with the known {@code Content-Length}. Default {@code 0} - the batch is compressed by the request.
+         * <br><br>
+         * The batches are compressed only if the compression of the writes is enabled,
+         * see {@link com.influxdb.client.InfluxDBClientOptions.Builder#compression}
+         * and {@link com.influxdb.client.InfluxDBClient#enableGzip()}.
+         *
+         * @param compressionThreads the number of the threads, {@code 0} to compress the batch by the request
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder compressionThreads(final int compressionThreads) {
+            Arguments.checkNotNegativeNumber(compressionThreads, "compressionThreads");
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
+        /**
+         * Set the directory of the write-ahead spool. The batches are appended into the segment files
+         * in the directory before they are written into InfluxDB and they are deleted after the successful write.
+         * The not written batches are written by the next {@link com.influxdb.client.WriteApi} which uses
+         * the same directory, so the batches survive the outage of InfluxDB and the restart of the application
+         * without growing the heap.
+         * <br><br>
+         * The directory is locked by the one {@link com.influxdb.client.WriteApi} at a time, the creation
+         * of another {@link com.influxdb.client.WriteApi} for the locked directory fails
+         * by {@link com.influxdb.exceptions.InfluxException}. The lock is released when the closed WriteApi
+         * terminates, see {@link com.influxdb.client.WriteApi#close(long, java.util.concurrent.TimeUnit)}.
+         * <br><br>
+         * The spooled batches survive the crash of the process. They are not forced to the storage device unless
+         * {@link #spoolSync(boolean)} is enabled, so the crash of the operating system or the power loss can lose
+         * the recently spooled batches. The acknowledged batch could be written again after the crash,
+         * the spool delivers the batches at least once. Default {@code null} - the batches are kept only in memory.
+         *
+         * @param spoolDirectory the directory of the write-ahead spool
+         * @return {@code this}
+         * @see #spoolMaxSize(long)
+         * @see #spoolMaxAge(long)
+         * @see #spoolSync(boolean)
+         */
+        @Nonnull
+        public Builder spoolDirectory(@Nullable final String spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+            return this;
+        }
+
+        /**
+         * Set the maximum size of the spooled batches (bytes). When the spool is full the oldest batches are lost.
+         *
+         * @param spoolMaxSize the maximum size of the spooled batches (bytes). Default 1 GiB.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder spoolMaxSize(final long spoolMaxSize) {
+            Arguments.checkPositiveNumber(spoolMaxSize, "spoolMaxSize");
+            this.spoolMaxSize = spoolMaxSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum age of the spooled batches (milliseconds). The older batches are lost.
+         *
+         * @param spoolMaxAge the maximum age of the spooled batches (milliseconds). Default 0 - unlimited.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder spoolMaxAge(final long spoolMaxAge) {
+            Arguments.checkNotNegativeNumber(spoolMaxAge, "spoolMaxAge");
+            this.spoolMaxAge = spoolMaxAge;
+            return this;
+        }
+
+        /**
+         * Force every spooled batch to the storage device before it is written into InfluxDB
+         * ({@link java.nio.channels.FileChannel#force(boolean)}). The spooled batches then survive
+         * the crash of the operating system and the power loss, at the cost of the latency of the sync per batch.
+         *
+         * @param spoolSync force the spooled batches to the storage device. Default {@code false}.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder spoolSync(final boolean spoolSync) {
+            this.spoolSync = spoolSync;
+            return this;
+        }
+
+        /**
+         * Adapt the batch size and the flush interval to the latency of InfluxDB. While the write requests
+         * are faster than {@link #targetLatency(int)} the batch size grows by the tenth of {@link #batchSize(int)}
+         * and the flush interval returns to {@link #flushInterval(int)}. When the requests are slower
+         * or InfluxDB responds by HTTP 429 or 503 the batch size is halved and the flush interval is doubled.
+         * <br><br>
+         * The current values are available by {@link com.influxdb.client.WriteApi#getEffectiveBatchSize()}
+         * and {@link com.influxdb.client.WriteApi#getEffectiveFlushInterval()}. Default {@code false}.
+         *
+         * @param adaptiveBatching adapt the batch size and the flush interval
+         * @return {@code this}
+         * @see #minBatchSize(int)
+         * @see #maxBatchSize(int)
+         * @see #maxFlushInterval(int)
+         */
+        @Nonnull
+        public Builder adaptiveBatching(final boolean adaptiveBatching) {
+            this.adaptiveBatching = adaptiveBatching;
+            return this;
+        }
+
+        /**
+         * Set the minimal number of data points to collect in batch by the adaptive batching.
+         *
+         * @param minBatchSize the minimal number of data points in batch. Default 1.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder minBatchSize(final int minBatchSize) {
+            Arguments.checkPositiveNumber(minBatchSize, "minBatchSize");
+            this.minBatchSize = minBatchSize;
+            return this;
+        }
+
+        /**
+         * Set the maximal number of data points to collect in batch by the adaptive batching.
+         *
+         * @param maxBatchSize the maximal number of data points in batch.
+         *                     Default 0 - 10 times the {@link #batchSize(int)}.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxBatchSize(final int maxBatchSize) {
+            Arguments.checkNotNegativeNumber(maxBatchSize, "maxBatchSize");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Set the maximal time to wait by the adaptive batching (milliseconds).
+         *
+         * @param maxFlushInterval the maximal time to wait (milliseconds).
+         *                         Default 0 - 10 times the {@link #flushInterval(int)}.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder maxFlushInterval(final int maxFlushInterval) {
+            Arguments.checkNotNegativeNumber(maxFlushInterval, "maxFlushInterval");
+            this.maxFlushInterval = maxFlushInterval;
+            return this;
+        }
+
+        /**
+         * Set the latency of the write requests that the adaptive batching keeps under (milliseconds).
+         *
+         * @param targetLatency the latency of the write requests (milliseconds). Default 1000 ms.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder targetLatency(final int targetLatency) {
+            Arguments.checkPositiveNumber(targetLatency, "targetLatency");
+            this.targetLatency = targetLatency;
+            return this;
+        }
+
         /**
          * Build an instance of WriteOptions.
          *
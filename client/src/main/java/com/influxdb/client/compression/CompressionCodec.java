@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import okio.Sink;
+import okio.Source;
+
+/**
+ * The codec of the HTTP content encoding.
+ */
+@ThreadSafe
+public interface CompressionCodec {
+
+    /**
+     * @return the name of the content encoding used in the {@code Content-Encoding}
+     * and {@code Accept-Encoding} headers
+     */
+    @Nonnull
+    String getEncoding();
+
+    /**
+     * Wrap the {@code sink} by the compression. Closing of the returned sink finishes the compression
+     * and closes the {@code sink}.
+     *
+     * @param sink the destination of the compressed data
+     * @return the sink of the uncompressed data
+     */
+    @Nonnull
+    Sink compress(@Nonnull final Sink sink);
+
+    /**
+     * Wrap the {@code source} by the decompression. Closing of the returned source closes the {@code source}.
+     *
+     * @param source the source of the compressed data
+     * @return the source of the decompressed data
+     */
+    @Nonnull
+    Source decompress(@Nonnull final Source source);
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The policy which decides the compression of the HTTP requests and responses by the type of the request.
+ * <p>
+ * The policy is configured by {@link com.influxdb.client.InfluxDBClientOptions.Builder#compression(CompressionPolicy)},
+ * the default implementation is {@link DefaultCompressionPolicy}.
+ */
+@ThreadSafe
+public interface CompressionPolicy {
+
+    /**
+     * The type of the HTTP request.
+     */
+    enum RequestType {
+
+        /**
+         * Write time-series data into InfluxDB.
+         */
+        WRITE,
+
+        /**
+         * Query data from InfluxDB.
+         */
+        QUERY,
+
+        /**
+         * Other requests - management API, health...
+         */
+        OTHER
+    }
+
+    /**
+     * Get the codec to compress the body of the request.
+     *
+     * @param type          the type of the request
+     * @param contentLength the length of the uncompressed body in bytes, {@code -1} if it is unknown
+     * @return the codec or {@code null} to send the body without compression
+     */
+    @Nullable
+    CompressionCodec getRequestCodec(@Nonnull final RequestType type, final long contentLength);
+
+    /**
+     * Get the codec of the accepted compressed response.
+     *
+     * @param type the type of the request
+     * @return the codec or {@code null} to accept only the uncompressed response
+     */
+    @Nullable
+    CompressionCodec getResponseCodec(@Nonnull final RequestType type);
+}
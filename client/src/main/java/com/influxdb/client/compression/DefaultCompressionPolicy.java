@@ -0,0 +1,241 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+
+/**
+ * The compression by the type of the request and the size of the body.
+ * <p>
+ * The following options are supported:
+ * <ul>
+ * <li><b>requests</b> - the types of the requests with the compressed body [default: {@link RequestType#WRITE}]</li>
+ * <li><b>responses</b> - the types of the requests which accept the compressed response
+ * [default: {@link RequestType#QUERY}]</li>
+ * <li><b>minSize</b> - the body smaller than this size in bytes is not compressed [default: 0]</li>
+ * <li><b>codec</b> - the codec to use [default: {@link GzipCodec} with the default level]</li>
+ * <li><b>codec from size</b> - the codec to use for the body from the specified size,
+ * e.g. the fast compression for the large bodies</li>
+ * </ul>
+ * <p>
+ * The following example compresses only the writes larger than 1KiB and uses the fastest compression
+ * for the writes larger than 1MiB:
+ * <pre>
+ * DefaultCompressionPolicy policy = DefaultCompressionPolicy.builder()
+ *     .minSize(1024)
+ *     .codec(1024 * 1024, new GzipCodec(Deflater.BEST_SPEED))
+ *     .build();
+ * </pre>
+ */
+@ThreadSafe
+public final class DefaultCompressionPolicy implements CompressionPolicy {
+
+    /**
+     * Default compression: the gzip compressed writes and the gzip compressed responses of the queries.
+     */
+    public static final DefaultCompressionPolicy DEFAULTS = DefaultCompressionPolicy.builder().build();
+
+    private final Set<RequestType> requests;
+    private final Set<RequestType> responses;
+    private final long minSize;
+    private final CompressionCodec codec;
+    private final NavigableMap<Long, CompressionCodec> codecs;
+
+    private DefaultCompressionPolicy(@Nonnull final Builder builder) {
+
+        Arguments.checkNotNull(builder, "DefaultCompressionPolicy.Builder");
+
+        this.requests = EnumSet.copyOf(builder.requests);
+        this.responses = EnumSet.copyOf(builder.responses);
+        this.minSize = builder.minSize;
+        this.codec = builder.codec;
+        this.codecs = new TreeMap<>(builder.codecs);
+    }
+
+    @Nullable
+    @Override
+    public CompressionCodec getRequestCodec(@Nonnull final RequestType type, final long contentLength) {
+
+        Arguments.checkNotNull(type, "type");
+
+        if (!requests.contains(type) || contentLength >= 0 && contentLength < minSize) {
+            return null;
+        }
+
+        Map.Entry<Long, CompressionCodec> entry = codecs.floorEntry(contentLength);
+
+        return entry != null ? entry.getValue() : codec;
+    }
+
+    @Nullable
+    @Override
+    public CompressionCodec getResponseCodec(@Nonnull final RequestType type) {
+
+        Arguments.checkNotNull(type, "type");
+
+        return responses.contains(type) ? codec : null;
+    }
+
+    /**
+     * @return the body smaller than this size in bytes is not compressed
+     * @see Builder#minSize(long)
+     */
+    public long getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Creates a builder instance.
+     *
+     * @return a builder
+     */
+    @Nonnull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for {@code DefaultCompressionPolicy}.
+     */
+    @NotThreadSafe
+    public static class Builder {
+
+        private Set<RequestType> requests = EnumSet.of(RequestType.WRITE);
+        private Set<RequestType> responses = EnumSet.of(RequestType.QUERY);
+        private long minSize = 0;
+        private CompressionCodec codec = new GzipCodec();
+        private final Map<Long, CompressionCodec> codecs = new TreeMap<>();
+
+        /**
+         * Set the types of the requests with the compressed body.
+         *
+         * @param types the types of the requests
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder requests(@Nonnull final RequestType... types) {
+
+            Arguments.checkNotNull(types, "types");
+
+            this.requests = toSet(types);
+
+            return this;
+        }
+
+        /**
+         * Set the types of the requests which accept the compressed response.
+         *
+         * @param types the types of the requests
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder responses(@Nonnull final RequestType... types) {
+
+            Arguments.checkNotNull(types, "types");
+
+            this.responses = toSet(types);
+
+            return this;
+        }
+
+        /**
+         * Set the minimal size of the compressed body. The compression of the small body costs more
+         * than it saves. The body with unknown size is always compressed.
+         *
+         * @param minSize the body smaller than this size in bytes is not compressed. Default 0.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder minSize(final long minSize) {
+
+            Arguments.checkNotNegativeNumber(minSize, "minSize");
+
+            this.minSize = minSize;
+
+            return this;
+        }
+
+        /**
+         * Set the codec of the requests and responses.
+         *
+         * @param codec the codec. Default {@link GzipCodec} with the default level.
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder codec(@Nonnull final CompressionCodec codec) {
+
+            Arguments.checkNotNull(codec, "codec");
+
+            this.codec = codec;
+
+            return this;
+        }
+
+        /**
+         * Set the codec of the request body from the specified size in bytes.
+         *
+         * @param fromSize the minimal size of the body compressed by the {@code codec}
+         * @param codec    the codec
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder codec(final long fromSize, @Nonnull final CompressionCodec codec) {
+
+            Arguments.checkNotNegativeNumber(fromSize, "fromSize");
+            Arguments.checkNotNull(codec, "codec");
+
+            this.codecs.put(fromSize, codec);
+
+            return this;
+        }
+
+        /**
+         * Build an instance of DefaultCompressionPolicy.
+         *
+         * @return {@code DefaultCompressionPolicy}
+         */
+        @Nonnull
+        public DefaultCompressionPolicy build() {
+            return new DefaultCompressionPolicy(this);
+        }
+
+        @Nonnull
+        private Set<RequestType> toSet(@Nonnull final RequestType... types) {
+
+            Set<RequestType> set = EnumSet.noneOf(RequestType.class);
+            set.addAll(Arrays.asList(types));
+
+            return set;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
+import okio.Timeout;
+
+/**
+ * The gzip codec with the configurable compression level.
+ * <p>
+ * The {@link Deflater} and {@link Inflater} instances together with their buffers are pooled,
+ * so the compression of the many small requests doesn't allocate the native zlib streams.
+ */
+@ThreadSafe
+@SuppressWarnings("MagicNumber")
+public final class GzipCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    // RFC 1952
+    private static final int GZIP_MAGIC = 0x1f8b;
+    private static final int DEFLATE = 8;
+    private static final int FHCRC = 1 << 1;
+    private static final int FEXTRA = 1 << 2;
+    private static final int FNAME = 1 << 3;
+    private static final int FCOMMENT = 1 << 4;
+
+    private final int level;
+    private final Pool<Compressor> compressors;
+    private final Pool<Decompressor> decompressors;
+
+    /**
+     * Create the codec with the {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    public GzipCodec() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Create the codec with the compression level.
+     *
+     * @param level the compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     *              or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public GzipCodec(final int level) {
+        this(level, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create the codec with the compression level.
+     *
+     * @param level    the compression level from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}
+     *                 or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param poolSize the maximum number of the pooled {@link Deflater}s and {@link Inflater}s
+     */
+    public GzipCodec(final int level, final int poolSize) {
+
+        boolean valid = level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION;
+        if (!valid && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Expecting a compression level from 1 to 9 or -1 for level");
+        }
+        Arguments.checkPositiveNumber(poolSize, "poolSize");
+
+        this.level = level;
+        this.compressors = new Pool<>(poolSize, () -> new Compressor(new Deflater(level, true)));
+        this.decompressors = new Pool<>(poolSize, () -> new Decompressor(new Inflater(true)));
+    }
+
+    /**
+     * @return the compression level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    @Nonnull
+    @Override
+    public String getEncoding() {
+        return "gzip";
+    }
+
+    @Nonnull
+    @Override
+    public Sink compress(@Nonnull final Sink sink) {
+
+        Arguments.checkNotNull(sink, "sink");
+
+        return new GzipSink(Okio.buffer(sink), compressors.acquire());
+    }
+
+    @Nonnull
+    @Override
+    public Source decompress(@Nonnull final Source source) {
+
+        Arguments.checkNotNull(source, "source");
+
+        return new GzipSource(Okio.buffer(source), decompressors.acquire());
+    }
+
+    @Override
+    public String toString() {
+        return "GzipCodec{level=" + level + '}';
+    }
+
+    @NotThreadSafe
+    private final class GzipSink implements Sink {
+
+        private final BufferedSink sink;
+        private final CRC32 crc = new CRC32();
+        private Compressor compressor;
+        private long size;
+        private boolean header;
+
+        private GzipSink(@Nonnull final BufferedSink sink, @Nonnull final Compressor compressor) {
+            this.sink = sink;
+            this.compressor = compressor;
+        }
+
+        @Override
+        public void write(@Nonnull final Buffer source, final long byteCount) throws IOException {
+
+            checkNotClosed();
+
+            writeHeader();
+
+            byte[] input = compressor.input;
+            long remaining = byteCount;
+            while (remaining > 0) {
+
+                int count = source.read(input, 0, (int) Math.min(remaining, input.length));
+                if (count == -1) {
+                    throw new EOFException();
+                }
+
+                crc.update(input, 0, count);
+                size += count;
+                remaining -= count;
+
+                compressor.deflater.setInput(input, 0, count);
+                while (!compressor.deflater.needsInput()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+
+            checkNotClosed();
+
+            // the full output buffer => more output is pending
+            int count = compressor.output.length;
+            while (header && count == compressor.output.length) {
+                count = deflate(Deflater.SYNC_FLUSH);
+            }
+
+            sink.flush();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return sink.timeout();
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            if (compressor == null) {
+                return;
+            }
+
+            try {
+                writeHeader();
+
+                compressor.deflater.finish();
+                while (!compressor.deflater.finished()) {
+                    deflate(Deflater.NO_FLUSH);
+                }
+
+                // trailer: CRC32 and size of the uncompressed data
+                sink.writeIntLe((int) crc.getValue());
+                sink.writeIntLe((int) size);
+            } finally {
+                compressors.release(compressor);
+                compressor = null;
+                sink.close();
+            }
+        }
+
+        private void writeHeader() throws IOException {
+
+            if (header) {
+                return;
+            }
+
+            // magic, deflate, no flags, no modification time, no extra flags, unknown OS
+            sink.writeShort(GZIP_MAGIC).writeByte(DEFLATE).writeByte(0).writeInt(0).writeByte(0).writeByte(0xff);
+            header = true;
+        }
+
+        private int deflate(final int flush) throws IOException {
+
+            byte[] output = compressor.output;
+            int count = compressor.deflater.deflate(output, 0, output.length, flush);
+            if (count > 0) {
+                sink.write(output, 0, count);
+            }
+
+            return count;
+        }
+
+        private void checkNotClosed() {
+            if (compressor == null) {
+                throw new IllegalStateException("closed");
+            }
+        }
+    }
+
+    @NotThreadSafe
+    private final class GzipSource implements Source {
+
+        private final BufferedSource source;
+        private final CRC32 crc = new CRC32();
+        private Decompressor decompressor;
+        private long size;
+        private boolean header;
+        private boolean finished;
+
+        private GzipSource(@Nonnull final BufferedSource source, @Nonnull final Decompressor decompressor) {
+            this.source = source;
+            this.decompressor = decompressor;
+        }
+
+        @Override
+        public long read(@Nonnull final Buffer sink, final long byteCount) throws IOException {
+
+            Arguments.checkNotNegativeNumber(byteCount, "byteCount");
+            if (decompressor == null) {
+                throw new IllegalStateException("closed");
+            }
+
+            if (finished || byteCount == 0) {
+                return finished ? -1 : 0;
+            }
+
+            if (!header) {
+                readHeader();
+                header = true;
+            }
+
+            Inflater inflater = decompressor.inflater;
+            byte[] output = decompressor.output;
+            try {
+                while (true) {
+
+                    int count = inflater.inflate(output, 0, (int) Math.min(byteCount, output.length));
+                    if (count > 0) {
+                        crc.update(output, 0, count);
+                        size += count;
+                        sink.write(output, 0, count);
+                        return count;
+                    }
+
+                    if (inflater.finished()) {
+                        readTrailer();
+                        finished = true;
+                        return -1;
+                    }
+
+                    if (inflater.needsDictionary()) {
+                        throw new IOException("The gzip stream requires the dictionary.");
+                    }
+
+                    if (inflater.needsInput()) {
+                        byte[] input = decompressor.input;
+                        int read = source.read(input, 0, input.length);
+                        if (read == -1) {
+                            throw new EOFException("The gzip stream is truncated.");
+                        }
+                        inflater.setInput(input, 0, read);
+                        decompressor.inputLength = read;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public Timeout timeout() {
+            return source.timeout();
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            if (decompressor == null) {
+                return;
+            }
+
+            decompressors.release(decompressor);
+            decompressor = null;
+            source.close();
+        }
+
+        private void readHeader() throws IOException {
+
+            source.require(10);
+            if (source.readShort() != (short) GZIP_MAGIC) {
+                throw new IOException("The content is not in the gzip format.");
+            }
+            if (source.readByte() != DEFLATE) {
+                throw new IOException("The gzip content is not compressed by deflate.");
+            }
+
+            int flags = source.readByte();
+            // modification time, extra flags, OS
+            source.skip(6);
+
+            if ((flags & FEXTRA) != 0) {
+                source.skip(source.readShortLe() & 0xffff);
+            }
+            if ((flags & FNAME) != 0) {
+                source.skip(source.indexOf((byte) 0) + 1);
+            }
+            if ((flags & FCOMMENT) != 0) {
+                source.skip(source.indexOf((byte) 0) + 1);
+            }
+            if ((flags & FHCRC) != 0) {
+                source.skip(2);
+            }
+        }
+
+        private void readTrailer() throws IOException {
+
+            // the input not consumed by the inflater is the beginning of the trailer
+            Buffer trailer = new Buffer();
+            int remaining = decompressor.inflater.getRemaining();
+            if (remaining > 0) {
+                trailer.write(decompressor.input, decompressor.inputLength - remaining, remaining);
+            }
+            if (trailer.size() < 8) {
+                source.readFully(trailer, 8 - trailer.size());
+            }
+
+            if (trailer.readIntLe() != (int) crc.getValue()) {
+                throw new IOException("The CRC32 of the gzip content doesn't match.");
+            }
+            if (trailer.readIntLe() != (int) size) {
+                throw new IOException("The size of the gzip content doesn't match.");
+            }
+        }
+    }
+
+    /**
+     * The pooled {@link Deflater} with its buffers.
+     */
+    private static final class Compressor implements Pooled {
+
+        private final Deflater deflater;
+        private final byte[] input = new byte[BUFFER_SIZE];
+        private final byte[] output = new byte[BUFFER_SIZE];
+
+        private Compressor(@Nonnull final Deflater deflater) {
+            this.deflater = deflater;
+        }
+
+        @Override
+        public void reset() {
+            deflater.reset();
+        }
+
+        @Override
+        public void end() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * The pooled {@link Inflater} with its buffers.
+     */
+    private static final class Decompressor implements Pooled {
+
+        private final Inflater inflater;
+        private final byte[] input = new byte[BUFFER_SIZE];
+        private final byte[] output = new byte[BUFFER_SIZE];
+        private int inputLength;
+
+        private Decompressor(@Nonnull final Inflater inflater) {
+            this.inflater = inflater;
+        }
+
+        @Override
+        public void reset() {
+            inflater.reset();
+            inputLength = 0;
+        }
+
+        @Override
+        public void end() {
+            inflater.end();
+        }
+    }
+
+    @ThreadSafe
+    private static final class Pool<T extends Pooled> {
+
+        private final BlockingQueue<T> pooled;
+        private final Supplier<T> factory;
+
+        private Pool(final int size, @Nonnull final Supplier<T> factory) {
+            this.pooled = new ArrayBlockingQueue<>(size);
+            this.factory = factory;
+        }
+
+        @Nonnull
+        private T acquire() {
+
+            T item = pooled.poll();
+
+            return item != null ? item : factory.get();
+        }
+
+        private void release(@Nonnull final T item) {
+
+            item.reset();
+            if (!pooled.offer(item)) {
+                item.end();
+            }
+        }
+    }
+
+    /**
+     * The native zlib stream with its buffers.
+     */
+    private interface Pooled {
+
+        /**
+         * Prepare to the next usage.
+         */
+        void reset();
+
+        /**
+         * Release the native resources.
+         */
+        void end();
+    }
+}
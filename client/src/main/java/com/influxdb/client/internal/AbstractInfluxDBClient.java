@@ -35,7 +35,10 @@ import com.influxdb.client.service.HealthService;
 import com.influxdb.exceptions.InfluxException;
 import com.influxdb.internal.AbstractRestClient;
 
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import okhttp3.Response;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Call;
 import retrofit2.Retrofit;
@@ -61,6 +64,7 @@ public abstract class AbstractInfluxDBClient extends AbstractRestClient {
     protected final InfluxDBClientOptions options;
 
     protected final HttpLoggingInterceptor loggingInterceptor;
+    private final HttpLoggingInterceptor headersLoggingInterceptor;
     protected final GzipInterceptor gzipInterceptor;
     private final AuthenticateInterceptor authenticateInterceptor;
     private final OkHttpClient okHttpClient;
@@ -72,11 +76,12 @@ public abstract class AbstractInfluxDBClient extends AbstractRestClient {
         this.options = options;
         this.loggingInterceptor = new HttpLoggingInterceptor();
         setLogLevel(loggingInterceptor, options.getLogLevel());
+        this.headersLoggingInterceptor = new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.HEADERS);
         this.authenticateInterceptor = new AuthenticateInterceptor(options);
-        this.gzipInterceptor = new GzipInterceptor();
+        this.gzipInterceptor = new GzipInterceptor(options.getCompression());
 
         this.okHttpClient = options.getOkHttpClient()
-                .addInterceptor(this.loggingInterceptor)
+                .addInterceptor(this::log)
                 .addInterceptor(this.authenticateInterceptor)
                 .addInterceptor(this.gzipInterceptor)
                 .build();
@@ -111,6 +116,24 @@ public abstract class AbstractInfluxDBClient extends AbstractRestClient {
         okHttpClient.dispatcher().executorService().shutdown();
     }
 
+    /**
+     * The streaming body of the write request is one-shot, see {@link LineProtocolStream}. The body cannot be
+     * buffered for the {@link HttpLoggingInterceptor.Level#BODY} logging, so only the headers are logged.
+     * The streaming body is recognized by the unknown length, it is also wrapped by Retrofit.
+     */
+    @Nonnull
+    private Response log(@Nonnull final Interceptor.Chain chain) throws IOException {
+
+        Interceptor interceptor = loggingInterceptor;
+        RequestBody body = chain.request().body();
+        if (loggingInterceptor.getLevel() == HttpLoggingInterceptor.Level.BODY
+                && body != null && body.contentLength() == -1) {
+            interceptor = headersLoggingInterceptor;
+        }
+
+        return interceptor.intercept(chain);
+    }
+
     @Nonnull
     protected HealthCheck health(final Call<HealthCheck> healthCall) {
 
@@ -21,22 +21,42 @@
  */
 package com.influxdb.client.internal;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.influxdb.Arguments;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.WriteOptions;
+import com.influxdb.client.compression.CompressionCodec;
+import com.influxdb.client.compression.CompressionPolicy.RequestType;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.service.WriteService;
+import com.influxdb.client.write.DefaultWriteRetryPolicy;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteDrainResult;
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
+import com.influxdb.client.write.WriteRetryPolicy;
 import com.influxdb.client.write.events.AbstractWriteEvent;
+import com.influxdb.client.write.events.ListenerRegistration;
 import com.influxdb.client.write.events.WriteErrorEvent;
 import com.influxdb.client.write.events.WriteRetriableErrorEvent;
 import com.influxdb.client.write.events.WriteSuccessEvent;
@@ -50,10 +70,13 @@ import io.reactivex.Notification;
 import io.reactivex.Observable;
 import io.reactivex.Scheduler;
 import io.reactivex.functions.Function;
+import io.reactivex.processors.FlowableProcessor;
 import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+import okhttp3.RequestBody;
 import org.reactivestreams.Publisher;
-import retrofit2.Call;
 import retrofit2.HttpException;
 import retrofit2.Response;
 
@@ -63,51 +86,111 @@ import retrofit2.Response;
 public abstract class AbstractWriteClient extends AbstractRestClient {
 
     private static final Logger LOG = Logger.getLogger(AbstractWriteClient.class.getName());
-    private static final List<Integer> ABLE_TO_RETRY_ERRORS = Arrays.asList(429, 503);
+    private static final Logger SUCCESS_LOG = Logger.getLogger(WriteSuccessEvent.class.getName());
+    private static final List<Integer> OVERLOADED_ERRORS = Arrays.asList(429, 503);
+    private static final int REQUEST_ENTITY_TOO_LARGE = 413;
 
     private final WriteOptions writeOptions;
     protected final InfluxDBClientOptions options;
 
     private final PublishProcessor<AbstractWriteClient.BatchWriteItem> processor;
+    private final WriteIngestion<AbstractWriteClient.BatchWriteItem> ingestion;
     private final PublishProcessor<Flowable<BatchWriteItem>> flushPublisher;
-    private final PublishSubject<AbstractWriteEvent> eventPublisher;
+    private final Subject<AbstractWriteEvent> eventPublisher;
 
     protected final MeasurementMapper measurementMapper = new MeasurementMapper();
     private final WriteService service;
+    private final WriteSpool spool;
+    private final WriteBuffer<BatchWriteRequest> buffer;
+    private final AdaptiveBatching adaptiveBatching;
+    private final WriteRetryPolicy retryPolicy;
+    private final FlowableProcessor<BatchWriteRequest> retries;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final WriteMetricsRecorder metrics = new WriteMetricsRecorder();
+    private final WriteDrain drain = new WriteDrain();
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+    private volatile BatchWriteOptions lastBatchWriteOptions;
+    private final boolean serializeOnWrite;
+    private volatile boolean requestsCompleted;
+    private final GzipInterceptor gzipInterceptor;
+    private final ExecutorService compressionExecutor;
+    private final ExecutorService requestExecutor;
 
     public AbstractWriteClient(@Nonnull final WriteOptions writeOptions,
                                @Nonnull final InfluxDBClientOptions options,
                                @Nonnull final Scheduler processorScheduler,
                                @Nonnull final WriteService service) {
 
+        this(writeOptions, options, processorScheduler, service, null);
+    }
+
+    /**
+     * @param writeOptions       the configuration of the batching, backpressure, retries and spooling
+     * @param options            the client configuration, the default tags and the destination of the writes
+     * @param processorScheduler the scheduler of the batching, the requests are executed on the bounded pool
+     *                           if it is {@link Schedulers#newThread()}
+     * @param service            the service which executes the write requests
+     * @param gzipInterceptor    the compression of the requests, used to compress the batches
+     *                           by the {@link WriteOptions#getCompressionThreads()}
+     */
+    public AbstractWriteClient(@Nonnull final WriteOptions writeOptions,
+                               @Nonnull final InfluxDBClientOptions options,
+                               @Nonnull final Scheduler processorScheduler,
+                               @Nonnull final WriteService service,
+                               @Nullable final GzipInterceptor gzipInterceptor) {
+
         Arguments.checkNotNull(options, "options");
 
         this.writeOptions = writeOptions;
         this.options = options;
         this.service = service;
+        this.gzipInterceptor = gzipInterceptor;
+        this.compressionExecutor = createCompressionExecutor(writeOptions, gzipInterceptor);
+        this.requestExecutor = createRequestExecutor(writeOptions, processorScheduler);
+        // the coalescing merges the not serialized data
+        this.serializeOnWrite = writeOptions.isSerializeOnWrite() && !writeOptions.isCoalesce();
 
         this.flushPublisher = PublishProcessor.create();
-        this.eventPublisher = PublishSubject.create();
+        // the events are published from the concurrent requests
+        this.eventPublisher = PublishSubject.<AbstractWriteEvent>create().toSerialized();
         this.processor = PublishProcessor.create();
+        // the concurrent producers => serial signals of the processor
+        this.ingestion = new WriteIngestion<>(processor, this::reject);
+        this.spool = createSpool(writeOptions);
+        // the points of the open batch are accounted => the buffer holds at least one batch, otherwise the new points
+        // are dropped until the flush interval closes the batch
+        int batchSize = writeOptions.isAdaptiveBatching()
+                ? writeOptions.getMaxBatchSize() : writeOptions.getBatchSize();
+        this.buffer = new WriteBuffer<>(Math.max(writeOptions.getBufferLimit(), batchSize),
+                writeOptions.getBufferLimitBytes(),
+                writeOptions.getBackpressureStrategy(),
+                writeOptions.getBackpressureTimeout(),
+                event -> {
+                    metrics.onDropped(event.getDroppedPoints());
+                    publish(event);
+                });
+        this.adaptiveBatching = writeOptions.isAdaptiveBatching() ? new AdaptiveBatching(writeOptions) : null;
+        this.retryPolicy = writeOptions.getRetryPolicy() != null
+                ? writeOptions.getRetryPolicy() : new DefaultWriteRetryPolicy(writeOptions);
+        // the retries are scheduled from the concurrent requests
+        this.retries = PublishProcessor.<BatchWriteRequest>create().toSerialized();
+
+        Flowable<Object> boundary;
+        if (adaptiveBatching != null) {
+            boundary = adaptiveBatching.boundary(processor, processorScheduler);
+        } else {
+            boundary = Flowable.fromPublisher(processor
+                    .window(writeOptions.getFlushInterval(),
+                            TimeUnit.MILLISECONDS,
+                            processorScheduler,
+                            writeOptions.getBatchSize(),
+                            true));
+        }
+        boundary = boundary.mergeWith(flushPublisher);
 
+        PublishProcessor<Object> tempBoundary = PublishProcessor.create();
 
-        Flowable<Flowable<BatchWriteItem>> boundary = processor
-                .window(writeOptions.getFlushInterval(),
-                        TimeUnit.MILLISECONDS,
-                        processorScheduler,
-                        writeOptions.getBatchSize(),
-                        true)
-
-                .mergeWith(flushPublisher);
-
-        PublishProcessor<Flowable<BatchWriteItem>> tempBoundary = PublishProcessor.create();
-
-        processor
-//                .onBackpressureBuffer(
-//                        writeOptions.getBufferLimit(),
-//                        () -> publish(new BackpressureEvent()),
-//                        writeOptions.getBackpressureStrategy())
-//                .observeOn(processorScheduler)
+        Flowable<BatchWriteRequest> requests = processor
                 //
                 // Batching
                 //
@@ -117,38 +200,103 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
                 //
                 .concatMap(it -> it.groupBy(batchWrite -> batchWrite.batchWriteOptions))
                 //
-                // Create Write Point = bucket, org, ... + data
+                // Create Write Point = bucket, org, ... + data => merge same series => split by maxBatchBytes
                 //
-                .concatMapSingle(grouped -> grouped
-                        .map(it -> {
-                            try {
-                                String lineProtocol = it.data.toLineProtocol();
-                                if (lineProtocol == null) {
-                                    return "";
-                                }
-                                return lineProtocol;
-                            } catch (Exception e) {
-                                publish(new WriteErrorEvent(e));
-                                return "";
-                            }
-                        })
-                        .filter(it -> it != null && !it.isEmpty())
-                        .collect(StringBuilder::new, (sb, x) -> {
-                            if (sb.length() > 0) {
-                                sb.append("\n");
-                            }
-                            sb.append(x);
-                        })
-                        .map(StringBuilder::toString)
-                        .map(it -> new BatchWriteItem(grouped.getKey(), new BatchWriteDataRecord(it))))
+                .concatMap(grouped -> {
+                    if (writeOptions.isCoalesce()) {
+                        WriteDrain.Points points = new WriteDrain.Points();
+                        return grouped
+                                .collect(() -> new WriteCoalescer(options), (coalescer, it) -> {
+                                    coalescer.add(it.data);
+                                    points.add(it.epoch, it.data.count());
+                                })
+                                .flattenAsFlowable(coalescer -> toBatches(grouped.getKey(), coalescer.getData(),
+                                        points));
+                    }
+                    return grouped
+                            .collect(ArrayList<BatchWriteRequest>::new,
+                                    (batches, it) -> appendToBatch(batches, grouped.getKey(), it.data)
+                                            .accepted.add(it.epoch, it.data.count()))
+                            .flattenAsFlowable(batches -> batches);
+                })
+                .doOnNext(request -> {
+                    if (!request.batch.isEmpty()) {
+                        metrics.onBatch(request.batch.count(), request.batch.size(), request.serializationTime);
+                    }
+                })
                 //
                 // Jitter interval
                 //
-                .compose(jitter(processorScheduler))
+                .compose(jitter(processorScheduler));
+
+        if (spool != null) {
+            requests = requests
+                    //
+                    // Write-ahead spool => only the handles of the batches are kept in memory
+                    //
+                    .map(this::toSpooled)
+                    //
+                    // The batches not written by the previous client
+                    //
+                    .startWith(spool.recovered().stream()
+                            .map(this::toRecovered)
+                            .collect(Collectors.toList()));
+        }
+
+        //
+        // Bounded buffer of the batches to write
+        //
+        requests.subscribe(buffer);
+
+        Flowable<BatchWriteRequest> fresh = Flowable.fromPublisher(buffer);
+        if (compressionExecutor != null) {
+            int threads = writeOptions.getCompressionThreads();
+            Scheduler compressionScheduler = Schedulers.from(compressionExecutor);
+            fresh = fresh
+                    //
+                    // Compress the next batches concurrently with the request in flight
+                    //
+                    .concatMapEager(request -> Flowable.fromCallable(() -> compress(request))
+                            .subscribeOn(compressionScheduler), threads, 1);
+        }
+
+        fresh = fresh
+                //
+                // Write on the write scheduler => the producers are not blocked by the requests
+                //
+                .observeOn(processorScheduler, false, 1)
+                .doOnNext(request -> inFlight.incrementAndGet())
+                .doOnComplete(() -> {
+                    requestsCompleted = true;
+                    completeRetries();
+                });
+
+        Scheduler requestScheduler = requestExecutor != null ? Schedulers.from(requestExecutor) : processorScheduler;
+
+        Flowable
+                //
+                // The retried batches are written besides the fresh batches
+                //
+                .merge(Arrays.asList(fresh, retries.onBackpressureBuffer()), 2, 1)
                 //
                 // To WritePoints "request creator"
                 //
-                .concatMapMaybe(new ToWritePointsMaybe(processorScheduler))
+                .compose(writeRequests(requestScheduler))
+                .doFinally(() -> {
+                    if (spool != null) {
+                        spool.close();
+                    }
+                    if (compressionExecutor != null) {
+                        compressionExecutor.shutdown();
+                    }
+                    if (requestExecutor != null) {
+                        requestExecutor.shutdown();
+                    }
+                    // the events of the last batches are published before the completion
+                    eventPublisher.onComplete();
+                    flushPublisher.onComplete();
+                    terminated.complete(null);
+                })
                 .subscribe(responseNotification -> {
 
                     if (responseNotification.isOnError()) {
@@ -171,21 +319,121 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         flushPublisher.offer(Flowable.empty());
     }
 
+    public int getEffectiveBatchSize() {
+        return adaptiveBatching != null ? adaptiveBatching.getBatchSize() : writeOptions.getBatchSize();
+    }
+
+    public int getEffectiveFlushInterval() {
+        return adaptiveBatching != null ? adaptiveBatching.getFlushInterval() : writeOptions.getFlushInterval();
+    }
+
+    /**
+     * @return the snapshot of the counters and the histograms of the writes
+     */
+    @Nonnull
+    public WriteMetrics getMetrics() {
+        return metrics.snapshot(buffer.getPoints(), buffer.getBytes(), inFlight.get());
+    }
+
+    /**
+     * Register the listener of the measurements of the writes.
+     *
+     * @param listener the listener
+     * @return the registration to remove the listener
+     */
+    @Nonnull
+    public ListenerRegistration addMetricsListener(@Nonnull final WriteMetricsListener listener) {
+        return metrics.addListener(listener);
+    }
+
+    /**
+     * Flush the batches and wait until the points accepted before the call are written, failed or dropped.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the {@code timeout}
+     * @return the outcome of the flush, not completed if the timeout elapsed
+     */
+    @Nonnull
+    public WriteDrainResult flush(final long timeout, @Nonnull final TimeUnit unit) {
+
+        Arguments.checkNotNegativeNumber(timeout, "timeout");
+        Arguments.checkNotNull(unit, "TimeUnit.unit");
+
+        WriteDrain.Barrier barrier = drain.await();
+        flush();
+
+        return barrier.toResult(await(barrier.getFuture(), timeout, unit));
+    }
+
+    /**
+     * Flush the batches. The future is completed when the points accepted before the call are written,
+     * failed or dropped. The future is completed by the thread of the batching.
+     *
+     * @return the future of the outcome
+     */
+    @Nonnull
+    public CompletableFuture<WriteDrainResult> flushAsync() {
+
+        WriteDrain.Barrier barrier = drain.await();
+        flush();
+
+        return barrier.getFuture().thenApply(it -> barrier.toResult(true));
+    }
+
     public void close() {
 
         LOG.log(Level.INFO, "Flushing any cached BatchWrites before shutdown.");
 
-        processor.onComplete();
-        eventPublisher.onComplete();
-        flushPublisher.onComplete();
+        // the events and the flushes are completed by the termination of the batching
+        ingestion.complete();
+    }
+
+    /**
+     * Close the batching and wait until all accepted points are written, failed or dropped. The points not flushed
+     * before the timeout are still written in the background.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the {@code timeout}
+     * @return the outcome of the close, not completed if the timeout elapsed
+     */
+    @Nonnull
+    public WriteDrainResult close(final long timeout, @Nonnull final TimeUnit unit) {
+
+        Arguments.checkNotNegativeNumber(timeout, "timeout");
+        Arguments.checkNotNull(unit, "TimeUnit.unit");
+
+        WriteDrain.Barrier barrier = drain.await();
+        close();
+
+        return barrier.toResult(await(terminated, timeout, unit));
+    }
+
+    /**
+     * Close the batching. The future is completed when all accepted points are written, failed or dropped
+     * and the batching is terminated.
+     *
+     * @return the future of the outcome
+     */
+    @Nonnull
+    public CompletableFuture<WriteDrainResult> closeAsync() {
+
+        WriteDrain.Barrier barrier = drain.await();
+        close();
+
+        return terminated.thenApply(it -> barrier.toResult(true));
     }
 
     public void write(@Nonnull final String bucket,
                       @Nonnull final String organization,
                       @Nonnull final Flowable<BatchWriteDataPoint> stream) {
 
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(organization, "organization");
+        Arguments.checkNotNull(stream, "data to write");
+
         stream.subscribe(
-                dataPoint -> write(bucket, organization, dataPoint.point.getPrecision(), Flowable.just(dataPoint)),
+                dataPoint -> enqueue(toBatchWriteOptions(bucket, organization, dataPoint.point.getPrecision()),
+                        dataPoint),
                 throwable -> publish(new WriteErrorEvent(throwable)));
     }
 
@@ -198,15 +446,214 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         Arguments.checkNonEmpty(organization, "organization");
         Arguments.checkNotNull(stream, "data to write");
 
-        BatchWriteOptions batchWriteOptions = new BatchWriteOptions(bucket, organization, precision);
+        BatchWriteOptions batchWriteOptions = toBatchWriteOptions(bucket, organization, precision);
 
         Flowable.fromPublisher(stream)
-                .map(it -> new BatchWriteItem(batchWriteOptions, it))
-                .subscribe(processor::onNext, throwable -> publish(new WriteErrorEvent(throwable)));
+                .subscribe(it -> enqueue(batchWriteOptions, it), throwable -> publish(new WriteErrorEvent(throwable)));
+    }
+
+    /**
+     * Enqueue the data into the batching directly from the caller thread, without the assembly
+     * of the reactive stream.
+     *
+     * @param bucket       the destination bucket for writes
+     * @param organization the destination organization for writes
+     * @param precision    the precision for the unix timestamps within the data
+     * @param data         the data to write
+     * @throws InfluxException if the write buffer is full and the strategy is ERROR
+     */
+    public void enqueue(@Nonnull final String bucket,
+                        @Nonnull final String organization,
+                        @Nonnull final WritePrecision precision,
+                        @Nonnull final BatchWriteData data) throws InfluxException {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(organization, "organization");
+        Arguments.checkNotNull(data, "data to write");
+
+        enqueue(toBatchWriteOptions(bucket, organization, precision), data);
+    }
+
+    /**
+     * Enqueue the items into the batching directly from the caller thread, without the assembly
+     * of the reactive stream. The {@code null} items are skipped. The remaining items are not written
+     * if the enqueue of the item fails.
+     *
+     * @param bucket       the destination bucket for writes
+     * @param organization the destination organization for writes
+     * @param precision    the precision for the unix timestamps within the data
+     * @param items        the items to write
+     * @param toData       the mapping of the item to the data
+     * @param <T>          type of the item
+     * @throws InfluxException if the write buffer is full and the strategy is ERROR
+     */
+    public <T> void enqueue(@Nonnull final String bucket,
+                            @Nonnull final String organization,
+                            @Nonnull final WritePrecision precision,
+                            @Nonnull final Iterable<T> items,
+                            @Nonnull final Function<T, BatchWriteData> toData) throws InfluxException {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(organization, "organization");
+        Arguments.checkNotNull(items, "data to write");
+        Arguments.checkNotNull(toData, "toData");
+
+        BatchWriteOptions batchWriteOptions = toBatchWriteOptions(bucket, organization, precision);
+        for (T item : items) {
+            if (item == null) {
+                continue;
+            }
+
+            BatchWriteData data;
+            try {
+                data = toData.apply(item);
+            } catch (Exception e) {
+                publish(new WriteErrorEvent(e));
+                return;
+            }
+
+            enqueue(batchWriteOptions, data);
+        }
+    }
+
+    /**
+     * Enqueue the points into the batching directly from the caller thread, without the assembly
+     * of the reactive stream. The {@code null} points are skipped.
+     *
+     * @param bucket       the destination bucket for writes
+     * @param organization the destination organization for writes
+     * @param points       the points to write
+     * @throws InfluxException if the write buffer is full and the strategy is ERROR
+     */
+    public void enqueuePoints(@Nonnull final String bucket,
+                              @Nonnull final String organization,
+                              @Nonnull final Iterable<Point> points) throws InfluxException {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(organization, "organization");
+        Arguments.checkNotNull(points, "points");
+
+        for (Point point : points) {
+            if (point != null) {
+                BatchWriteOptions batchWriteOptions = toBatchWriteOptions(bucket, organization,
+                        point.getPrecision());
+                enqueue(batchWriteOptions, new BatchWriteDataPoint(point, options));
+            }
+        }
+    }
+
+    /**
+     * Account the data by the write buffer and offer it to the batching.
+     *
+     * @throws InfluxException if the write buffer is full and the strategy is ERROR
+     */
+    private void enqueue(@Nonnull final BatchWriteOptions batchWriteOptions, @Nonnull final BatchWriteData data) {
+
+        //
+        // Backpressure => bounded buffer
+        //
+        int count = data.count();
+        if (!buffer.acquire(count)) {
+            return;
+        }
+
+        metrics.onEnqueued(count);
+        WriteDrain.Epoch epoch = drain.accept(count);
+
+        BatchWriteData enqueued = data;
+        if (serializeOnWrite && !(data instanceof BatchWriteDataRecord)) {
+            enqueued = serialize(data);
+            if (enqueued == null) {
+                buffer.release(count, 0);
+                drain.settle(epoch, count, WriteDrain.Outcome.SKIPPED);
+                return;
+            }
+        }
+
+        // closed meanwhile => the points are not written
+        if (!ingestion.offer(new BatchWriteItem(batchWriteOptions, enqueued, epoch))) {
+            buffer.release(count, 0);
+            drain.settle(epoch, count, WriteDrain.Outcome.DROPPED);
+        }
+    }
+
+    /**
+     * The item is enqueued concurrently with the close after the batching is completed, the points are not written.
+     */
+    private void reject(@Nonnull final BatchWriteItem item) {
+
+        int count = item.data.count();
+        buffer.release(count, 0);
+        drain.settle(item.epoch, count, WriteDrain.Outcome.DROPPED);
+    }
+
+    /**
+     * @param settled the future of the settled points
+     * @return {@code true} if the future is completed before the timeout
+     */
+    private boolean await(@Nonnull final CompletableFuture<Void> settled,
+                          final long timeout,
+                          @Nonnull final TimeUnit unit) {
+
+        try {
+            settled.get(timeout, unit);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Serialize the data by the thread which writes them => the producers serialize in parallel.
+     *
+     * @return the serialized data or {@code null} if the data don't produce any Line Protocol
+     */
+    @Nullable
+    private BatchWriteData serialize(@Nonnull final BatchWriteData data) {
+
+        long start = System.nanoTime();
+        String lineProtocol;
+        try {
+            lineProtocol = data.toLineProtocol();
+        } catch (Exception e) {
+            publish(new WriteErrorEvent(e));
+            return null;
+        }
+
+        if (lineProtocol == null || lineProtocol.isEmpty()) {
+            return null;
+        }
+
+        return new BatchWriteDataSerialized(lineProtocol, data.count(), System.nanoTime() - start);
+    }
+
+    /**
+     * The options of the previous write are reused, the producers usually write into the same destination.
+     */
+    @Nonnull
+    private BatchWriteOptions toBatchWriteOptions(@Nonnull final String bucket,
+                                                  @Nonnull final String organization,
+                                                  @Nonnull final WritePrecision precision) {
+
+        BatchWriteOptions last = lastBatchWriteOptions;
+        if (last != null
+                && last.precision == precision
+                && last.bucket.equals(bucket)
+                && last.organization.equals(organization)) {
+            return last;
+        }
+
+        last = new BatchWriteOptions(bucket, organization, precision);
+        lastBatchWriteOptions = last;
+
+        return last;
     }
 
     @Nonnull
-    private FlowableTransformer<BatchWriteItem, BatchWriteItem> jitter(@Nonnull final Scheduler scheduler) {
+    private FlowableTransformer<BatchWriteRequest, BatchWriteRequest> jitter(@Nonnull final Scheduler scheduler) {
 
         Arguments.checkNotNull(scheduler, "Jitter scheduler is required");
 
@@ -222,7 +669,7 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
             //
             // Add jitter => dynamic delay
             //
-            return source.delay((Function<BatchWriteItem, Flowable<Long>>) pointFlowable -> {
+            return source.delay((Function<BatchWriteRequest, Flowable<Long>>) pointFlowable -> {
 
                 int delay = jitterDelay();
 
@@ -233,6 +680,223 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         };
     }
 
+    @Nonnull
+    private FlowableTransformer<BatchWriteRequest, Notification<Response>> writeRequests(
+            @Nonnull final Scheduler scheduler) {
+
+        Arguments.checkNotNull(scheduler, "Write scheduler is required");
+
+        ToWritePointsMaybe toWritePoints = new ToWritePointsMaybe(scheduler);
+        int maxConcurrentRequests = writeOptions.getMaxConcurrentRequests();
+
+        return source -> {
+
+            //
+            // one request in flight
+            //
+            if (maxConcurrentRequests <= 1) {
+                return source.concatMapMaybe(toWritePoints);
+            }
+
+            //
+            // ordered per bucket, org and precision => the same destination is always written by the same lane
+            //
+            if (writeOptions.isPreserveWriteOrder()) {
+                return source
+                        .groupBy(request -> Math.floorMod(request.batchWriteOptions.hashCode(), maxConcurrentRequests))
+                        .flatMap(lane -> lane
+                                        .concatMapMaybe(request -> toWritePoints.apply(request).subscribeOn(scheduler)),
+                                maxConcurrentRequests);
+            }
+
+            //
+            // unordered
+            //
+            return source
+                    .flatMapMaybe(request -> toWritePoints.apply(request).subscribeOn(scheduler),
+                            false,
+                            maxConcurrentRequests);
+        };
+    }
+
+    /**
+     * @param points the accepted points of the coalesced data, the merged points are not tracked by their epochs
+     */
+    @Nonnull
+    private List<BatchWriteRequest> toBatches(@Nonnull final BatchWriteOptions batchWriteOptions,
+                                              @Nonnull final List<BatchWriteData> data,
+                                              @Nonnull final WriteDrain.Points points) {
+
+        List<BatchWriteRequest> batches = new ArrayList<>();
+        for (BatchWriteData it : data) {
+            appendToBatch(batches, batchWriteOptions, it);
+        }
+
+        for (BatchWriteRequest batch : batches) {
+            batch.accepted = points.take(batch.points);
+        }
+
+        return batches;
+    }
+
+    /**
+     * @return the batch with the appended data
+     */
+    @Nonnull
+    private BatchWriteRequest appendToBatch(@Nonnull final List<BatchWriteRequest> batches,
+                               @Nonnull final BatchWriteOptions batchWriteOptions,
+                               @Nonnull final BatchWriteData data) {
+
+        BatchWriteRequest request = batches.isEmpty() ? null : batches.get(batches.size() - 1);
+
+        long maxBatchBytes = writeOptions.getMaxBatchBytes();
+        if (request == null || maxBatchBytes > 0 && request.batch.size() >= maxBatchBytes) {
+            request = new BatchWriteRequest(batchWriteOptions, new LineProtocolBatch());
+            batches.add(request);
+        }
+
+        request.append(data);
+
+        return request;
+    }
+
+    @Nullable
+    private ExecutorService createCompressionExecutor(@Nonnull final WriteOptions writeOptions,
+                                                      @Nullable final GzipInterceptor gzipInterceptor) {
+
+        if (writeOptions.getCompressionThreads() <= 0 || gzipInterceptor == null) {
+            return null;
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(writeOptions.getCompressionThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "influxdb-write-compression-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The default {@link Schedulers#newThread()} creates the thread for every scheduled task => the requests
+     * and the delayed retries are executed on the bounded pool of {@link WriteOptions#getMaxConcurrentRequests()}
+     * threads instead.
+     *
+     * @return the executor of the requests, {@code null} if the requests are executed by the write scheduler
+     */
+    @Nullable
+    private ExecutorService createRequestExecutor(@Nonnull final WriteOptions writeOptions,
+                                                  @Nonnull final Scheduler processorScheduler) {
+
+        if (processorScheduler != Schedulers.newThread()) {
+            return null;
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+
+        // the scheduled executor => the retries are delayed without the additional timer thread
+        return Executors.newScheduledThreadPool(Math.max(1, writeOptions.getMaxConcurrentRequests()), runnable -> {
+            Thread thread = new Thread(runnable, "influxdb-write-request-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Compress the batch before it is sent, if the compression of the writes is enabled.
+     */
+    @Nonnull
+    private BatchWriteRequest compress(@Nonnull final BatchWriteRequest request) {
+
+        if (request.batch == null || request.batch.isEmpty()) {
+            return request;
+        }
+
+        CompressionCodec codec = gzipInterceptor.getRequestCodec(RequestType.WRITE, request.batch.size());
+        if (codec == null) {
+            return request;
+        }
+
+        try {
+            request.compressed = request.batch.compress(codec);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "The batch cannot be compressed, it will be compressed by the request.", e);
+        }
+
+        return request;
+    }
+
+    @Nullable
+    private WriteSpool createSpool(@Nonnull final WriteOptions writeOptions) {
+
+        if (writeOptions.getSpoolDirectory() == null) {
+            return null;
+        }
+
+        try {
+            return new WriteSpool(Paths.get(writeOptions.getSpoolDirectory()),
+                    writeOptions.getSpoolMaxSize(),
+                    writeOptions.getSpoolMaxAge(),
+                    writeOptions.isSpoolSync(),
+                    (batches, records) -> {
+                        metrics.onDropped(records);
+                        publish(new WriteErrorEvent(new InfluxException(
+                                "The spool limits exceeded, dropped " + batches + " not written batches.")));
+                    });
+        } catch (IOException e) {
+            throw new InfluxException(e);
+        }
+    }
+
+    @Nonnull
+    private BatchWriteRequest toSpooled(@Nonnull final BatchWriteRequest request) {
+
+        if (request.batch == null || request.batch.isEmpty()) {
+            return request;
+        }
+
+        BatchWriteOptions batchWriteOptions = request.batchWriteOptions;
+        try {
+            WriteSpool.Entry entry = spool.append(batchWriteOptions.bucket, batchWriteOptions.organization,
+                    batchWriteOptions.precision, request.batch);
+
+            // the spooled points are not held in memory
+            buffer.release(request.points, 0);
+            request.batch.release();
+
+            BatchWriteRequest spooled = new BatchWriteRequest(batchWriteOptions, entry);
+            // the points are settled when the spooled batch is written
+            spooled.points = request.points;
+            spooled.accepted = request.accepted;
+
+            return spooled;
+        } catch (IOException e) {
+
+            LOG.log(Level.WARNING, "The batch cannot be spooled, it will be written from memory.", e);
+
+            return request;
+        }
+    }
+
+    /**
+     * The recovered batch is accounted as the batch accepted and spooled by this client, so the flush and close wait
+     * for it and the metrics count it. It is on the disk => like the spooled batch it doesn't hold the points
+     * in the write buffer and it is not dropped by the backpressure.
+     */
+    @Nonnull
+    private BatchWriteRequest toRecovered(@Nonnull final WriteSpool.Entry entry) {
+
+        BatchWriteRequest recovered = new BatchWriteRequest(
+                new BatchWriteOptions(entry.getBucket(), entry.getOrganization(), entry.getPrecision()), entry);
+
+        int count = entry.getCount();
+        metrics.onEnqueued(count);
+        recovered.points = count;
+        recovered.accepted.add(drain.accept(count), count);
+
+        return recovered;
+    }
+
     private int jitterDelay() {
 
         return (int) (Math.random() * writeOptions.getJitterInterval());
@@ -250,6 +914,41 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
 
         @Nullable
         String toLineProtocol();
+
+        /**
+         * @return the number of the data points accounted by the write buffer
+         */
+        default int count() {
+            return 1;
+        }
+
+        /**
+         * Append the Line Protocol into the {@code sink}.
+         *
+         * @param sink the destination of the Line Protocol
+         * @return {@code true} if any Line Protocol was appended
+         * @throws IOException if the {@code sink} throws an I/O error
+         */
+        default boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+
+            String lineProtocol = toLineProtocol();
+            if (lineProtocol == null || lineProtocol.isEmpty()) {
+                return false;
+            }
+
+            sink.append(lineProtocol);
+
+            return true;
+        }
+
+        /**
+         * @return the data as the {@link Point} to merge by the {@link WriteOptions#isCoalesce()},
+         * {@code null} if the data cannot be merged
+         */
+        @Nullable
+        default Point toPoint() {
+            return null;
+        }
     }
 
     public static final class BatchWriteDataRecord implements BatchWriteData {
@@ -267,6 +966,35 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         }
     }
 
+    /**
+     * The data serialized by the {@link WriteOptions#isSerializeOnWrite()}.
+     */
+    private static final class BatchWriteDataSerialized implements BatchWriteData {
+
+        private final String lineProtocol;
+        private final int count;
+        private final long serializationTime;
+
+        private BatchWriteDataSerialized(@Nonnull final String lineProtocol,
+                                         final int count,
+                                         final long serializationTime) {
+            this.lineProtocol = lineProtocol;
+            this.count = count;
+            this.serializationTime = serializationTime;
+        }
+
+        @Nonnull
+        @Override
+        public String toLineProtocol() {
+            return lineProtocol;
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+    }
+
     public static final class BatchWriteDataPoint implements BatchWriteData {
 
         private static final Logger LOG = Logger.getLogger(BatchWriteDataPoint.class.getName());
@@ -294,6 +1022,61 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
 
             return point.toLineProtocol(options.getPointSettings());
         }
+
+        @Override
+        public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+
+            if (!point.hasFields()) {
+
+                LOG.warning("The point: " + point + "doesn't contains any fields, skipping");
+
+                return false;
+            }
+
+            return point.appendLineProtocol(sink, options.getPointSettings());
+        }
+
+        @Nonnull
+        @Override
+        public Point toPoint() {
+            return point;
+        }
+    }
+
+    public static final class BatchWriteDataPointBatch implements BatchWriteData {
+
+        private final PointBatch batch;
+        private final InfluxDBClientOptions options;
+
+        public BatchWriteDataPointBatch(@Nonnull final PointBatch batch,
+                                        @Nonnull final InfluxDBClientOptions options) {
+
+            this.batch = batch;
+            this.options = options;
+        }
+
+        @Nullable
+        @Override
+        public String toLineProtocol() {
+
+            String lineProtocol = batch.toLineProtocol(options.getPointSettings());
+            if (lineProtocol.isEmpty()) {
+                return null;
+            }
+
+            return lineProtocol;
+        }
+
+        @Override
+        public int count() {
+            return Math.max(1, batch.size());
+        }
+
+        @Override
+        public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+
+            return batch.appendLineProtocol(sink, options.getPointSettings()) > 0;
+        }
     }
 
     public static final class BatchWriteDataMeasurement implements BatchWriteData {
@@ -321,15 +1104,44 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
                 return null;
             }
 
-            Point point = measurementMapper.toPoint(measurement, precision);
-            if (!point.hasFields()) {
+            StringBuilder sb = new StringBuilder();
+            try {
+                if (!appendLineProtocol(sb)) {
+                    return null;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+
+            return sb.toString();
+        }
+
+        @Override
+        public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+
+            if (measurement == null) {
+                return false;
+            }
+
+            boolean appended = measurementMapper
+                    .appendLineProtocol(measurement, precision, options.getPointSettings(), sink);
+            if (!appended) {
 
                 LOG.warning("The measurement: " + measurement + "doesn't contains any fields, skipping");
+            }
+
+            return appended;
+        }
+
+        @Nullable
+        @Override
+        public Point toPoint() {
 
+            if (measurement == null) {
                 return null;
             }
 
-            return point.toLineProtocol(options.getPointSettings());
+            return measurementMapper.toPoint(measurement, precision);
         }
     }
 
@@ -340,15 +1152,104 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
 
         private BatchWriteOptions batchWriteOptions;
         private BatchWriteData data;
+        private WriteDrain.Epoch epoch;
 
         private BatchWriteItem(@Nonnull final BatchWriteOptions batchWriteOptions,
-                               @Nonnull final BatchWriteData data) {
+                               @Nonnull final BatchWriteData data,
+                               @Nonnull final WriteDrain.Epoch epoch) {
 
             Arguments.checkNotNull(batchWriteOptions, "data");
             Arguments.checkNotNull(data, "write options");
 
             this.batchWriteOptions = batchWriteOptions;
             this.data = data;
+            this.epoch = epoch;
+        }
+    }
+
+    /**
+     * The encoded batch of the {@link BatchWriteItem}s with same options. The batch is kept in memory
+     * or in the {@link WriteSpool}.
+     */
+    private final class BatchWriteRequest implements WriteBuffer.Item {
+
+        private final BatchWriteOptions batchWriteOptions;
+        private final LineProtocolBatch batch;
+        private final WriteSpool.Entry entry;
+        private LineProtocolBatch.Compressed compressed;
+        private long points;
+        private WriteDrain.Points accepted = new WriteDrain.Points();
+        private long serializationTime;
+        private int attempts;
+        private long firstAttempt;
+        private long retryDelay = -1;
+
+        private BatchWriteRequest(@Nonnull final BatchWriteOptions batchWriteOptions,
+                                  @Nonnull final LineProtocolBatch batch) {
+
+            Arguments.checkNotNull(batchWriteOptions, "write options");
+            Arguments.checkNotNull(batch, "batch");
+
+            this.batchWriteOptions = batchWriteOptions;
+            this.batch = batch;
+            this.entry = null;
+        }
+
+        private BatchWriteRequest(@Nonnull final BatchWriteOptions batchWriteOptions,
+                                  @Nonnull final WriteSpool.Entry entry) {
+
+            Arguments.checkNotNull(batchWriteOptions, "write options");
+            Arguments.checkNotNull(entry, "spool entry");
+
+            this.batchWriteOptions = batchWriteOptions;
+            this.batch = null;
+            this.entry = entry;
+        }
+
+        private void append(@Nonnull final BatchWriteData data) {
+
+            points += data.count();
+            if (data instanceof BatchWriteDataSerialized) {
+                // serialized by the producer
+                serializationTime += ((BatchWriteDataSerialized) data).serializationTime;
+            }
+
+            long start = System.nanoTime();
+            try {
+                batch.append(data);
+            } catch (Exception e) {
+                publish(new WriteErrorEvent(e));
+            } finally {
+                serializationTime += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public long points() {
+            // the spooled points are released from the buffer by the spooling
+            return entry != null ? 0 : points;
+        }
+
+        @Override
+        public long bytes() {
+            return batch != null ? batch.size() : 0;
+        }
+
+        @Override
+        public void discard() {
+            if (batch != null) {
+                batch.release();
+            }
+            releaseCompressed();
+            // the accepted points are dropped by the backpressure
+            drain.settle(accepted, 0, WriteDrain.Outcome.DROPPED);
+        }
+
+        private void releaseCompressed() {
+            if (compressed != null) {
+                compressed.release();
+                compressed = null;
+            }
         }
     }
 
@@ -357,9 +1258,9 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
      */
     private final class BatchWriteOptions {
 
-        private String bucket;
-        private String organization;
-        private WritePrecision precision;
+        private final String bucket;
+        private final String organization;
+        private final WritePrecision precision;
 
         private BatchWriteOptions(@Nonnull final String bucket,
                                   @Nonnull final String organization,
@@ -394,7 +1295,7 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         }
     }
 
-    private final class ToWritePointsMaybe implements Function<BatchWriteItem, Maybe<Notification<Response>>> {
+    private final class ToWritePointsMaybe implements Function<BatchWriteRequest, Maybe<Notification<Response>>> {
 
         private final Scheduler retryScheduler;
 
@@ -403,27 +1304,117 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
         }
 
         @Override
-        public Maybe<Notification<Response>> apply(final BatchWriteItem batchWrite) {
+        public Maybe<Notification<Response>> apply(final BatchWriteRequest batchWrite) {
 
-            String content = batchWrite.data.toLineProtocol();
+            LineProtocolBatch batch = load(batchWrite);
 
-            if (content == null || content.isEmpty()) {
+            if (batch == null || batch.isEmpty()) {
+                buffer.release(batchWrite);
+                // not readable from the spool or without any Line Protocol
+                drain.settle(batchWrite.accepted, 0, batch == null
+                        ? WriteDrain.Outcome.FAILED : WriteDrain.Outcome.SKIPPED);
+                finishRequest();
                 return Maybe.empty();
             }
 
+            if (batchWrite.attempts == 0) {
+                batchWrite.firstAttempt = System.currentTimeMillis();
+                retryPolicy.onWrite();
+            }
+
+            //
+            // One request in flight or the order is preserved => the batch is retried in place
+            //
+            BatchWriteRequest retried = writeOptions.getMaxConcurrentRequests() > 1
+                    && !writeOptions.isPreserveWriteOrder() ? batchWrite : null;
+
+            // the records written by the request and by the requests of the halves
+            AtomicLong written = new AtomicLong();
+
+            return write(batchWrite.batchWriteOptions, batch, batchWrite.compressed, retried, written)
+                    //
+                    // Written or not able to retry => remove from spool
+                    //
+                    .doOnSuccess(responseNotification -> {
+                        if (batchWrite.entry != null) {
+                            spool.acknowledge(batchWrite.entry);
+                        }
+                    })
+                    .doFinally(() -> {
+
+                        //
+                        // Retry later => the batch stays in the buffer
+                        //
+                        if (batchWrite.retryDelay >= 0) {
+                            long retryDelay = batchWrite.retryDelay;
+                            batchWrite.retryDelay = -1;
+                            if (batchWrite.entry != null) {
+                                // the spooled batch is read again
+                                batch.release();
+                            }
+                            retryScheduler.scheduleDirect(() -> retries.onNext(batchWrite),
+                                    retryDelay, TimeUnit.MILLISECONDS);
+                            return;
+                        }
+
+                        long writtenPoints = written.get() >= batch.count()
+                                ? batchWrite.points : batchWrite.points * written.get() / batch.count();
+
+                        // release the accounted size before the batch is cleared
+                        buffer.release(batchWrite);
+                        batch.release();
+                        batchWrite.releaseCompressed();
+                        drain.settle(batchWrite.accepted, writtenPoints, WriteDrain.Outcome.FAILED);
+                        finishRequest();
+                    });
+        }
+
+        /**
+         * @param compressed the compressed batch, {@code null} to compress the batch by the request
+         * @param retried    the request retried later by the {@link #retries}, {@code null} to retry in place
+         * @param written    the counter of the written records
+         */
+        @Nonnull
+        private Maybe<Notification<Response>> write(@Nonnull final BatchWriteOptions batchWriteOptions,
+                                                    @Nonnull final LineProtocolBatch batch,
+                                                    @Nullable final LineProtocolBatch.Compressed compressed,
+                                                    @Nullable final BatchWriteRequest retried,
+                                                    @Nonnull final AtomicLong written) {
+
             // Parameters
-            String organization = batchWrite.batchWriteOptions.organization;
-            String bucket = batchWrite.batchWriteOptions.bucket;
-            WritePrecision precision = batchWrite.batchWriteOptions.precision;
+            String organization = batchWriteOptions.organization;
+            String bucket = batchWriteOptions.bucket;
+            WritePrecision precision = batchWriteOptions.precision;
+
+            // the not compressed body could be compressed by the GzipInterceptor
+            RequestBody body = compressed != null ? compressed.toRequestBody() : batch.toRequestBody();
+            String contentEncoding = compressed != null ? compressed.getEncoding() : null;
+
+            // the executions of the request, including the retries in place
+            AtomicInteger executions = new AtomicInteger();
+            AtomicLong latency = new AtomicLong();
 
             Maybe<Response<Void>> requestSource = Maybe
                     .fromCallable(() -> service
-                            .postWrite(organization, bucket, content, null,
-                                    "identity", "text/plain; charset=utf-8", null,
+                            .postWriteRequestBody(organization, bucket, body, null,
+                                    contentEncoding, "text/plain; charset=utf-8", null,
                                     "application/json", null, precision))
-                    .map(Call::execute);
+                    .map(call -> {
+
+                        long start = System.nanoTime();
+                        Response<Void> response = call.execute();
+                        long duration = System.nanoTime() - start;
+                        executions.incrementAndGet();
+                        latency.set(TimeUnit.NANOSECONDS.toMillis(duration));
+                        metrics.onRequest(response.code(), duration);
+                        if (adaptiveBatching != null && response.isSuccessful()) {
+                            adaptiveBatching.onSuccess(latency.get());
+                        }
 
-            return requestSource
+                        return response;
+                    });
+
+            Maybe<Response> responses = requestSource
                     //
                     // Response is not Successful => throw exception
                     //
@@ -434,11 +1425,16 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
                         }
 
                         return response;
-                    })
-                    //
-                    // Is exception retriable?
-                    //
-                    .retryWhen(AbstractWriteClient.this.retryHandler(retryScheduler, writeOptions))
+                    });
+
+            //
+            // Is exception retriable? => retry in place
+            //
+            if (retried == null) {
+                responses = responses.retryWhen(AbstractWriteClient.this.retryHandler(retryScheduler));
+            }
+
+            return responses
                     //
                     // Map response to Notification => possibility to consume error as event
                     //
@@ -452,74 +1448,176 @@ public abstract class AbstractWriteClient extends AbstractRestClient {
                     })
                     .doOnSuccess(responseNotification -> {
                         if (!responseNotification.isOnError()) {
-                            publish(toSuccessEvent(batchWrite, content));
+                            metrics.onWritten(batch.count(), batch.size());
+                            written.addAndGet(batch.count());
+                        }
+                        if (!responseNotification.isOnError() && hasSuccessListener()) {
+                            int attempt = (retried != null ? retried.attempts : 0) + executions.get();
+                            publish(toSuccessEvent(batchWriteOptions, batch, latency.get(), attempt));
                         }
                     })
                     .onErrorResumeNext(throwable -> {
+
+                        //
+                        // Is exception retriable? => retry later, the other batches are written meanwhile
+                        //
+                        if (retried != null) {
+                            long retryDelay = retryDelay(throwable, ++retried.attempts, retried.firstAttempt);
+                            if (retryDelay >= 0) {
+                                retried.retryDelay = retryDelay;
+                                return Maybe.empty();
+                            }
+                        }
+
+                        //
+                        // Request Entity Too Large => write the halves of batch
+                        //
+                        if (throwable instanceof HttpException
+                                && ((HttpException) throwable).code() == REQUEST_ENTITY_TOO_LARGE) {
+
+                            LineProtocolBatch[] halves = batch.split();
+                            if (halves != null) {
+
+                                LOG.log(Level.FINE, "The batch of {0} records is too large, splitting into {1} and {2}",
+                                        new Object[]{batch.count(), halves[0].count(), halves[1].count()});
+
+                                return Maybe.concat(
+                                        write(batchWriteOptions, halves[0], null, null, written)
+                                                .doFinally(halves[0]::release),
+                                        write(batchWriteOptions, halves[1], null, null, written)
+                                                .doFinally(halves[1]::release))
+                                        .reduce((first, second) -> {
+                                            if (first.isOnError() && second.isOnError()) {
+                                                publish(new WriteErrorEvent(toInfluxException(first.getError())));
+                                            }
+                                            return first.isOnError() && !second.isOnError() ? first : second;
+                                        });
+                            }
+                        }
+
+                        metrics.onFailed(batch.count());
+
                         return Maybe.just(Notification.createOnError(throwable));
                     });
         }
 
+        @Nullable
+        private LineProtocolBatch load(@Nonnull final BatchWriteRequest batchWrite) {
+
+            if (batchWrite.entry == null) {
+                return batchWrite.batch;
+            }
+
+            try {
+                return spool.read(batchWrite.entry);
+            } catch (IOException e) {
+                publish(new WriteErrorEvent(e));
+                return null;
+            }
+        }
+
         @Nonnull
-        private WriteSuccessEvent toSuccessEvent(@Nonnull final BatchWriteItem batchWrite, final String lineProtocol) {
+        private WriteSuccessEvent toSuccessEvent(@Nonnull final BatchWriteOptions batchWriteOptions,
+                                                 @Nonnull final LineProtocolBatch batch,
+                                                 final long latency,
+                                                 final int attempt) {
+
+            // the Line Protocol is created only on demand => the batch is not kept alive by the listeners
+            String lineProtocol = writeOptions.isRetainEventPayload() ? batch.toLineProtocol() : null;
 
             return new WriteSuccessEvent(
-                    batchWrite.batchWriteOptions.organization,
-                    batchWrite.batchWriteOptions.bucket,
-                    batchWrite.batchWriteOptions.precision,
-                    lineProtocol);
+                    batchWriteOptions.organization,
+                    batchWriteOptions.bucket,
+                    batchWriteOptions.precision,
+                    lineProtocol,
+                    batch.count(),
+                    batch.size(),
+                    latency,
+                    attempt);
+        }
+
+        /**
+         * @return {@code true} if the success event is observed by the listener or logged
+         */
+        private boolean hasSuccessListener() {
+            return eventPublisher.hasObservers() || SUCCESS_LOG.isLoggable(Level.FINE);
         }
     }
 
-    private Function<Flowable<Throwable>, Publisher<?>> retryHandler(@Nonnull final Scheduler retryScheduler,
-                                                                     @Nonnull final WriteOptions writeOptions) {
+    private Function<Flowable<Throwable>, Publisher<?>> retryHandler(@Nonnull final Scheduler retryScheduler) {
 
-        Objects.requireNonNull(writeOptions, "WriteOptions are required");
         Objects.requireNonNull(retryScheduler, "RetryScheduler is required");
 
-        return errors -> errors.flatMap(throwable -> {
+        return errors -> {
 
-            if (throwable instanceof HttpException) {
+            AtomicInteger attempts = new AtomicInteger();
+            long firstAttempt = System.currentTimeMillis();
 
-                HttpException ie = (HttpException) throwable;
+            return errors.flatMap(throwable -> {
+
+                long retryDelay = retryDelay(throwable, attempts.incrementAndGet(), firstAttempt);
 
                 //
-                // The type of error is not able to retry
+                // This type of throwable is not able to retry
                 //
-                if (!ABLE_TO_RETRY_ERRORS.contains(ie.code())) {
-
+                if (retryDelay < 0) {
                     return Flowable.error(throwable);
                 }
 
-                //
-                // Retry request
-                //
-                long retryInterval;
+                return Flowable.just("notify").delay(retryDelay, TimeUnit.MILLISECONDS, retryScheduler);
+            });
+        };
+    }
 
-                String retryAfter = ((HttpException) throwable).response().headers().get("Retry-After");
-                if (retryAfter != null) {
+    /**
+     * @param throwable    the cause of the failed write
+     * @param attempt      the number of the failed attempts
+     * @param firstAttempt the time of the first attempt
+     * @return the delay before the next attempt (milliseconds) or {@code -1} if the write is not retried
+     */
+    private long retryDelay(@Nonnull final Throwable throwable, final int attempt, final long firstAttempt) {
+
+        //
+        // InfluxDB is overloaded => smaller and less frequent batches
+        //
+        if (adaptiveBatching != null
+                && throwable instanceof HttpException
+                && OVERLOADED_ERRORS.contains(((HttpException) throwable).code())) {
+            adaptiveBatching.onOverload();
+        }
 
-                    retryInterval = TimeUnit.MILLISECONDS.convert(Integer.parseInt(retryAfter), TimeUnit.SECONDS);
-                } else {
+        if (!retryPolicy.isRetryable(throwable)) {
+            return -1;
+        }
 
-                    retryInterval = writeOptions.getRetryInterval();
+        long retryDelay = retryPolicy.retryDelay(throwable, attempt, System.currentTimeMillis() - firstAttempt);
+        if (retryDelay < 0) {
+            return -1;
+        }
 
-                    String msg = "The InfluxDB does not specify \"Retry-After\". Use the default retryInterval: {0}";
-                    LOG.log(Level.FINEST, msg, retryInterval);
-                }
+        retryDelay = retryDelay + jitterDelay();
 
-                retryInterval = retryInterval + jitterDelay();
+        metrics.onRetry(throwable instanceof HttpException ? ((HttpException) throwable).code() : 0);
 
-                publish(new WriteRetriableErrorEvent(throwable, retryInterval));
+        publish(new WriteRetriableErrorEvent(throwable, retryDelay));
 
-                return Flowable.just("notify").delay(retryInterval, TimeUnit.MILLISECONDS, retryScheduler);
-            }
+        return retryDelay;
+    }
 
-            //
-            // This type of throwable is not able to retry
-            //
-            return Flowable.error(throwable);
-        });
+    private void finishRequest() {
+
+        inFlight.decrementAndGet();
+        completeRetries();
+    }
+
+    /**
+     * All batches are written or failed => complete the retries.
+     */
+    private void completeRetries() {
+
+        if (requestsCompleted && inFlight.get() == 0) {
+            retries.onComplete();
+        }
     }
 
     @Nonnull
@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.WriteOptions;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * The additive increase / multiplicative decrease controller of the batch size and the flush interval.
+ * <p>
+ * While the smoothed latency of the write requests is under the target, the batch size grows by the tenth
+ * of the configured {@link WriteOptions#getBatchSize()} and the flush interval returns
+ * to the configured {@link WriteOptions#getFlushInterval()}. When the latency exceeds the target or the InfluxDB
+ * responds by HTTP 429 or 503, the batch size is halved and the flush interval is doubled.
+ * The values are kept within {@link WriteOptions#getMinBatchSize()}, {@link WriteOptions#getMaxBatchSize()}
+ * and {@link WriteOptions#getMaxFlushInterval()}.
+ */
+@ThreadSafe
+final class AdaptiveBatching {
+
+    private static final Logger LOG = Logger.getLogger(AdaptiveBatching.class.getName());
+
+    // the weight of the new latency in the smoothed latency
+    private static final double LATENCY_WEIGHT = 0.2;
+    private static final int STEPS = 10;
+
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final int minFlushInterval;
+    private final int maxFlushInterval;
+    private final long targetLatency;
+    private final int batchSizeStep;
+    private final int flushIntervalStep;
+
+    private volatile int batchSize;
+    private volatile int flushInterval;
+    private double latency = -1;
+
+    AdaptiveBatching(@Nonnull final WriteOptions writeOptions) {
+
+        Arguments.checkNotNull(writeOptions, "writeOptions");
+
+        this.minBatchSize = writeOptions.getMinBatchSize();
+        this.maxBatchSize = Math.max(minBatchSize, writeOptions.getMaxBatchSize());
+        this.minFlushInterval = writeOptions.getFlushInterval();
+        this.maxFlushInterval = Math.max(minFlushInterval, writeOptions.getMaxFlushInterval());
+        this.targetLatency = writeOptions.getTargetLatency();
+        this.batchSizeStep = Math.max(1, writeOptions.getBatchSize() / STEPS);
+        this.flushIntervalStep = Math.max(1, minFlushInterval / STEPS);
+
+        this.batchSize = Math.min(Math.max(writeOptions.getBatchSize(), minBatchSize), maxBatchSize);
+        this.flushInterval = minFlushInterval;
+    }
+
+    /**
+     * @return the current number of data points to collect in batch
+     */
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the current time to wait at most (milliseconds)
+     */
+    int getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * The batch was successfully written.
+     *
+     * @param latency the duration of the write request (milliseconds)
+     */
+    synchronized void onSuccess(final long latency) {
+
+        this.latency = this.latency < 0 ? latency : (1 - LATENCY_WEIGHT) * this.latency + LATENCY_WEIGHT * latency;
+
+        if (this.latency > targetLatency) {
+            decrease("latency " + Math.round(this.latency) + " ms");
+            return;
+        }
+
+        batchSize = Math.min(maxBatchSize, batchSize + batchSizeStep);
+        flushInterval = Math.max(minFlushInterval, flushInterval - flushIntervalStep);
+    }
+
+    /**
+     * The InfluxDB is overloaded - HTTP 429 or 503.
+     */
+    synchronized void onOverload() {
+
+        decrease("overloaded InfluxDB");
+    }
+
+    /**
+     * Create the boundary of the batches. The boundary is signaled when the current batch size of the items
+     * is reached or when the current flush interval elapsed since the previous boundary.
+     *
+     * @param items     the batched items
+     * @param scheduler the scheduler of the flush interval
+     * @return the boundary of the batches
+     */
+    @Nonnull
+    Flowable<Object> boundary(@Nonnull final Flowable<?> items, @Nonnull final Scheduler scheduler) {
+
+        Arguments.checkNotNull(items, "items");
+        Arguments.checkNotNull(scheduler, "scheduler");
+
+        return Flowable.create(emitter -> {
+
+            Boundary boundary = new Boundary(emitter.serialize(), scheduler.createWorker());
+
+            Disposable subscription = items
+                    .subscribe(item -> boundary.onItem(), emitter::onError, boundary::onComplete);
+            emitter.setCancellable(() -> {
+                subscription.dispose();
+                boundary.worker.dispose();
+            });
+
+            boundary.schedule();
+
+        }, BackpressureStrategy.BUFFER);
+    }
+
+    private void decrease(@Nonnull final String reason) {
+
+        batchSize = Math.max(minBatchSize, batchSize / 2);
+        flushInterval = (int) Math.min(maxFlushInterval, 2L * flushInterval);
+
+        LOG.log(Level.FINE, "The batching is decreased because of {0}: batchSize = {1}, flushInterval = {2} ms",
+                new Object[]{reason, batchSize, flushInterval});
+    }
+
+    private final class Boundary {
+
+        private final FlowableEmitter<Object> emitter;
+        private final Scheduler.Worker worker;
+        private int count;
+        private long generation;
+        private Disposable timer;
+
+        private Boundary(@Nonnull final FlowableEmitter<Object> emitter, @Nonnull final Scheduler.Worker worker) {
+            this.emitter = emitter;
+            this.worker = worker;
+        }
+
+        private synchronized void onItem() {
+
+            if (++count >= batchSize) {
+                signal();
+            }
+        }
+
+        private synchronized void onTimeout(final long scheduled) {
+
+            // the timer was replaced by the boundary of count
+            if (scheduled == generation) {
+                signal();
+            }
+        }
+
+        private synchronized void onComplete() {
+
+            worker.dispose();
+            emitter.onComplete();
+        }
+
+        private void signal() {
+
+            count = 0;
+            emitter.onNext(Boolean.TRUE);
+            schedule();
+        }
+
+        private synchronized void schedule() {
+
+            if (timer != null) {
+                timer.dispose();
+            }
+
+            long scheduled = ++generation;
+            timer = worker.schedule(() -> onTimeout(scheduled), flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.write.PointSettings;
+
+/**
+ * The immutable snapshot of the evaluated default tags sorted by key. The keys and values are pre-escaped.
+ * <p>
+ * Internal API, not intended to be used outside of the client.
+ */
+public final class DefaultTags {
+
+    private static volatile Function<PointSettings, DefaultTags> accessor;
+
+    private final String[] keys;
+    private final String[] values;
+    private final String[] escapedKeys;
+    private final String[] escapedValues;
+
+    /**
+     * @param evaluated the default tags with evaluated expressions, the tags with empty key or value are skipped
+     */
+    public DefaultTags(@Nonnull final Map<String, String> evaluated) {
+
+        Map<String, String> tags = evaluated.entrySet().stream()
+                .filter(entry -> !entry.getKey().isEmpty() && !entry.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (o, n) -> n, TreeMap::new));
+
+        this.keys = tags.keySet().toArray(new String[0]);
+        this.values = tags.values().toArray(new String[0]);
+        this.escapedKeys = Arrays.stream(keys).map(LineProtocolEscaper::escapeKey).toArray(String[]::new);
+        this.escapedValues = Arrays.stream(values).map(LineProtocolEscaper::escapeKey).toArray(String[]::new);
+    }
+
+    /**
+     * Set the accessor of the compiled default tags. It is called by the initialization of the {@link PointSettings}
+     * class, so the compiled default tags are not part of its public API.
+     *
+     * @param accessor the accessor of the compiled default tags
+     */
+    public static void setAccessor(@Nonnull final Function<PointSettings, DefaultTags> accessor) {
+
+        Arguments.checkNotNull(accessor, "accessor");
+
+        DefaultTags.accessor = accessor;
+    }
+
+    /**
+     * @param pointSettings the settings
+     * @return compiled default tags, the same instance until the default tags are changed or refreshed
+     */
+    @Nonnull
+    static DefaultTags of(@Nonnull final PointSettings pointSettings) {
+        // the accessor is set by the initialization of the PointSettings class => it is set for any its instance
+        return accessor.apply(pointSettings);
+    }
+
+    /**
+     * @return the number of default tags
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @param index the index of tag
+     * @return the not escaped key
+     */
+    @Nonnull
+    public String key(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index the index of tag
+     * @return the not escaped value
+     */
+    @Nonnull
+    public String value(final int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index the index of tag
+     * @return the escaped key
+     */
+    @Nonnull
+    public String escapedKey(final int index) {
+        return escapedKeys[index];
+    }
+
+    /**
+     * @param index the index of tag
+     * @return the escaped value
+     */
+    @Nonnull
+    public String escapedValue(final int index) {
+        return escapedValues[index];
+    }
+}
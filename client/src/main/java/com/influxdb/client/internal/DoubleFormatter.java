@@ -0,0 +1,337 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * Formats the finite {@code double} into the shortest decimal that rounds back to the same {@code double}.
+ * <p>
+ * The digits are computed by the Schubfach algorithm (Raffaello Giulietti, "The Schubfach way to render doubles")
+ * without any allocation and are written directly into the {@link Appendable}. The layout is the same as
+ * the layout produced by the {@link java.text.NumberFormat} used by the previous versions of the client:
+ * plain notation without an exponent and with at least one fraction digit - {@code 20.0}, {@code 0.00001}.
+ */
+@SuppressWarnings("MagicNumber")
+final class DoubleFormatter {
+
+    // the precision in bits
+    private static final int P = 53;
+    // the exponent width in bits
+    private static final int W = 11;
+    // the minimum and maximum exponent of the significand as an integer
+    private static final int Q_MIN = -1074;
+    // the minimum and maximum k of the 10^k
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+    // the significand of subnormals lower than C_TINY needs one more digit
+    private static final long C_TINY = 3;
+    private static final long C_MIN = 1L << P - 1;
+    private static final int BQ_MASK = (1 << W) - 1;
+    private static final long T_MASK = (1L << P - 1) - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+    private static final int MASK_28 = (1 << 28) - 1;
+    // the maximum number of the significant digits
+    private static final int H = 17;
+
+    private static final long[] POW10 = new long[19];
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+
+        //
+        // g = floor(10^(-k) 2^(-r)) + 1 where 2^125 <= 10^(-k) 2^(-r) < 2^126, split into g1 2^63 + g0
+        //
+        BigInteger mask63 = BigInteger.valueOf(MASK_63);
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger pow = BigInteger.TEN.pow(-k);
+                int shift = pow.bitLength() - 126;
+                g = shift >= 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+            } else {
+                BigInteger pow = BigInteger.TEN.pow(k);
+                g = BigInteger.ONE.shiftLeft(pow.bitLength() + 125).divide(pow);
+            }
+            g = g.add(BigInteger.ONE);
+
+            int index = (k - K_MIN) << 1;
+            G[index] = g.shiftRight(63).longValue();
+            G[index + 1] = g.and(mask63).longValue();
+        }
+    }
+
+    private DoubleFormatter() {
+    }
+
+    /**
+     * Append the shortest decimal representation of the {@code value}.
+     *
+     * @param sink  the destination
+     * @param value the finite value
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    static void format(@Nonnull final Appendable sink, final double value) throws IOException {
+
+        long bits = Double.doubleToRawLongBits(value);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> P - 1) & BQ_MASK;
+
+        if (bq == BQ_MASK) {
+            throw new IllegalArgumentException("The value has to be finite: " + value);
+        }
+
+        if (bits < 0) {
+            sink.append('-');
+        }
+
+        if (bq != 0) {
+            // normal value, mq = -q
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            // integer value
+            if (0 < mq && mq < P) {
+                long f = c >> mq;
+                if (f << mq == c) {
+                    appendDecimal(sink, f, 0);
+                    return;
+                }
+            }
+            toDecimal(sink, -mq, c, 0);
+        } else if (t != 0) {
+            // subnormal value
+            if (t < C_TINY) {
+                toDecimal(sink, Q_MIN, 10 * t, -1);
+            } else {
+                toDecimal(sink, Q_MIN, t, 0);
+            }
+        } else {
+            sink.append("0.0");
+        }
+    }
+
+    private static void toDecimal(@Nonnull final Appendable sink,
+                                  final int q,
+                                  final long c,
+                                  final int dk) throws IOException {
+
+        int out = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            // regular spacing
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        } else {
+            // irregular spacing
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int index = (k - K_MIN) << 1;
+        long g1 = G[index];
+        long g0 = G[index + 1];
+
+        long vb = rop(g1, g0, cb << h);
+        long vbl = rop(g1, g0, cbl << h);
+        long vbr = rop(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // s' = floor(s / 10), try the shorter decimals u' = 10 s' and w' = 10 s' + 10
+            long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + out <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                appendDecimal(sink, upin ? sp10 : tp10, k);
+                return;
+            }
+        }
+
+        long t = s + 1;
+        boolean uin = vbl + out <= s << 2;
+        boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            // exactly one of u or w lies in the rounding interval
+            appendDecimal(sink, uin ? s : t, k + dk);
+            return;
+        }
+
+        // both u and w lie in the rounding interval: use the one closest to the value
+        long cmp = vb - (s + t << 1);
+        appendDecimal(sink, cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk);
+    }
+
+    /**
+     * Append the {@code f 10^e} in plain notation with at least one fraction digit.
+     */
+    private static void appendDecimal(@Nonnull final Appendable sink, final long f, final int e) throws IOException {
+
+        // strip the trailing zeros
+        long digits = f;
+        int exponent = e;
+        while (digits % 100_000_000 == 0) {
+            digits /= 100_000_000;
+            exponent += 8;
+        }
+        while (digits % 10 == 0) {
+            digits /= 10;
+            exponent++;
+        }
+
+        // 10^(length-1) <= digits < 10^length
+        int length = flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(digits));
+        if (digits >= POW10[length]) {
+            length++;
+        }
+
+        // the digits aligned to H digits
+        long aligned = digits * POW10[H - length];
+        // the number of integer digits
+        int point = length + exponent;
+
+        if (point <= 0) {
+            sink.append("0.");
+            appendZeros(sink, -point);
+            appendDigits(sink, aligned, 0, length);
+        } else if (point < length) {
+            appendDigits(sink, aligned, 0, point);
+            sink.append('.');
+            appendDigits(sink, aligned, point, length);
+        } else {
+            appendDigits(sink, aligned, 0, length);
+            appendZeros(sink, point - length);
+            sink.append(".0");
+        }
+    }
+
+    /**
+     * Append the digits from {@code from} (inclusive) to {@code to} (exclusive) of the H digits {@code value}.
+     */
+    private static void appendDigits(@Nonnull final Appendable sink,
+                                     final long value,
+                                     final int from,
+                                     final int to) throws IOException {
+
+        int first = (int) (value / POW10[H - 1]);
+        long remaining = value - first * POW10[H - 1];
+        int middle = (int) (remaining / POW10[8]);
+        int last = (int) (remaining - middle * POW10[8]);
+
+        if (from == 0) {
+            sink.append((char) ('0' + first));
+        }
+        if (to > 1) {
+            append8Digits(sink, middle, from - 1, to - 1);
+        }
+        if (to > 9) {
+            append8Digits(sink, last, from - 9, to - 9);
+        }
+    }
+
+    /**
+     * Append the digits from {@code from} to {@code to} of the 8 digits {@code value}. The digits are extracted
+     * from left to right by multiplication, see: "Division by invariant integers using multiplication",
+     * Granlund and Montgomery.
+     */
+    private static void append8Digits(@Nonnull final Appendable sink,
+                                      final int value,
+                                      final int from,
+                                      final int to) throws IOException {
+
+        // floor((value + 1) 2^28 / 10^8) - 1
+        int y = (int) (multiplyHigh((long) (value + 1) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+        int end = Math.min(to, 8);
+        for (int i = 0; i < end; i++) {
+            int t = 10 * y;
+            if (i >= from) {
+                sink.append((char) ('0' + (t >>> 28)));
+            }
+            y = t & MASK_28;
+        }
+    }
+
+    private static void appendZeros(@Nonnull final Appendable sink, final int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            sink.append('0');
+        }
+    }
+
+    /**
+     * Computes rop(cp g 2^(-127)), where g = g1 2^63 + g0.
+     */
+    private static long rop(final long g1, final long g0, final long cp) {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (z & MASK_63) + MASK_63 >>> 63;
+    }
+
+    /**
+     * The high 64 bits of the 128-bit product, the same as {@code Math.multiplyHigh} of the Java 9.
+     */
+    private static long multiplyHigh(final long x, final long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * floor(q log10(2)).
+     */
+    private static int flog10pow2(final int q) {
+        return (int) (q * 661_971_961_083L >> 41);
+    }
+
+    /**
+     * floor(log10(3/4 2^q)).
+     */
+    private static int flog10threeQuartersPow2(final int q) {
+        return (int) (q * 661_971_961_083L + -274_743_187_321L >> 41);
+    }
+
+    /**
+     * floor(e log2(10)).
+     */
+    private static int flog2pow10(final int e) {
+        return (int) (e * 913_124_641_741L >> 38);
+    }
+}
@@ -25,70 +25,88 @@ import java.io.IOException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.influxdb.client.compression.CompressionCodec;
+import com.influxdb.client.compression.CompressionPolicy;
+import com.influxdb.client.compression.CompressionPolicy.RequestType;
+import com.influxdb.client.compression.DefaultCompressionPolicy;
 
 import okhttp3.Interceptor;
 import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 import okio.BufferedSink;
-import okio.GzipSink;
 import okio.Okio;
 
 /**
+ * Compress the requests and decompress the responses by the {@link CompressionPolicy}.
+ *
  * @author Jakub Bednar (bednar@github) (15/10/2018 11:26)
  */
 public class GzipInterceptor implements Interceptor {
 
-    private static final Pattern CONTENT_PATTERN = Pattern.compile(".*/write", Pattern.CASE_INSENSITIVE);
-    private static final Pattern ACCEPT_PATTERN = Pattern.compile(".*/query", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WRITE_PATTERN = Pattern.compile(".*/write", Pattern.CASE_INSENSITIVE);
+    private static final Pattern QUERY_PATTERN = Pattern.compile(".*/query", Pattern.CASE_INSENSITIVE);
+
+    private final CompressionPolicy policy;
+    private final AtomicBoolean enabled;
 
-    private AtomicBoolean enabled = new AtomicBoolean(false);
+    public GzipInterceptor() {
+        this(null);
+    }
+
+    /**
+     * @param policy the compression policy, {@code null} to disable the compression
+     *               with the {@link DefaultCompressionPolicy#DEFAULTS} used after {@link #enableGzip()}
+     */
+    public GzipInterceptor(@Nullable final CompressionPolicy policy) {
+        this.policy = policy != null ? policy : DefaultCompressionPolicy.DEFAULTS;
+        this.enabled = new AtomicBoolean(policy != null);
+    }
 
     @Nonnull
     @Override
     public Response intercept(@Nonnull final Chain chain) throws IOException {
 
         Request request = chain.request();
-        RequestBody body = request.body();
 
-        Request enhancedRequest;
         if (!enabled.get()) {
             //
             // Disabled
             //
             Request.Builder builder = request.newBuilder();
             builder = addHeader(request, builder, "Accept-Encoding", "identity");
-            enhancedRequest = builder.build();
-        } else if (CONTENT_PATTERN.matcher(request.url().encodedPath()).matches()) {
-            //
-            // GZIP content
-            //
-            Request.Builder builder = request.newBuilder();
-            if (body == null || request.header("Content-Encoding") != null) {
-                enhancedRequest = builder.build();
-            } else {
-                builder = addHeader(request, builder, "Content-Encoding", "gzip");
-                builder = addHeader(request, builder, "Accept-Encoding", "identity");
-                enhancedRequest = builder.method(request.method(), gzip(body)).build();
+
+            return chain.proceed(builder.build());
+        }
+
+        RequestType type = requestType(request);
+        Request.Builder builder = request.newBuilder();
+
+        //
+        // Compressed content
+        //
+        RequestBody body = request.body();
+        if (body != null && request.header("Content-Encoding") == null) {
+            CompressionCodec codec = policy.getRequestCodec(type, body.contentLength());
+            if (codec != null) {
+                builder = addHeader(request, builder, "Content-Encoding", codec.getEncoding());
+                builder = builder.method(request.method(), compress(body, codec));
             }
-        } else if (ACCEPT_PATTERN.matcher(request.url().encodedPath()).matches()) {
-            //
-            // GZIP response
-            //
-            // The okhttp3.internal.http.BridgeInterceptor add gzip accept
-            //
-            enhancedRequest = request;
-        } else {
-            //
-            // DISABLED
-            //
-            Request.Builder builder = request.newBuilder();
-            builder = addHeader(request, builder, "Accept-Encoding", "identity");
-            enhancedRequest = builder.build();
         }
 
-        return chain.proceed(enhancedRequest);
+        //
+        // Compressed response
+        //
+        CompressionCodec codec = request.header("Accept-Encoding") == null ? policy.getResponseCodec(type) : null;
+        builder = addHeader(request, builder, "Accept-Encoding", codec != null ? codec.getEncoding() : "identity");
+
+        Response response = chain.proceed(builder.build());
+
+        return codec != null ? decompress(response, codec) : response;
     }
 
     public void enableGzip() {
@@ -103,6 +121,38 @@ public class GzipInterceptor implements Interceptor {
         enabled.set(false);
     }
 
+    /**
+     * Get the codec to compress the body of the request before it is sent.
+     *
+     * @param type          the type of the request
+     * @param contentLength the length of the uncompressed body in bytes
+     * @return the codec or {@code null} if the body is not compressed
+     */
+    @Nullable
+    public CompressionCodec getRequestCodec(@Nonnull final RequestType type, final long contentLength) {
+
+        if (!enabled.get()) {
+            return null;
+        }
+
+        return policy.getRequestCodec(type, contentLength);
+    }
+
+    @Nonnull
+    private RequestType requestType(@Nonnull final Request request) {
+
+        String path = request.url().encodedPath();
+        if (WRITE_PATTERN.matcher(path).matches()) {
+            return RequestType.WRITE;
+        }
+
+        if (QUERY_PATTERN.matcher(path).matches()) {
+            return RequestType.QUERY;
+        }
+
+        return RequestType.OTHER;
+    }
+
     @Nonnull
     private Request.Builder addHeader(@Nonnull final Request request,
                                       @Nonnull final Request.Builder builder,
@@ -118,7 +168,7 @@ public class GzipInterceptor implements Interceptor {
     }
 
     @Nonnull
-    private RequestBody gzip(@Nonnull final RequestBody body) {
+    private RequestBody compress(@Nonnull final RequestBody body, @Nonnull final CompressionCodec codec) {
         return new RequestBody() {
             @Override
             public MediaType contentType() {
@@ -132,10 +182,30 @@ public class GzipInterceptor implements Interceptor {
 
             @Override
             public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
-                BufferedSink gzipSink = Okio.buffer(new GzipSink(sink));
-                body.writeTo(gzipSink);
-                gzipSink.close();
+                // the close returns the pooled compressor also after the failed write
+                try (BufferedSink compressed = Okio.buffer(codec.compress(sink))) {
+                    body.writeTo(compressed);
+                }
             }
         };
     }
-}
\ No newline at end of file
+
+    @Nonnull
+    private Response decompress(@Nonnull final Response response, @Nonnull final CompressionCodec codec) {
+
+        ResponseBody body = response.body();
+        if (body == null || body.contentLength() == 0
+                || !codec.getEncoding().equalsIgnoreCase(response.header("Content-Encoding"))) {
+            return response;
+        }
+
+        ResponseBody decompressed = ResponseBody.create(body.contentType(), -1L,
+                Okio.buffer(codec.decompress(body.source())));
+
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(decompressed)
+                .build();
+    }
+}
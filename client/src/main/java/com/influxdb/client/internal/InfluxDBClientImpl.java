@@ -87,6 +87,7 @@ public final class InfluxDBClientImpl extends AbstractInfluxDBClient implements
 
     private final SetupService setupService;
     private final ReadyService readyService;
+    private final SharedWriteApis sharedWriteApis;
 
 
     public InfluxDBClientImpl(@Nonnull final InfluxDBClientOptions options) {
@@ -95,6 +96,8 @@ public final class InfluxDBClientImpl extends AbstractInfluxDBClient implements
 
         setupService = retrofit.create(SetupService.class);
         readyService = retrofit.create(ReadyService.class);
+        sharedWriteApis = new SharedWriteApis((writeOptions, writeScheduler) -> new WriteApiImpl(writeOptions,
+                retrofit.create(WriteService.class), options, gzipInterceptor, writeScheduler));
     }
 
     @Nonnull
@@ -115,13 +118,37 @@ public final class InfluxDBClientImpl extends AbstractInfluxDBClient implements
 
         Arguments.checkNotNull(writeOptions, "WriteOptions");
 
-        return new WriteApiImpl(writeOptions, retrofit.create(WriteService.class), options);
+        return new WriteApiImpl(writeOptions, retrofit.create(WriteService.class), options, gzipInterceptor);
+    }
+
+    @Nonnull
+    @Override
+    public WriteApi getSharedWriteApi() {
+        return getSharedWriteApi(WriteOptions.DEFAULTS);
+    }
+
+    @Nonnull
+    @Override
+    public WriteApi getSharedWriteApi(@Nonnull final WriteOptions writeOptions) {
+
+        Arguments.checkNotNull(writeOptions, "WriteOptions");
+
+        return sharedWriteApis.handle(writeOptions);
     }
 
     @Nonnull
     @Override
     public WriteApiBlocking getWriteApiBlocking() {
-        return new WriteApiBlockingImpl(retrofit.create(WriteService.class), options);
+        return getWriteApiBlocking(WriteOptions.DEFAULTS);
+    }
+
+    @Nonnull
+    @Override
+    public WriteApiBlocking getWriteApiBlocking(@Nonnull final WriteOptions writeOptions) {
+
+        Arguments.checkNotNull(writeOptions, "WriteOptions");
+
+        return new WriteApiBlockingImpl(writeOptions, retrofit.create(WriteService.class), options);
     }
 
     @Nonnull
@@ -301,4 +328,12 @@ public final class InfluxDBClientImpl extends AbstractInfluxDBClient implements
 
         return this.gzipInterceptor.isEnabledGzip();
     }
+
+    @Override
+    public void close() {
+
+        sharedWriteApis.close();
+
+        super.close();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,437 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.influxdb.client.compression.CompressionCodec;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+
+/**
+ * The batch of the Line Protocol encoded as UTF-8 bytes into the pooled segments of the {@link Buffer}.
+ * <p>
+ * The batch is used as the body of the write request without creating an intermediate {@link String}.
+ */
+@NotThreadSafe
+final class LineProtocolBatch {
+
+    private static final MediaType CONTENT_TYPE = MediaType.parse("text/plain; charset=utf-8");
+
+    private final Buffer buffer = new Buffer();
+    private final Utf8Appendable appendable = new Utf8Appendable();
+    private int count;
+
+    /**
+     * Append the Line Protocol of the data into the batch.
+     * <p>
+     * If the encoding fails, the partially encoded record is removed from the batch.
+     *
+     * @param data the data to append
+     * @return {@code true} if the data produce any Line Protocol
+     */
+    boolean append(@Nonnull final BatchWriteData data) {
+
+        long mark = buffer.size();
+        appendable.separator = count > 0;
+
+        boolean appended = false;
+        boolean encoded = false;
+        try {
+            appended = data.appendLineProtocol(appendable);
+            encoded = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendable.endRecord();
+            if (!encoded) {
+                truncate(mark);
+            }
+        }
+
+        if (appended) {
+            count++;
+        }
+
+        return appended;
+    }
+
+    /**
+     * Append the Line Protocol record into the batch.
+     *
+     * @param record the Line Protocol record
+     * @return {@code true} if the record is not empty
+     */
+    boolean append(@Nullable final String record) {
+
+        if (record == null || record.isEmpty()) {
+            return false;
+        }
+
+        if (count > 0) {
+            buffer.writeByte('\n');
+        }
+        buffer.writeUtf8(record);
+        count++;
+
+        return true;
+    }
+
+    /**
+     * @return the number of the records in the batch
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * @return the size of encoded batch in bytes
+     */
+    long size() {
+        return buffer.size();
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Create the body of the write request. The batch is not consumed by the writing, so the body is repeatable.
+     *
+     * @return the request body backed by this batch
+     */
+    @Nonnull
+    RequestBody toRequestBody() {
+
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return CONTENT_TYPE;
+            }
+
+            @Override
+            public long contentLength() {
+                return buffer.size();
+            }
+
+            @Override
+            public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+                // copy bytes instead of sharing segments => segments could be recycled by release()
+                buffer.copyTo(sink.outputStream());
+            }
+        };
+    }
+
+    /**
+     * Compress the batch by the {@code codec}. The batch is not consumed.
+     *
+     * @param codec the compression codec
+     * @return the compressed batch
+     * @throws IOException if the compression fails
+     */
+    @Nonnull
+    Compressed compress(@Nonnull final CompressionCodec codec) throws IOException {
+
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(codec.compress(compressed))) {
+            buffer.copyTo(sink.outputStream());
+        }
+
+        return new Compressed(codec.getEncoding(), compressed);
+    }
+
+    /**
+     * @return the batch as the Line Protocol
+     */
+    @Nonnull
+    String toLineProtocol() {
+
+        ByteArrayOutputStream lineProtocol = new ByteArrayOutputStream((int) buffer.size());
+        try {
+            buffer.copyTo(lineProtocol);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return new String(lineProtocol.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write the encoded records into the {@code out}. The batch is not consumed.
+     *
+     * @param out the destination
+     * @throws IOException if the {@code out} throws an I/O error
+     */
+    void writeTo(@Nonnull final OutputStream out) throws IOException {
+        buffer.copyTo(out);
+    }
+
+    /**
+     * Move the encoded records into the {@code sink}. The number of the records is kept, so the next appended
+     * record is separated from the moved records.
+     *
+     * @param sink the destination
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    void drainTo(@Nonnull final BufferedSink sink) throws IOException {
+        sink.write(buffer, buffer.size());
+    }
+
+    /**
+     * Read the encoded records previously written by {@link #writeTo(OutputStream)} into the empty batch.
+     *
+     * @param in        the source
+     * @param byteCount the number of bytes to read
+     * @param count     the number of the records
+     * @throws IOException if the {@code in} throws an I/O error
+     */
+    void readFrom(@Nonnull final InputStream in, final long byteCount, final int count) throws IOException {
+        buffer.readFrom(in, byteCount);
+        this.count = count;
+    }
+
+    /**
+     * Split the batch into two halves at the record separator nearest to the middle of the batch.
+     * The batch is not consumed.
+     *
+     * @return the halves or {@code null} if the batch cannot be split
+     */
+    @Nullable
+    LineProtocolBatch[] split() {
+
+        if (count < 2) {
+            return null;
+        }
+
+        long middle = buffer.indexOf((byte) '\n', buffer.size() / 2);
+        if (middle == -1) {
+            // the last separator before the middle
+            for (long index = buffer.indexOf((byte) '\n'); index != -1;
+                 index = buffer.indexOf((byte) '\n', index + 1)) {
+                middle = index;
+            }
+        }
+
+        if (middle == -1) {
+            return null;
+        }
+
+        // the records before the separator
+        int firstCount = 1;
+        for (long index = buffer.indexOf((byte) '\n'); index != -1 && index < middle;
+             index = buffer.indexOf((byte) '\n', index + 1)) {
+            firstCount++;
+        }
+
+        LineProtocolBatch first = new LineProtocolBatch();
+        buffer.copyTo(first.buffer, 0, middle);
+        first.count = Math.max(1, Math.min(firstCount, count - 1));
+
+        LineProtocolBatch second = new LineProtocolBatch();
+        buffer.copyTo(second.buffer, middle + 1, buffer.size() - middle - 1);
+        second.count = count - first.count;
+
+        return new LineProtocolBatch[]{first, second};
+    }
+
+    /**
+     * Remove the bytes written after the {@code size}. Called only for the failed encoding,
+     * so the copy of the kept bytes is not on the hot path.
+     *
+     * @param size the size of the batch to keep
+     */
+    private void truncate(final long size) {
+
+        if (buffer.size() <= size) {
+            return;
+        }
+
+        Buffer kept = new Buffer();
+        buffer.copyTo(kept, 0, size);
+        buffer.clear();
+        buffer.write(kept, kept.size());
+    }
+
+    /**
+     * Return the segments of the batch to the pool.
+     */
+    void release() {
+        buffer.clear();
+        count = 0;
+    }
+
+    /**
+     * The compressed batch with the known size.
+     */
+    static final class Compressed {
+
+        private final String encoding;
+        private final Buffer buffer;
+
+        private Compressed(@Nonnull final String encoding, @Nonnull final Buffer buffer) {
+            this.encoding = encoding;
+            this.buffer = buffer;
+        }
+
+        /**
+         * @return the content encoding of the compressed batch
+         */
+        @Nonnull
+        String getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * @return the size of compressed batch in bytes
+         */
+        long size() {
+            return buffer.size();
+        }
+
+        /**
+         * Create the body of the write request with the known content length. The body is repeatable.
+         *
+         * @return the request body backed by the compressed batch
+         */
+        @Nonnull
+        RequestBody toRequestBody() {
+
+            return new RequestBody() {
+                @Override
+                public MediaType contentType() {
+                    return CONTENT_TYPE;
+                }
+
+                @Override
+                public long contentLength() {
+                    return buffer.size();
+                }
+
+                @Override
+                public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+                    buffer.copyTo(sink.outputStream());
+                }
+            };
+        }
+
+        /**
+         * Return the segments of the compressed batch to the pool.
+         */
+        void release() {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Encodes the appended characters as UTF-8 directly into the {@link #buffer}.
+     */
+    @SuppressWarnings("MagicNumber")
+    private final class Utf8Appendable implements Appendable {
+
+        private boolean separator;
+        private char highSurrogate;
+
+        @Override
+        public Appendable append(@Nullable final CharSequence csq) {
+
+            CharSequence value = csq == null ? "null" : csq;
+
+            return append(value, 0, value.length());
+        }
+
+        @Override
+        public Appendable append(@Nullable final CharSequence csq, final int start, final int end) {
+
+            if (csq == null) {
+                return append("null", start, end);
+            }
+
+            if (csq instanceof String && start < end) {
+                beforeWrite();
+                buffer.writeUtf8((String) csq, start, end);
+                return this;
+            }
+
+            for (int i = start; i < end; i++) {
+                append(csq.charAt(i));
+            }
+
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+
+            if (c < 0x80 && highSurrogate == 0) {
+                beforeWrite();
+                buffer.writeByte(c);
+            } else if (Character.isHighSurrogate(c)) {
+                beforeWrite();
+                highSurrogate = c;
+            } else if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+                buffer.writeUtf8CodePoint(Character.toCodePoint(highSurrogate, c));
+                highSurrogate = 0;
+            } else {
+                beforeWrite();
+                buffer.writeUtf8CodePoint(Character.isSurrogate(c) ? '?' : c);
+            }
+
+            return this;
+        }
+
+        private void beforeWrite() {
+
+            if (separator) {
+                buffer.writeByte('\n');
+                separator = false;
+            }
+
+            // unpaired surrogate
+            if (highSurrogate != 0) {
+                buffer.writeByte('?');
+                highSurrogate = 0;
+            }
+        }
+
+        private void endRecord() {
+
+            if (highSurrogate != 0) {
+                buffer.writeByte('?');
+                highSurrogate = 0;
+            }
+            separator = false;
+        }
+    }
+}
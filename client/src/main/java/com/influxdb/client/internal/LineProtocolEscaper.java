@@ -0,0 +1,209 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+
+/**
+ * The escaping and formatting of the Line Protocol elements shared by
+ * {@link com.influxdb.client.write.Point}, {@link com.influxdb.client.write.PointBatch}
+ * and the serializers of the measurements.
+ * <p>
+ * Internal API, not intended to be used outside of the client.
+ */
+public final class LineProtocolEscaper {
+
+    private static final int MAX_FRACTION_DIGITS = 340;
+    private static final int RADIX = 10;
+    private static final String MIN_LONG = Long.toString(Long.MIN_VALUE);
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMATTER =
+            ThreadLocal.withInitial(() -> {
+                NumberFormat numberFormat = NumberFormat.getInstance(Locale.ENGLISH);
+                numberFormat.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
+                numberFormat.setGroupingUsed(false);
+                numberFormat.setMinimumFractionDigits(1);
+                return numberFormat;
+            });
+
+    private LineProtocolEscaper() {
+    }
+
+    /**
+     * Escape the measurement name, tag key, tag value or field key.
+     *
+     * @param key the key to escape
+     * @return escaped key, the same instance if there is nothing to escape
+     */
+    @Nonnull
+    public static String escapeKey(@Nonnull final String key) {
+
+        if (!needEscapeKey(key)) {
+            return key;
+        }
+
+        StringBuilder sb = new StringBuilder(key.length() + 2);
+        try {
+            escapeKey(sb, key);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Escape the measurement name, tag key, tag value or field key.
+     *
+     * @param sink the destination
+     * @param key  the key to escape
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    public static void escapeKey(@Nonnull final Appendable sink, @Nonnull final String key) throws IOException {
+
+        if (!needEscapeKey(key)) {
+            sink.append(key);
+            return;
+        }
+
+        for (int i = 0; i < key.length(); i++) {
+            switch (key.charAt(i)) {
+                case ' ':
+                case ',':
+                case '=':
+                    sink.append('\\');
+                default:
+                    sink.append(key.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Escape the string field value.
+     *
+     * @param sink  the destination
+     * @param value the value to escape
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    public static void escapeValue(@Nonnull final Appendable sink, @Nonnull final String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '\\':
+                case '\"':
+                    sink.append('\\');
+                default:
+                    sink.append(value.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Append the floating point field value.
+     *
+     * @param sink       the destination
+     * @param value      the {@link Double}, {@link Float} or {@link BigDecimal} value
+     * @param compatible format by {@link NumberFormat} to produce the same output as the previous versions
+     * @throws IOException if the {@code sink} throws an I/O error
+     * @see com.influxdb.client.write.PointSettings#compatibleDoubleFormat(boolean)
+     */
+    public static void appendDecimal(@Nonnull final Appendable sink,
+                                     @Nonnull final Number value,
+                                     final boolean compatible) throws IOException {
+
+        if (value instanceof BigDecimal) {
+            sink.append(NUMBER_FORMATTER.get().format(value));
+        } else {
+            appendDouble(sink, value.doubleValue(), compatible);
+        }
+    }
+
+    /**
+     * Append the floating point field value.
+     *
+     * @param sink       the destination
+     * @param value      the value
+     * @param compatible format by {@link NumberFormat} to produce the same output as the previous versions
+     * @throws IOException if the {@code sink} throws an I/O error
+     * @see com.influxdb.client.write.PointSettings#compatibleDoubleFormat(boolean)
+     */
+    public static void appendDouble(@Nonnull final Appendable sink,
+                                    final double value,
+                                    final boolean compatible) throws IOException {
+
+        if (compatible || !Double.isFinite(value)) {
+            sink.append(NUMBER_FORMATTER.get().format(value));
+        } else {
+            DoubleFormatter.format(sink, value);
+        }
+    }
+
+    /**
+     * Append the integer value without the {@code i} suffix.
+     *
+     * @param sink  the destination
+     * @param value the value
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    public static void appendLong(@Nonnull final Appendable sink, final long value) throws IOException {
+
+        if (sink instanceof StringBuilder) {
+            ((StringBuilder) sink).append(value);
+            return;
+        }
+
+        // the negation of the MIN_VALUE overflows
+        if (value == Long.MIN_VALUE) {
+            sink.append(MIN_LONG);
+            return;
+        }
+
+        long remaining = value;
+        if (remaining < 0) {
+            sink.append('-');
+            remaining = -remaining;
+        }
+
+        long divisor = 1;
+        while (divisor <= remaining / RADIX) {
+            divisor *= RADIX;
+        }
+
+        // the digits are written directly into the sink without an intermediate String
+        for (; divisor > 0; divisor /= RADIX) {
+            sink.append((char) ('0' + remaining / divisor % RADIX));
+        }
+    }
+
+    private static boolean needEscapeKey(@Nonnull final String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == ' ' || c == ',' || c == '=') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * The source of the write requests which encode the data lazily during the request is sent.
+ * <p>
+ * The data are pulled from the {@link Iterator} and encoded directly into the chunked transfer of the request,
+ * so only the small part of the data is held in memory. The request ends when it contains {@code batchSize}
+ * records, {@code maxBatchBytes} bytes or when the precision of the next data is different.
+ * <p>
+ * The request body is one-shot, so it is not logged by {@link com.influxdb.LogLevel#BODY}.
+ *
+ * @param <T> type of the data
+ */
+@NotThreadSafe
+final class LineProtocolStream<T> {
+
+    private static final MediaType CONTENT_TYPE = MediaType.parse("text/plain; charset=utf-8");
+
+    // the size of the encoded data moved at once into the request
+    private static final long FLUSH_SIZE = 64 * 1024;
+
+    private final Iterator<T> iterator;
+    private final Function<T, WritePrecision> toPrecision;
+    private final Function<T, BatchWriteData> toData;
+    private final int batchSize;
+    private final long maxBatchBytes;
+
+    private T next;
+    private boolean hasNext;
+
+    /**
+     * @param iterator      the data to write
+     * @param toPrecision   the precision of the data
+     * @param toData        the data to encode
+     * @param batchSize     the maximum number of the records in the one request
+     * @param maxBatchBytes the size of the one request in bytes, {@code 0} for unlimited
+     */
+    LineProtocolStream(@Nonnull final Iterator<T> iterator,
+                       @Nonnull final Function<T, WritePrecision> toPrecision,
+                       @Nonnull final Function<T, BatchWriteData> toData,
+                       final int batchSize,
+                       final long maxBatchBytes) {
+
+        Arguments.checkNotNull(iterator, "iterator");
+        Arguments.checkNotNull(toPrecision, "toPrecision");
+        Arguments.checkNotNull(toData, "toData");
+        Arguments.checkPositiveNumber(batchSize, "batchSize");
+        Arguments.checkNotNegativeNumber(maxBatchBytes, "maxBatchBytes");
+
+        this.iterator = iterator;
+        this.toPrecision = toPrecision;
+        this.toData = toData;
+        this.batchSize = batchSize;
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    /**
+     * Create the body of the next request. The first record is encoded immediately, so the empty request
+     * is never created, the other records are encoded by {@link Body#writeTo(BufferedSink)}.
+     *
+     * @return the body of the next request or {@code null} if there are no more records
+     */
+    @Nullable
+    Body next() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        WritePrecision precision = null;
+        while (batch.isEmpty() && peek()) {
+
+            T item = poll();
+            precision = toPrecision.apply(item);
+            batch.append(toData.apply(item));
+        }
+
+        if (batch.isEmpty()) {
+            return null;
+        }
+
+        return new Body(batch, precision);
+    }
+
+    private boolean peek() {
+
+        if (!hasNext && iterator.hasNext()) {
+            next = iterator.next();
+            hasNext = next != null || peekNonNull();
+        }
+
+        return hasNext;
+    }
+
+    private boolean peekNonNull() {
+
+        while (next == null && iterator.hasNext()) {
+            next = iterator.next();
+        }
+
+        return next != null;
+    }
+
+    @Nonnull
+    private T poll() {
+
+        T item = next;
+        next = null;
+        hasNext = false;
+
+        return item;
+    }
+
+    /**
+     * The one-shot body of the request.
+     */
+    final class Body extends RequestBody {
+
+        private final LineProtocolBatch batch;
+        private final WritePrecision precision;
+        private long bytes;
+        private boolean written;
+
+        private Body(@Nonnull final LineProtocolBatch batch, @Nonnull final WritePrecision precision) {
+            this.batch = batch;
+            this.precision = precision;
+        }
+
+        /**
+         * @return the precision of the records in the request
+         */
+        @Nonnull
+        WritePrecision getPrecision() {
+            return precision;
+        }
+
+        /**
+         * @return the number of the encoded records
+         */
+        int count() {
+            return batch.count();
+        }
+
+        /**
+         * @return the size of the encoded records in bytes
+         */
+        long size() {
+            return bytes + batch.size();
+        }
+
+        @Override
+        public MediaType contentType() {
+            return CONTENT_TYPE;
+        }
+
+        @Override
+        public long contentLength() {
+            // unknown => chunked transfer
+            return -1;
+        }
+
+        @Override
+        public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+
+            // the records are consumed from the iterator => the body cannot be repeated
+            if (written) {
+                throw new IOException("The streaming body of the write request cannot be written again.");
+            }
+            written = true;
+
+            while (batch.count() < batchSize && (maxBatchBytes <= 0 || size() < maxBatchBytes) && peek()) {
+
+                if (toPrecision.apply(next) != precision) {
+                    break;
+                }
+
+                batch.append(toData.apply(poll()));
+
+                if (batch.size() >= FLUSH_SIZE) {
+                    drainTo(sink);
+                }
+            }
+
+            drainTo(sink);
+        }
+
+        private void drainTo(@Nonnull final BufferedSink sink) throws IOException {
+
+            bytes += batch.size();
+            batch.drainTo(sink);
+        }
+    }
+}
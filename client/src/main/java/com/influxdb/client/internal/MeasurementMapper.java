@@ -21,19 +21,18 @@
  */
 package com.influxdb.client.internal;
 
-import java.lang.reflect.Field;
-import java.time.Instant;
+import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.influxdb.Arguments;
-import com.influxdb.annotations.Column;
-import com.influxdb.annotations.Measurement;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointSettings;
 import com.influxdb.exceptions.InfluxException;
 
 /**
@@ -43,102 +42,55 @@ class MeasurementMapper {
 
     private static final Logger LOG = Logger.getLogger(MeasurementMapper.class.getName());
 
-    private static final ConcurrentMap<String, ConcurrentMap<String, Field>> CLASS_FIELD_CACHE
-            = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, MeasurementSerializer> SERIALIZERS = new ConcurrentHashMap<>();
 
     @Nonnull
     <M> Point toPoint(@Nonnull final M measurement, @Nonnull final WritePrecision precision) throws InfluxException {
 
         Arguments.checkNotNull(measurement, "measurement");
 
-        Class<?> measurementType = measurement.getClass();
-        cacheMeasurementClass(measurementType);
-
-        if (measurementType.getAnnotation(Measurement.class) == null) {
-            String message = String
-                    .format("Measurement type '%s' does not have a @Measurement annotation.", measurementType);
-
-            throw new InfluxException(message);
-        }
-
-        Point point = Point.measurement(getMeasurementName(measurementType));
-
-        CLASS_FIELD_CACHE.get(measurementType.getName()).forEach((name, field) -> {
-
-            Column column = field.getAnnotation(Column.class);
-
-            Object value;
-            try {
-                field.setAccessible(true);
-                value = field.get(measurement);
-            } catch (IllegalAccessException e) {
-
-                throw new InfluxException(e);
-            }
-
-            if (value == null) {
-                Object[] params = {field.getName(), measurement};
-                LOG.log(Level.FINEST, "Field {0} of {1} has null value", params);
-                return;
-            }
-
-            Class<?> fieldType = field.getType();
-            if (column.tag()) {
-                point.addTag(name, value.toString());
-            } else if (column.timestamp()) {
-                Instant instant = (Instant) value;
-                point.time(instant, precision);
-            } else if (isNumber(fieldType)) {
-                point.addField(name, (Number) value);
-            } else if (Boolean.class.isAssignableFrom(fieldType) || boolean.class.isAssignableFrom(fieldType)) {
-                point.addField(name, (Boolean) value);
-            } else if (String.class.isAssignableFrom(fieldType)) {
-                point.addField(name, (String) value);
-            } else {
-                point.addField(name, value.toString());
-            }
-        });
+        Point point = serializer(measurement.getClass()).toPoint(measurement, precision);
 
         LOG.log(Level.FINEST, "Mapped measurement: {0} to Point: {1}", new Object[]{measurement, point});
 
         return point;
     }
 
-    @Nonnull
-    private String getMeasurementName(@Nonnull final Class<?> measurementType) {
-        return measurementType.getAnnotation(Measurement.class).name();
-    }
-
-    private boolean isNumber(@Nonnull final Class<?> fieldType) {
-        return Number.class.isAssignableFrom(fieldType)
-                || double.class.isAssignableFrom(fieldType)
-                || long.class.isAssignableFrom(fieldType)
-                || int.class.isAssignableFrom(fieldType);
-    }
+    /**
+     * Append the Line Protocol of the measurement into the {@code sink} without an intermediate {@link Point}.
+     *
+     * @param measurement   the measurement
+     * @param precision     the precision of the timestamp
+     * @param pointSettings with the default values
+     * @param sink          the destination of the Line Protocol
+     * @param <M>           the type of the measurement
+     * @return {@code true} if the measurement was appended, {@code false} if the measurement doesn't contains
+     * any defined field
+     * @throws IOException     if the {@code sink} throws an I/O error
+     * @throws InfluxException if the measurement is not annotated by {@link com.influxdb.annotations.Measurement}
+     */
+    <M> boolean appendLineProtocol(@Nonnull final M measurement,
+                                   @Nonnull final WritePrecision precision,
+                                   @Nullable final PointSettings pointSettings,
+                                   @Nonnull final Appendable sink) throws IOException, InfluxException {
 
-    private void cacheMeasurementClass(@Nonnull final Class<?>... measurementTypes) {
+        Arguments.checkNotNull(measurement, "measurement");
 
-        for (Class<?> measurementType : measurementTypes) {
-            if (CLASS_FIELD_CACHE.containsKey(measurementType.getName())) {
-                continue;
-            }
-            ConcurrentMap<String, Field> initialMap = new ConcurrentHashMap<>();
-            ConcurrentMap<String, Field> influxColumnAndFieldMap = CLASS_FIELD_CACHE
-                    .putIfAbsent(measurementType.getName(), initialMap);
-            if (influxColumnAndFieldMap == null) {
-                influxColumnAndFieldMap = initialMap;
-            }
+        return serializer(measurement.getClass()).appendLineProtocol(measurement, precision, pointSettings, sink);
+    }
 
-            for (Field field : measurementType.getDeclaredFields()) {
-                Column colAnnotation = field.getAnnotation(Column.class);
-                if (colAnnotation != null) {
-                    String name = colAnnotation.name();
-                    if (name.isEmpty()) {
-                        name = field.getName();
-                    }
-                    influxColumnAndFieldMap.put(name, field);
-                }
+    @Nonnull
+    private MeasurementSerializer serializer(@Nonnull final Class<?> measurementType) {
+
+        MeasurementSerializer serializer = SERIALIZERS.get(measurementType);
+        if (serializer == null) {
+            serializer = MeasurementSerializer.compile(measurementType);
+            MeasurementSerializer previous = SERIALIZERS.putIfAbsent(measurementType, serializer);
+            if (previous != null) {
+                serializer = previous;
             }
         }
+
+        return serializer;
     }
-}
\ No newline at end of file
+}
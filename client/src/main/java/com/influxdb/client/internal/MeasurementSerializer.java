@@ -0,0 +1,542 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.annotations.Column;
+import com.influxdb.annotations.Measurement;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointSettings;
+import com.influxdb.exceptions.InfluxException;
+
+/**
+ * The serializer of the {@link Measurement} class compiled once per class.
+ * <p>
+ * The columns are read by the {@link MethodHandle}s, the measurement name, tag keys and field keys are escaped
+ * at the compilation and the Line Protocol is written directly into the sink without an intermediate {@link Point}.
+ */
+@ThreadSafe
+final class MeasurementSerializer {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final String measurementName;
+    private final String escapedMeasurementName;
+    private final ColumnAccessor[] columns;
+    private final ColumnAccessor[] tags;
+    private final ColumnAccessor[] fields;
+    private final ColumnAccessor timestamp;
+    // the timestamp column is not an Instant => serialize by the reflective Point
+    private final boolean direct;
+
+    private final Series withoutDefaults;
+    private volatile Series series;
+
+    private MeasurementSerializer(@Nonnull final String measurementName,
+                                  @Nonnull final List<ColumnAccessor> columns) {
+
+        this.measurementName = measurementName;
+        this.escapedMeasurementName = LineProtocolEscaper.escapeKey(measurementName);
+        this.columns = columns.toArray(new ColumnAccessor[0]);
+
+        Comparator<ColumnAccessor> byName = Comparator.comparing(column -> column.name);
+        this.tags = columns.stream()
+                .filter(column -> column.kind == Kind.TAG)
+                .sorted(byName)
+                .toArray(ColumnAccessor[]::new);
+        this.fields = columns.stream()
+                .filter(column -> column.kind != Kind.TAG && column.kind != Kind.TIMESTAMP)
+                .sorted(byName)
+                .toArray(ColumnAccessor[]::new);
+        this.timestamp = columns.stream().filter(column -> column.kind == Kind.TIMESTAMP).reduce((o, n) -> n)
+                .orElse(null);
+        this.direct = timestamp == null || timestamp.type == Instant.class;
+
+        this.withoutDefaults = new Series(null);
+    }
+
+    /**
+     * Compile the serializer for the measurement type.
+     *
+     * @param measurementType the type annotated by {@link Measurement}
+     * @return compiled serializer
+     * @throws InfluxException if the type is not annotated or the columns are not accessible
+     */
+    @Nonnull
+    static MeasurementSerializer compile(@Nonnull final Class<?> measurementType) throws InfluxException {
+
+        Measurement measurement = measurementType.getAnnotation(Measurement.class);
+        if (measurement == null) {
+            String message = String
+                    .format("Measurement type '%s' does not have a @Measurement annotation.", measurementType);
+
+            throw new InfluxException(message);
+        }
+
+        // the last field wins for the same column name
+        Map<String, ColumnAccessor> columns = new LinkedHashMap<>();
+        for (Field field : measurementType.getDeclaredFields()) {
+            Column annotation = field.getAnnotation(Column.class);
+            if (annotation != null) {
+                String name = annotation.name();
+                if (name.isEmpty()) {
+                    name = field.getName();
+                }
+                columns.put(name, new ColumnAccessor(name, field, annotation));
+            }
+        }
+
+        return new MeasurementSerializer(measurement.name(), new ArrayList<>(columns.values()));
+    }
+
+    /**
+     * Map the measurement to the {@link Point}.
+     *
+     * @param measurement the measurement
+     * @param precision   the precision of the timestamp
+     * @return the point
+     */
+    @Nonnull
+    Point toPoint(@Nonnull final Object measurement, @Nonnull final WritePrecision precision) {
+
+        Point point = Point.measurement(measurementName);
+
+        for (ColumnAccessor column : columns) {
+
+            Object value = column.get(measurement);
+            if (value == null) {
+                continue;
+            }
+
+            switch (column.kind) {
+                case TAG:
+                    point.addTag(column.name, value.toString());
+                    break;
+                case TIMESTAMP:
+                    point.time((Instant) value, precision);
+                    break;
+                case DOUBLE:
+                case LONG:
+                case NUMBER:
+                    point.addField(column.name, (Number) value);
+                    break;
+                case BOOLEAN:
+                case BOXED_BOOLEAN:
+                    point.addField(column.name, (Boolean) value);
+                    break;
+                default:
+                    point.addField(column.name, value.toString());
+            }
+        }
+
+        return point;
+    }
+
+    /**
+     * Append the Line Protocol of the measurement into the {@code sink}.
+     *
+     * @param measurement   the measurement
+     * @param precision     the precision of the timestamp
+     * @param pointSettings with the default values
+     * @param sink          the destination of the Line Protocol
+     * @return {@code true} if the measurement was appended, {@code false} if the measurement doesn't contains
+     * any defined field
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    boolean appendLineProtocol(@Nonnull final Object measurement,
+                               @Nonnull final WritePrecision precision,
+                               @Nullable final PointSettings pointSettings,
+                               @Nonnull final Appendable sink) throws IOException {
+
+        if (!direct) {
+            return toPoint(measurement, precision).appendLineProtocol(sink, pointSettings);
+        }
+
+        if (!hasDefinedFields(measurement)) {
+            return false;
+        }
+
+        // the timestamp is converted before writing anything => the overflow doesn't leave a partial record
+        Instant instant = timestamp != null ? (Instant) timestamp.get(measurement) : null;
+        long time = instant != null ? toTime(instant, precision) : 0;
+
+        sink.append(escapedMeasurementName);
+        appendTags(measurement, pointSettings, sink);
+        appendFields(measurement, pointSettings != null && pointSettings.isCompatibleDoubleFormat(), sink);
+        if (instant != null) {
+            sink.append(' ');
+            LineProtocolEscaper.appendLong(sink, time);
+        }
+
+        return true;
+    }
+
+    private boolean hasDefinedFields(@Nonnull final Object measurement) {
+
+        for (ColumnAccessor field : fields) {
+            switch (field.kind) {
+                case LONG:
+                case BOOLEAN:
+                    return true;
+                case DOUBLE:
+                    if (Double.isFinite(field.getDouble(measurement))) {
+                        return true;
+                    }
+                    break;
+                default:
+                    if (isDefined(field.get(measurement))) {
+                        return true;
+                    }
+            }
+        }
+
+        return false;
+    }
+
+    private void appendTags(@Nonnull final Object measurement,
+                            @Nullable final PointSettings pointSettings,
+                            @Nonnull final Appendable sink) throws IOException {
+
+        Series series = series(pointSettings);
+
+        for (int i = 0; i < series.tags.length; i++) {
+
+            ColumnAccessor tag = series.tags[i];
+            if (tag != null) {
+                Object value = tag.get(measurement);
+                String tagValue = value != null ? value.toString() : null;
+                if (tagValue != null && !tagValue.isEmpty()) {
+                    sink.append(tag.prefix);
+                    LineProtocolEscaper.escapeKey(sink, tagValue);
+                    continue;
+                }
+            }
+
+            if (series.defaults[i] != null) {
+                sink.append(series.defaults[i]);
+            }
+        }
+
+        sink.append(' ');
+    }
+
+    private void appendFields(@Nonnull final Object measurement,
+                              final boolean compatible,
+                              @Nonnull final Appendable sink) throws IOException {
+
+        boolean appended = false;
+        for (ColumnAccessor field : fields) {
+
+            switch (field.kind) {
+                case DOUBLE:
+                    double doubleValue = field.getDouble(measurement);
+                    if (!Double.isFinite(doubleValue)) {
+                        continue;
+                    }
+                    appended = appendPrefix(field, appended, sink);
+                    LineProtocolEscaper.appendDouble(sink, doubleValue, compatible);
+                    break;
+                case LONG:
+                    appended = appendPrefix(field, appended, sink);
+                    LineProtocolEscaper.appendLong(sink, field.getLong(measurement));
+                    sink.append('i');
+                    break;
+                case BOOLEAN:
+                    appended = appendPrefix(field, appended, sink);
+                    sink.append(field.getBoolean(measurement) ? "true" : "false");
+                    break;
+                default:
+                    Object value = field.get(measurement);
+                    if (!isDefined(value)) {
+                        continue;
+                    }
+                    appended = appendPrefix(field, appended, sink);
+                    appendValue(field, value, compatible, sink);
+            }
+        }
+    }
+
+    private boolean appendPrefix(@Nonnull final ColumnAccessor field,
+                                 final boolean appended,
+                                 @Nonnull final Appendable sink) throws IOException {
+        if (appended) {
+            sink.append(',');
+        }
+        sink.append(field.prefix);
+
+        return true;
+    }
+
+    private void appendValue(@Nonnull final ColumnAccessor field,
+                             @Nonnull final Object value,
+                             final boolean compatible,
+                             @Nonnull final Appendable sink) throws IOException {
+
+        switch (field.kind) {
+            case NUMBER:
+                if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+                    LineProtocolEscaper.appendDecimal(sink, (Number) value, compatible);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    LineProtocolEscaper.appendLong(sink, ((Number) value).longValue());
+                    sink.append('i');
+                } else {
+                    sink.append(value.toString()).append('i');
+                }
+                break;
+            case BOXED_BOOLEAN:
+                sink.append(value.toString());
+                break;
+            default:
+                sink.append('"');
+                LineProtocolEscaper.escapeValue(sink, value.toString());
+                sink.append('"');
+        }
+    }
+
+    private long toTime(@Nonnull final Instant instant, @Nonnull final WritePrecision precision) {
+
+        long nanos = Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+
+        switch (precision) {
+            case NS:
+                return nanos;
+            case US:
+                return TimeUnit.MICROSECONDS.convert(nanos, TimeUnit.NANOSECONDS);
+            case MS:
+                return TimeUnit.MILLISECONDS.convert(nanos, TimeUnit.NANOSECONDS);
+            case S:
+                return TimeUnit.SECONDS.convert(nanos, TimeUnit.NANOSECONDS);
+            default:
+                throw new IllegalStateException("Unsupported precision: " + precision);
+        }
+    }
+
+    private boolean isDefined(@Nullable final Object value) {
+        return value != null
+                && !(value instanceof Double && !Double.isFinite((Double) value))
+                && !(value instanceof Float && !Float.isFinite((Float) value));
+    }
+
+    @Nonnull
+    private Series series(@Nullable final PointSettings pointSettings) {
+
+        if (pointSettings == null) {
+            return withoutDefaults;
+        }
+
+        DefaultTags defaultTags = DefaultTags.of(pointSettings);
+
+        Series current = series;
+        if (current == null || current.defaultTags != defaultTags) {
+            current = new Series(defaultTags);
+            series = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * The sorted tag columns merged with the sorted default tags. The tag column has precedence over the default
+     * tag with the same key if its value is defined.
+     */
+    private final class Series {
+
+        private final DefaultTags defaultTags;
+        private final ColumnAccessor[] tags;
+        private final String[] defaults;
+
+        private Series(@Nullable final DefaultTags defaultTags) {
+
+            this.defaultTags = defaultTags;
+
+            int defaultsSize = defaultTags != null ? defaultTags.size() : 0;
+
+            List<ColumnAccessor> mergedTags = new ArrayList<>();
+            List<String> mergedDefaults = new ArrayList<>();
+
+            int tagIndex = 0;
+            int defaultIndex = 0;
+            while (tagIndex < MeasurementSerializer.this.tags.length || defaultIndex < defaultsSize) {
+
+                int compare;
+                if (tagIndex >= MeasurementSerializer.this.tags.length) {
+                    compare = 1;
+                } else if (defaultIndex >= defaultsSize) {
+                    compare = -1;
+                } else {
+                    compare = MeasurementSerializer.this.tags[tagIndex].name.compareTo(defaultTags.key(defaultIndex));
+                }
+
+                mergedTags.add(compare <= 0 ? MeasurementSerializer.this.tags[tagIndex++] : null);
+                mergedDefaults.add(compare >= 0
+                        ? "," + defaultTags.escapedKey(defaultIndex) + "=" + defaultTags.escapedValue(defaultIndex++)
+                        : null);
+            }
+
+            this.tags = mergedTags.toArray(new ColumnAccessor[0]);
+            this.defaults = mergedDefaults.toArray(new String[0]);
+        }
+    }
+
+    private enum Kind {
+        TAG,
+        TIMESTAMP,
+        // primitive double
+        DOUBLE,
+        // primitive long or int
+        LONG,
+        // primitive boolean
+        BOOLEAN,
+        NUMBER,
+        BOXED_BOOLEAN,
+        STRING
+    }
+
+    private static final class ColumnAccessor {
+
+        private final String name;
+        private final Class<?> type;
+        private final Kind kind;
+        // the escaped ",key=" for tags and "key=" for fields
+        private final String prefix;
+        private final MethodHandle getter;
+
+        private ColumnAccessor(@Nonnull final String name,
+                               @Nonnull final Field field,
+                               @Nonnull final Column annotation) {
+
+            this.name = name;
+            this.type = field.getType();
+            this.kind = kind(field.getType(), annotation);
+            this.prefix = kind == Kind.TAG
+                    ? "," + LineProtocolEscaper.escapeKey(name) + "="
+                    : LineProtocolEscaper.escapeKey(name) + "=";
+
+            Class<?> getterType;
+            switch (kind) {
+                case DOUBLE:
+                    getterType = double.class;
+                    break;
+                case LONG:
+                    getterType = long.class;
+                    break;
+                case BOOLEAN:
+                    getterType = boolean.class;
+                    break;
+                default:
+                    getterType = Object.class;
+            }
+
+            try {
+                field.setAccessible(true);
+                this.getter = MethodHandles.lookup()
+                        .unreflectGetter(field)
+                        .asType(MethodType.methodType(getterType, Object.class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new InfluxException(e);
+            }
+        }
+
+        @Nonnull
+        private static Kind kind(@Nonnull final Class<?> type,
+                                 @Nonnull final Column annotation) {
+
+            if (annotation.tag()) {
+                return Kind.TAG;
+            } else if (annotation.timestamp()) {
+                return Kind.TIMESTAMP;
+            } else if (type == double.class) {
+                return Kind.DOUBLE;
+            } else if (type == long.class || type == int.class) {
+                return Kind.LONG;
+            } else if (type == boolean.class) {
+                return Kind.BOOLEAN;
+            } else if (Number.class.isAssignableFrom(type)) {
+                return Kind.NUMBER;
+            } else if (Boolean.class.isAssignableFrom(type)) {
+                return Kind.BOXED_BOOLEAN;
+            }
+
+            // String and the other types are stored as a string by toString()
+            return Kind.STRING;
+        }
+
+        @Nullable
+        private Object get(@Nonnull final Object measurement) {
+            try {
+                switch (kind) {
+                    case DOUBLE:
+                        return (double) getter.invokeExact(measurement);
+                    case LONG:
+                        return (long) getter.invokeExact(measurement);
+                    case BOOLEAN:
+                        return (boolean) getter.invokeExact(measurement);
+                    default:
+                        return (Object) getter.invokeExact(measurement);
+                }
+            } catch (Throwable e) {
+                throw new InfluxException(e);
+            }
+        }
+
+        private double getDouble(@Nonnull final Object measurement) {
+            try {
+                return (double) getter.invokeExact(measurement);
+            } catch (Throwable e) {
+                throw new InfluxException(e);
+            }
+        }
+
+        private long getLong(@Nonnull final Object measurement) {
+            try {
+                return (long) getter.invokeExact(measurement);
+            } catch (Throwable e) {
+                throw new InfluxException(e);
+            }
+        }
+
+        private boolean getBoolean(@Nonnull final Object measurement) {
+            try {
+                return (boolean) getter.invokeExact(measurement);
+            } catch (Throwable e) {
+                throw new InfluxException(e);
+            }
+        }
+    }
+}
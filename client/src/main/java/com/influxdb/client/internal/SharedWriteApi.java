@@ -0,0 +1,302 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteDrainResult;
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
+import com.influxdb.client.write.events.AbstractWriteEvent;
+import com.influxdb.client.write.events.EventListener;
+import com.influxdb.client.write.events.ListenerRegistration;
+
+/**
+ * The handle of the {@link WriteApi} shared by {@link SharedWriteApis}.
+ * <p>
+ * The writes are delegated into the shared pipeline. The {@link #flush()}, the events and the metrics
+ * are of the whole pipeline. The {@link #close()} disposes the listeners registered by the handle
+ * and releases the pipeline; the data written after the close are ignored.
+ */
+@ThreadSafe
+final class SharedWriteApi implements WriteApi {
+
+    private final WriteApiImpl delegate;
+    private final Runnable release;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final List<ListenerRegistration> registrations = new CopyOnWriteArrayList<>();
+
+    SharedWriteApi(@Nonnull final WriteApiImpl delegate, @Nonnull final Runnable release) {
+
+        Arguments.checkNotNull(delegate, "delegate");
+        Arguments.checkNotNull(release, "release");
+
+        this.delegate = delegate;
+        this.release = release;
+    }
+
+    @Override
+    public void writeRecord(@Nonnull final WritePrecision precision, @Nullable final String record) {
+        if (!closed.get()) {
+            delegate.writeRecord(precision, record);
+        }
+    }
+
+    @Override
+    public void writeRecord(@Nonnull final String bucket,
+                            @Nonnull final String org,
+                            @Nonnull final WritePrecision precision,
+                            @Nullable final String record) {
+        if (!closed.get()) {
+            delegate.writeRecord(bucket, org, precision, record);
+        }
+    }
+
+    @Override
+    public void writeRecords(@Nonnull final WritePrecision precision, @Nonnull final List<String> records) {
+        if (!closed.get()) {
+            delegate.writeRecords(precision, records);
+        }
+    }
+
+    @Override
+    public void writeRecords(@Nonnull final String bucket,
+                             @Nonnull final String org,
+                             @Nonnull final WritePrecision precision,
+                             @Nonnull final List<String> records) {
+        if (!closed.get()) {
+            delegate.writeRecords(bucket, org, precision, records);
+        }
+    }
+
+    @Override
+    public void writePoint(@Nullable final Point point) {
+        if (!closed.get()) {
+            delegate.writePoint(point);
+        }
+    }
+
+    @Override
+    public void writePoint(@Nonnull final String bucket, @Nonnull final String org, @Nullable final Point point) {
+        if (!closed.get()) {
+            delegate.writePoint(bucket, org, point);
+        }
+    }
+
+    @Override
+    public void writePoints(@Nonnull final List<Point> points) {
+        if (!closed.get()) {
+            delegate.writePoints(points);
+        }
+    }
+
+    @Override
+    public void writePoints(@Nonnull final String bucket,
+                            @Nonnull final String org,
+                            @Nonnull final List<Point> points) {
+        if (!closed.get()) {
+            delegate.writePoints(bucket, org, points);
+        }
+    }
+
+    @Override
+    public void writePointBatch(@Nonnull final PointBatch batch) {
+        if (!closed.get()) {
+            delegate.writePointBatch(batch);
+        }
+    }
+
+    @Override
+    public void writePointBatch(@Nonnull final String bucket,
+                                @Nonnull final String org,
+                                @Nonnull final PointBatch batch) {
+        if (!closed.get()) {
+            delegate.writePointBatch(bucket, org, batch);
+        }
+    }
+
+    @Override
+    public <M> void writeMeasurement(@Nonnull final WritePrecision precision, @Nullable final M measurement) {
+        if (!closed.get()) {
+            delegate.writeMeasurement(precision, measurement);
+        }
+    }
+
+    @Override
+    public <M> void writeMeasurement(@Nonnull final String bucket,
+                                     @Nonnull final String org,
+                                     @Nonnull final WritePrecision precision,
+                                     @Nullable final M measurement) {
+        if (!closed.get()) {
+            delegate.writeMeasurement(bucket, org, precision, measurement);
+        }
+    }
+
+    @Override
+    public <M> void writeMeasurements(@Nonnull final WritePrecision precision, @Nonnull final List<M> measurements) {
+        if (!closed.get()) {
+            delegate.writeMeasurements(precision, measurements);
+        }
+    }
+
+    @Override
+    public <M> void writeMeasurements(@Nonnull final String bucket,
+                                      @Nonnull final String org,
+                                      @Nonnull final WritePrecision precision,
+                                      @Nonnull final List<M> measurements) {
+        if (!closed.get()) {
+            delegate.writeMeasurements(bucket, org, precision, measurements);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public <T extends AbstractWriteEvent> ListenerRegistration listenEvents(@Nonnull final Class<T> eventType,
+                                                                            @Nonnull final EventListener<T> listener) {
+        return register(delegate.listenEvents(eventType, listener));
+    }
+
+    @Nonnull
+    @Override
+    public WriteMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Nonnull
+    @Override
+    public ListenerRegistration listenMetrics(@Nonnull final WriteMetricsListener listener) {
+        return register(delegate.listenMetrics(listener));
+    }
+
+    @Override
+    public void flush() {
+        if (!closed.get()) {
+            delegate.flush();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public WriteDrainResult flush(final long timeout, @Nonnull final TimeUnit unit) {
+        if (closed.get()) {
+            return new WriteDrainResult(true, 0, 0, 0, 0);
+        }
+        return delegate.flush(timeout, unit);
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<WriteDrainResult> flushAsync() {
+        if (closed.get()) {
+            return CompletableFuture.completedFuture(new WriteDrainResult(true, 0, 0, 0, 0));
+        }
+        return delegate.flushAsync();
+    }
+
+    @Override
+    public int getEffectiveBatchSize() {
+        return delegate.getEffectiveBatchSize();
+    }
+
+    @Override
+    public int getEffectiveFlushInterval() {
+        return delegate.getEffectiveFlushInterval();
+    }
+
+    /**
+     * Flush the pipeline, dispose the listeners of this handle and release the pipeline. The pipeline is closed
+     * when its last handle is closed.
+     */
+    @Override
+    public void close() {
+
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        delegate.flush();
+        release();
+    }
+
+    /**
+     * Flush the pipeline and wait until the points accepted before the call are written, failed or dropped.
+     * The listeners of this handle are disposed and the pipeline is released.
+     */
+    @Nonnull
+    @Override
+    public WriteDrainResult close(final long timeout, @Nonnull final TimeUnit unit) {
+
+        if (!closed.compareAndSet(false, true)) {
+            return new WriteDrainResult(true, 0, 0, 0, 0);
+        }
+
+        // the other handles could still write => await only the points accepted before the close
+        WriteDrainResult flushed = delegate.flush(timeout, unit);
+        release();
+
+        return flushed;
+    }
+
+    @Nonnull
+    @Override
+    public CompletableFuture<WriteDrainResult> closeAsync() {
+
+        if (!closed.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(new WriteDrainResult(true, 0, 0, 0, 0));
+        }
+
+        CompletableFuture<WriteDrainResult> flushed = delegate.flushAsync();
+        release();
+
+        return flushed;
+    }
+
+    private void release() {
+
+        registrations.forEach(ListenerRegistration::dispose);
+        registrations.clear();
+        release.run();
+    }
+
+    @Nonnull
+    private ListenerRegistration register(@Nonnull final ListenerRegistration registration) {
+
+        registrations.add(registration);
+
+        return () -> {
+            registrations.remove(registration);
+            registration.dispose();
+        };
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * The write pipelines shared by the {@link WriteApi} handles of the client.
+ * <p>
+ * The handles created for the same {@link WriteOptions} instance write into one pipeline, so the data
+ * of all handles targeting the same bucket and organization are written in the same batches.
+ * The pipeline is closed when its last handle is closed. The pipelines with the default
+ * {@link WriteOptions#getWriteScheduler()} run on the bounded pool of threads shared by all pipelines
+ * of the client.
+ */
+@ThreadSafe
+final class SharedWriteApis {
+
+    private static final int MIN_THREADS = 2;
+    private static final long KEEP_ALIVE = 60;
+
+    private final BiFunction<WriteOptions, Scheduler, WriteApiImpl> factory;
+    private final Map<WriteOptions, Pipeline> pipelines = new IdentityHashMap<>();
+    private Scheduler scheduler;
+    private boolean closed;
+
+    /**
+     * @param factory creates the pipeline for the write options running on the scheduler
+     */
+    SharedWriteApis(@Nonnull final BiFunction<WriteOptions, Scheduler, WriteApiImpl> factory) {
+
+        Arguments.checkNotNull(factory, "factory");
+
+        this.factory = factory;
+    }
+
+    /**
+     * Create the handle of the pipeline shared by the {@code writeOptions}.
+     *
+     * @param writeOptions the options of the shared pipeline
+     * @return the new handle
+     */
+    @Nonnull
+    synchronized WriteApi handle(@Nonnull final WriteOptions writeOptions) {
+
+        Arguments.checkNotNull(writeOptions, "WriteOptions");
+
+        if (closed) {
+            throw new IllegalStateException("The InfluxDBClient is closed.");
+        }
+
+        Pipeline pipeline = pipelines.get(writeOptions);
+        if (pipeline == null) {
+            pipeline = new Pipeline(factory.apply(writeOptions, scheduler(writeOptions)));
+            pipelines.put(writeOptions, pipeline);
+        }
+        pipeline.handles++;
+
+        Pipeline shared = pipeline;
+
+        return new SharedWriteApi(pipeline.writeApi, () -> release(writeOptions, shared));
+    }
+
+    /**
+     * @return the number of the running pipelines
+     */
+    synchronized int size() {
+        return pipelines.size();
+    }
+
+    /**
+     * Close all pipelines. The new handles are not created.
+     */
+    void close() {
+
+        List<Pipeline> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(pipelines.values());
+            pipelines.clear();
+        }
+
+        toClose.forEach(pipeline -> pipeline.writeApi.close());
+    }
+
+    private void release(@Nonnull final WriteOptions writeOptions, @Nonnull final Pipeline pipeline) {
+
+        synchronized (this) {
+            if (--pipeline.handles > 0 || pipelines.get(writeOptions) != pipeline) {
+                return;
+            }
+            pipelines.remove(writeOptions);
+        }
+
+        pipeline.writeApi.close();
+    }
+
+    /**
+     * The default scheduler creates the thread per pipeline => the bounded shared pool is used instead.
+     */
+    @Nonnull
+    private Scheduler scheduler(@Nonnull final WriteOptions writeOptions) {
+
+        if (writeOptions.getWriteScheduler() != Schedulers.newThread()) {
+            return writeOptions.getWriteScheduler();
+        }
+
+        if (scheduler == null) {
+
+            int threads = Math.max(MIN_THREADS, Runtime.getRuntime().availableProcessors());
+            AtomicInteger count = new AtomicInteger();
+
+            // the idle threads are terminated => the pool doesn't have to be shut down
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "influxdb-shared-write-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.allowCoreThreadTimeOut(true);
+
+            scheduler = Schedulers.from(executor);
+        }
+
+        return scheduler;
+    }
+
+    private static final class Pipeline {
+
+        private final WriteApiImpl writeApi;
+        private int handles;
+
+        private Pipeline(@Nonnull final WriteApiImpl writeApi) {
+            this.writeApi = writeApi;
+        }
+    }
+}
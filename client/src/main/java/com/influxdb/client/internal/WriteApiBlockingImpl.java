@@ -21,9 +21,16 @@
  */
 package com.influxdb.client.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -34,15 +41,22 @@ import javax.annotation.Nullable;
 import com.influxdb.Arguments;
 import com.influxdb.client.InfluxDBClientOptions;
 import com.influxdb.client.WriteApiBlocking;
+import com.influxdb.client.WriteOptions;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
 import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataMeasurement;
 import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataPoint;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataPointBatch;
 import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataRecord;
 import com.influxdb.client.service.WriteService;
+import com.influxdb.client.write.PartialWriteException;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteResult;
+import com.influxdb.exceptions.InfluxException;
 import com.influxdb.internal.AbstractRestClient;
 
+import okhttp3.RequestBody;
 import retrofit2.Call;
 
 /**
@@ -52,14 +66,19 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
 
     private static final Logger LOG = Logger.getLogger(WriteApiBlockingImpl.class.getName());
 
+    private final WriteOptions writeOptions;
     private final WriteService service;
     private final InfluxDBClientOptions options;
 
     private final MeasurementMapper measurementMapper = new MeasurementMapper();
 
-    WriteApiBlockingImpl(@Nonnull final WriteService service,
+    WriteApiBlockingImpl(@Nonnull final WriteOptions writeOptions,
+                         @Nonnull final WriteService service,
                          @Nonnull final InfluxDBClientOptions options) {
 
+        Arguments.checkNotNull(writeOptions, "WriteOptions");
+
+        this.writeOptions = writeOptions;
         this.service = service;
         this.options = options;
     }
@@ -102,12 +121,7 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
                              @Nonnull final WritePrecision precision,
                              @Nonnull final List<String> records) {
 
-        Arguments.checkNonEmpty(bucket, "bucket");
-        Arguments.checkNonEmpty(org, "org");
-        Arguments.checkNotNull(precision, "WritePrecision is required");
-        Arguments.checkNotNull(records, "records");
-
-        write(bucket, org, precision, records.stream().map(BatchWriteDataRecord::new));
+        writeRecords(bucket, org, precision, records, true);
     }
 
     @Override
@@ -124,7 +138,10 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
             return;
         }
 
-        writePoints(bucket, org, Collections.singletonList(point));
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(org, "org");
+
+        write(bucket, org, point.getPrecision(), new BatchWriteDataPoint(point, options));
     }
 
     @Override
@@ -140,14 +157,28 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
                             @Nonnull final String org,
                             @Nonnull final List<Point> points) {
 
+        writePoints(bucket, org, points, true);
+    }
+
+    @Override
+    public void writePointBatch(@Nonnull final PointBatch batch) {
+
+        Arguments.checkNotNull(options.getBucket(), "InfluxDBClientOptions.getBucket");
+        Arguments.checkNotNull(options.getOrg(), "InfluxDBClientOptions.getOrg");
+
+        writePointBatch(options.getBucket(), options.getOrg(), batch);
+    }
+
+    @Override
+    public void writePointBatch(@Nonnull final String bucket,
+                                @Nonnull final String org,
+                                @Nonnull final PointBatch batch) {
+
         Arguments.checkNonEmpty(bucket, "bucket");
         Arguments.checkNonEmpty(org, "org");
-        Arguments.checkNotNull(points, "points");
+        Arguments.checkNotNull(batch, "batch");
 
-        points
-                .stream()
-                .filter(Objects::nonNull)
-                .forEach(point -> write(bucket, org, point.getPrecision(), new BatchWriteDataPoint(point, options)));
+        write(bucket, org, batch.getPrecision(), new BatchWriteDataPointBatch(batch, options));
     }
 
     @Override
@@ -186,13 +217,243 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
                                       @Nonnull final String org,
                                       @Nonnull final WritePrecision precision,
                                       @Nonnull final List<M> measurements) {
+
+        writeMeasurements(bucket, org, precision, measurements, true);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writeRecordsWithResult(@Nonnull final WritePrecision precision,
+                                              @Nonnull final List<String> records) {
+
+        Arguments.checkNotNull(options.getBucket(), "InfluxDBClientOptions.getBucket");
+        Arguments.checkNotNull(options.getOrg(), "InfluxDBClientOptions.getOrg");
+
+        return writeRecordsWithResult(options.getBucket(), options.getOrg(), precision, records);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writeRecordsWithResult(@Nonnull final String bucket,
+                                              @Nonnull final String org,
+                                              @Nonnull final WritePrecision precision,
+                                              @Nonnull final List<String> records) {
+
+        return writeRecords(bucket, org, precision, records, false);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writePointsWithResult(@Nonnull final List<Point> points) {
+
+        Arguments.checkNotNull(options.getBucket(), "InfluxDBClientOptions.getBucket");
+        Arguments.checkNotNull(options.getOrg(), "InfluxDBClientOptions.getOrg");
+
+        return writePointsWithResult(options.getBucket(), options.getOrg(), points);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writePointsWithResult(@Nonnull final String bucket,
+                                             @Nonnull final String org,
+                                             @Nonnull final List<Point> points) {
+
+        return writePoints(bucket, org, points, false);
+    }
+
+    @Nonnull
+    @Override
+    public <M> WriteResult writeMeasurementsWithResult(@Nonnull final WritePrecision precision,
+                                                       @Nonnull final List<M> measurements) {
+
+        Arguments.checkNotNull(options.getBucket(), "InfluxDBClientOptions.getBucket");
+        Arguments.checkNotNull(options.getOrg(), "InfluxDBClientOptions.getOrg");
+
+        return writeMeasurementsWithResult(options.getBucket(), options.getOrg(), precision, measurements);
+    }
+
+    @Nonnull
+    @Override
+    public <M> WriteResult writeMeasurementsWithResult(@Nonnull final String bucket,
+                                                       @Nonnull final String org,
+                                                       @Nonnull final WritePrecision precision,
+                                                       @Nonnull final List<M> measurements) {
+
+        return writeMeasurements(bucket, org, precision, measurements, false);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writeRecords(@Nonnull final String bucket,
+                                    @Nonnull final String org,
+                                    @Nonnull final WritePrecision precision,
+                                    @Nonnull final Iterator<String> records) {
+
+        Arguments.checkNotNull(precision, "WritePrecision is required");
+        Arguments.checkNotNull(records, "records");
+
+        return write(bucket, org, records, record -> precision, BatchWriteDataRecord::new);
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writeRecords(@Nonnull final String bucket,
+                                    @Nonnull final String org,
+                                    @Nonnull final WritePrecision precision,
+                                    @Nonnull final Iterable<String> records) {
+
+        Arguments.checkNotNull(records, "records");
+
+        return writeRecords(bucket, org, precision, records.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writeRecords(@Nonnull final String bucket,
+                                    @Nonnull final String org,
+                                    @Nonnull final WritePrecision precision,
+                                    @Nonnull final Stream<String> records) {
+
+        Arguments.checkNotNull(records, "records");
+
+        return writeRecords(bucket, org, precision, records.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writePoints(@Nonnull final String bucket,
+                                   @Nonnull final String org,
+                                   @Nonnull final Iterator<Point> points) {
+
+        Arguments.checkNotNull(points, "points");
+
+        return write(bucket, org, points, Point::getPrecision, point -> new BatchWriteDataPoint(point, options));
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writePoints(@Nonnull final String bucket,
+                                   @Nonnull final String org,
+                                   @Nonnull final Iterable<Point> points) {
+
+        Arguments.checkNotNull(points, "points");
+
+        return writePoints(bucket, org, points.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public WriteResult writePoints(@Nonnull final String bucket,
+                                   @Nonnull final String org,
+                                   @Nonnull final Stream<Point> points) {
+
+        Arguments.checkNotNull(points, "points");
+
+        return writePoints(bucket, org, points.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                             @Nonnull final String org,
+                                             @Nonnull final WritePrecision precision,
+                                             @Nonnull final Iterator<M> measurements) {
+
+        Arguments.checkNotNull(precision, "WritePrecision is required");
+        Arguments.checkNotNull(measurements, "measurements");
+
+        return write(bucket, org, measurements, measurement -> precision,
+                it -> new BatchWriteDataMeasurement(it, precision, options, measurementMapper));
+    }
+
+    @Nonnull
+    @Override
+    public <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                             @Nonnull final String org,
+                                             @Nonnull final WritePrecision precision,
+                                             @Nonnull final Iterable<M> measurements) {
+
+        Arguments.checkNotNull(measurements, "measurements");
+
+        return writeMeasurements(bucket, org, precision, measurements.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                             @Nonnull final String org,
+                                             @Nonnull final WritePrecision precision,
+                                             @Nonnull final Stream<M> measurements) {
+
+        Arguments.checkNotNull(measurements, "measurements");
+
+        return writeMeasurements(bucket, org, precision, measurements.iterator());
+    }
+
+    @Nonnull
+    private WriteResult writeRecords(@Nonnull final String bucket,
+                                     @Nonnull final String org,
+                                     @Nonnull final WritePrecision precision,
+                                     @Nonnull final List<String> records,
+                                     final boolean failFast) {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(org, "org");
+        Arguments.checkNotNull(precision, "WritePrecision is required");
+        Arguments.checkNotNull(records, "records");
+
+        List<WriteResult.Chunk> chunks = new ArrayList<>();
+        write(bucket, org, precision, records.stream().map(BatchWriteDataRecord::new), chunks, failFast);
+
+        return new WriteResult(chunks);
+    }
+
+    @Nonnull
+    private WriteResult writePoints(@Nonnull final String bucket,
+                                    @Nonnull final String org,
+                                    @Nonnull final List<Point> points,
+                                    final boolean failFast) {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(org, "org");
+        Arguments.checkNotNull(points, "points");
+
+        //
+        // One request contains only one precision
+        //
+        Map<WritePrecision, List<Point>> byPrecision = points
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Point::getPrecision, LinkedHashMap::new, Collectors.toList()));
+
+        List<WriteResult.Chunk> chunks = new ArrayList<>();
+        byPrecision.forEach((precision, group) -> {
+
+            Stream<BatchWriteData> stream = group.stream().map(point -> new BatchWriteDataPoint(point, options));
+
+            write(bucket, org, precision, stream, chunks, failFast);
+        });
+
+        return new WriteResult(chunks);
+    }
+
+    @Nonnull
+    private <M> WriteResult writeMeasurements(@Nonnull final String bucket,
+                                              @Nonnull final String org,
+                                              @Nonnull final WritePrecision precision,
+                                              @Nonnull final List<M> measurements,
+                                              final boolean failFast) {
+
         Arguments.checkNonEmpty(bucket, "bucket");
         Arguments.checkNonEmpty(org, "org");
         Arguments.checkNotNull(precision, "WritePrecision is required");
         Arguments.checkNotNull(measurements, "records");
 
+        List<WriteResult.Chunk> chunks = new ArrayList<>();
         write(bucket, org, precision, measurements.stream()
-                .map(it -> new BatchWriteDataMeasurement(it, precision, options, measurementMapper)));
+                .map(it -> new BatchWriteDataMeasurement(it, precision, options, measurementMapper)), chunks, failFast);
+
+        return new WriteResult(chunks);
     }
 
     private void write(@Nonnull final String bucket,
@@ -200,34 +461,156 @@ final class WriteApiBlockingImpl extends AbstractRestClient implements WriteApiB
                        @Nonnull final WritePrecision precision,
                        @Nonnull final BatchWriteData data) {
 
-        write(bucket, organization, precision, Stream.of(data));
+        write(bucket, organization, precision, Stream.of(data), new ArrayList<>(), true);
     }
 
+    /**
+     * Write the data by the chunks limited by {@link WriteOptions#getBatchSize()}
+     * and {@link WriteOptions#getMaxBatchBytes()}.
+     *
+     * @param chunks   the outcome of the written chunks
+     * @param failFast {@code true} to stop by the not written chunk, {@code false} to report it by the result
+     *                 and continue with the next chunk
+     */
     private void write(@Nonnull final String bucket,
                        @Nonnull final String organization,
                        @Nonnull final WritePrecision precision,
-                       @Nonnull final Stream<BatchWriteData> stream) {
+                       @Nonnull final Stream<BatchWriteData> stream,
+                       @Nonnull final List<WriteResult.Chunk> chunks,
+                       final boolean failFast) {
+
+        int batchSize = writeOptions.getBatchSize();
+        long maxBatchBytes = writeOptions.getMaxBatchBytes();
+
+        int written = chunks.size();
+        LineProtocolBatch batch = new LineProtocolBatch();
+        try {
+            Iterator<BatchWriteData> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+
+                batch.append(iterator.next());
+
+                if (batch.count() >= batchSize || maxBatchBytes > 0 && batch.size() >= maxBatchBytes) {
+                    add(chunks, write(bucket, organization, precision, batch), failFast);
+                    batch.release();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                add(chunks, write(bucket, organization, precision, batch), failFast);
+            }
+        } finally {
+            batch.release();
+        }
+
+        if (chunks.size() == written) {
+            LOG.warning("The writes: " + stream + " doesn't contains any Line Protocol, skipping");
+        }
+    }
 
-        String lineProtocol = stream.map(BatchWriteData::toLineProtocol)
-                .filter(it -> it != null && !it.isEmpty())
-                .collect(Collectors.joining("\n"));
+    /**
+     * Write the data by the streaming requests, see {@link LineProtocolStream}.
+     *
+     * @return the outcome of the written chunks
+     */
+    @Nonnull
+    private <T> WriteResult write(@Nonnull final String bucket,
+                                  @Nonnull final String organization,
+                                  @Nonnull final Iterator<T> iterator,
+                                  @Nonnull final Function<T, WritePrecision> toPrecision,
+                                  @Nonnull final Function<T, BatchWriteData> toData) {
 
-        if (lineProtocol.isEmpty()) {
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(organization, "org");
 
-            LOG.warning("The writes: " + stream + " doesn't contains any Line Protocol, skipping");
+        LineProtocolStream<T> stream = new LineProtocolStream<>(iterator, toPrecision, toData,
+                writeOptions.getBatchSize(), writeOptions.getMaxBatchBytes());
+
+        List<WriteResult.Chunk> chunks = new ArrayList<>();
+        for (LineProtocolStream<T>.Body body = stream.next(); body != null; body = stream.next()) {
+
+            add(chunks, write(bucket, organization, body.getPrecision(), body, body::count, body::size), false);
+        }
+
+        if (chunks.isEmpty()) {
+            LOG.warning("The writes: " + iterator + " doesn't contains any Line Protocol, skipping");
+        }
+
+        return new WriteResult(chunks);
+    }
+
+    /**
+     * Add the outcome of the written chunk.
+     *
+     * @param failFast {@code true} to throw the error of the not written chunk
+     * @throws InfluxException the error of the not written chunk if nothing is written before,
+     *                         {@link PartialWriteException} if the previous chunks are already written
+     */
+    private void add(@Nonnull final List<WriteResult.Chunk> chunks,
+                     @Nonnull final WriteResult.Chunk chunk,
+                     final boolean failFast) {
+
+        chunks.add(chunk);
+
+        InfluxException error = chunk.getError();
+        if (error == null) {
             return;
         }
 
+        if (failFast) {
+            // nothing is written => the same error as by the one request
+            if (chunks.size() == 1) {
+                throw error;
+            }
+            throw new PartialWriteException(new WriteResult(chunks));
+        }
+
+        LOG.log(Level.WARNING, "The chunk of " + chunk.getPoints() + " points was not written", error);
+    }
+
+    @Nonnull
+    private WriteResult.Chunk write(@Nonnull final String bucket,
+                                    @Nonnull final String organization,
+                                    @Nonnull final WritePrecision precision,
+                                    @Nonnull final LineProtocolBatch batch) {
+
+        WriteResult.Chunk chunk = write(bucket, organization, precision, batch.toRequestBody(),
+                batch::count, batch::size);
+
+        if (chunk.isSuccess() && LOG.isLoggable(Level.FINEST)) {
+            LOG.log(Level.FINEST, "Written data into InfluxDB: {0}", batch.toLineProtocol());
+        }
+
+        return chunk;
+    }
+
+    /**
+     * @param count the number of the written records, evaluated after the request
+     * @param size  the size of the written records in bytes, evaluated after the request
+     */
+    @Nonnull
+    private WriteResult.Chunk write(@Nonnull final String bucket,
+                                    @Nonnull final String organization,
+                                    @Nonnull final WritePrecision precision,
+                                    @Nonnull final RequestBody body,
+                                    @Nonnull final IntSupplier count,
+                                    @Nonnull final LongSupplier size) {
+
         LOG.log(Level.FINEST,
                 "Writing time-series data into InfluxDB (org={0}, bucket={1}, precision={2})...",
                 new Object[]{organization, bucket, precision});
 
-        Call<Void> voidCall = service.postWrite(organization, bucket, lineProtocol, null,
-                "identity", "text/plain; charset=utf-8", null,
-                "application/json", null, precision);
+        try {
+            Call<Void> voidCall = service.postWriteRequestBody(organization, bucket, body, null,
+                    null, "text/plain; charset=utf-8", null,
+                    "application/json", null, precision);
 
-        execute(voidCall);
+            execute(voidCall);
 
-        LOG.log(Level.FINEST, "Written data into InfluxDB: {0}", lineProtocol);
+            return new WriteResult.Chunk(precision, count.getAsInt(), size.getAsLong(), null);
+        } catch (InfluxException e) {
+
+            return new WriteResult.Chunk(precision, count.getAsInt(), size.getAsLong(), e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -21,9 +21,7 @@
  */
 package com.influxdb.client.internal;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -34,11 +32,13 @@ import com.influxdb.client.WriteOptions;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.service.WriteService;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteMetricsListener;
 import com.influxdb.client.write.events.AbstractWriteEvent;
 import com.influxdb.client.write.events.EventListener;
 import com.influxdb.client.write.events.ListenerRegistration;
 
-import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.disposables.Disposable;
 
 /**
@@ -48,9 +48,22 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
 
     WriteApiImpl(@Nonnull final WriteOptions writeOptions,
                  @Nonnull final WriteService service,
-                 @Nonnull final InfluxDBClientOptions options) {
+                 @Nonnull final InfluxDBClientOptions options,
+                 @Nonnull final GzipInterceptor gzipInterceptor) {
 
-        super(writeOptions, options, writeOptions.getWriteScheduler(), service);
+        this(writeOptions, service, options, gzipInterceptor, writeOptions.getWriteScheduler());
+    }
+
+    /**
+     * @param writeScheduler the scheduler of the writes used instead of the {@link WriteOptions#getWriteScheduler()}
+     */
+    WriteApiImpl(@Nonnull final WriteOptions writeOptions,
+                 @Nonnull final WriteService service,
+                 @Nonnull final InfluxDBClientOptions options,
+                 @Nonnull final GzipInterceptor gzipInterceptor,
+                 @Nonnull final Scheduler writeScheduler) {
+
+        super(writeOptions, options, writeScheduler, service, gzipInterceptor);
     }
 
     @Override
@@ -76,7 +89,7 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
             return;
         }
 
-        write(bucket, org, precision, Flowable.just(new BatchWriteDataRecord(record)));
+        enqueue(bucket, org, precision, new BatchWriteDataRecord(record));
     }
 
     @Override
@@ -99,9 +112,7 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
         Arguments.checkNotNull(precision, "WritePrecision is required");
         Arguments.checkNotNull(records, "records");
 
-        Flowable<BatchWriteData> stream = Flowable.fromIterable(records).map(BatchWriteDataRecord::new);
-
-        write(bucket, org, precision, stream);
+        enqueue(bucket, org, precision, records, BatchWriteDataRecord::new);
     }
 
     @Override
@@ -122,7 +133,7 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
             return;
         }
 
-        writePoints(bucket, org, Collections.singletonList(point));
+        enqueue(bucket, org, point.getPrecision(), new BatchWriteDataPoint(point, options));
     }
 
     @Override
@@ -143,10 +154,28 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
         Arguments.checkNonEmpty(org, "org");
         Arguments.checkNotNull(points, "points");
 
-        Flowable<BatchWriteDataPoint> stream = Flowable.fromIterable(points).filter(Objects::nonNull)
-                .map(point -> new BatchWriteDataPoint(point, options));
+        enqueuePoints(bucket, org, points);
+    }
 
-        write(bucket, org, stream);
+    @Override
+    public void writePointBatch(@Nonnull final PointBatch batch) {
+
+        Arguments.checkNotNull(options.getBucket(), "InfluxDBClientOptions.getBucket");
+        Arguments.checkNotNull(options.getOrg(), "InfluxDBClientOptions.getOrg");
+
+        writePointBatch(options.getBucket(), options.getOrg(), batch);
+    }
+
+    @Override
+    public void writePointBatch(@Nonnull final String bucket,
+                                @Nonnull final String org,
+                                @Nonnull final PointBatch batch) {
+
+        Arguments.checkNonEmpty(bucket, "bucket");
+        Arguments.checkNonEmpty(org, "org");
+        Arguments.checkNotNull(batch, "batch");
+
+        enqueue(bucket, org, batch.getPrecision(), new BatchWriteDataPointBatch(batch, options));
     }
 
     @Override
@@ -168,7 +197,10 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
             return;
         }
 
-        writeMeasurements(bucket, org, precision, Collections.singletonList(measurement));
+        Arguments.checkNotNull(precision, "WritePrecision is required");
+
+        enqueue(bucket, org, precision, new BatchWriteDataMeasurement(measurement, precision, options,
+                measurementMapper));
     }
 
     @Override
@@ -191,11 +223,8 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
         Arguments.checkNotNull(precision, "WritePrecision is required");
         Arguments.checkNotNull(measurements, "records");
 
-        Flowable<BatchWriteData> stream = Flowable
-                .fromIterable(measurements)
-                .map(it -> new BatchWriteDataMeasurement(it, precision, options, measurementMapper));
-
-        write(bucket, org, precision, stream);
+        enqueue(bucket, org, precision, measurements,
+                it -> new BatchWriteDataMeasurement(it, precision, options, measurementMapper));
     }
 
     @Nonnull
@@ -210,6 +239,15 @@ final class WriteApiImpl extends AbstractWriteClient implements WriteApi {
         return subscribe::dispose;
     }
 
+    @Nonnull
+    @Override
+    public ListenerRegistration listenMetrics(@Nonnull final WriteMetricsListener listener) {
+
+        Arguments.checkNotNull(listener, "Listener");
+
+        return super.addMetricsListener(listener);
+    }
+
     @Override
     public void close() {
         super.close();
@@ -0,0 +1,418 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.exceptions.InfluxException;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * The bounded buffer of the not written data points.
+ * <p>
+ * The points are accounted from the write call ({@link #acquire(int)}) until their batch is written into InfluxDB
+ * or dropped ({@link #release(Item)}). The size of the encoded batch is accounted from the moment it is ready
+ * to write. When the limits are exceeded the producer is blocked for {@code timeout} and then
+ * the {@link BackpressureOverflowStrategy} is applied:
+ * <ul>
+ * <li>{@link BackpressureOverflowStrategy#DROP_OLDEST} - the oldest batches waiting to write are dropped,
+ * the new points are dropped if the buffered points are not yet batched and cannot be dropped</li>
+ * <li>{@link BackpressureOverflowStrategy#DROP_LATEST} - the new points are dropped</li>
+ * <li>{@link BackpressureOverflowStrategy#ERROR} - the write of the new points fails</li>
+ * </ul>
+ * The buffer is the {@link Subscriber} of the encoded batches and the {@link Publisher} of the batches to write.
+ *
+ * @param <T> type of the batch
+ */
+@ThreadSafe
+final class WriteBuffer<T extends WriteBuffer.Item> implements FlowableSubscriber<T>, Publisher<T> {
+
+    private final int pointsLimit;
+    private final long bytesLimit;
+    private final BackpressureOverflowStrategy strategy;
+    private final long timeout;
+    private final Consumer<BackpressureEvent> listener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<T> queue = new ArrayDeque<>();
+    private long points;
+    private long bytes;
+
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private volatile Subscriber<? super T> downstream;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+
+    /**
+     * @param pointsLimit the maximum number of the buffered points
+     * @param bytesLimit  the maximum size of the buffered batches in bytes, {@code 0} for unlimited
+     * @param strategy    the strategy to apply when the limits are exceeded
+     * @param timeout     the time to block the producer before the strategy is applied (milliseconds)
+     * @param listener    notified when the limits are exceeded
+     */
+    WriteBuffer(final int pointsLimit,
+                final long bytesLimit,
+                @Nonnull final BackpressureOverflowStrategy strategy,
+                final long timeout,
+                @Nonnull final Consumer<BackpressureEvent> listener) {
+
+        Arguments.checkNotNegativeNumber(pointsLimit, "pointsLimit");
+        Arguments.checkNotNegativeNumber(bytesLimit, "bytesLimit");
+        Arguments.checkNotNull(strategy, "strategy");
+        Arguments.checkNotNegativeNumber(timeout, "timeout");
+        Arguments.checkNotNull(listener, "listener");
+
+        this.pointsLimit = pointsLimit;
+        this.bytesLimit = bytesLimit;
+        this.strategy = strategy;
+        this.timeout = timeout;
+        this.listener = listener;
+    }
+
+    /**
+     * Account the new points.
+     *
+     * @param count the number of the new points
+     * @return {@code true} if the points are accepted, {@code false} if the points are dropped
+     * @throws InfluxException if the limits are exceeded and the strategy is {@link BackpressureOverflowStrategy#ERROR}
+     */
+    boolean acquire(final int count) {
+
+        BackpressureEvent event;
+        List<T> evicted = Collections.emptyList();
+        boolean accepted = false;
+
+        lock.lock();
+        try {
+
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+            while (isFull(count) && nanos > 0 && !done) {
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            if (!isFull(count)) {
+                points += count;
+                return true;
+            }
+
+            long dropped = count;
+            if (strategy == BackpressureOverflowStrategy.DROP_OLDEST) {
+                evicted = evict(count);
+                dropped = evicted.stream().mapToLong(Item::points).sum();
+                if (isFull(count)) {
+                    // the buffered points are in the open batches => the new points are dropped
+                    dropped += count;
+                } else {
+                    points += count;
+                    accepted = true;
+                }
+            }
+            event = new BackpressureEvent(points, bytes, dropped);
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(Item::discard);
+        listener.accept(event);
+
+        if (strategy == BackpressureOverflowStrategy.ERROR) {
+            String message = String.format("The write buffer is full: %d points, %d bytes. "
+                    + "Try increase WriteOptions.bufferLimit.", event.getBufferedPoints(), event.getBufferedBytes());
+            throw new InfluxException(message);
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Release the points and bytes of the written or dropped batch.
+     *
+     * @param item the batch
+     */
+    void release(@Nonnull final Item item) {
+
+        release(item.points(), item.bytes());
+    }
+
+    /**
+     * Release the points and bytes.
+     *
+     * @param count the number of the points
+     * @param size  the size in bytes
+     */
+    void release(final long count, final long size) {
+
+        if (count == 0 && size == 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            points -= count;
+            bytes -= size;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of the buffered points
+     */
+    long getPoints() {
+        lock.lock();
+        try {
+            return points;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the size of the buffered batches in bytes
+     */
+    long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onSubscribe(@Nonnull final Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(@Nonnull final T item) {
+
+        List<T> evicted = Collections.emptyList();
+        lock.lock();
+        try {
+            bytes += item.bytes();
+            if (strategy == BackpressureOverflowStrategy.DROP_OLDEST && isFull(0)) {
+                evicted = evict(0);
+            }
+            queue.offer(item);
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(Item::discard);
+        long dropped = evicted.stream().mapToLong(Item::points).sum();
+        if (dropped > 0) {
+            listener.accept(new BackpressureEvent(getPoints(), getBytes(), dropped));
+        }
+
+        drain();
+    }
+
+    @Override
+    public void onError(@Nonnull final Throwable throwable) {
+        // the encoded batches don't signal the error
+        onComplete();
+    }
+
+    @Override
+    public void onComplete() {
+
+        done = true;
+
+        lock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        drain();
+    }
+
+    @Override
+    public void subscribe(@Nonnull final Subscriber<? super T> subscriber) {
+
+        Arguments.checkNotNull(subscriber, "subscriber");
+
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(final long n) {
+                if (SubscriptionHelper.validate(n)) {
+                    BackpressureHelper.add(requested, n);
+                    drain();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        });
+
+        downstream = subscriber;
+        drain();
+    }
+
+    private void drain() {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            Subscriber<? super T> subscriber = downstream;
+            if (subscriber != null && !cancelled) {
+
+                long emitted = 0;
+                long demand = requested.get();
+                while (emitted != demand) {
+
+                    T item;
+                    lock.lock();
+                    try {
+                        item = queue.poll();
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    if (item == null) {
+                        break;
+                    }
+
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+
+                if (emitted > 0) {
+                    BackpressureHelper.produced(requested, emitted);
+                }
+
+                boolean empty;
+                lock.lock();
+                try {
+                    empty = queue.isEmpty();
+                } finally {
+                    lock.unlock();
+                }
+
+                if (done && empty) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * @param count the number of the new points
+     * @return {@code true} if the non empty buffer cannot accept the new points
+     */
+    private boolean isFull(final int count) {
+
+        if (points > 0 && points + count > pointsLimit) {
+            return true;
+        }
+
+        return bytesLimit > 0 && bytes > 0 && bytes >= bytesLimit;
+    }
+
+    /**
+     * Drop the oldest batches waiting to write until the new points fit into the buffer. The dropped batches
+     * are discarded by the caller outside the lock.
+     *
+     * @return the dropped batches
+     */
+    @Nonnull
+    private List<T> evict(final int count) {
+
+        List<T> evicted = new ArrayList<>();
+        Iterator<T> iterator = queue.iterator();
+        while (iterator.hasNext() && isFull(count)) {
+
+            T item = iterator.next();
+            if (item.points() == 0 && item.bytes() == 0) {
+                continue;
+            }
+
+            iterator.remove();
+            points -= item.points();
+            bytes -= item.bytes();
+            evicted.add(item);
+        }
+
+        return evicted;
+    }
+
+    /**
+     * The batch accounted by the buffer.
+     */
+    interface Item {
+
+        /**
+         * @return the number of the accounted points
+         */
+        long points();
+
+        /**
+         * @return the size of the accounted batch in bytes
+         */
+        long bytes();
+
+        /**
+         * Discard the batch dropped by {@link BackpressureOverflowStrategy#DROP_OLDEST}. The batch is discarded
+         * outside the lock of the buffer.
+         */
+        void discard();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.InfluxDBClientOptions;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
+import com.influxdb.client.write.Point;
+
+/**
+ * Merges the data points with the same measurement, tags and timestamp within the batch.
+ * <p>
+ * The fields of the merged points are combined and the value of the later point wins for the same field.
+ * The merged point is written at the position of the first point of the series and timestamp. The data
+ * which are not {@link Point}s or which don't have the timestamp are kept as they are.
+ */
+@NotThreadSafe
+final class WriteCoalescer {
+
+    private final InfluxDBClientOptions options;
+    private final List<BatchWriteData> data = new ArrayList<>();
+    private final Map<SeriesKey, Coalesced> series = new HashMap<>();
+
+    WriteCoalescer(@Nonnull final InfluxDBClientOptions options) {
+
+        Arguments.checkNotNull(options, "options");
+
+        this.options = options;
+    }
+
+    /**
+     * Add the data into the batch.
+     *
+     * @param item the data to add
+     */
+    void add(@Nonnull final BatchWriteData item) {
+
+        Arguments.checkNotNull(item, "item");
+
+        Point point;
+        try {
+            point = item.toPoint();
+        } catch (Exception e) {
+            // not mappable measurement => the error is reported by the write of the data
+            point = null;
+        }
+
+        if (point == null || point.getTime() == null || !point.hasFields()) {
+            data.add(item);
+            return;
+        }
+
+        SeriesKey key = new SeriesKey(point);
+        Coalesced previous = series.get(key);
+        if (previous != null) {
+            previous.merge(point, item.count());
+            return;
+        }
+
+        Coalesced coalesced = new Coalesced(point, item.count());
+        series.put(key, coalesced);
+        data.add(coalesced);
+    }
+
+    /**
+     * @return the data of the batch with the merged data points
+     */
+    @Nonnull
+    List<BatchWriteData> getData() {
+        return data;
+    }
+
+    /**
+     * The identity of the data point: measurement, tags, precision and timestamp.
+     */
+    private static final class SeriesKey {
+
+        private final String name;
+        private final Map<String, String> tags;
+        private final WritePrecision precision;
+        private final Long time;
+        private final int hashCode;
+
+        private SeriesKey(@Nonnull final Point point) {
+            this.name = point.getName();
+            this.tags = point.getTags();
+            this.precision = point.getPrecision();
+            this.time = point.getTime();
+            this.hashCode = Objects.hash(name, tags, precision, time);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SeriesKey)) {
+                return false;
+            }
+            SeriesKey that = (SeriesKey) o;
+            return hashCode == that.hashCode
+                    && Objects.equals(time, that.time)
+                    && precision == that.precision
+                    && Objects.equals(name, that.name)
+                    && Objects.equals(tags, that.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The data point merged from the points with the same {@link SeriesKey}. The point of the user is copied
+     * before the first merge.
+     */
+    private final class Coalesced implements BatchWriteData {
+
+        private Point point;
+        private boolean copied;
+        private int count;
+
+        private Coalesced(@Nonnull final Point point, final int count) {
+            this.point = point;
+            this.count = count;
+        }
+
+        private void merge(@Nonnull final Point other, final int otherCount) {
+
+            if (!copied) {
+                point = Point.measurement(point.getName())
+                        .addTags(point.getTags())
+                        .addFields(point.getFields())
+                        .time(point.getTime(), point.getPrecision());
+                copied = true;
+            }
+
+            // the not defined value is not written => the previous value is kept
+            Map<String, Object> fields = new HashMap<>();
+            other.getFields().forEach((field, value) -> {
+                if (isDefined(value)) {
+                    fields.put(field, value);
+                }
+            });
+            point.addFields(fields);
+
+            count += otherCount;
+        }
+
+        @Nullable
+        @Override
+        public String toLineProtocol() {
+
+            String lineProtocol = point.toLineProtocol(options.getPointSettings());
+
+            return lineProtocol.isEmpty() ? null : lineProtocol;
+        }
+
+        @Override
+        public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+            return point.appendLineProtocol(sink, options.getPointSettings());
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        @Nonnull
+        @Override
+        public Point toPoint() {
+            return point;
+        }
+
+        private boolean isDefined(@Nullable final Object value) {
+            return value != null
+                    && !(value instanceof Double && !Double.isFinite((Double) value))
+                    && !(value instanceof Float && !Float.isFinite((Float) value));
+        }
+    }
+}
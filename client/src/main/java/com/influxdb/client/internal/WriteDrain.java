@@ -0,0 +1,326 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.write.WriteDrainResult;
+
+/**
+ * The accounting of the accepted data points until they are settled - written, failed or dropped.
+ * <p>
+ * The points are accepted into the current {@link Epoch}. The {@link #await()} seals the current epoch
+ * and starts the next one, the barrier is reached when every epoch up to the sealed one is settled.
+ * The batches are settled out of the order of their acceptance (retries, concurrent requests),
+ * so the points accepted after the barrier never complete it.
+ */
+@ThreadSafe
+final class WriteDrain {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // the not settled epochs in the order of their ids, the last one is the current epoch
+    private final ArrayDeque<Epoch> epochs = new ArrayDeque<>();
+    private final PriorityQueue<Barrier> barriers = new PriorityQueue<>(Comparator.comparingLong(it -> it.target));
+    private final AtomicInteger waiting = new AtomicInteger();
+    private volatile Epoch current;
+
+    WriteDrain() {
+        current = new Epoch(0);
+        epochs.add(current);
+    }
+
+    /**
+     * @param count the number of the points accepted by the write buffer
+     * @return the epoch of the accepted points
+     */
+    @Nonnull
+    Epoch accept(final long count) {
+
+        Epoch epoch = current;
+        epoch.unsettled.addAndGet(count);
+
+        return epoch;
+    }
+
+    /**
+     * @param epoch   the epoch of the points
+     * @param count   the number of the settled points
+     * @param outcome the outcome of the points
+     */
+    void settle(@Nonnull final Epoch epoch, final long count, @Nonnull final Outcome outcome) {
+
+        if (count == 0) {
+            return;
+        }
+
+        switch (outcome) {
+            case WRITTEN:
+                epoch.written.addAndGet(count);
+                break;
+            case FAILED:
+                epoch.failed.addAndGet(count);
+                break;
+            case DROPPED:
+                epoch.dropped.addAndGet(count);
+                break;
+            default:
+                break;
+        }
+
+        if (epoch.unsettled.addAndGet(-count) <= 0 && waiting.get() > 0) {
+            complete();
+        }
+    }
+
+    /**
+     * Settle the points of the batch. The first {@code written} points are written, the rest has
+     * the {@code outcome}.
+     *
+     * @param points  the points of the batch
+     * @param written the number of the written points
+     * @param outcome the outcome of the not written points
+     */
+    void settle(@Nonnull final Points points, final long written, @Nonnull final Outcome outcome) {
+
+        long remaining = written;
+        for (Points.Share share : points.shares) {
+            long writtenShare = Math.min(remaining, share.count);
+            remaining -= writtenShare;
+            settle(share.epoch, writtenShare, Outcome.WRITTEN);
+            settle(share.epoch, share.count - writtenShare, outcome);
+        }
+    }
+
+    /**
+     * Seal the current epoch. The barrier is reached when the points accepted before the call are settled.
+     * The future of the barrier is completed by the thread which settles the points.
+     *
+     * @return the barrier of the points accepted so far
+     */
+    @Nonnull
+    Barrier await() {
+
+        Barrier barrier;
+
+        lock.lock();
+        try {
+            Epoch sealed = current;
+            current = new Epoch(sealed.id + 1);
+
+            barrier = new Barrier(sealed.id, epochs);
+            epochs.addLast(current);
+
+            barriers.add(barrier);
+            waiting.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+
+        // settled before the barrier was registered
+        complete();
+
+        return barrier;
+    }
+
+    private void complete() {
+
+        List<Barrier> reached = new ArrayList<>();
+
+        lock.lock();
+        try {
+            // the low-water mark => the oldest not settled epoch
+            while (epochs.peekFirst() != current && epochs.peekFirst().unsettled.get() <= 0) {
+                epochs.pollFirst();
+            }
+            long lowWaterMark = epochs.peekFirst().id;
+
+            while (!barriers.isEmpty() && barriers.peek().target < lowWaterMark) {
+                reached.add(barriers.poll());
+                waiting.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // the dependent stages are not executed under the lock
+        reached.forEach(barrier -> barrier.future.complete(null));
+    }
+
+    enum Outcome {
+        WRITTEN,
+        // not written because of the not retriable error or the exhausted retries
+        FAILED,
+        // dropped by the backpressure or by the close
+        DROPPED,
+        // the data without any Line Protocol
+        SKIPPED
+    }
+
+    /**
+     * The points accepted between two barriers.
+     */
+    static final class Epoch {
+
+        private final long id;
+        private final AtomicLong unsettled = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Epoch(final long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * The accepted points of the batch by their epochs. The batch usually contains the points of one epoch,
+     * the points of two epochs are batched together only if they are accepted concurrently with the barrier.
+     */
+    @NotThreadSafe
+    static final class Points {
+
+        private final List<Share> shares = new ArrayList<>(1);
+
+        /**
+         * @param epoch the epoch of the points
+         * @param count the number of the points
+         */
+        void add(@Nonnull final Epoch epoch, final long count) {
+
+            Share last = shares.isEmpty() ? null : shares.get(shares.size() - 1);
+            if (last != null && last.epoch == epoch) {
+                last.count += count;
+            } else {
+                shares.add(new Share(epoch, count));
+            }
+        }
+
+        /**
+         * Move the oldest {@code count} points into the new {@link Points}.
+         *
+         * @param count the number of the points to move
+         * @return the moved points
+         */
+        @Nonnull
+        Points take(final long count) {
+
+            Arguments.checkNotNegativeNumber(count, "count");
+
+            Points taken = new Points();
+            long remaining = count;
+            while (remaining > 0 && !shares.isEmpty()) {
+                Share first = shares.get(0);
+                long moved = Math.min(remaining, first.count);
+                taken.add(first.epoch, moved);
+                remaining -= moved;
+                first.count -= moved;
+                if (first.count == 0) {
+                    shares.remove(0);
+                }
+            }
+
+            return taken;
+        }
+
+        private static final class Share {
+
+            private final Epoch epoch;
+            private long count;
+
+            private Share(@Nonnull final Epoch epoch, final long count) {
+                this.epoch = epoch;
+                this.count = count;
+            }
+        }
+    }
+
+    /**
+     * The barrier of the sealed epoch. The outcome counts only the points of the epochs up to the sealed one
+     * settled after the barrier was registered.
+     */
+    static final class Barrier {
+
+        private final long target;
+        private final Epoch[] epochs;
+        private final long[] written;
+        private final long[] failed;
+        private final long[] dropped;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Barrier(final long target, @Nonnull final ArrayDeque<Epoch> epochs) {
+
+            this.target = target;
+            this.epochs = epochs.toArray(new Epoch[0]);
+            this.written = new long[this.epochs.length];
+            this.failed = new long[this.epochs.length];
+            this.dropped = new long[this.epochs.length];
+
+            for (int i = 0; i < this.epochs.length; i++) {
+                written[i] = this.epochs[i].written.get();
+                failed[i] = this.epochs[i].failed.get();
+                dropped[i] = this.epochs[i].dropped.get();
+            }
+        }
+
+        /**
+         * @return the future completed when the barrier is reached
+         */
+        @Nonnull
+        CompletableFuture<Void> getFuture() {
+            return future;
+        }
+
+        /**
+         * @param completed {@code true} if the barrier was reached before the timeout
+         * @return the outcome of the points covered by the barrier
+         */
+        @Nonnull
+        WriteDrainResult toResult(final boolean completed) {
+
+            long writtenPoints = 0;
+            long failedPoints = 0;
+            long droppedPoints = 0;
+            long unflushedPoints = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                writtenPoints += epochs[i].written.get() - written[i];
+                failedPoints += epochs[i].failed.get() - failed[i];
+                droppedPoints += epochs[i].dropped.get() - dropped[i];
+                unflushedPoints += Math.max(0, epochs[i].unsettled.get());
+            }
+
+            return new WriteDrainResult(completed, writtenPoints, failedPoints, droppedPoints,
+                    completed ? 0 : unflushedPoints);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+
+import io.reactivex.internal.queue.MpscLinkedQueue;
+import org.reactivestreams.Subscriber;
+
+/**
+ * The multi-producer front end of the batching. The items are offered concurrently by the application threads
+ * into the lock-free MPSC queue and one producer at a time drains the queue into the {@code downstream},
+ * so the {@code downstream} receives the signals serially as required by the Reactive Streams.
+ * <p>
+ * The producers don't wait for each other: the producer which finds the drain in progress only enqueues its item
+ * and returns, the item is emitted by the draining producer.
+ * <p>
+ * The item offered concurrently with the {@link #complete()} can be enqueued after the downstream is completed.
+ * Such item is not emitted, it is passed to the {@code rejected} consumer by the drain.
+ *
+ * @param <T> type of the item
+ */
+@ThreadSafe
+final class WriteIngestion<T> {
+
+    private final MpscLinkedQueue<T> queue = new MpscLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Subscriber<? super T> downstream;
+    private final Consumer<? super T> rejected;
+
+    private volatile boolean done;
+    private boolean completed;
+
+    /**
+     * @param downstream the consumer of the items, it has to accept the items without a request
+     * @param rejected   the consumer of the items enqueued after the downstream is completed
+     */
+    WriteIngestion(@Nonnull final Subscriber<? super T> downstream, @Nonnull final Consumer<? super T> rejected) {
+
+        Arguments.checkNotNull(downstream, "downstream");
+        Arguments.checkNotNull(rejected, "rejected");
+
+        this.downstream = downstream;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Offer the item to the downstream.
+     *
+     * @param item the item
+     * @return {@code true} if the item is accepted, {@code false} if the ingestion is completed;
+     * the accepted item is still rejected if the downstream is completed before the item is enqueued
+     */
+    boolean offer(@Nonnull final T item) {
+
+        Arguments.checkNotNull(item, "item");
+
+        if (done) {
+            return false;
+        }
+
+        queue.offer(item);
+        drain();
+
+        return true;
+    }
+
+    /**
+     * Complete the downstream after the already offered items.
+     */
+    void complete() {
+
+        done = true;
+        drain();
+    }
+
+    private void drain() {
+
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            if (!completed) {
+
+                T item;
+                while ((item = queue.poll()) != null) {
+                    downstream.onNext(item);
+                }
+
+                if (done && queue.isEmpty()) {
+                    completed = true;
+                    downstream.onComplete();
+                }
+            }
+
+            if (completed) {
+
+                // enqueued concurrently with the completion
+                T item;
+                while ((item = queue.poll()) != null) {
+                    rejected.accept(item);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
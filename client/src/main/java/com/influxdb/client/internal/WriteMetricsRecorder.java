@@ -0,0 +1,197 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
+import com.influxdb.client.write.events.ListenerRegistration;
+
+/**
+ * Records the measurements of the batching writes into the counters of the {@link WriteMetrics}
+ * and notifies the registered {@link WriteMetricsListener}s.
+ * <p>
+ * The counters are striped by the {@link LongAdder}, so the concurrent producers don't contend on the same value.
+ */
+@ThreadSafe
+final class WriteMetricsRecorder implements WriteMetricsListener {
+
+    private static final Logger LOG = Logger.getLogger(WriteMetricsRecorder.class.getName());
+
+    private final LongAdder pointsEnqueued = new LongAdder();
+    private final LongAdder pointsDropped = new LongAdder();
+    private final LongAdder pointsWritten = new LongAdder();
+    private final LongAdder pointsFailed = new LongAdder();
+    private final HistogramRecorder batchPoints = new HistogramRecorder();
+    private final HistogramRecorder batchBytes = new HistogramRecorder();
+    private final HistogramRecorder requestLatency = new HistogramRecorder();
+    private final HistogramRecorder serializationTime = new HistogramRecorder();
+    private final ConcurrentMap<Integer, LongAdder> retries = new ConcurrentHashMap<>();
+
+    private final List<WriteMetricsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Register the listener of the measurements.
+     *
+     * @param listener the listener
+     * @return the registration to remove the listener
+     */
+    @Nonnull
+    ListenerRegistration addListener(@Nonnull final WriteMetricsListener listener) {
+
+        Arguments.checkNotNull(listener, "listener");
+
+        listeners.add(listener);
+
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Create the snapshot of the counters.
+     *
+     * @param queuedPoints     the number of the data points in the write buffer
+     * @param queuedBytes      the size of the batches in the write buffer
+     * @param inFlightRequests the number of the write requests in progress
+     * @return the snapshot
+     */
+    @Nonnull
+    WriteMetrics snapshot(final long queuedPoints, final long queuedBytes, final int inFlightRequests) {
+
+        WriteMetrics.Builder builder = WriteMetrics.builder()
+                .pointsEnqueued(pointsEnqueued.sum())
+                .pointsDropped(pointsDropped.sum())
+                .pointsWritten(pointsWritten.sum())
+                .pointsFailed(pointsFailed.sum())
+                .queuedPoints(queuedPoints)
+                .queuedBytes(queuedBytes)
+                .inFlightRequests(inFlightRequests)
+                .batchPoints(batchPoints.snapshot())
+                .batchBytes(batchBytes.snapshot())
+                .requestLatency(requestLatency.snapshot())
+                .serializationTime(serializationTime.snapshot());
+
+        retries.forEach((statusCode, count) -> builder.retries(statusCode, count.sum()));
+
+        return builder.build();
+    }
+
+    @Override
+    public void onEnqueued(final long points) {
+
+        pointsEnqueued.add(points);
+        notifyListeners(listener -> listener.onEnqueued(points));
+    }
+
+    @Override
+    public void onDropped(final long points) {
+
+        pointsDropped.add(points);
+        notifyListeners(listener -> listener.onDropped(points));
+    }
+
+    @Override
+    public void onBatch(final long points, final long bytes, final long serializationTime) {
+
+        batchPoints.record(points);
+        batchBytes.record(bytes);
+        this.serializationTime.record(serializationTime);
+        notifyListeners(listener -> listener.onBatch(points, bytes, serializationTime));
+    }
+
+    @Override
+    public void onRequest(final int statusCode, final long latency) {
+
+        requestLatency.record(latency);
+        notifyListeners(listener -> listener.onRequest(statusCode, latency));
+    }
+
+    @Override
+    public void onRetry(final int statusCode) {
+
+        retries.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        notifyListeners(listener -> listener.onRetry(statusCode));
+    }
+
+    @Override
+    public void onWritten(final long points, final long bytes) {
+
+        pointsWritten.add(points);
+        notifyListeners(listener -> listener.onWritten(points, bytes));
+    }
+
+    @Override
+    public void onFailed(final long points) {
+
+        pointsFailed.add(points);
+        notifyListeners(listener -> listener.onFailed(points));
+    }
+
+    private void notifyListeners(@Nonnull final Consumer<WriteMetricsListener> notification) {
+
+        // without listeners => only the counters
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        for (WriteMetricsListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (Exception e) {
+                LOG.log(Level.WARNING, "The WriteMetricsListener failed to process the measurement.", e);
+            }
+        }
+    }
+
+    /**
+     * The count, the sum and the maximum of the recorded values.
+     */
+    @ThreadSafe
+    private static final class HistogramRecorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        private void record(final long value) {
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        @Nonnull
+        private WriteMetrics.Histogram snapshot() {
+            return new WriteMetrics.Histogram(count.sum(), total.sum(), max.get());
+        }
+    }
+}
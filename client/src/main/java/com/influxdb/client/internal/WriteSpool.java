@@ -0,0 +1,663 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.domain.WritePrecision;
+
+/**
+ * The persistent write-ahead spool of the encoded batches.
+ * <p>
+ * The batches are appended into the segment files of the spool directory before they are written into InfluxDB,
+ * so the batching pipeline holds only the small {@link Entry} handles in memory. The written batch is acknowledged
+ * in place and the segment file is deleted when all its batches are acknowledged. The not acknowledged batches are
+ * recovered by the next spool opened for the same directory.
+ * <p>
+ * The directory is used exclusively by one spool, the lock of the {@code spool.lock} file is held until the spool
+ * is closed. The spool cannot be opened for the directory locked by another spool of this or other process.
+ * <p>
+ * The spooled batches survive the crash of the process. The appended record is forced to the storage device only
+ * if the spool is opened with {@code sync}, otherwise the crash of the operating system or the power loss can lose
+ * the records not yet written by the operating system. The acknowledgement is never forced, so the batch written
+ * just before the crash can be recovered and written again - the batches are delivered at least once.
+ * <p>
+ * The segment is the sequence of records: status (1 byte), length of body (4 bytes), CRC32 of body (4 bytes)
+ * and the body: bucket, organization, precision (modified UTF-8), number of Line Protocol records (4 bytes)
+ * and the Line Protocol.
+ */
+@ThreadSafe
+final class WriteSpool implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(WriteSpool.class.getName());
+
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String LOCK_FILE = "spool.lock";
+    private static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final int MIN_SEGMENTS = 8;
+
+    private static final byte STATUS_WRITING = 0;
+    private static final byte STATUS_PENDING = 1;
+    private static final byte STATUS_ACKNOWLEDGED = 2;
+    private static final int HEADER_SIZE = 1 + 4 + 4;
+
+    private final Path directory;
+    private final long maxSize;
+    private final long maxAge;
+    private final long segmentSize;
+    private final boolean sync;
+    private final DroppedListener droppedListener;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final List<Entry> recovered = new ArrayList<>();
+    private Segment active;
+    private long nextId;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Open the spool and recover the not acknowledged batches.
+     *
+     * @param directory       the directory of the segment files
+     * @param maxSize         the maximum size of the spool in bytes, the oldest batches are dropped above the limit
+     * @param maxAge          the maximum age of the spooled batch in milliseconds, {@code 0} for unlimited
+     * @param sync            force the appended batch to the storage device
+     * @param droppedListener notified by the number of the batches dropped because of the limits
+     * @throws IOException if the spool cannot be opened or the directory is locked by another spool
+     */
+    WriteSpool(@Nonnull final Path directory,
+               final long maxSize,
+               final long maxAge,
+               final boolean sync,
+               @Nonnull final DroppedListener droppedListener) throws IOException {
+
+        Arguments.checkNotNull(directory, "directory");
+        Arguments.checkPositiveNumber(maxSize, "maxSize");
+        Arguments.checkNotNegativeNumber(maxAge, "maxAge");
+        Arguments.checkNotNull(droppedListener, "droppedListener");
+
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.segmentSize = Math.max(1, Math.min(MAX_SEGMENT_SIZE, maxSize / MIN_SEGMENTS));
+        this.sync = sync;
+        this.droppedListener = droppedListener;
+
+        Files.createDirectories(directory);
+
+        //
+        // Exclusive directory => the batches are not recovered and written twice
+        //
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException | IOException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("The spool directory is used by another WriteApi: " + directory);
+        }
+        this.lock = acquired;
+
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            segments.values().forEach(segment -> closeQuietly(segment.file));
+            unlock();
+            throw e;
+        }
+    }
+
+    private void open() throws IOException {
+
+        TreeMap<Long, Path> paths = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    paths.put(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())), path);
+                } catch (NumberFormatException e) {
+                    LOG.log(Level.WARNING, "Unexpected file in the spool directory: {0}", path);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Path> path : paths.entrySet()) {
+            nextId = path.getKey() + 1;
+            recover(new Segment(path.getKey(), path.getValue(), Files.getLastModifiedTime(path.getValue()).toMillis()));
+        }
+
+        evict();
+
+        if (!recovered.isEmpty()) {
+            LOG.log(Level.INFO, "Recovered {0} not written batches from the spool: {1}",
+                    new Object[]{recovered.size(), directory});
+        }
+    }
+
+    /**
+     * @return the not acknowledged batches of the previous spool for the same directory in the order of the append
+     */
+    @Nonnull
+    synchronized List<Entry> recovered() {
+        return Collections.unmodifiableList(new ArrayList<>(recovered));
+    }
+
+    /**
+     * Append the batch into the spool.
+     *
+     * @param bucket       the destination bucket
+     * @param organization the destination organization
+     * @param precision    the precision of the batch
+     * @param batch        the encoded batch
+     * @return the handle to read or acknowledge the batch
+     * @throws IOException if the batch cannot be appended
+     */
+    @Nonnull
+    synchronized Entry append(@Nonnull final String bucket,
+                              @Nonnull final String organization,
+                              @Nonnull final WritePrecision precision,
+                              @Nonnull final LineProtocolBatch batch) throws IOException {
+
+        if (closed) {
+            throw new IOException("The spool is closed: " + directory);
+        }
+
+        ByteArrayOutputStream metadata = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(metadata);
+        data.writeUTF(bucket);
+        data.writeUTF(organization);
+        data.writeUTF(precision.name());
+        data.writeInt(batch.count());
+        data.flush();
+
+        long bodyLength = metadata.size() + batch.size();
+        if (bodyLength > Integer.MAX_VALUE) {
+            throw new IOException("The batch is too large for the spool: " + bodyLength + " bytes");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(metadata.toByteArray());
+        batch.writeTo(new CheckedOutputStream(new DiscardOutputStream(), crc));
+
+        if (active == null || active.size >= segmentSize) {
+            roll();
+        }
+
+        Segment segment = active;
+        long position = segment.size;
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(STATUS_WRITING)
+                    .putInt((int) bodyLength)
+                    .putInt((int) crc.getValue());
+
+            RandomAccessFile file = segment.file;
+            file.seek(position);
+            file.write(header.array());
+            file.write(metadata.toByteArray());
+            batch.writeTo(new SegmentOutputStream(file));
+
+            // the record is complete
+            file.seek(position);
+            file.write(STATUS_PENDING);
+
+            // the CRC detects the partially synced record => one force per record
+            if (sync) {
+                file.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            segment.file.setLength(position);
+            throw e;
+        }
+
+        long recordSize = HEADER_SIZE + bodyLength;
+        segment.size += recordSize;
+        segment.pending++;
+        segment.pendingRecords += batch.count();
+        segment.lastWrite = System.currentTimeMillis();
+        size += recordSize;
+
+        Entry entry = new Entry(segment, position, position + HEADER_SIZE + metadata.size(), batch.size(),
+                batch.count(), bucket, organization, precision);
+
+        evict();
+
+        return entry;
+    }
+
+    /**
+     * Read the spooled batch.
+     *
+     * @param entry the handle of the batch
+     * @return the batch or {@code null} if the batch was dropped because of the limits
+     * @throws IOException if the batch cannot be read
+     */
+    @Nullable
+    synchronized LineProtocolBatch read(@Nonnull final Entry entry) throws IOException {
+
+        Arguments.checkNotNull(entry, "entry");
+
+        if (closed || entry.segment.deleted) {
+            return null;
+        }
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        entry.segment.file.seek(entry.payloadPosition);
+        batch.readFrom(new SegmentInputStream(entry.segment.file), entry.payloadLength, entry.count);
+
+        return batch;
+    }
+
+    /**
+     * Mark the batch as written. The segment is deleted when all its batches are acknowledged.
+     *
+     * @param entry the handle of the batch
+     */
+    synchronized void acknowledge(@Nonnull final Entry entry) {
+
+        Arguments.checkNotNull(entry, "entry");
+
+        Segment segment = entry.segment;
+        if (closed || segment.deleted || entry.acknowledged) {
+            return;
+        }
+
+        entry.acknowledged = true;
+        segment.pending--;
+        segment.pendingRecords -= entry.count;
+
+        try {
+            if (segment.pending == 0 && segment != active) {
+                delete(segment);
+            } else {
+                segment.file.seek(entry.position);
+                segment.file.write(STATUS_ACKNOWLEDGED);
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "The batch cannot be acknowledged in the spool: " + segment.path, e);
+        }
+    }
+
+    /**
+     * @return the size of the spooled batches in bytes
+     */
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Close the segment files. The not acknowledged batches are kept for the next spool.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        for (Segment segment : new ArrayList<>(segments.values())) {
+            try {
+                if (segment.pending == 0) {
+                    delete(segment);
+                } else {
+                    segment.file.close();
+                }
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "The spool segment cannot be closed: " + segment.path, e);
+            }
+        }
+
+        unlock();
+    }
+
+    /**
+     * Release the lock of the directory. The lock file is kept, its deletion would race with the next spool.
+     */
+    private void unlock() {
+        try {
+            lock.release();
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "The lock of the spool directory cannot be released: " + directory, e);
+        } finally {
+            closeQuietly(lockChannel);
+        }
+    }
+
+    private static void closeQuietly(@Nonnull final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            LOG.log(Level.FINEST, "The spool file cannot be closed", e);
+        }
+    }
+
+    private void recover(@Nonnull final Segment segment) throws IOException {
+
+        RandomAccessFile file = segment.file;
+        long fileSize = file.length();
+        long position = 0;
+
+        while (position + HEADER_SIZE <= fileSize) {
+
+            ByteBuffer header = ByteBuffer.wrap(readFully(file, position, HEADER_SIZE));
+            byte status = header.get();
+            int length = header.getInt();
+            int crc = header.getInt();
+
+            boolean complete = status == STATUS_PENDING || status == STATUS_ACKNOWLEDGED;
+            if (!complete || length < 0 || position + HEADER_SIZE + length > fileSize) {
+                break;
+            }
+
+            byte[] body = readFully(file, position + HEADER_SIZE, length);
+            CRC32 checksum = new CRC32();
+            checksum.update(body);
+            if ((int) checksum.getValue() != crc) {
+                break;
+            }
+
+            if (status == STATUS_PENDING) {
+                DataInputStream data = new DataInputStream(new ByteArrayInputStream(body));
+                String bucket = data.readUTF();
+                String organization = data.readUTF();
+                WritePrecision precision = WritePrecision.valueOf(data.readUTF());
+                int count = data.readInt();
+                int payloadLength = data.available();
+                long payloadPosition = position + HEADER_SIZE + length - payloadLength;
+
+                recovered.add(new Entry(segment, position, payloadPosition, payloadLength, count,
+                        bucket, organization, precision));
+                segment.pending++;
+                segment.pendingRecords += count;
+            }
+
+            position += HEADER_SIZE + length;
+        }
+
+        if (position < fileSize) {
+            LOG.log(Level.WARNING, "The incomplete tail of the spool segment is truncated: {0}", segment.path);
+            file.setLength(position);
+        }
+
+        segment.size = position;
+        segments.put(segment.id, segment);
+        size += position;
+
+        if (segment.pending == 0) {
+            delete(segment);
+        }
+    }
+
+    private void roll() throws IOException {
+
+        Segment previous = active;
+
+        long id = nextId++;
+        active = new Segment(id, directory.resolve(String.format("%020d", id) + SEGMENT_SUFFIX),
+                System.currentTimeMillis());
+        segments.put(id, active);
+
+        if (previous != null && previous.pending == 0) {
+            delete(previous);
+        }
+    }
+
+    /**
+     * Drop the oldest segments above the limits.
+     */
+    private void evict() {
+
+        long now = System.currentTimeMillis();
+
+        int dropped = 0;
+        long droppedRecords = 0;
+        Iterator<Segment> iterator = new ArrayList<>(segments.values()).iterator();
+        while (iterator.hasNext()) {
+
+            Segment segment = iterator.next();
+            if (segment == active) {
+                break;
+            }
+
+            boolean expired = maxAge > 0 && now - segment.lastWrite > maxAge;
+            if (!expired && size <= maxSize) {
+                break;
+            }
+
+            dropped += segment.pending;
+            droppedRecords += segment.pendingRecords;
+            try {
+                delete(segment);
+            } catch (IOException e) {
+                LOG.log(Level.WARNING, "The spool segment cannot be deleted: " + segment.path, e);
+            }
+        }
+
+        if (dropped > 0) {
+            recovered.removeIf(entry -> entry.segment.deleted);
+            droppedListener.onDropped(dropped, droppedRecords);
+        }
+    }
+
+    private void delete(@Nonnull final Segment segment) throws IOException {
+
+        segment.deleted = true;
+        segments.remove(segment.id);
+        size -= segment.size;
+
+        try {
+            segment.file.close();
+        } finally {
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    @Nonnull
+    private static byte[] readFully(@Nonnull final RandomAccessFile file,
+                                    final long position,
+                                    final int length) throws IOException {
+
+        byte[] bytes = new byte[length];
+        file.seek(position);
+        file.readFully(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * The listener of the batches dropped because of the limits of the spool.
+     */
+    @FunctionalInterface
+    interface DroppedListener {
+
+        /**
+         * @param batches the number of the dropped batches
+         * @param records the number of the Line Protocol records in the dropped batches
+         */
+        void onDropped(int batches, long records);
+    }
+
+    /**
+     * The handle of the spooled batch.
+     */
+    static final class Entry {
+
+        private final Segment segment;
+        private final long position;
+        private final long payloadPosition;
+        private final long payloadLength;
+        private final int count;
+        private final String bucket;
+        private final String organization;
+        private final WritePrecision precision;
+        private boolean acknowledged;
+
+        private Entry(@Nonnull final Segment segment,
+                      final long position,
+                      final long payloadPosition,
+                      final long payloadLength,
+                      final int count,
+                      @Nonnull final String bucket,
+                      @Nonnull final String organization,
+                      @Nonnull final WritePrecision precision) {
+            this.segment = segment;
+            this.position = position;
+            this.payloadPosition = payloadPosition;
+            this.payloadLength = payloadLength;
+            this.count = count;
+            this.bucket = bucket;
+            this.organization = organization;
+            this.precision = precision;
+        }
+
+        @Nonnull
+        String getBucket() {
+            return bucket;
+        }
+
+        @Nonnull
+        String getOrganization() {
+            return organization;
+        }
+
+        @Nonnull
+        WritePrecision getPrecision() {
+            return precision;
+        }
+
+        /**
+         * @return the number of the Line Protocol records
+         */
+        int getCount() {
+            return count;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final RandomAccessFile file;
+        private long size;
+        private int pending;
+        private long pendingRecords;
+        private long lastWrite;
+        private boolean deleted;
+
+        private Segment(final long id, @Nonnull final Path path, final long lastWrite) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.lastWrite = lastWrite;
+            this.file = new RandomAccessFile(path.toFile(), "rw");
+        }
+    }
+
+    /**
+     * The stream over the {@link RandomAccessFile}. The I/O of the file is not interruptible, the spool is not closed
+     * by the interrupt of the writing thread as {@link java.nio.channels.FileChannel} is.
+     */
+    private static final class SegmentOutputStream extends OutputStream {
+
+        private final RandomAccessFile file;
+
+        private SegmentOutputStream(@Nonnull final RandomAccessFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            file.write(b);
+        }
+
+        @Override
+        public void write(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+            file.write(b, off, len);
+        }
+    }
+
+    private static final class SegmentInputStream extends InputStream {
+
+        private final RandomAccessFile file;
+
+        private SegmentInputStream(@Nonnull final RandomAccessFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return file.read();
+        }
+
+        @Override
+        public int read(@Nonnull final byte[] b, final int off, final int len) throws IOException {
+            return file.read(b, off, len);
+        }
+    }
+
+    private static final class DiscardOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(@Nonnull final byte[] b, final int off, final int len) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.WriteOptions;
+
+import retrofit2.HttpException;
+
+/**
+ * The retry policy with the exponential backoff configured by {@link WriteOptions}.
+ * <p>
+ * The retryable errors are the network errors and the HTTP responses: 408 Request Timeout, 429 Too Many Requests
+ * and the server errors except 501 Not Implemented and 505 HTTP Version Not Supported.
+ * <p>
+ * The delay before the next attempt is the "Retry-After" specified by InfluxDB or
+ * {@code retryInterval * exponentialBase^(attempt - 1)} limited by {@link WriteOptions#getMaxRetryDelay()}.
+ * The batch is not retried after {@link WriteOptions#getMaxRetries()} attempts, when the next attempt would
+ * exceed the {@link WriteOptions#getMaxRetryTime()} or when the {@link WriteOptions#getRetryBudget()} is spent.
+ */
+@ThreadSafe
+public final class DefaultWriteRetryPolicy implements WriteRetryPolicy {
+
+    private static final Logger LOG = Logger.getLogger(DefaultWriteRetryPolicy.class.getName());
+
+    // the retries available without the traffic
+    private static final double BUDGET_RESERVE = 10;
+
+    private final int retryInterval;
+    private final int maxRetries;
+    private final int maxRetryDelay;
+    private final int exponentialBase;
+    private final int maxRetryTime;
+    private final double retryBudget;
+
+    private double budget = BUDGET_RESERVE;
+
+    /**
+     * @param writeOptions the configuration of the retries
+     */
+    public DefaultWriteRetryPolicy(@Nonnull final WriteOptions writeOptions) {
+
+        Arguments.checkNotNull(writeOptions, "writeOptions");
+
+        this.retryInterval = writeOptions.getRetryInterval();
+        this.maxRetries = writeOptions.getMaxRetries();
+        this.maxRetryDelay = writeOptions.getMaxRetryDelay();
+        this.exponentialBase = writeOptions.getExponentialBase();
+        this.maxRetryTime = writeOptions.getMaxRetryTime();
+        this.retryBudget = writeOptions.getRetryBudget();
+    }
+
+    @Override
+    public synchronized void onWrite() {
+
+        if (retryBudget > 0) {
+            budget = Math.min(BUDGET_RESERVE, budget + retryBudget);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("MagicNumber")
+    public boolean isRetryable(@Nonnull final Throwable throwable) {
+
+        Arguments.checkNotNull(throwable, "throwable");
+
+        if (throwable instanceof HttpException) {
+
+            int code = ((HttpException) throwable).code();
+
+            return code == 408 || code == 429 || code >= 500 && code != 501 && code != 505;
+        }
+
+        return throwable instanceof IOException;
+    }
+
+    @Override
+    public long retryDelay(@Nonnull final Throwable throwable, final int attempt, final long elapsed) {
+
+        Arguments.checkNotNull(throwable, "throwable");
+
+        if (attempt > maxRetries) {
+            LOG.log(Level.FINE, "The max retries exceeded: {0}", maxRetries);
+            return -1;
+        }
+
+        long delay = retryAfter(throwable);
+        if (delay < 0) {
+            double exponential = retryInterval * Math.pow(exponentialBase, attempt - 1);
+            delay = (long) Math.min(maxRetryDelay, exponential);
+        }
+
+        if (maxRetryTime > 0 && elapsed + delay > maxRetryTime) {
+            LOG.log(Level.FINE, "The max retry time exceeded: {0} ms", maxRetryTime);
+            return -1;
+        }
+
+        if (!spendBudget()) {
+            LOG.log(Level.FINE, "The retry budget is spent.");
+            return -1;
+        }
+
+        return delay;
+    }
+
+    /**
+     * @return the delay specified by InfluxDB (milliseconds) or -1
+     */
+    private long retryAfter(@Nonnull final Throwable throwable) {
+
+        if (!(throwable instanceof HttpException) || ((HttpException) throwable).response() == null) {
+            return -1;
+        }
+
+        String retryAfter = ((HttpException) throwable).response().headers().get("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+
+        try {
+            return TimeUnit.MILLISECONDS.convert(Long.parseLong(retryAfter.trim()), TimeUnit.SECONDS);
+        } catch (NumberFormatException e) {
+            LOG.log(Level.FINEST, "The Retry-After is not a number of seconds: {0}", retryAfter);
+            return -1;
+        }
+    }
+
+    private synchronized boolean spendBudget() {
+
+        if (retryBudget <= 0) {
+            return true;
+        }
+
+        if (budget < 1) {
+            return false;
+        }
+
+        budget--;
+        return true;
+    }
+}
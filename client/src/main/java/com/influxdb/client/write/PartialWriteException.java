@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.List;
+import javax.annotation.Nonnull;
+
+import com.influxdb.Arguments;
+import com.influxdb.exceptions.InfluxException;
+
+/**
+ * The blocking write by the chunks is stopped by the not written chunk after the previous chunks were written.
+ * The cause is the error of the not written chunk.
+ *
+ * @see com.influxdb.client.WriteApiBlocking#writePoints(List)
+ */
+public final class PartialWriteException extends InfluxException {
+
+    private final transient WriteResult result;
+
+    public PartialWriteException(@Nonnull final WriteResult result) {
+
+        super(message(result));
+
+        this.result = result;
+
+        List<WriteResult.Chunk> failed = result.getFailedChunks();
+        if (!failed.isEmpty()) {
+            initCause(failed.get(0).getError());
+        }
+    }
+
+    /**
+     * @return the outcome of the written chunks, the last chunk is the not written one
+     */
+    @Nonnull
+    public WriteResult getResult() {
+        return result;
+    }
+
+    @Nonnull
+    private static String message(@Nonnull final WriteResult result) {
+
+        Arguments.checkNotNull(result, "result");
+
+        List<WriteResult.Chunk> failed = result.getFailedChunks();
+        String cause = failed.isEmpty() ? null : failed.get(0).getError().getMessage();
+
+        return "The write is stopped by the not written chunk of " + result.getFailedPoints()
+                + " points, the " + result.getWrittenPoints() + " points are already written: " + cause;
+    }
+}
@@ -21,25 +21,24 @@
  */
 package com.influxdb.client.write;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
-import java.util.Collection;
-import java.util.Locale;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import com.influxdb.Arguments;
 import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.DefaultTags;
+import com.influxdb.client.internal.LineProtocolEscaper;
 
 /**
  * Point defines the values that will be written to the database.
@@ -52,22 +51,12 @@ public final class Point {
 
     private static final WritePrecision DEFAULT_WRITE_PRECISION = WritePrecision.NS;
 
-    private static final int MAX_FRACTION_DIGITS = 340;
-    private static final ThreadLocal<NumberFormat> NUMBER_FORMATTER =
-            ThreadLocal.withInitial(() -> {
-                NumberFormat numberFormat = NumberFormat.getInstance(Locale.ENGLISH);
-                numberFormat.setMaximumFractionDigits(MAX_FRACTION_DIGITS);
-                numberFormat.setGroupingUsed(false);
-                numberFormat.setMinimumFractionDigits(1);
-                return numberFormat;
-            });
-
-
     private String name;
     private final Map<String, String> tags = new TreeMap<>();
     private final Map<String, Object> fields = new TreeMap<>();
     private Long time;
     private WritePrecision precision = DEFAULT_WRITE_PRECISION;
+    private PointTemplate template;
 
     /**
      * Create a new Point withe specified a measurement name.
@@ -86,6 +75,22 @@ public final class Point {
         return point;
     }
 
+    /**
+     * Create a new Point with the measurement and tags of the {@code template}.
+     *
+     * @param template the prepared series
+     * @return new instance of {@link Point}
+     */
+    @Nonnull
+    static Point fromTemplate(@Nonnull final PointTemplate template) {
+
+        Point point = measurement(template.getMeasurement());
+        point.tags.putAll(template.getTags());
+        point.template = template;
+
+        return point;
+    }
+
     /**
      * Adds or replaces a tag value for a point.
      *
@@ -99,6 +104,24 @@ public final class Point {
         Arguments.checkNotNull(key, "tagName");
 
         tags.put(key, value);
+        // the series is changed => the series key of the template is not valid
+        template = null;
+
+        return this;
+    }
+
+    /**
+     * Adds or replaces tags for a point.
+     *
+     * @param tagsToAdd the tags to add
+     * @return this
+     */
+    @Nonnull
+    public Point addTags(@Nonnull final Map<String, String> tagsToAdd) {
+
+        Arguments.checkNotNull(tagsToAdd, "tagsToAdd");
+
+        tagsToAdd.forEach(this::addTag);
 
         return this;
     }
@@ -162,6 +185,22 @@ public final class Point {
         return putField(field, value);
     }
 
+    /**
+     * Adds or replaces fields for a point.
+     *
+     * @param fieldsToAdd the fields to add
+     * @return this
+     */
+    @Nonnull
+    public Point addFields(@Nonnull final Map<String, Object> fieldsToAdd) {
+
+        Arguments.checkNotNull(fieldsToAdd, "fieldsToAdd");
+
+        fieldsToAdd.forEach(this::putField);
+
+        return this;
+    }
+
     /**
      * Updates the timestamp for the point.
      *
@@ -224,6 +263,38 @@ public final class Point {
         return precision;
     }
 
+    /**
+     * @return the measurement name
+     */
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the unmodifiable view of the tags sorted by the name
+     */
+    @Nonnull
+    public Map<String, String> getTags() {
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * @return the unmodifiable view of the fields sorted by the name
+     */
+    @Nonnull
+    public Map<String, Object> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * @return the data point timestamp, {@code null} if the timestamp is assigned by InfluxDB
+     */
+    @Nullable
+    public Long getTime() {
+        return time;
+    }
+
     /**
      * Has point any fields?
      *
@@ -250,17 +321,45 @@ public final class Point {
 
         StringBuilder sb = new StringBuilder();
 
-        escapeKey(sb, name);
-        appendTags(sb, pointSettings);
-        boolean appendedFields = appendFields(sb);
-        if (!appendedFields) {
-            return "";
+        try {
+            appendLineProtocol(sb, pointSettings);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
         }
-        appendTime(sb);
 
         return sb.toString();
     }
 
+    /**
+     * Append the Line Protocol of the point into the {@code sink}. The measurement, tags and fields are escaped
+     * directly into the {@code sink} without creating an intermediate {@link String}.
+     *
+     * @param sink          the destination of the Line Protocol
+     * @param pointSettings with the default values
+     * @return {@code true} if the point was appended, {@code false} if the point doesn't contains any defined field
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    public boolean appendLineProtocol(@Nonnull final Appendable sink,
+                                      @Nullable final PointSettings pointSettings) throws IOException {
+
+        Arguments.checkNotNull(sink, "sink");
+
+        if (!hasDefinedFields()) {
+            return false;
+        }
+
+        if (template != null) {
+            sink.append(template.getSeriesKey(pointSettings));
+        } else {
+            appendSeriesKey(sink, pointSettings);
+        }
+        sink.append(' ');
+        appendFields(sink, pointSettings != null && pointSettings.isCompatibleDoubleFormat());
+        appendTime(sink);
+
+        return true;
+    }
+
     @Nonnull
     private Point putField(@Nonnull final String field, @Nullable final Object value) {
 
@@ -270,48 +369,83 @@ public final class Point {
         return this;
     }
 
-    private void appendTags(@Nonnull final StringBuilder sb, @Nullable final PointSettings pointSettings) {
+    /**
+     * Append the escaped measurement and the tags merged with the default tags into the {@code sink}.
+     *
+     * @param sink          the destination of the series key
+     * @param pointSettings with the default values
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    void appendSeriesKey(@Nonnull final Appendable sink,
+                         @Nullable final PointSettings pointSettings) throws IOException {
 
+        LineProtocolEscaper.escapeKey(sink, name);
+        appendTags(sink, pointSettings);
+    }
 
-        Set<Map.Entry<String, String>> entries = this.tags.entrySet();
-        if (pointSettings != null) {
+    private void appendTags(@Nonnull final Appendable sink,
+                            @Nullable final PointSettings pointSettings) throws IOException {
 
-            Map<String, String> defaultTags = pointSettings.getDefaultTags();
-            if (!defaultTags.isEmpty()) {
+        DefaultTags defaultTags = pointSettings != null ? pointSettings.getCompiledDefaultTags() : null;
+        int defaultsSize = defaultTags != null ? defaultTags.size() : 0;
 
-                entries = Stream.of(this.tags, defaultTags)
-                        .map(Map::entrySet)
-                        .flatMap(Collection::stream)
-                        .filter(entry -> entry.getValue() != null)
-                        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (v1, v2) -> {
-                            if (v1.isEmpty()) {
-                                return v2;
-                            }
+        //
+        // Merge sorted tags with sorted default tags
+        //
+        Iterator<Map.Entry<String, String>> iterator = this.tags.entrySet().iterator();
+        Map.Entry<String, String> tag = iterator.hasNext() ? iterator.next() : null;
+        int defaultIndex = 0;
 
-                            return v1;
-                        }, TreeMap::new))
-                        .entrySet();
-            }
-        }
+        while (tag != null || defaultIndex < defaultsSize) {
 
-        for (Map.Entry<String, String> tag : entries) {
+            int compare;
+            if (tag == null) {
+                compare = 1;
+            } else if (defaultIndex >= defaultsSize) {
+                compare = -1;
+            } else {
+                compare = tag.getKey().compareTo(defaultTags.key(defaultIndex));
+            }
 
-            String key = tag.getKey();
-            String value = tag.getValue();
+            if (compare > 0 || (compare == 0 && isEmpty(tag.getValue()))) {
+                // default tag
+                sink.append(',')
+                        .append(defaultTags.escapedKey(defaultIndex))
+                        .append('=')
+                        .append(defaultTags.escapedValue(defaultIndex));
+            } else {
+                // point tag
+                appendTag(sink, tag.getKey(), tag.getValue());
+            }
 
-            if (key.isEmpty() || value.isEmpty()) {
-                continue;
+            if (compare <= 0) {
+                tag = iterator.hasNext() ? iterator.next() : null;
             }
+            if (compare >= 0) {
+                defaultIndex++;
+            }
+        }
+    }
 
-            sb.append(',');
-            escapeKey(sb, key);
-            sb.append('=');
-            escapeKey(sb, value);
+    private void appendTag(@Nonnull final Appendable sink,
+                           @Nonnull final String key,
+                           @Nullable final String value) throws IOException {
+
+        if (key.isEmpty() || isEmpty(value)) {
+            return;
         }
-        sb.append(' ');
+
+        sink.append(',');
+        LineProtocolEscaper.escapeKey(sink, key);
+        sink.append('=');
+        LineProtocolEscaper.escapeKey(sink, value);
     }
 
-    private boolean appendFields(@Nonnull final StringBuilder sb) {
+    private boolean isEmpty(@Nullable final String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private void appendFields(@Nonnull final Appendable sink, final boolean compatible) throws IOException {
 
         boolean appended = false;
         for (Map.Entry<String, Object> field : this.fields.entrySet()) {
@@ -319,69 +453,52 @@ public final class Point {
             if (isNotDefined(value)) {
                 continue;
             }
-            escapeKey(sb, field.getKey());
-            sb.append('=');
+            if (appended) {
+                sink.append(',');
+            }
+            LineProtocolEscaper.escapeKey(sink, field.getKey());
+            sink.append('=');
             if (value instanceof Number) {
                 if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
-                    sb.append(NUMBER_FORMATTER.get().format(value));
+                    LineProtocolEscaper.appendDecimal(sink, (Number) value, compatible);
+                } else if (value instanceof Long || value instanceof Integer) {
+                    LineProtocolEscaper.appendLong(sink, ((Number) value).longValue());
+                    sink.append('i');
                 } else {
-                    sb.append(value).append('i');
+                    sink.append(value.toString()).append('i');
                 }
             } else if (value instanceof String) {
                 String stringValue = (String) value;
-                sb.append('"');
-                escapeValue(sb, stringValue);
-                sb.append('"');
+                sink.append('"');
+                LineProtocolEscaper.escapeValue(sink, stringValue);
+                sink.append('"');
             } else {
-                sb.append(value);
+                sink.append(value.toString());
             }
 
-            sb.append(',');
-
             appended = true;
         }
-
-        // efficiently chop off the trailing comma
-        int lengthMinusOne = sb.length() - 1;
-        if (sb.charAt(lengthMinusOne) == ',') {
-            sb.setLength(lengthMinusOne);
-        }
-
-        return appended;
     }
 
-    private void appendTime(@Nonnull final StringBuilder sb) {
+    private void appendTime(@Nonnull final Appendable sink) throws IOException {
 
         if (this.time == null) {
             return;
         }
 
-        sb.append(" ").append(this.time);
+        sink.append(' ');
+        LineProtocolEscaper.appendLong(sink, this.time);
     }
 
-    private void escapeKey(@Nonnull final StringBuilder sb, @Nonnull final String key) {
-        for (int i = 0; i < key.length(); i++) {
-            switch (key.charAt(i)) {
-                case ' ':
-                case ',':
-                case '=':
-                    sb.append('\\');
-                default:
-                    sb.append(key.charAt(i));
-            }
-        }
-    }
+    private boolean hasDefinedFields() {
 
-    private void escapeValue(@Nonnull final StringBuilder sb, @Nonnull final String value) {
-        for (int i = 0; i < value.length(); i++) {
-            switch (value.charAt(i)) {
-                case '\\':
-                case '\"':
-                    sb.append('\\');
-                default:
-                    sb.append(value.charAt(i));
+        for (Object value : this.fields.values()) {
+            if (!isNotDefined(value)) {
+                return true;
             }
         }
+
+        return false;
     }
 
     private boolean isNotDefined(final Object value) {
@@ -0,0 +1,707 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.DefaultTags;
+import com.influxdb.client.internal.LineProtocolEscaper;
+
+/**
+ * PointBatch is a columnar batch of the data points with the fixed schema: the measurement, the tag keys
+ * and the typed field columns.
+ * <p>
+ * The values are stored in the primitive arrays ({@code long[]}, {@code double[]}, {@code boolean[]}) and are
+ * serialized into Line Protocol without creating the {@link Point}s:
+ * <pre>
+ * PointBatch batch = PointBatch.builder("cpu")
+ *         .tag("host")
+ *         .longField("usage")
+ *         .doubleField("load")
+ *         .precision(WritePrecision.S)
+ *         .build();
+ *
+ * batch.addRow(1570000000L).tag(0, "server01").field(0, 55L).field(1, 0.64);
+ * batch.addRow(1570000001L).tag(0, "server02").field(0, 12L);
+ * </pre>
+ * The tags and fields are referenced by the index of their declaration in the {@link Builder}.
+ * The row without any field is skipped.
+ *
+ * @see Builder
+ */
+@NotThreadSafe
+public final class PointBatch {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The type of a field column.
+     */
+    public enum FieldType {
+        /**
+         * Integer field, stored as {@code long}.
+         */
+        LONG,
+        /**
+         * Float field, stored as {@code double}.
+         */
+        DOUBLE,
+        /**
+         * Boolean field.
+         */
+        BOOLEAN,
+        /**
+         * String field.
+         */
+        STRING
+    }
+
+    private final String measurement;
+    private final String escapedMeasurement;
+    private final WritePrecision precision;
+
+    private final String[] tagKeys;
+    private final String[] escapedTagKeys;
+
+    private final String[] fieldKeys;
+    private final String[] escapedFieldKeys;
+    private final FieldType[] fieldTypes;
+    private final int[] fieldColumns;
+    private final int[] fieldOrder;
+
+    private int size;
+    private long[] times;
+    private boolean[] hasTime;
+    private String[][] tags;
+    private boolean[][] hasField;
+    private long[][] longs;
+    private double[][] doubles;
+    private boolean[][] booleans;
+    private String[][] strings;
+
+    private PointBatch(@Nonnull final Builder builder) {
+
+        this.measurement = builder.measurement;
+        this.escapedMeasurement = LineProtocolEscaper.escapeKey(builder.measurement);
+        this.precision = builder.precision;
+
+        this.tagKeys = builder.tagKeys.toArray(new String[0]);
+        this.escapedTagKeys = Arrays.stream(tagKeys).map(LineProtocolEscaper::escapeKey).toArray(String[]::new);
+
+        this.fieldKeys = builder.fieldKeys.toArray(new String[0]);
+        this.escapedFieldKeys = Arrays.stream(fieldKeys).map(LineProtocolEscaper::escapeKey).toArray(String[]::new);
+        this.fieldTypes = builder.fieldTypes.toArray(new FieldType[0]);
+        this.fieldOrder = IntStream.range(0, fieldKeys.length)
+                .boxed()
+                .sorted(Comparator.comparing(index -> fieldKeys[index]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        int[] columnsByType = new int[FieldType.values().length];
+        this.fieldColumns = new int[fieldKeys.length];
+        for (int i = 0; i < fieldTypes.length; i++) {
+            fieldColumns[i] = columnsByType[fieldTypes[i].ordinal()]++;
+        }
+
+        int capacity = builder.capacity;
+
+        this.times = new long[capacity];
+        this.hasTime = new boolean[capacity];
+        this.tags = new String[tagKeys.length][capacity];
+        this.hasField = new boolean[fieldKeys.length][capacity];
+        this.longs = new long[columnsByType[FieldType.LONG.ordinal()]][capacity];
+        this.doubles = new double[columnsByType[FieldType.DOUBLE.ordinal()]][capacity];
+        this.booleans = new boolean[columnsByType[FieldType.BOOLEAN.ordinal()]][capacity];
+        this.strings = new String[columnsByType[FieldType.STRING.ordinal()]][capacity];
+    }
+
+    /**
+     * Create a builder of the batch schema with the specified measurement name.
+     *
+     * @param measurementName the measurement name
+     * @return builder
+     */
+    @Nonnull
+    public static Builder builder(@Nonnull final String measurementName) {
+
+        Arguments.checkNonEmpty(measurementName, "measurement");
+
+        return new Builder(measurementName);
+    }
+
+    /**
+     * @return the measurement name
+     */
+    @Nonnull
+    public String getMeasurement() {
+        return measurement;
+    }
+
+    /**
+     * @return the precision of the timestamps
+     */
+    @Nonnull
+    public WritePrecision getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return the number of the rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param tagKey the tag key
+     * @return the index of the tag or {@code -1} if the tag is not part of the schema
+     */
+    public int tagIndex(@Nonnull final String tagKey) {
+        return Arrays.asList(tagKeys).indexOf(tagKey);
+    }
+
+    /**
+     * @param fieldKey the field key
+     * @return the index of the field or {@code -1} if the field is not part of the schema
+     */
+    public int fieldIndex(@Nonnull final String fieldKey) {
+        return Arrays.asList(fieldKeys).indexOf(fieldKey);
+    }
+
+    /**
+     * Start a new row without the timestamp. The following tags and fields are set into this row.
+     *
+     * @return this
+     */
+    @Nonnull
+    public PointBatch addRow() {
+
+        ensureCapacity(size + 1);
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Start a new row with the timestamp. The following tags and fields are set into this row.
+     *
+     * @param time the timestamp in the {@link #getPrecision()}
+     * @return this
+     */
+    @Nonnull
+    public PointBatch addRow(final long time) {
+
+        addRow();
+
+        times[size - 1] = time;
+        hasTime[size - 1] = true;
+
+        return this;
+    }
+
+    /**
+     * Set the tag value of the current row.
+     *
+     * @param tag   the index of the tag
+     * @param value the tag value
+     * @return this
+     */
+    @Nonnull
+    public PointBatch tag(final int tag, @Nullable final String value) {
+
+        checkRow();
+
+        tags[tag][size - 1] = value;
+
+        return this;
+    }
+
+    /**
+     * Set the {@link FieldType#LONG} field value of the current row.
+     *
+     * @param field the index of the field
+     * @param value the field value
+     * @return this
+     */
+    @Nonnull
+    public PointBatch field(final int field, final long value) {
+
+        longs[column(field, FieldType.LONG)][size - 1] = value;
+        hasField[field][size - 1] = true;
+
+        return this;
+    }
+
+    /**
+     * Set the {@link FieldType#DOUBLE} field value of the current row. The not finite values are skipped.
+     *
+     * @param field the index of the field
+     * @param value the field value
+     * @return this
+     */
+    @Nonnull
+    public PointBatch field(final int field, final double value) {
+
+        doubles[column(field, FieldType.DOUBLE)][size - 1] = value;
+        hasField[field][size - 1] = Double.isFinite(value);
+
+        return this;
+    }
+
+    /**
+     * Set the {@link FieldType#BOOLEAN} field value of the current row.
+     *
+     * @param field the index of the field
+     * @param value the field value
+     * @return this
+     */
+    @Nonnull
+    public PointBatch field(final int field, final boolean value) {
+
+        booleans[column(field, FieldType.BOOLEAN)][size - 1] = value;
+        hasField[field][size - 1] = true;
+
+        return this;
+    }
+
+    /**
+     * Set the {@link FieldType#STRING} field value of the current row.
+     *
+     * @param field the index of the field
+     * @param value the field value
+     * @return this
+     */
+    @Nonnull
+    public PointBatch field(final int field, @Nullable final String value) {
+
+        strings[column(field, FieldType.STRING)][size - 1] = value;
+        hasField[field][size - 1] = value != null;
+
+        return this;
+    }
+
+    /**
+     * Remove all rows. The allocated columns are reused for next rows.
+     *
+     * @return this
+     */
+    @Nonnull
+    public PointBatch clear() {
+
+        for (String[] column : tags) {
+            Arrays.fill(column, 0, size, null);
+        }
+        for (String[] column : strings) {
+            Arrays.fill(column, 0, size, null);
+        }
+        for (boolean[] column : hasField) {
+            Arrays.fill(column, 0, size, false);
+        }
+        Arrays.fill(hasTime, 0, size, false);
+
+        size = 0;
+
+        return this;
+    }
+
+    /**
+     * @param pointSettings with the default values
+     * @return Line Protocol
+     */
+    @Nonnull
+    public String toLineProtocol(@Nullable final PointSettings pointSettings) {
+
+        StringBuilder sb = new StringBuilder();
+
+        try {
+            appendLineProtocol(sb, pointSettings);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Append the Line Protocol of all rows into the {@code sink}. The rows are separated by new line.
+     *
+     * @param sink          the destination of the Line Protocol
+     * @param pointSettings with the default values
+     * @return the number of appended rows
+     * @throws IOException if the {@code sink} throws an I/O error
+     */
+    public int appendLineProtocol(@Nonnull final Appendable sink,
+                                  @Nullable final PointSettings pointSettings) throws IOException {
+
+        Arguments.checkNotNull(sink, "sink");
+
+        SeriesTags seriesTags = new SeriesTags(pointSettings);
+        boolean compatible = pointSettings != null && pointSettings.isCompatibleDoubleFormat();
+
+        int appended = 0;
+        for (int row = 0; row < size; row++) {
+
+            if (!hasAnyField(row)) {
+                continue;
+            }
+
+            if (appended > 0) {
+                sink.append('\n');
+            }
+
+            sink.append(escapedMeasurement);
+            seriesTags.append(sink, row);
+            sink.append(' ');
+            appendFields(sink, row, compatible);
+            if (hasTime[row]) {
+                sink.append(' ');
+                LineProtocolEscaper.appendLong(sink, times[row]);
+            }
+
+            appended++;
+        }
+
+        return appended;
+    }
+
+    private void appendFields(@Nonnull final Appendable sink,
+                              final int row,
+                              final boolean compatible) throws IOException {
+
+        boolean appended = false;
+        for (int field : fieldOrder) {
+
+            if (!hasField[field][row]) {
+                continue;
+            }
+
+            if (appended) {
+                sink.append(',');
+            }
+            sink.append(escapedFieldKeys[field]).append('=');
+
+            int column = fieldColumns[field];
+            switch (fieldTypes[field]) {
+                case LONG:
+                    LineProtocolEscaper.appendLong(sink, longs[column][row]);
+                    sink.append('i');
+                    break;
+                case DOUBLE:
+                    LineProtocolEscaper.appendDouble(sink, doubles[column][row], compatible);
+                    break;
+                case BOOLEAN:
+                    sink.append(booleans[column][row] ? "true" : "false");
+                    break;
+                case STRING:
+                    sink.append('"');
+                    LineProtocolEscaper.escapeValue(sink, strings[column][row]);
+                    sink.append('"');
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported field type: " + fieldTypes[field]);
+            }
+
+            appended = true;
+        }
+    }
+
+    private boolean hasAnyField(final int row) {
+
+        for (boolean[] column : hasField) {
+            if (column[row]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int column(final int field, @Nonnull final FieldType type) {
+
+        checkRow();
+
+        if (fieldTypes[field] != type) {
+            String message = String.format("The field '%s' is %s not %s", fieldKeys[field], fieldTypes[field], type);
+            throw new IllegalArgumentException(message);
+        }
+
+        return fieldColumns[field];
+    }
+
+    private void checkRow() {
+        if (size == 0) {
+            throw new IllegalStateException("The row has to be started by addRow()");
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+
+        if (capacity <= times.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, times.length * 2);
+
+        times = Arrays.copyOf(times, newCapacity);
+        hasTime = Arrays.copyOf(hasTime, newCapacity);
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = Arrays.copyOf(tags[i], newCapacity);
+        }
+        for (int i = 0; i < hasField.length; i++) {
+            hasField[i] = Arrays.copyOf(hasField[i], newCapacity);
+        }
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = Arrays.copyOf(longs[i], newCapacity);
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            doubles[i] = Arrays.copyOf(doubles[i], newCapacity);
+        }
+        for (int i = 0; i < booleans.length; i++) {
+            booleans[i] = Arrays.copyOf(booleans[i], newCapacity);
+        }
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = Arrays.copyOf(strings[i], newCapacity);
+        }
+    }
+
+    /**
+     * The sorted tags of the schema merged with the default tags. The merge is evaluated once per serialization.
+     */
+    private final class SeriesTags {
+
+        private final String[] escapedKeys;
+        private final int[] tagIndexes;
+        private final String[] escapedDefaults;
+
+        private SeriesTags(@Nullable final PointSettings pointSettings) {
+
+            TreeMap<String, Integer> keys = new TreeMap<>();
+            for (int i = 0; i < tagKeys.length; i++) {
+                keys.put(tagKeys[i], i);
+            }
+
+            Map<String, String> escapedDefaultValues = new HashMap<>();
+            if (pointSettings != null) {
+                DefaultTags defaultTags = pointSettings.getCompiledDefaultTags();
+                for (int i = 0; i < defaultTags.size(); i++) {
+                    keys.putIfAbsent(defaultTags.key(i), -1);
+                    escapedDefaultValues.put(defaultTags.key(i), defaultTags.escapedValue(i));
+                }
+            }
+
+            this.escapedKeys = new String[keys.size()];
+            this.tagIndexes = new int[keys.size()];
+            this.escapedDefaults = new String[keys.size()];
+
+            int position = 0;
+            for (Map.Entry<String, Integer> entry : keys.entrySet()) {
+
+                String key = entry.getKey();
+                int index = entry.getValue();
+
+                escapedKeys[position] = index >= 0 ? escapedTagKeys[index] : LineProtocolEscaper.escapeKey(key);
+                tagIndexes[position] = index;
+                escapedDefaults[position] = escapedDefaultValues.get(key);
+                position++;
+            }
+        }
+
+        private void append(@Nonnull final Appendable sink, final int row) throws IOException {
+
+            for (int i = 0; i < escapedKeys.length; i++) {
+
+                int index = tagIndexes[i];
+                String value = index >= 0 ? tags[index][row] : null;
+
+                if (value != null && !value.isEmpty()) {
+                    sink.append(',').append(escapedKeys[i]).append('=');
+                    LineProtocolEscaper.escapeKey(sink, value);
+                } else if (escapedDefaults[i] != null) {
+                    sink.append(',').append(escapedKeys[i]).append('=').append(escapedDefaults[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * A builder of the {@link PointBatch} schema.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private final String measurement;
+        private final List<String> tagKeys = new ArrayList<>();
+        private final List<String> fieldKeys = new ArrayList<>();
+        private final List<FieldType> fieldTypes = new ArrayList<>();
+        private WritePrecision precision = WritePrecision.NS;
+        private int capacity = DEFAULT_CAPACITY;
+
+        private Builder(@Nonnull final String measurement) {
+            this.measurement = measurement;
+        }
+
+        /**
+         * Add the tag key into schema.
+         *
+         * @param tagKey the tag key
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder tag(@Nonnull final String tagKey) {
+
+            Arguments.checkNonEmpty(tagKey, "tagKey");
+            if (tagKeys.contains(tagKey)) {
+                throw new IllegalArgumentException("The tag '" + tagKey + "' is already defined");
+            }
+
+            tagKeys.add(tagKey);
+
+            return this;
+        }
+
+        /**
+         * Add the {@link FieldType#LONG} field into schema.
+         *
+         * @param fieldKey the field key
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder longField(@Nonnull final String fieldKey) {
+            return field(fieldKey, FieldType.LONG);
+        }
+
+        /**
+         * Add the {@link FieldType#DOUBLE} field into schema.
+         *
+         * @param fieldKey the field key
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder doubleField(@Nonnull final String fieldKey) {
+            return field(fieldKey, FieldType.DOUBLE);
+        }
+
+        /**
+         * Add the {@link FieldType#BOOLEAN} field into schema.
+         *
+         * @param fieldKey the field key
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder booleanField(@Nonnull final String fieldKey) {
+            return field(fieldKey, FieldType.BOOLEAN);
+        }
+
+        /**
+         * Add the {@link FieldType#STRING} field into schema.
+         *
+         * @param fieldKey the field key
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder stringField(@Nonnull final String fieldKey) {
+            return field(fieldKey, FieldType.STRING);
+        }
+
+        /**
+         * Add the field into schema.
+         *
+         * @param fieldKey the field key
+         * @param type     the field type
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder field(@Nonnull final String fieldKey, @Nonnull final FieldType type) {
+
+            Arguments.checkNonEmpty(fieldKey, "fieldKey");
+            Arguments.checkNotNull(type, "FieldType");
+            if (fieldKeys.contains(fieldKey)) {
+                throw new IllegalArgumentException("The field '" + fieldKey + "' is already defined");
+            }
+
+            fieldKeys.add(fieldKey);
+            fieldTypes.add(type);
+
+            return this;
+        }
+
+        /**
+         * Set the precision of the row timestamps. Default {@link WritePrecision#NS}.
+         *
+         * @param precision the timestamp precision
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder precision(@Nonnull final WritePrecision precision) {
+
+            Arguments.checkNotNull(precision, "WritePrecision");
+
+            this.precision = precision;
+
+            return this;
+        }
+
+        /**
+         * Set the initial number of rows allocated in columns. The columns grow when needed.
+         *
+         * @param capacity the initial capacity
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder capacity(final int capacity) {
+
+            Arguments.checkPositiveNumber(capacity, "capacity");
+
+            this.capacity = capacity;
+
+            return this;
+        }
+
+        /**
+         * Build an instance of PointBatch.
+         *
+         * @return {@code PointBatch}
+         */
+        @Nonnull
+        public PointBatch build() {
+
+            if (fieldKeys.isEmpty()) {
+                throw new IllegalStateException("The PointBatch requires at least one field");
+            }
+
+            return new PointBatch(this);
+        }
+    }
+}
@@ -31,6 +31,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import com.influxdb.Arguments;
+import com.influxdb.client.internal.DefaultTags;
 
 /**
  * The setting for store data point: default values, threshold, ...
@@ -42,7 +43,13 @@ public final class PointSettings {
     private static final Pattern ENV_PROPERTY = Pattern.compile("(\\$\\{env\\.)(.+)(})");
     private static final Pattern SYSTEM_PROPERTY = Pattern.compile("(\\$\\{)(.+)(})");
 
+    static {
+        DefaultTags.setAccessor(PointSettings::getCompiledDefaultTags);
+    }
+
     private final Map<String, String> defaultTags = new TreeMap<>();
+    private volatile DefaultTags compiledDefaultTags;
+    private volatile boolean compatibleDoubleFormat = false;
 
     /**
      * Add default tag.
@@ -57,11 +64,60 @@ public final class PointSettings {
 
         Arguments.checkNotNull(key, "tagName");
 
-        defaultTags.put(key, expression);
+        synchronized (defaultTags) {
+            defaultTags.put(key, expression);
+            compiledDefaultTags = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Re-evaluate the default tags expressions.
+     * <p>
+     * The expressions are evaluated once and the result is cached, so call this method
+     * if the referenced environment variables or system properties change.
+     *
+     * @return this
+     */
+    @Nonnull
+    public PointSettings refreshDefaultTags() {
+
+        synchronized (defaultTags) {
+            compiledDefaultTags = null;
+        }
+
+        return this;
+    }
+
+    /**
+     * Format the floating point fields by the {@link java.text.NumberFormat} as the previous versions did.
+     * <p>
+     * By default the fields are formatted to the shortest decimal that is parsed back to the same value,
+     * which is significantly faster. The outputs differ only for values that the {@link java.text.NumberFormat}
+     * doesn't format as the shortest decimal, for example {@code 1.0E23} is formatted
+     * as {@code 100000000000000000000000.0} instead of {@code 99999999999999990000000.0}.
+     * Both decimals are stored as the same value. Default {@code false}.
+     *
+     * @param compatible use the {@link java.text.NumberFormat} to format floating point fields
+     * @return this
+     */
+    @Nonnull
+    public PointSettings compatibleDoubleFormat(final boolean compatible) {
+
+        this.compatibleDoubleFormat = compatible;
 
         return this;
     }
 
+    /**
+     * @return {@code true} if the floating point fields are formatted by the {@link java.text.NumberFormat}
+     * @see #compatibleDoubleFormat(boolean)
+     */
+    public boolean isCompatibleDoubleFormat() {
+        return compatibleDoubleFormat;
+    }
+
     /**
      * Get default tags with evaluated expressions.
      *
@@ -70,6 +126,41 @@ public final class PointSettings {
     @Nonnull
     Map<String, String> getDefaultTags() {
 
+        DefaultTags compiled = getCompiledDefaultTags();
+
+        Map<String, String> evaluated = new TreeMap<>();
+        for (int i = 0; i < compiled.size(); i++) {
+            evaluated.put(compiled.key(i), compiled.value(i));
+        }
+
+        return evaluated;
+    }
+
+    /**
+     * Get sorted default tags with evaluated and escaped values.
+     *
+     * @return compiled default tags, the same instance until the default tags are changed or refreshed
+     */
+    @Nonnull
+    DefaultTags getCompiledDefaultTags() {
+
+        DefaultTags compiled = compiledDefaultTags;
+        if (compiled == null) {
+            synchronized (defaultTags) {
+                compiled = compiledDefaultTags;
+                if (compiled == null) {
+                    compiled = new DefaultTags(evaluate());
+                    compiledDefaultTags = compiled;
+                }
+            }
+        }
+
+        return compiled;
+    }
+
+    @Nonnull
+    private Map<String, String> evaluate() {
+
         Function<String, String> evaluation = expression -> {
 
             if (expression == null) {
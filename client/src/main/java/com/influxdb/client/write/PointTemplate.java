@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.internal.DefaultTags;
+
+/**
+ * PointTemplate is the prepared series of the data points: the measurement and the tags.
+ * <p>
+ * The series key is escaped and sorted once, including the default tags of the {@link PointSettings},
+ * and the {@link Point}s created by the template append only the fields and the timestamp:
+ * <pre>
+ * PointTemplate template = PointTemplate.builder("cpu")
+ *         .tag("host", "server01")
+ *         .tag("region", "us-west")
+ *         .build();
+ *
+ * writeApi.writePoint(template.point().addField("usage", 55L).time(1570000000L, WritePrecision.S));
+ * writeApi.writePoint(template.point().addField("usage", 12L).time(1570000001L, WritePrecision.S));
+ * </pre>
+ * The template is immutable and can be shared between threads. The point which changes its tags
+ * by {@link Point#addTag(String, String)} is serialized as the point without the template.
+ *
+ * @see Builder
+ */
+@ThreadSafe
+public final class PointTemplate {
+
+    private final String measurement;
+    private final Map<String, String> tags;
+    private final String seriesKey;
+    private volatile PreparedKey prepared;
+
+    private PointTemplate(@Nonnull final Builder builder) {
+
+        this.measurement = builder.measurement;
+        this.tags = Collections.unmodifiableMap(new TreeMap<>(builder.tags));
+        this.seriesKey = toSeriesKey(null);
+    }
+
+    /**
+     * Create a builder of the template with the specified measurement name.
+     *
+     * @param measurementName the measurement name
+     * @return builder
+     */
+    @Nonnull
+    public static Builder builder(@Nonnull final String measurementName) {
+
+        Arguments.checkNonEmpty(measurementName, "measurement");
+
+        return new Builder(measurementName);
+    }
+
+    /**
+     * Create a new {@link Point} of the prepared series.
+     *
+     * @return new instance of {@link Point}
+     */
+    @Nonnull
+    public Point point() {
+        return Point.fromTemplate(this);
+    }
+
+    /**
+     * @return the measurement name
+     */
+    @Nonnull
+    public String getMeasurement() {
+        return measurement;
+    }
+
+    /**
+     * @return the unmodifiable tags sorted by the name
+     */
+    @Nonnull
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Get the escaped measurement and the tags merged with the default tags. The key is evaluated once
+     * for the evaluated default tags of the {@link PointSettings}, so it is evaluated again only when the default tags
+     * are changed or refreshed.
+     *
+     * @param pointSettings with the default values
+     * @return the series key in the Line Protocol
+     */
+    @Nonnull
+    public String getSeriesKey(@Nullable final PointSettings pointSettings) {
+
+        if (pointSettings == null) {
+            return seriesKey;
+        }
+
+        DefaultTags defaultTags = pointSettings.getCompiledDefaultTags();
+        if (defaultTags.size() == 0) {
+            return seriesKey;
+        }
+
+        PreparedKey key = prepared;
+        if (key == null || key.defaultTags != defaultTags) {
+            key = new PreparedKey(defaultTags, toSeriesKey(pointSettings));
+            prepared = key;
+        }
+
+        return key.seriesKey;
+    }
+
+    @Nonnull
+    private String toSeriesKey(@Nullable final PointSettings pointSettings) {
+
+        Point series = Point.measurement(measurement).addTags(tags);
+
+        StringBuilder sb = new StringBuilder();
+        try {
+            series.appendSeriesKey(sb, pointSettings);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * The series key evaluated for the default tags.
+     */
+    private static final class PreparedKey {
+
+        private final DefaultTags defaultTags;
+        private final String seriesKey;
+
+        private PreparedKey(@Nonnull final DefaultTags defaultTags, @Nonnull final String seriesKey) {
+            this.defaultTags = defaultTags;
+            this.seriesKey = seriesKey;
+        }
+    }
+
+    /**
+     * A builder of the {@link PointTemplate}.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private final String measurement;
+        private final Map<String, String> tags = new TreeMap<>();
+
+        private Builder(@Nonnull final String measurement) {
+            this.measurement = measurement;
+        }
+
+        /**
+         * Adds or replaces a tag value of the series.
+         *
+         * @param key   the tag name
+         * @param value the tag value
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder tag(@Nonnull final String key, @Nullable final String value) {
+
+            Arguments.checkNotNull(key, "tagName");
+
+            tags.put(key, value);
+
+            return this;
+        }
+
+        /**
+         * Adds or replaces tags of the series.
+         *
+         * @param tagsToAdd the tags to add
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder tags(@Nonnull final Map<String, String> tagsToAdd) {
+
+            Arguments.checkNotNull(tagsToAdd, "tagsToAdd");
+
+            tagsToAdd.forEach(this::tag);
+
+            return this;
+        }
+
+        /**
+         * Build an instance of PointTemplate.
+         *
+         * @return {@code PointTemplate}
+         */
+        @Nonnull
+        public PointTemplate build() {
+            return new PointTemplate(this);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The outcome of the awaited flush or close of the {@link com.influxdb.client.WriteApi}.
+ * <p>
+ * The counters count only the points accepted before the flush (close) and settled after its start,
+ * until it is completed or the timeout elapsed. The points accepted after the start are not counted.
+ *
+ * @see com.influxdb.client.WriteApi#flush(long, java.util.concurrent.TimeUnit)
+ * @see com.influxdb.client.WriteApi#close(long, java.util.concurrent.TimeUnit)
+ */
+@ThreadSafe
+public final class WriteDrainResult {
+
+    private final boolean completed;
+    private final long writtenPoints;
+    private final long failedPoints;
+    private final long droppedPoints;
+    private final long unflushedPoints;
+
+    public WriteDrainResult(final boolean completed,
+                            final long writtenPoints,
+                            final long failedPoints,
+                            final long droppedPoints,
+                            final long unflushedPoints) {
+        this.completed = completed;
+        this.writtenPoints = writtenPoints;
+        this.failedPoints = failedPoints;
+        this.droppedPoints = droppedPoints;
+        this.unflushedPoints = unflushedPoints;
+    }
+
+    /**
+     * @return {@code true} if every awaited point was written, failed or dropped before the timeout
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return the number of the data points written into InfluxDB
+     */
+    public long getWrittenPoints() {
+        return writtenPoints;
+    }
+
+    /**
+     * @return the number of the data points not written because of the not retriable error
+     * or the exhausted retries
+     */
+    public long getFailedPoints() {
+        return failedPoints;
+    }
+
+    /**
+     * @return the number of the data points dropped by the backpressure
+     */
+    public long getDroppedPoints() {
+        return droppedPoints;
+    }
+
+    /**
+     * @return the number of the awaited data points which are still buffered, written or retried
+     * when the timeout elapsed
+     */
+    public long getUnflushedPoints() {
+        return unflushedPoints;
+    }
+
+    @Override
+    public String toString() {
+        return "WriteDrainResult{"
+                + "completed=" + completed
+                + ", writtenPoints=" + writtenPoints
+                + ", failedPoints=" + failedPoints
+                + ", droppedPoints=" + droppedPoints
+                + ", unflushedPoints=" + unflushedPoints
+                + '}';
+    }
+}
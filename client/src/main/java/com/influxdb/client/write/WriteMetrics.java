@@ -0,0 +1,418 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+
+/**
+ * WriteMetrics is the snapshot of the counters and the histograms of the batching writes.
+ * <p>
+ * The counters are cumulative since the creation of the {@link com.influxdb.client.WriteApi}, the gauges
+ * ({@link #getQueuedPoints()}, {@link #getQueuedBytes()} and {@link #getInFlightRequests()}) are the values
+ * at the time of the snapshot. The values are not captured atomically, so they are not exactly consistent
+ * with each other while the writes are in progress.
+ *
+ * @see WriteMetricsListener
+ */
+@ThreadSafe
+public final class WriteMetrics {
+
+    private final long pointsEnqueued;
+    private final long pointsDropped;
+    private final long pointsWritten;
+    private final long pointsFailed;
+    private final long queuedPoints;
+    private final long queuedBytes;
+    private final int inFlightRequests;
+    private final Histogram batchPoints;
+    private final Histogram batchBytes;
+    private final Histogram requestLatency;
+    private final Histogram serializationTime;
+    private final Map<Integer, Long> retries;
+
+    private WriteMetrics(@Nonnull final Builder builder) {
+
+        this.pointsEnqueued = builder.pointsEnqueued;
+        this.pointsDropped = builder.pointsDropped;
+        this.pointsWritten = builder.pointsWritten;
+        this.pointsFailed = builder.pointsFailed;
+        this.queuedPoints = builder.queuedPoints;
+        this.queuedBytes = builder.queuedBytes;
+        this.inFlightRequests = builder.inFlightRequests;
+        this.batchPoints = builder.batchPoints;
+        this.batchBytes = builder.batchBytes;
+        this.requestLatency = builder.requestLatency;
+        this.serializationTime = builder.serializationTime;
+        this.retries = Collections.unmodifiableMap(new HashMap<>(builder.retries));
+    }
+
+    /**
+     * Creates the builder of the snapshot.
+     *
+     * @return the builder
+     */
+    @Nonnull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of the data points accepted by the write buffer
+     */
+    public long getPointsEnqueued() {
+        return pointsEnqueued;
+    }
+
+    /**
+     * @return the number of the data points dropped by the backpressure strategy
+     */
+    public long getPointsDropped() {
+        return pointsDropped;
+    }
+
+    /**
+     * @return the number of the Line Protocol records successfully written into InfluxDB
+     */
+    public long getPointsWritten() {
+        return pointsWritten;
+    }
+
+    /**
+     * @return the number of the Line Protocol records which are not written because of the not retriable error
+     */
+    public long getPointsFailed() {
+        return pointsFailed;
+    }
+
+    /**
+     * @return the number of the data points in the write buffer which are not written yet
+     */
+    public long getQueuedPoints() {
+        return queuedPoints;
+    }
+
+    /**
+     * @return the size of the encoded batches in the write buffer which are not written yet (bytes)
+     */
+    public long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    /**
+     * @return the number of the write requests in progress, including the requests waiting for the retry
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests;
+    }
+
+    /**
+     * @return the number of the Line Protocol records in the created batches
+     */
+    @Nonnull
+    public Histogram getBatchPoints() {
+        return batchPoints;
+    }
+
+    /**
+     * @return the size of the created batches (bytes)
+     */
+    @Nonnull
+    public Histogram getBatchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * @return the duration of the HTTP write requests, including the not successful requests (nanoseconds)
+     */
+    @Nonnull
+    public Histogram getRequestLatency() {
+        return requestLatency;
+    }
+
+    /**
+     * @return the time spent by the serialization of the data into the Line Protocol per batch (nanoseconds)
+     */
+    @Nonnull
+    public Histogram getSerializationTime() {
+        return serializationTime;
+    }
+
+    /**
+     * @return the number of the scheduled retries by the HTTP status code, {@code 0} for the I/O errors
+     */
+    @Nonnull
+    public Map<Integer, Long> getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the total number of the scheduled retries
+     */
+    public long getRetriesTotal() {
+        return retries.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return "WriteMetrics{"
+                + "pointsEnqueued=" + pointsEnqueued
+                + ", pointsDropped=" + pointsDropped
+                + ", pointsWritten=" + pointsWritten
+                + ", pointsFailed=" + pointsFailed
+                + ", queuedPoints=" + queuedPoints
+                + ", queuedBytes=" + queuedBytes
+                + ", inFlightRequests=" + inFlightRequests
+                + ", batchPoints=" + batchPoints
+                + ", batchBytes=" + batchBytes
+                + ", requestLatency=" + requestLatency
+                + ", serializationTime=" + serializationTime
+                + ", retries=" + retries
+                + '}';
+    }
+
+    /**
+     * The summary of the recorded values.
+     */
+    @ThreadSafe
+    public static final class Histogram {
+
+        /**
+         * The histogram without values.
+         */
+        public static final Histogram EMPTY = new Histogram(0, 0, 0);
+
+        private final long count;
+        private final long total;
+        private final long max;
+
+        public Histogram(final long count, final long total, final long max) {
+
+            Arguments.checkNotNegativeNumber(count, "count");
+
+            this.count = count;
+            this.total = total;
+            this.max = max;
+        }
+
+        /**
+         * @return the number of the recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the sum of the recorded values
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * @return the maximum of the recorded values
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return the mean of the recorded values, {@code 0} if there are no values
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) total / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Histogram{"
+                    + "count=" + count
+                    + ", total=" + total
+                    + ", max=" + max
+                    + '}';
+        }
+    }
+
+    /**
+     * A builder of the {@link WriteMetrics}.
+     */
+    @NotThreadSafe
+    public static final class Builder {
+
+        private long pointsEnqueued;
+        private long pointsDropped;
+        private long pointsWritten;
+        private long pointsFailed;
+        private long queuedPoints;
+        private long queuedBytes;
+        private int inFlightRequests;
+        private Histogram batchPoints = Histogram.EMPTY;
+        private Histogram batchBytes = Histogram.EMPTY;
+        private Histogram requestLatency = Histogram.EMPTY;
+        private Histogram serializationTime = Histogram.EMPTY;
+        private final Map<Integer, Long> retries = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param pointsEnqueued the number of the data points accepted by the write buffer
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder pointsEnqueued(final long pointsEnqueued) {
+            this.pointsEnqueued = pointsEnqueued;
+            return this;
+        }
+
+        /**
+         * @param pointsDropped the number of the data points dropped by the backpressure strategy
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder pointsDropped(final long pointsDropped) {
+            this.pointsDropped = pointsDropped;
+            return this;
+        }
+
+        /**
+         * @param pointsWritten the number of the written Line Protocol records
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder pointsWritten(final long pointsWritten) {
+            this.pointsWritten = pointsWritten;
+            return this;
+        }
+
+        /**
+         * @param pointsFailed the number of the not written Line Protocol records
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder pointsFailed(final long pointsFailed) {
+            this.pointsFailed = pointsFailed;
+            return this;
+        }
+
+        /**
+         * @param queuedPoints the number of the data points in the write buffer
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder queuedPoints(final long queuedPoints) {
+            this.queuedPoints = queuedPoints;
+            return this;
+        }
+
+        /**
+         * @param queuedBytes the size of the encoded batches in the write buffer (bytes)
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder queuedBytes(final long queuedBytes) {
+            this.queuedBytes = queuedBytes;
+            return this;
+        }
+
+        /**
+         * @param inFlightRequests the number of the write requests in progress
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder inFlightRequests(final int inFlightRequests) {
+            this.inFlightRequests = inFlightRequests;
+            return this;
+        }
+
+        /**
+         * @param batchPoints the number of the Line Protocol records in the batches
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder batchPoints(@Nonnull final Histogram batchPoints) {
+            Arguments.checkNotNull(batchPoints, "batchPoints");
+            this.batchPoints = batchPoints;
+            return this;
+        }
+
+        /**
+         * @param batchBytes the size of the batches (bytes)
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder batchBytes(@Nonnull final Histogram batchBytes) {
+            Arguments.checkNotNull(batchBytes, "batchBytes");
+            this.batchBytes = batchBytes;
+            return this;
+        }
+
+        /**
+         * @param requestLatency the duration of the write requests (nanoseconds)
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder requestLatency(@Nonnull final Histogram requestLatency) {
+            Arguments.checkNotNull(requestLatency, "requestLatency");
+            this.requestLatency = requestLatency;
+            return this;
+        }
+
+        /**
+         * @param serializationTime the serialization time per batch (nanoseconds)
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder serializationTime(@Nonnull final Histogram serializationTime) {
+            Arguments.checkNotNull(serializationTime, "serializationTime");
+            this.serializationTime = serializationTime;
+            return this;
+        }
+
+        /**
+         * @param statusCode the HTTP status code, {@code 0} for the I/O errors
+         * @param count      the number of the scheduled retries
+         * @return {@code this}
+         */
+        @Nonnull
+        public Builder retries(final int statusCode, final long count) {
+            this.retries.put(statusCode, count);
+            return this;
+        }
+
+        /**
+         * Build an instance of WriteMetrics.
+         *
+         * @return {@link WriteMetrics}
+         */
+        @Nonnull
+        public WriteMetrics build() {
+            return new WriteMetrics(this);
+        }
+    }
+}
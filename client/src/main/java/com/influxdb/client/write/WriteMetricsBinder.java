@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.write.events.ListenerRegistration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The <a href="https://micrometer.io">Micrometer</a> binder of the write metrics.
+ * <p>
+ * The Micrometer is an optional dependency of the client, so the application that uses the binder has to depend
+ * on the {@code io.micrometer:micrometer-core}. The meters are updated by the {@link WriteMetricsListener},
+ * the gauges are read from the {@link WriteApi#getMetrics()}:
+ * <ul>
+ *     <li>{@code influxdb.write.points.enqueued}, {@code influxdb.write.points.dropped},
+ *     {@code influxdb.write.points.written}, {@code influxdb.write.points.failed} - counters of the data points</li>
+ *     <li>{@code influxdb.write.batch.points}, {@code influxdb.write.batch.bytes} - summaries of the batches</li>
+ *     <li>{@code influxdb.write.serialization} - timer of the serialization into the Line Protocol</li>
+ *     <li>{@code influxdb.write.requests} - timer of the HTTP requests tagged by the {@code status}</li>
+ *     <li>{@code influxdb.write.retries} - counter of the retries tagged by the {@code status}</li>
+ *     <li>{@code influxdb.write.queue.points}, {@code influxdb.write.queue.bytes},
+ *     {@code influxdb.write.requests.inflight} - gauges of the write buffer and the requests in progress</li>
+ * </ul>
+ * <pre>
+ * WriteApi writeApi = influxDBClient.getWriteApi();
+ *
+ * new WriteMetricsBinder(writeApi).bindTo(registry);
+ * </pre>
+ */
+public final class WriteMetricsBinder implements MeterBinder, AutoCloseable {
+
+    private final WriteApi writeApi;
+    private final Iterable<Tag> tags;
+    private volatile ListenerRegistration registration;
+
+    /**
+     * @param writeApi the write API to measure
+     */
+    public WriteMetricsBinder(@Nonnull final WriteApi writeApi) {
+        this(writeApi, Collections.emptyList());
+    }
+
+    /**
+     * @param writeApi the write API to measure
+     * @param tags     the tags added to all meters, for example to distinguish more write APIs
+     */
+    public WriteMetricsBinder(@Nonnull final WriteApi writeApi, @Nonnull final Iterable<Tag> tags) {
+
+        Arguments.checkNotNull(writeApi, "writeApi");
+        Arguments.checkNotNull(tags, "tags");
+
+        this.writeApi = writeApi;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(@Nonnull final MeterRegistry registry) {
+
+        Arguments.checkNotNull(registry, "registry");
+
+        Counter enqueued = registry.counter("influxdb.write.points.enqueued", tags);
+        Counter dropped = registry.counter("influxdb.write.points.dropped", tags);
+        Counter written = registry.counter("influxdb.write.points.written", tags);
+        Counter failed = registry.counter("influxdb.write.points.failed", tags);
+        DistributionSummary batchPoints = registry.summary("influxdb.write.batch.points", tags);
+        DistributionSummary batchBytes = DistributionSummary.builder("influxdb.write.batch.bytes")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        Timer serialization = registry.timer("influxdb.write.serialization", tags);
+
+        Gauge.builder("influxdb.write.queue.points", writeApi, api -> api.getMetrics().getQueuedPoints())
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("influxdb.write.queue.bytes", writeApi, api -> api.getMetrics().getQueuedBytes())
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("influxdb.write.requests.inflight", writeApi, api -> api.getMetrics().getInFlightRequests())
+                .tags(tags)
+                .register(registry);
+
+        registration = writeApi.listenMetrics(new WriteMetricsListener() {
+            @Override
+            public void onEnqueued(final long points) {
+                enqueued.increment(points);
+            }
+
+            @Override
+            public void onDropped(final long points) {
+                dropped.increment(points);
+            }
+
+            @Override
+            public void onBatch(final long points, final long bytes, final long serializationTime) {
+                batchPoints.record(points);
+                batchBytes.record(bytes);
+                serialization.record(serializationTime, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void onRequest(final int statusCode, final long latency) {
+                registry.timer("influxdb.write.requests", Tags.of(tags).and("status", String.valueOf(statusCode)))
+                        .record(latency, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void onRetry(final int statusCode) {
+                registry.counter("influxdb.write.retries", Tags.of(tags).and("status", String.valueOf(statusCode)))
+                        .increment();
+            }
+
+            @Override
+            public void onWritten(final long points, final long bytes) {
+                written.increment(points);
+            }
+
+            @Override
+            public void onFailed(final long points) {
+                failed.increment(points);
+            }
+        });
+    }
+
+    /**
+     * Stop updating the meters by the measurements of the writes. The registered meters are not removed.
+     */
+    @Override
+    public void close() {
+
+        ListenerRegistration current = registration;
+        if (current != null) {
+            current.dispose();
+            registration = null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+/**
+ * The listener of the measurements of the batching writes. The listener is the hook to export the measurements
+ * into the metrics library of the application, for example as the Micrometer counters and timers.
+ * <p>
+ * The callbacks are invoked synchronously from the producer threads and from the write threads,
+ * so they have to be thread-safe and cheap. The exceptions thrown by the listener are logged and ignored.
+ * All callbacks are no-op by default.
+ *
+ * @see com.influxdb.client.WriteApi#listenMetrics(WriteMetricsListener)
+ */
+public interface WriteMetricsListener {
+
+    /**
+     * The data points are accepted by the write buffer.
+     *
+     * @param points the number of the data points
+     */
+    default void onEnqueued(final long points) {
+    }
+
+    /**
+     * The data points are dropped by the backpressure strategy.
+     *
+     * @param points the number of the dropped data points
+     */
+    default void onDropped(final long points) {
+    }
+
+    /**
+     * The batch is created.
+     *
+     * @param points            the number of the Line Protocol records in the batch
+     * @param bytes             the size of the batch in bytes
+     * @param serializationTime the time spent by the serialization into the Line Protocol (nanoseconds)
+     */
+    default void onBatch(final long points, final long bytes, final long serializationTime) {
+    }
+
+    /**
+     * The HTTP write request is finished.
+     *
+     * @param statusCode the HTTP status code of the response
+     * @param latency    the duration of the request (nanoseconds)
+     */
+    default void onRequest(final int statusCode, final long latency) {
+    }
+
+    /**
+     * The retry of the failed write is scheduled.
+     *
+     * @param statusCode the HTTP status code of the failed request, {@code 0} for the I/O errors
+     */
+    default void onRetry(final int statusCode) {
+    }
+
+    /**
+     * The batch is successfully written.
+     *
+     * @param points the number of the written Line Protocol records
+     * @param bytes  the size of the batch in bytes
+     */
+    default void onWritten(final long points, final long bytes) {
+    }
+
+    /**
+     * The batch is not written because of the not retriable error.
+     *
+     * @param points the number of the not written Line Protocol records
+     */
+    default void onFailed(final long points) {
+    }
+}
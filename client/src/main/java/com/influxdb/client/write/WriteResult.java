@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.influxdb.Arguments;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.exceptions.InfluxException;
+
+/**
+ * The outcome of the blocking write. The data points are written by the chunks, every chunk is one write request.
+ *
+ * @see com.influxdb.client.WriteApiBlocking#writePointsWithResult(List)
+ */
+@ThreadSafe
+public final class WriteResult {
+
+    private final List<Chunk> chunks;
+
+    public WriteResult(@Nonnull final List<Chunk> chunks) {
+
+        Arguments.checkNotNull(chunks, "chunks");
+
+        this.chunks = Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * @return the written chunks in the order of the requests
+     */
+    @Nonnull
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return the not written chunks
+     */
+    @Nonnull
+    public List<Chunk> getFailedChunks() {
+        return chunks.stream().filter(chunk -> !chunk.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * @return {@code true} if all chunks are written
+     */
+    public boolean isSuccess() {
+        return chunks.stream().allMatch(Chunk::isSuccess);
+    }
+
+    /**
+     * @return the number of the written data points
+     */
+    public int getWrittenPoints() {
+        return chunks.stream().filter(Chunk::isSuccess).mapToInt(Chunk::getPoints).sum();
+    }
+
+    /**
+     * @return the number of the not written data points
+     */
+    public int getFailedPoints() {
+        return chunks.stream().filter(chunk -> !chunk.isSuccess()).mapToInt(Chunk::getPoints).sum();
+    }
+
+    @Override
+    public String toString() {
+        return "WriteResult{"
+                + "chunks=" + chunks.size()
+                + ", writtenPoints=" + getWrittenPoints()
+                + ", failedPoints=" + getFailedPoints()
+                + '}';
+    }
+
+    /**
+     * The outcome of the one write request.
+     */
+    @ThreadSafe
+    public static final class Chunk {
+
+        private final WritePrecision precision;
+        private final int points;
+        private final long bytes;
+        private final InfluxException error;
+
+        public Chunk(@Nonnull final WritePrecision precision,
+                     final int points,
+                     final long bytes,
+                     @Nullable final InfluxException error) {
+
+            Arguments.checkNotNull(precision, "precision");
+
+            this.precision = precision;
+            this.points = points;
+            this.bytes = bytes;
+            this.error = error;
+        }
+
+        /**
+         * @return the precision of the data points in the chunk
+         */
+        @Nonnull
+        public WritePrecision getPrecision() {
+            return precision;
+        }
+
+        /**
+         * @return the number of the data points in the chunk
+         */
+        public int getPoints() {
+            return points;
+        }
+
+        /**
+         * @return the size of the Line Protocol of the chunk in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the cause of the failed write, {@code null} if the chunk is written
+         */
+        @Nullable
+        public InfluxException getError() {
+            return error;
+        }
+
+        /**
+         * @return {@code true} if the chunk is written
+         */
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            return "Chunk{"
+                    + "precision=" + precision
+                    + ", points=" + points
+                    + ", bytes=" + bytes
+                    + ", error=" + error
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The policy which decides whether and when the failed write of the batch is retried.
+ * <p>
+ * The policy is shared by all batches of the {@link com.influxdb.client.WriteApi}, so the implementation
+ * has to be thread safe. The retried batch is written again after the delay without blocking the other batches,
+ * unless the {@link com.influxdb.client.WriteOptions.Builder#preserveWriteOrder(boolean)} is enabled.
+ *
+ * @see DefaultWriteRetryPolicy
+ * @see com.influxdb.client.WriteOptions.Builder#retryPolicy(WriteRetryPolicy)
+ */
+@ThreadSafe
+public interface WriteRetryPolicy {
+
+    /**
+     * Notification about the first attempt to write the batch.
+     * The policy could use it to limit the retries by the traffic.
+     */
+    default void onWrite() {
+    }
+
+    /**
+     * Classify the error of the write.
+     *
+     * @param throwable the cause of the failed write, {@link retrofit2.HttpException} for the unsuccessful response
+     *                  or {@link java.io.IOException} for the network error
+     * @return {@code true} if the write could be retried
+     */
+    boolean isRetryable(@Nonnull final Throwable throwable);
+
+    /**
+     * Compute the delay before the next attempt to write the batch.
+     *
+     * @param throwable the cause of the failed write classified as retryable by {@link #isRetryable(Throwable)}
+     * @param attempt   the number of the failed attempts, starting by 1
+     * @param elapsed   the time since the first attempt to write the batch (milliseconds)
+     * @return the delay before the next attempt (milliseconds) or negative number if the batch is not retried
+     */
+    long retryDelay(@Nonnull final Throwable throwable, final int attempt, final long elapsed);
+}
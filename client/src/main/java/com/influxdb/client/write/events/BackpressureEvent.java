@@ -33,9 +33,43 @@ public final class BackpressureEvent extends AbstractWriteEvent {
 
     private static final Logger LOG = Logger.getLogger(BackpressureEvent.class.getName());
 
+    private final long bufferedPoints;
+    private final long bufferedBytes;
+    private final long droppedPoints;
+
+    public BackpressureEvent(final long bufferedPoints, final long bufferedBytes, final long droppedPoints) {
+        this.bufferedPoints = bufferedPoints;
+        this.bufferedBytes = bufferedBytes;
+        this.droppedPoints = droppedPoints;
+    }
+
+    /**
+     * @return the number of the points in the buffer which are not written yet
+     */
+    public long getBufferedPoints() {
+        return bufferedPoints;
+    }
+
+    /**
+     * @return the size of the encoded batches in the buffer which are not written yet (bytes)
+     */
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * @return the number of the points dropped by the backpressure strategy
+     */
+    public long getDroppedPoints() {
+        return droppedPoints;
+    }
+
     @Override
     public void logEvent() {
 
-        LOG.log(Level.WARNING, "Backpressure applied, try increase WriteOptions.bufferLimit");
+        String msg = "Backpressure applied, try increase WriteOptions.bufferLimit. "
+                + "Buffered: {0} points, {1} bytes. Dropped: {2} points.";
+
+        LOG.log(Level.WARNING, msg, new Object[]{bufferedPoints, bufferedBytes, droppedPoints});
     }
 }
\ No newline at end of file
@@ -24,11 +24,15 @@ package com.influxdb.client.write.events;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.influxdb.client.domain.WritePrecision;
 
 /**
  * The event is published when arrived the success response from InfluxDB 2.0 server.
+ * <p>
+ * The event carries the metadata of the written batch. The written Line Protocol is retained only if it is enabled
+ * by {@link com.influxdb.client.WriteOptions.Builder#retainEventPayload(boolean)}.
  *
  * @author Jakub Bednar (bednar@github) (25/09/2018 12:26)
  */
@@ -36,21 +40,50 @@ public final class WriteSuccessEvent extends AbstractWriteEvent {
 
     private static final Logger LOG = Logger.getLogger(WriteSuccessEvent.class.getName());
 
-    private String organization;
-    private String bucket;
-    private WritePrecision precision;
-    private String lineProtocol;
+    private final String organization;
+    private final String bucket;
+    private final WritePrecision precision;
+    private final String lineProtocol;
+    private final int count;
+    private final long size;
+    private final long latency;
+    private final int attempt;
 
     public WriteSuccessEvent(@Nonnull final String organization,
                              @Nonnull final String bucket,
                              @Nonnull final WritePrecision precision,
                              @Nonnull final String lineProtocol) {
 
+        this(organization, bucket, precision, lineProtocol, 0, 0, 0, 1);
+    }
+
+    /**
+     * @param organization the organization that was used for write data
+     * @param bucket       the bucket that was used for write data
+     * @param precision    the precision that was used for write data
+     * @param lineProtocol the written data, {@code null} if the payload is not retained
+     * @param count        the number of the written records
+     * @param size         the size of the written Line Protocol in bytes
+     * @param latency      the duration of the successful request (milliseconds)
+     * @param attempt      the attempt which was successful, {@code 1} for the first attempt
+     */
+    public WriteSuccessEvent(@Nonnull final String organization,
+                             @Nonnull final String bucket,
+                             @Nonnull final WritePrecision precision,
+                             @Nullable final String lineProtocol,
+                             final int count,
+                             final long size,
+                             final long latency,
+                             final int attempt) {
 
         this.organization = organization;
         this.bucket = bucket;
         this.precision = precision;
         this.lineProtocol = lineProtocol;
+        this.count = count;
+        this.size = size;
+        this.latency = latency;
+        this.attempt = attempt;
     }
 
     /**
@@ -75,15 +108,48 @@ public final class WriteSuccessEvent extends AbstractWriteEvent {
     }
 
     /**
-     * @return The successfully written data.
+     * @return The successfully written data, {@code null} if the payload is not retained.
+     * @see com.influxdb.client.WriteOptions.Builder#retainEventPayload(boolean)
      */
+    @Nullable
     public String getLineProtocol() {
         return lineProtocol;
     }
 
+    /**
+     * @return the number of the written records
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return the size of the written Line Protocol in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the duration of the successful request (milliseconds)
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the attempt which was successful, {@code 1} for the first attempt
+     */
+    public int getAttempt() {
+        return attempt;
+    }
+
     @Override
     public void logEvent() {
 
-        LOG.log(Level.FINE, "The data was successfully written to InfluxDB.");
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.log(Level.FINE, "The data was successfully written to InfluxDB: {0} records, {1} bytes, {2} ms.",
+                    new Object[]{count, size, latency});
+        }
     }
-}
\ No newline at end of file
+}
@@ -113,7 +113,7 @@ class ITWriteQueryApi extends AbstractITClientTest {
 
         String bucketName = bucket.getName();
 
-        writeApi = influxDBClient.getWriteApi();
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retainEventPayload(true).build());
 
         String record = "h2o_feet,location=coyote_creek level\\ water_level=1.0 1";
 
@@ -149,7 +149,7 @@ class ITWriteQueryApi extends AbstractITClientTest {
 
         String bucketName = bucket.getName();
 
-        writeApi = influxDBClient.getWriteApi();
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retainEventPayload(true).build());
 
         String record = "h2o_feet,location=coyote_creek level\\ water_level=1.0 1";
 
@@ -752,7 +752,7 @@ class ITWriteQueryApi extends AbstractITClientTest {
 
         String bucketName = bucket.getName();
 
-        writeApi = influxDBClient.getWriteApi();
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retainEventPayload(true).build());
 
         String record = "h2o_feet,location=coyote_creek level\\ water_level=1.0 1";
 
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client;
+
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractInfluxDBClientTest;
+import com.influxdb.client.write.events.WriteSuccessEvent;
+
+import okhttp3.mockwebserver.RecordedRequest;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class SharedWriteApiTest extends AbstractInfluxDBClientTest {
+
+    private final WriteOptions writeOptions = WriteOptions.builder().batchSize(10).flushInterval(100_000).build();
+
+    @AfterEach
+    void tearDown() {
+        influxDBClient.close();
+    }
+
+    @Test
+    void batchAcrossHandles() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApi tenant1 = influxDBClient.getSharedWriteApi(writeOptions);
+        WriteApi tenant2 = influxDBClient.getSharedWriteApi(writeOptions);
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        tenant1.listenEvents(WriteSuccessEvent.class, listener);
+
+        tenant1.writeRecord("b1", "org1", WritePrecision.NS, "h2o,tenant=1 level=1i");
+        tenant2.writeRecord("b1", "org1", WritePrecision.NS, "h2o,tenant=2 level=2i");
+        tenant2.flush();
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(1);
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getBody().readUtf8())
+                .isEqualTo("h2o,tenant=1 level=1i\nh2o,tenant=2 level=2i");
+        Assertions.assertThat(listener.getValue().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void separatePipelinesByOptions() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApi shared = influxDBClient.getSharedWriteApi(writeOptions);
+        WriteApi other = influxDBClient.getSharedWriteApi(WriteOptions.builder().batchSize(10).build());
+
+        shared.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        other.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i");
+        shared.flush();
+        other.flush();
+
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS)).isNotNull();
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void sharedScheduler() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApi writeApi = influxDBClient.getSharedWriteApi();
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, event -> {
+            Assertions.assertThat(Thread.currentThread().getName()).startsWith("influxdb-shared-write-");
+            listener.onEvent(event);
+        });
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        writeApi.flush();
+
+        listener.awaitCount(1);
+    }
+
+    @Test
+    void closeHandle() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApi tenant1 = influxDBClient.getSharedWriteApi(writeOptions);
+        WriteApi tenant2 = influxDBClient.getSharedWriteApi(writeOptions);
+
+        WriteEventListener<WriteSuccessEvent> listener1 = new WriteEventListener<>();
+        tenant1.listenEvents(WriteSuccessEvent.class, listener1);
+        WriteEventListener<WriteSuccessEvent> listener2 = new WriteEventListener<>();
+        tenant2.listenEvents(WriteSuccessEvent.class, listener2);
+
+        // the pending data are flushed by the close
+        tenant1.writeRecord("b1", "org1", WritePrecision.NS, "h2o,tenant=1 level=1i");
+        tenant1.close();
+        tenant1.close();
+
+        listener2.awaitCount(1);
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o,tenant=1 level=1i");
+        // the listener of the closed handle is disposed
+        Assertions.assertThat(listener1.values).isEmpty();
+
+        // the data written by the closed handle are ignored
+        tenant1.writeRecord("b1", "org1", WritePrecision.NS, "h2o,tenant=1 level=2i");
+        tenant2.writeRecord("b1", "org1", WritePrecision.NS, "h2o,tenant=2 level=3i");
+        tenant2.flush();
+
+        listener2.awaitCount(2);
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o,tenant=2 level=3i");
+    }
+
+    @Test
+    void closedClient() {
+
+        influxDBClient.close();
+
+        Assertions.assertThatThrownBy(() -> influxDBClient.getSharedWriteApi())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The InfluxDBClient is closed.");
+    }
+}
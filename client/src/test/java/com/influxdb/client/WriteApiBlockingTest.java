@@ -0,0 +1,370 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.influxdb.LogLevel;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractInfluxDBClientTest;
+import com.influxdb.client.write.PartialWriteException;
+import com.influxdb.client.write.Point;
+import com.influxdb.client.write.WriteResult;
+import com.influxdb.exceptions.BadRequestException;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.QueueDispatcher;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.GzipSource;
+import okio.Okio;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteApiBlockingTest extends AbstractInfluxDBClientTest {
+
+    @Test
+    void writePointsByPrecisionAndChunks() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(2).build());
+
+        WriteResult result = writeApi.writePointsWithResult("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addField("level", 1).time(1L, WritePrecision.NS),
+                Point.measurement("h2o").addField("level", 2).time(2L, WritePrecision.S),
+                Point.measurement("h2o").addField("level", 3).time(3L, WritePrecision.NS),
+                null,
+                Point.measurement("h2o").addField("level", 4).time(4L, WritePrecision.NS)));
+
+        Assertions.assertThat(result.isSuccess()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(4);
+        Assertions.assertThat(result.getChunks()).hasSize(3);
+        Assertions.assertThat(result.getChunks().get(0).getPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getChunks().get(0).getPrecision()).isEqualTo(WritePrecision.NS);
+        Assertions.assertThat(result.getChunks().get(1).getPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getChunks().get(2).getPrecision()).isEqualTo(WritePrecision.S);
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=1i 1\nh2o level=3i 3");
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("ns");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=4i 4");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=2i 2");
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("s");
+    }
+
+    @Test
+    void writeGzip() throws InterruptedException, IOException {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        influxDBClient.enableGzip();
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        // the write request is compressed by the interceptor
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(Okio.buffer(new GzipSource(request.getBody())).readUtf8()).isEqualTo("h2o level=1i");
+    }
+
+    @Test
+    void writePointsFailedChunk() {
+
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(1).build());
+
+        WriteResult result = writeApi.writePointsWithResult("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addField("level", 1),
+                Point.measurement("h2o").addField("level", 2)));
+
+        Assertions.assertThat(result.isSuccess()).isFalse();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getFailedChunks()).hasSize(1);
+        Assertions.assertThat(result.getFailedChunks().get(0).getError())
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("line protocol poorly formed");
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void writeRecordsMaxBatchBytes() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder()
+                .maxBatchBytes(20)
+                .build());
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i"));
+
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o level=1i\nh2o level=2i");
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o level=3i");
+    }
+
+    @Test
+    void writeRecordsFailFast() {
+
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(1).build());
+
+        Assertions.assertThatThrownBy(() -> writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i")))
+                .isInstanceOf(BadRequestException.class);
+
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writePointsPartialWrite() {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(1).build());
+
+        Assertions.assertThatThrownBy(() -> writeApi.writePoints("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addField("level", 1),
+                Point.measurement("h2o").addField("level", 2),
+                Point.measurement("h2o").addField("level", 3))))
+                .isInstanceOfSatisfying(PartialWriteException.class, e -> {
+                    Assertions.assertThat(e.getResult().getWrittenPoints()).isEqualTo(1);
+                    Assertions.assertThat(e.getResult().getFailedPoints()).isEqualTo(1);
+                    Assertions.assertThat(e.getResult().getChunks()).hasSize(2);
+                })
+                .hasCauseInstanceOf(BadRequestException.class)
+                .hasMessage("The write is stopped by the not written chunk of 1 points, "
+                        + "the 1 points are already written: line protocol poorly formed");
+
+        // the write is stopped by the not written chunk
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void writeRecordsWithResult() {
+
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(1).build());
+
+        WriteResult result = writeApi.writeRecordsWithResult("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i"));
+
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getChunks().get(0).getError()).isInstanceOf(BadRequestException.class);
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void writeMeasurementsPartialWrite() {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(1).build());
+
+        Assertions.assertThatThrownBy(() -> writeApi.writeMeasurements("b1", "org1", WritePrecision.NS,
+                Arrays.asList(new H2OFeetMeasurement("coyote_creek", 1.0, null, 1L),
+                        new H2OFeetMeasurement("coyote_creek", 2.0, null, 2L))))
+                .isInstanceOf(PartialWriteException.class)
+                .hasCauseInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void writeRecordsStream() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(3).build());
+
+        Stream<String> records = IntStream.rangeClosed(1, 5).mapToObj(i -> "h2o level=" + i + "i");
+
+        WriteResult result = writeApi.writeRecords("b1", "org1", WritePrecision.S, records);
+
+        Assertions.assertThat(result.isSuccess()).isTrue();
+        Assertions.assertThat(result.getChunks()).hasSize(2);
+        Assertions.assertThat(result.getChunks().get(0).getPoints()).isEqualTo(3);
+        Assertions.assertThat(result.getChunks().get(0).getBytes()).isEqualTo(38);
+        Assertions.assertThat(result.getChunks().get(1).getPoints()).isEqualTo(2);
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        Assertions.assertThat(request.getHeader("Content-Length")).isNull();
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("s");
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=1i\nh2o level=2i\nh2o level=3i");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=4i\nh2o level=5i");
+    }
+
+    @Test
+    void writeRecordsIteratorIsLazy() {
+
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger pulledByFirstRequest = new AtomicInteger();
+        mockServer.setDispatcher(new QueueDispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+                pulledByFirstRequest.compareAndSet(0, pulled.get());
+                return super.dispatch(request);
+            }
+        });
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder().batchSize(2).build());
+
+        Iterator<String> records = IntStream.rangeClosed(1, 4)
+                .peek(i -> pulled.incrementAndGet())
+                .mapToObj(i -> "h2o level=" + i + "i")
+                .iterator();
+
+        WriteResult result = writeApi.writeRecords("b1", "org1", WritePrecision.NS, records);
+
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(4);
+        // the first request doesn't pull the records of the second request
+        Assertions.assertThat(pulledByFirstRequest.get()).isEqualTo(2);
+    }
+
+    @Test
+    void writePointsIteratorByPrecision() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
+
+        WriteResult result = writeApi.writePoints("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addField("level", 1).time(1L, WritePrecision.NS),
+                null,
+                Point.measurement("h2o").addField("level", 2).time(2L, WritePrecision.NS),
+                Point.measurement("h2o").addField("level", 3).time(3L, WritePrecision.S),
+                Point.measurement("h2o").addField("level", 4).time(4L, WritePrecision.NS)).iterator());
+
+        Assertions.assertThat(result.getChunks()).hasSize(3);
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("ns");
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=1i 1\nh2o level=2i 2");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("s");
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=3i 3");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("ns");
+        Assertions.assertThat(request.getBody().readUtf8()).isEqualTo("h2o level=4i 4");
+    }
+
+    @Test
+    void writeMeasurementsIterableMaxBatchBytes() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed", true, 400));
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking(WriteOptions.builder()
+                .maxBatchBytes(60)
+                .build());
+
+        Iterable<H2OFeetMeasurement> measurements = Arrays.asList(
+                new H2OFeetMeasurement("coyote_creek", 1.0, null, 1L),
+                new H2OFeetMeasurement("coyote_creek", 2.0, null, 2L),
+                new H2OFeetMeasurement("coyote_creek", 3.0, null, 3L));
+
+        WriteResult result = writeApi.writeMeasurements("b1", "org1", WritePrecision.MS, measurements);
+
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(1);
+
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o,location=coyote_creek water_level=1.0 1\nh2o,location=coyote_creek water_level=2.0 2");
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o,location=coyote_creek water_level=3.0 3");
+    }
+
+    @Test
+    void writeRecordsStreamLogLevelBody() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        influxDBClient.setLogLevel(LogLevel.BODY);
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
+
+        // the one-shot body is not consumed by the logging
+        WriteResult result = writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Stream.of("h2o level=1i", "h2o level=2i"));
+
+        Assertions.assertThat(result.isSuccess()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o level=1i\nh2o level=2i");
+
+        // the body of the other requests is still logged
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=3i");
+
+        Assertions.assertThat(mockServer.takeRequest(10L, TimeUnit.SECONDS).getBody().readUtf8())
+                .isEqualTo("h2o level=3i");
+    }
+
+    @Test
+    void writeRecordsStreamWithoutData() {
+
+        WriteApiBlocking writeApi = influxDBClient.getWriteApiBlocking();
+
+        WriteResult result = writeApi.writeRecords("b1", "org1", WritePrecision.NS, Stream.of("", null, ""));
+
+        Assertions.assertThat(result.getChunks()).isEmpty();
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(0);
+    }
+}
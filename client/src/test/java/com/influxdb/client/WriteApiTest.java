@@ -22,15 +22,27 @@
 package com.influxdb.client;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.internal.AbstractInfluxDBClientTest;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.WriteDrainResult;
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
+import com.influxdb.client.write.WriteRetryPolicy;
 import com.influxdb.client.write.events.BackpressureEvent;
 import com.influxdb.client.write.events.WriteErrorEvent;
 import com.influxdb.client.write.events.WriteRetriableErrorEvent;
@@ -41,17 +53,20 @@ import com.influxdb.exceptions.InfluxException;
 import com.influxdb.exceptions.RequestEntityTooLargeException;
 import com.influxdb.exceptions.UnauthorizedException;
 
-import io.reactivex.Flowable;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.schedulers.TestScheduler;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.BufferedSource;
+import okio.GzipSource;
+import okio.Okio;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.runner.JUnitPlatform;
 import org.junit.runner.RunWith;
@@ -102,6 +117,23 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("ns");
     }
 
+    @Test
+    void writeGzip() throws InterruptedException, IOException {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        influxDBClient.enableGzip();
+
+        writeApi = influxDBClient.getWriteApi();
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        // the write request is compressed by the interceptor
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(Okio.buffer(new GzipSource(request.getBody())).readUtf8()).isEqualTo("h2o level=1i");
+    }
+
     @Test
     void writePointNull() {
 
@@ -141,6 +173,289 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
     }
 
+    @Test
+    void writePointBatch() throws InterruptedException {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi();
+
+        PointBatch batch = PointBatch.builder("h2o")
+                .tag("location")
+                .longField("level")
+                .precision(WritePrecision.S)
+                .build();
+        batch.addRow(1L).tag(0, "europe").field(0, 1L);
+        batch.addRow(2L).tag(0, "europe").field(0, 2L);
+
+        writeApi.writePointBatch("b1", "org1", batch);
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+
+        Assertions.assertThat(request.getBody().readUtf8())
+                .isEqualTo("h2o,location=europe level=1i 1\nh2o,location=europe level=2i 2");
+        Assertions.assertThat(request.getRequestUrl().queryParameter("precision")).isEqualTo("s");
+    }
+
+    @Test
+    void concurrentRequests() {
+
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(3);
+        mockServer.setDispatcher(dispatcher);
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).maxConcurrentRequests(3).build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS, Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i"));
+
+        listener.awaitCount(3);
+
+        Assertions.assertThat(dispatcher.maxInFlight.get()).isEqualTo(3);
+        Assertions.assertThat(dispatcher.bodies).containsExactlyInAnyOrder("h2o level=1i", "h2o level=2i", "h2o level=3i");
+    }
+
+    @Test
+    void concurrentRequestsBoundedThreads() {
+
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(2);
+        mockServer.setDispatcher(dispatcher);
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).maxConcurrentRequests(2).build());
+
+        List<String> threads = new CopyOnWriteArrayList<>();
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, event -> threads.add(Thread.currentThread().getName()));
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS, Arrays.asList("h2o level=1i", "h2o level=2i",
+                "h2o level=3i", "h2o level=4i", "h2o level=5i", "h2o level=6i"));
+
+        listener.awaitCount(6);
+
+        // the requests are executed by the pool of maxConcurrentRequests threads, not by the thread per request
+        Assertions.assertThat(threads).hasSize(6).allMatch(name -> name.startsWith("influxdb-write-request-"));
+        Assertions.assertThat(threads.stream().distinct().count()).isLessThanOrEqualTo(2);
+        Assertions.assertThat(dispatcher.bodies).hasSize(6);
+    }
+
+    @Test
+    void concurrentRequestsPreserveOrder() {
+
+        ConcurrentDispatcher dispatcher = new ConcurrentDispatcher(3);
+        mockServer.setDispatcher(dispatcher);
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .maxConcurrentRequests(3)
+                .preserveWriteOrder(true)
+                .retainEventPayload(true)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS, Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i"));
+
+        listener.awaitCount(3);
+
+        // the same bucket, org and precision => one by one
+        Assertions.assertThat(dispatcher.maxInFlight.get()).isEqualTo(1);
+        Assertions.assertThat(dispatcher.bodies).containsExactly("h2o level=1i", "h2o level=2i", "h2o level=3i");
+        Assertions.assertThat(listener.values).extracting(WriteSuccessEvent::getLineProtocol)
+                .containsExactly("h2o level=1i", "h2o level=2i", "h2o level=3i");
+    }
+
+    @Test
+    void maxBatchBytes() {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(10)
+                .maxBatchBytes(20)
+                .flushInterval(100_000)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i", "h2o level=4i"));
+        writeApi.flush();
+
+        listener.awaitCount(2);
+
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i\nh2o level=2i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=3i\nh2o level=4i");
+    }
+
+    @Test
+    void coalesce() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(10)
+                .bufferLimit(4)
+                .backpressureStrategy(BackpressureOverflowStrategy.DROP_LATEST)
+                .coalesce(true)
+                .flushInterval(100_000)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writePoints("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addTag("location", "europe").addField("level", 1).time(1L, WritePrecision.S),
+                Point.measurement("h2o").addTag("location", "europe").addField("state", "ok").time(1L, WritePrecision.S),
+                Point.measurement("h2o").addTag("location", "us").addField("level", 2).time(1L, WritePrecision.S),
+                Point.measurement("h2o").addTag("location", "europe").addField("level", 3).time(1L, WritePrecision.S)));
+        writeApi.flush();
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(getRequestBody(mockServer))
+                .isEqualTo("h2o,location=europe level=3i,state=\"ok\" 1\nh2o,location=us level=2i 1");
+
+        // the merged points are released from the buffer
+        mockServer.enqueue(createResponse("{}"));
+        writeApi.writePoints("b1", "org1", Arrays.asList(
+                Point.measurement("h2o").addField("level", 4).time(2L, WritePrecision.S),
+                Point.measurement("h2o").addField("level", 5).time(3L, WritePrecision.S),
+                Point.measurement("h2o").addField("level", 6).time(4L, WritePrecision.S),
+                Point.measurement("h2o").addField("level", 7).time(5L, WritePrecision.S)));
+        writeApi.flush();
+
+        listener.awaitCount(2);
+
+        Assertions.assertThat(getRequestBody(mockServer))
+                .isEqualTo("h2o level=4i 2\nh2o level=5i 3\nh2o level=6i 4\nh2o level=7i 5");
+    }
+
+    @Test
+    void serializeOnWrite() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(10)
+                .serializeOnWrite(true)
+                .flushInterval(100_000)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        Point point = Point.measurement("h2o").addTag("location", "europe").addField("level", 1)
+                .time(1L, WritePrecision.S);
+        writeApi.writePoint("b1", "org1", point);
+        // serialized by the write => the change is not written
+        point.addField("level", 2);
+
+        writeApi.writePoint("b1", "org1", Point.measurement("h2o").time(2L, WritePrecision.S));
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=3i 3");
+        writeApi.writeMeasurement("b1", "org1", WritePrecision.S,
+                new H2OFeetMeasurement("coyote_creek", 2.927, null, 1440046800L));
+        writeApi.flush();
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o,location=europe level=1i 1\n"
+                + "h2o level=3i 3\n"
+                + "h2o,location=coyote_creek water_level=2.927 1440046");
+        Assertions.assertThat(listener.getValue().getCount()).isEqualTo(3);
+
+        WriteMetrics metrics = writeApi.getMetrics();
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(4);
+        Assertions.assertThat(metrics.getBatchPoints().getTotal()).isEqualTo(3);
+        Assertions.assertThat(metrics.getSerializationTime().getTotal()).isGreaterThan(0);
+    }
+
+    @Test
+    void compressionThreads() throws InterruptedException, IOException {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        influxDBClient.enableGzip();
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(2)
+                .compressionThreads(2)
+                .flushInterval(100_000)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i", "h2o level=4i"));
+        writeApi.flush();
+
+        listener.awaitCount(2);
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(request.getHeader("Transfer-Encoding")).isNull();
+        Assertions.assertThat(request.getBodySize()).isEqualTo(Long.parseLong(request.getHeader("Content-Length")));
+        Assertions.assertThat(gunzip(request)).isEqualTo("h2o level=1i\nh2o level=2i");
+
+        request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(gunzip(request)).isEqualTo("h2o level=3i\nh2o level=4i");
+    }
+
+    @Test
+    void gzipWithoutCompressionThreads() throws InterruptedException, IOException {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        influxDBClient.enableGzip();
+        writeApi = influxDBClient.getWriteApi();
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        RecordedRequest request = mockServer.takeRequest(10L, TimeUnit.SECONDS);
+        Assertions.assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(gunzip(request)).isEqualTo("h2o level=1i");
+    }
+
+    @Test
+    void splitTooLargeBatch() {
+
+        mockServer.enqueue(createErrorResponse("write has been rejected because the payload is too large", true, 413));
+        mockServer.enqueue(createErrorResponse("write has been rejected because the payload is too large", true, 413));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(4).retainEventPayload(true).build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+        WriteEventListener<WriteErrorEvent> errorListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteErrorEvent.class, errorListener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i", "h2o level=4i"));
+
+        listener.awaitCount(3);
+
+        Assertions.assertThat(getRequestBody(mockServer))
+                .isEqualTo("h2o level=1i\nh2o level=2i\nh2o level=3i\nh2o level=4i");
+        // first half is still too large
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i\nh2o level=2i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=2i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=3i\nh2o level=4i");
+
+        Assertions.assertThat(listener.values).extracting(WriteSuccessEvent::getLineProtocol)
+                .containsExactly("h2o level=1i", "h2o level=2i", "h2o level=3i\nh2o level=4i");
+        Assertions.assertThat(errorListener.values).isEmpty();
+    }
+
     @Test
     void writeMeasurement() throws InterruptedException {
 
@@ -511,7 +826,7 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
 
         mockServer.enqueue(createResponse("{}"));
 
-        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).build());
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).retainEventPayload(true).build());
 
         WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
         writeApi.listenEvents(WriteSuccessEvent.class, listener);
@@ -534,6 +849,279 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         Assertions.assertThat(listener.getValue().getLineProtocol()).isEqualTo("h2o_feet,location=coyote_creek level\\ description=\"feet 1\",water_level=1.0 1");
     }
 
+    @Test
+    void eventWriteSuccessEventMetadata() {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retryInterval(100).build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+        writeApi.flush();
+
+        listener.awaitCount(1);
+
+        WriteSuccessEvent event = listener.getValue();
+        Assertions.assertThat(event.getBucket()).isEqualTo("b1");
+        Assertions.assertThat(event.getOrganization()).isEqualTo("org1");
+        Assertions.assertThat(event.getPrecision()).isEqualTo(WritePrecision.S);
+        Assertions.assertThat(event.getLineProtocol()).isNull();
+        Assertions.assertThat(event.getCount()).isEqualTo(2);
+        Assertions.assertThat(event.getSize()).isEqualTo("h2o level=1i 1\nh2o level=2i 2".length());
+        Assertions.assertThat(event.getLatency()).isGreaterThanOrEqualTo(0);
+        Assertions.assertThat(event.getAttempt()).isEqualTo(2);
+    }
+
+    @Test
+    void eventWriteSuccessEventAttemptOfConcurrentRequests() {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .maxConcurrentRequests(2)
+                .retryInterval(100)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        writeApi.flush();
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(listener.getValue().getCount()).isEqualTo(1);
+        Assertions.assertThat(listener.getValue().getAttempt()).isEqualTo(3);
+    }
+
+    @Test
+    void metrics() {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed and no points were written", false, 400));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retryInterval(100).build());
+
+        WriteEventListener<WriteSuccessEvent> successListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, successListener);
+        WriteEventListener<WriteErrorEvent> errorListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteErrorEvent.class, errorListener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+        writeApi.flush();
+
+        successListener.awaitCount(1);
+
+        WriteMetrics metrics = writeApi.getMetrics();
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(2);
+        Assertions.assertThat(metrics.getPointsWritten()).isEqualTo(2);
+        Assertions.assertThat(metrics.getPointsDropped()).isEqualTo(0);
+        Assertions.assertThat(metrics.getPointsFailed()).isEqualTo(0);
+        Assertions.assertThat(metrics.getBatchPoints().getCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getBatchPoints().getTotal()).isEqualTo(2);
+        Assertions.assertThat(metrics.getBatchBytes().getMax()).isEqualTo("h2o level=1i 1\nh2o level=2i 2".length());
+        Assertions.assertThat(metrics.getSerializationTime().getCount()).isEqualTo(1);
+        Assertions.assertThat(metrics.getRequestLatency().getCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getRequestLatency().getMax()).isGreaterThan(0);
+        Assertions.assertThat(metrics.getRetries()).containsOnly(Assertions.entry(429, 1L));
+        Assertions.assertThat(metrics.getRetriesTotal()).isEqualTo(1);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=3i 3");
+        writeApi.flush();
+
+        errorListener.awaitCount(1);
+
+        metrics = writeApi.getMetrics();
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(3);
+        Assertions.assertThat(metrics.getPointsWritten()).isEqualTo(2);
+        Assertions.assertThat(metrics.getPointsFailed()).isEqualTo(1);
+        Assertions.assertThat(metrics.getRequestLatency().getCount()).isEqualTo(3);
+    }
+
+    @Test
+    void metricsListener() {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .bufferLimit(1)
+                .backpressureStrategy(BackpressureOverflowStrategy.DROP_LATEST)
+                .build());
+
+        List<String> measurements = new CopyOnWriteArrayList<>();
+        writeApi.listenMetrics(new WriteMetricsListener() {
+            @Override
+            public void onEnqueued(final long points) {
+                measurements.add("enqueued " + points);
+            }
+
+            @Override
+            public void onDropped(final long points) {
+                measurements.add("dropped " + points);
+            }
+
+            @Override
+            public void onBatch(final long points, final long bytes, final long serializationTime) {
+                measurements.add("batch " + points + " " + bytes);
+            }
+
+            @Override
+            public void onRequest(final int statusCode, final long latency) {
+                measurements.add("request " + statusCode);
+            }
+
+            @Override
+            public void onWritten(final long points, final long bytes) {
+                measurements.add("written " + points + " " + bytes);
+            }
+        });
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        // the batch is in flight
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i");
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(measurements)
+                .containsExactly("enqueued 1", "batch 1 12", "dropped 1", "request 200", "written 1 12");
+        Assertions.assertThat(writeApi.getMetrics().getPointsDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void flushAwait() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi();
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+
+        WriteDrainResult result = writeApi.flush(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.isCompleted()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(0);
+        Assertions.assertThat(result.getDroppedPoints()).isEqualTo(0);
+        Assertions.assertThat(result.getUnflushedPoints()).isEqualTo(0);
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void flushTimeout() throws Exception {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        writeApi = influxDBClient.getWriteApi();
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+
+        WriteDrainResult result = writeApi.flush(100, TimeUnit.MILLISECONDS);
+
+        Assertions.assertThat(result.isCompleted()).isFalse();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(0);
+        Assertions.assertThat(result.getUnflushedPoints()).isEqualTo(2);
+
+        // the not flushed points are written by the close
+        result = writeApi.closeAsync().get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.isCompleted()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getUnflushedPoints()).isEqualTo(0);
+    }
+
+    @Test
+    void flushAwaitRetriedBatch() throws Exception {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        // the retried batch is written later, the other batches are written meanwhile
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .maxConcurrentRequests(2)
+                .retryInterval(1_000)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=1i 1");
+        writeApi.flush();
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i 1");
+
+        CompletableFuture<WriteDrainResult> flushed = writeApi.flushAsync();
+
+        // accepted after the flush
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=2i 2");
+        writeApi.flush();
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=2i 2");
+
+        listener.awaitCount(1);
+        Assertions.assertThat(flushed).isNotDone();
+
+        WriteDrainResult result = flushed.get(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.isCompleted()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(1);
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void closePublishEventsOfLastBatches() {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed and no points were written", false, 400));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).build());
+
+        WriteEventListener<WriteSuccessEvent> successListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, successListener);
+        WriteEventListener<WriteErrorEvent> errorListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteErrorEvent.class, errorListener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=1i 1");
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=2i 2");
+
+        // the requests are still in flight
+        writeApi.close();
+
+        successListener.awaitCount(1);
+        errorListener.awaitCount(1);
+
+        Assertions.assertThat(errorListener.getValue().getThrowable()).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void closeAwait() {
+
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createErrorResponse("line protocol poorly formed and no points were written", false, 400));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(2).build());
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=3i 3");
+
+        WriteDrainResult result = writeApi.close(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(result.isCompleted()).isTrue();
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getUnflushedPoints()).isEqualTo(0);
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
     @Test
     void eventWriteSuccessEventDispose() {
 
@@ -579,28 +1167,138 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
     }
 
     @Test
-    //TODO
-    @Disabled
     void eventBackpressureEvent() {
 
-        mockServer.enqueue(new MockResponse().setBodyDelay(1, TimeUnit.SECONDS));
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(1, TimeUnit.SECONDS));
+        mockServer.enqueue(createResponse("{}"));
 
-        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().writeScheduler(new TestScheduler()).bufferLimit(100).build());
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .bufferLimit(2)
+                .backpressureStrategy(BackpressureOverflowStrategy.DROP_LATEST)
+                .retainEventPayload(true)
+                .build());
 
         WriteEventListener<BackpressureEvent> listener = new WriteEventListener<>();
         writeApi.listenEvents(BackpressureEvent.class, listener);
 
-        Flowable
-                .range(0, 5000)
-                .subscribeOn(Schedulers.newThread())
-                .subscribe(index -> {
-                    String record = String.format("h2o_feet,location=coyote_creek level\\ description=\"feet 1\",water_level=1.0 %s", index);
-                    writeApi.writeRecord("b_" + index, "org1", WritePrecision.NS, record);
-                });
-
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i");
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=3i");
 
         BackpressureEvent backpressureEvent = listener.awaitCount(1).getValue();
-        Assertions.assertThat(backpressureEvent).isNotNull();
+        Assertions.assertThat(backpressureEvent.getBufferedPoints()).isEqualTo(2);
+        Assertions.assertThat(backpressureEvent.getDroppedPoints()).isEqualTo(1);
+
+        WriteEventListener<WriteSuccessEvent> successListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, successListener);
+        successListener.awaitCount(2);
+
+        Assertions.assertThat(successListener.values).extracting(WriteSuccessEvent::getLineProtocol)
+                .containsExactly("h2o level=1i", "h2o level=2i");
+    }
+
+    @Test
+    void writeRecordsSkipNull() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(2).build());
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS, Arrays.asList("h2o level=1i", null, "h2o level=2i"));
+
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i\nh2o level=2i");
+    }
+
+    @Test
+    void backpressureErrorOfList() {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .bufferLimit(1)
+                .backpressureStrategy(BackpressureOverflowStrategy.ERROR)
+                .build());
+
+        // the rest of the list is not written after the failure
+        Assertions.assertThatThrownBy(() -> writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i")))
+                .isInstanceOf(InfluxException.class)
+                .hasMessageStartingWith("The write buffer is full: 1 points");
+
+        Assertions.assertThat(writeApi.getMetrics().getPointsEnqueued()).isEqualTo(1);
+    }
+
+    @Test
+    void backpressureError() {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .bufferLimit(1)
+                .backpressureStrategy(BackpressureOverflowStrategy.ERROR)
+                .build());
+
+        WriteEventListener<BackpressureEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(BackpressureEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        Assertions.assertThatThrownBy(() -> writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i"))
+                .isInstanceOf(InfluxException.class)
+                .hasMessageStartingWith("The write buffer is full: 1 points");
+        Assertions.assertThat(listener.awaitCount(1).getValue().getDroppedPoints()).isEqualTo(1);
+    }
+
+    @Test
+    void backpressureErrorOfPoint() {
+
+        mockServer.enqueue(createResponse("{}").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .bufferLimit(1)
+                .backpressureStrategy(BackpressureOverflowStrategy.ERROR)
+                .build());
+
+        writeApi.writePoint("b1", "org1", Point.measurement("h2o").addField("level", 1));
+
+        Assertions.assertThatThrownBy(() -> writeApi.writePoint("b1", "org1",
+                Point.measurement("h2o").addField("level", 2)))
+                .isInstanceOf(InfluxException.class)
+                .hasMessageStartingWith("The write buffer is full: 1 points");
+        Assertions.assertThatThrownBy(() -> writeApi.writePoints("b1", "org1",
+                Arrays.asList(Point.measurement("h2o").addField("level", 3))))
+                .isInstanceOf(InfluxException.class)
+                .hasMessageStartingWith("The write buffer is full: 1 points");
+        Assertions.assertThat(writeApi.getMetrics().getPointsEnqueued()).isEqualTo(1);
+    }
+
+    @Test
+    void backpressureBufferLimitLessThanBatchSize() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        // the buffer holds at least one batch
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(20)
+                .flushInterval(1_000_000)
+                .bufferLimit(10)
+                .backpressureStrategy(BackpressureOverflowStrategy.DROP_OLDEST)
+                .build());
+
+        for (int i = 0; i < 20; i++) {
+            writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=" + i + "i");
+        }
+
+        // the batch is closed by the size
+        Assertions.assertThat(getRequestBody(mockServer).split("\n")).hasSize(20);
+
+        WriteMetrics metrics = writeApi.getMetrics();
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(20);
+        Assertions.assertThat(metrics.getPointsDropped()).isEqualTo(0);
     }
 
     @Test
@@ -623,6 +1321,158 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
                 .isEqualTo(2);
     }
 
+    @Test
+    void adaptiveBatching() {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .adaptiveBatching(true)
+                .batchSize(4)
+                .flushInterval(100_000)
+                .retryInterval(100)
+                .build());
+
+        Assertions.assertThat(writeApi.getEffectiveBatchSize()).isEqualTo(4);
+        Assertions.assertThat(writeApi.getEffectiveFlushInterval()).isEqualTo(100_000);
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=1i", "h2o level=2i", "h2o level=3i", "h2o level=4i"));
+
+        listener.awaitCount(1);
+
+        // halved by 429, increased by success
+        Assertions.assertThat(writeApi.getEffectiveBatchSize()).isEqualTo(3);
+        Assertions.assertThat(writeApi.getEffectiveFlushInterval()).isGreaterThan(100_000);
+
+        // the batch is closed by the effective batch size
+        writeApi.writeRecords("b1", "org1", WritePrecision.NS,
+                Arrays.asList("h2o level=5i", "h2o level=6i", "h2o level=7i"));
+
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo(
+                "h2o level=1i\nh2o level=2i\nh2o level=3i\nh2o level=4i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo(
+                "h2o level=1i\nh2o level=2i\nh2o level=3i\nh2o level=4i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=5i\nh2o level=6i\nh2o level=7i");
+    }
+
+    @Test
+    void retryNotBlockFreshBatches() {
+
+        mockServer.enqueue(createErrorResponse("unavailable", true, 503));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .maxConcurrentRequests(2)
+                .retryInterval(500)
+                .build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i");
+
+        listener.awaitCount(2);
+
+        // the fresh batch is written before the retry
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=2i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+    }
+
+    @Test
+    void retryInPlaceOneRequestInFlight() {
+
+        mockServer.enqueue(createErrorResponse("unavailable", true, 503));
+        mockServer.enqueue(createResponse("{}"));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).retryInterval(500).build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=2i");
+
+        listener.awaitCount(2);
+
+        // the batches are written in order
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=1i");
+        Assertions.assertThat(getRequestBody(mockServer)).isEqualTo("h2o level=2i");
+    }
+
+    @Test
+    void retryMaxRetries() {
+
+        mockServer.enqueue(createErrorResponse("unavailable", true, 503));
+        mockServer.enqueue(createErrorResponse("unavailable", true, 503));
+        mockServer.enqueue(createErrorResponse("unavailable", true, 503));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .retryInterval(100)
+                .maxRetries(2)
+                .build());
+
+        WriteEventListener<WriteRetriableErrorEvent> retriableListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteRetriableErrorEvent.class, retriableListener);
+        WriteEventListener<WriteErrorEvent> errorListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteErrorEvent.class, errorListener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        errorListener.awaitCount(1);
+
+        Assertions.assertThat(retriableListener.values).hasSize(2);
+        Assertions.assertThat(retriableListener.values.get(0).getRetryInterval()).isEqualTo(100);
+        Assertions.assertThat(retriableListener.values.get(1).getRetryInterval()).isEqualTo(200);
+        Assertions.assertThat(errorListener.getValue().getThrowable())
+                .isInstanceOf(InfluxException.class)
+                .hasMessage("unavailable");
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void retryPolicy() {
+
+        mockServer.enqueue(createErrorResponse("bad request", true, 400));
+        mockServer.enqueue(createResponse("{}"));
+
+        WriteRetryPolicy retryPolicy = new WriteRetryPolicy() {
+            @Override
+            public boolean isRetryable(@Nonnull final Throwable throwable) {
+                return true;
+            }
+
+            @Override
+            public long retryDelay(@Nonnull final Throwable throwable, final int attempt, final long elapsed) {
+                return 10;
+            }
+        };
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().batchSize(1).retryPolicy(retryPolicy).build());
+
+        WriteEventListener<WriteSuccessEvent> listener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, listener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o level=1i");
+
+        listener.awaitCount(1);
+
+        Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
+    }
+
     @Test
     void retryWithRetryAfter() throws InterruptedException {
 
@@ -662,6 +1512,80 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         Assertions.assertThat(mockServer.getRequestCount()).isEqualTo(2);
     }
 
+    @Test
+    void spool() throws IOException, InterruptedException {
+
+        Path directory = Files.createTempDirectory("influxdb-spool");
+
+        mockServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockServer.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder()
+                .batchSize(1)
+                .retryInterval(100)
+                .spoolDirectory(directory.toString())
+                .retainEventPayload(true)
+                .build());
+
+        WriteEventListener<WriteRetriableErrorEvent> retriableListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteRetriableErrorEvent.class, retriableListener);
+
+        WriteEventListener<WriteSuccessEvent> successListener = new WriteEventListener<>();
+        writeApi.listenEvents(WriteSuccessEvent.class, successListener);
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.NS, "h2o,location=europe level=2i");
+
+        // unavailable InfluxDB => retry spooled batch
+        retriableListener.awaitCount(1);
+        Assertions.assertThat(retriableListener.getValue().getThrowable()).isInstanceOf(IOException.class);
+
+        successListener.awaitCount(1);
+        Assertions.assertThat(successListener.getValue().getLineProtocol()).isEqualTo("h2o,location=europe level=2i");
+
+        writeApi.close();
+        writeApi = null;
+
+        // acknowledged => deleted after the asynchronous close
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline && spoolSegments(directory) > 0) {
+            Thread.sleep(10);
+        }
+        Assertions.assertThat(spoolSegments(directory)).isEqualTo(0);
+        Files.delete(directory.resolve("spool.lock"));
+        Files.delete(directory);
+    }
+
+    @Test
+    void spoolDirectoryLocked() throws IOException {
+
+        Path directory = Files.createTempDirectory("influxdb-spool");
+        WriteOptions writeOptions = WriteOptions.builder().spoolDirectory(directory.toString()).build();
+
+        writeApi = influxDBClient.getWriteApi(writeOptions);
+
+        // the second WriteApi would recover and write the same batches
+        Assertions.assertThatThrownBy(() -> influxDBClient.getWriteApi(writeOptions))
+                .isInstanceOf(InfluxException.class)
+                .hasMessageContaining("The spool directory is used by another WriteApi");
+
+        writeApi.close(10, TimeUnit.SECONDS);
+        writeApi = null;
+
+        // released by the close
+        influxDBClient.getWriteApi(writeOptions).close(10, TimeUnit.SECONDS);
+
+        Files.delete(directory.resolve("spool.lock"));
+        Files.delete(directory);
+    }
+
+    private long spoolSegments(@Nonnull final Path directory) throws IOException {
+        try (Stream<Path> segments = Files.list(directory)) {
+            return segments.filter(path -> path.toString().endsWith(".spool")).count();
+        }
+    }
+
     @Test
     void retryNotApplied() {
 
@@ -808,6 +1732,14 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         Assertions.assertThat(request.getRequestUrl().queryParameter("bucket")).isEqualTo("my-top-bucket");
     }
 
+    @Nonnull
+    private String gunzip(@Nonnull final RecordedRequest request) throws IOException {
+
+        try (BufferedSource source = Okio.buffer(new GzipSource(request.getBody()))) {
+            return source.readUtf8();
+        }
+    }
+
     @Nonnull
     private String getRequestBody(@Nonnull final MockWebServer server) {
 
@@ -824,4 +1756,33 @@ class WriteApiTest extends AbstractInfluxDBClientTest {
         return recordedRequest.getBody().readUtf8();
     }
 
+    /**
+     * Holds the requests until the expected number of requests is in flight or the timeout elapsed.
+     */
+    private final class ConcurrentDispatcher extends Dispatcher {
+
+        private final CountDownLatch arrived;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+        private ConcurrentDispatcher(final int expected) {
+            arrived = new CountDownLatch(expected);
+        }
+
+        @Override
+        public MockResponse dispatch(final RecordedRequest request) throws InterruptedException {
+
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            bodies.add(request.getBody().readUtf8());
+
+            arrived.countDown();
+            arrived.await(500, TimeUnit.MILLISECONDS);
+
+            inFlight.decrementAndGet();
+
+            return new MockResponse().setResponseCode(204);
+        }
+    }
+
 }
\ No newline at end of file
@@ -21,6 +21,9 @@
  */
 package com.influxdb.client;
 
+import com.influxdb.client.write.DefaultWriteRetryPolicy;
+import com.influxdb.client.write.WriteRetryPolicy;
+
 import io.reactivex.BackpressureOverflowStrategy;
 import io.reactivex.schedulers.Schedulers;
 import org.assertj.core.api.Assertions;
@@ -40,32 +43,157 @@ class WriteOptionsTest {
         WriteOptions writeOptions = WriteOptions.builder().build();
 
         Assertions.assertThat(writeOptions.getBatchSize()).isEqualTo(1000);
+        Assertions.assertThat(writeOptions.getMaxBatchBytes()).isEqualTo(0);
         Assertions.assertThat(writeOptions.getBufferLimit()).isEqualTo(10000);
+        Assertions.assertThat(writeOptions.getBufferLimitBytes()).isEqualTo(0);
+        Assertions.assertThat(writeOptions.getBackpressureTimeout()).isEqualTo(0);
         Assertions.assertThat(writeOptions.getFlushInterval()).isEqualTo(1000);
         Assertions.assertThat(writeOptions.getJitterInterval()).isEqualTo(0);
         Assertions.assertThat(writeOptions.getWriteScheduler()).isEqualTo(Schedulers.newThread());
         Assertions.assertThat(writeOptions.getBackpressureStrategy()).isEqualTo(BackpressureOverflowStrategy.DROP_OLDEST);
+        Assertions.assertThat(writeOptions.getMaxConcurrentRequests()).isEqualTo(1);
+        Assertions.assertThat(writeOptions.isPreserveWriteOrder()).isFalse();
+        Assertions.assertThat(writeOptions.isCoalesce()).isFalse();
+        Assertions.assertThat(writeOptions.isSerializeOnWrite()).isFalse();
+        Assertions.assertThat(writeOptions.isRetainEventPayload()).isFalse();
+        Assertions.assertThat(writeOptions.getCompressionThreads()).isEqualTo(0);
+        Assertions.assertThat(writeOptions.getSpoolDirectory()).isNull();
+        Assertions.assertThat(writeOptions.getSpoolMaxSize()).isEqualTo(1024L * 1024 * 1024);
+        Assertions.assertThat(writeOptions.getSpoolMaxAge()).isEqualTo(0);
+        Assertions.assertThat(writeOptions.isSpoolSync()).isFalse();
+        Assertions.assertThat(writeOptions.isAdaptiveBatching()).isFalse();
+        Assertions.assertThat(writeOptions.getMinBatchSize()).isEqualTo(1);
+        Assertions.assertThat(writeOptions.getMaxBatchSize()).isEqualTo(10_000);
+        Assertions.assertThat(writeOptions.getMaxFlushInterval()).isEqualTo(10_000);
+        Assertions.assertThat(writeOptions.getTargetLatency()).isEqualTo(1000);
+        Assertions.assertThat(writeOptions.getMaxRetries()).isEqualTo(Integer.MAX_VALUE);
+        Assertions.assertThat(writeOptions.getMaxRetryDelay()).isEqualTo(125_000);
+        Assertions.assertThat(writeOptions.getExponentialBase()).isEqualTo(2);
+        Assertions.assertThat(writeOptions.getMaxRetryTime()).isEqualTo(0);
+        Assertions.assertThat(writeOptions.getRetryBudget()).isEqualTo(0);
+        Assertions.assertThat(writeOptions.getRetryPolicy()).isNull();
     }
 
     @Test
     void configure() {
 
+        WriteRetryPolicy retryPolicy = new DefaultWriteRetryPolicy(WriteOptions.DEFAULTS);
+
         WriteOptions writeOptions = WriteOptions.builder()
                 .batchSize(10_000)
+                .maxBatchBytes(5_000_000)
                 .bufferLimit(500)
+                .bufferLimitBytes(1024 * 1024)
+                .backpressureTimeout(5_000)
                 .flushInterval(500)
                 .jitterInterval(1_000)
                 .retryInterval(2_000)
                 .writeScheduler(Schedulers.computation())
                 .backpressureStrategy(BackpressureOverflowStrategy.ERROR)
+                .maxConcurrentRequests(4)
+                .preserveWriteOrder(true)
+                .coalesce(true)
+                .serializeOnWrite(true)
+                .retainEventPayload(true)
+                .compressionThreads(2)
+                .spoolDirectory("/var/spool/influxdb")
+                .spoolMaxSize(1024)
+                .spoolMaxAge(60_000)
+                .spoolSync(true)
+                .adaptiveBatching(true)
+                .minBatchSize(100)
+                .maxBatchSize(50_000)
+                .maxFlushInterval(5_000)
+                .targetLatency(200)
+                .maxRetries(3)
+                .maxRetryDelay(10_000)
+                .exponentialBase(3)
+                .maxRetryTime(60_000)
+                .retryBudget(0.2)
+                .retryPolicy(retryPolicy)
                 .build();
 
         Assertions.assertThat(writeOptions.getBatchSize()).isEqualTo(10_000);
+        Assertions.assertThat(writeOptions.getMaxBatchBytes()).isEqualTo(5_000_000);
         Assertions.assertThat(writeOptions.getBufferLimit()).isEqualTo(500);
+        Assertions.assertThat(writeOptions.getBufferLimitBytes()).isEqualTo(1024 * 1024);
+        Assertions.assertThat(writeOptions.getBackpressureTimeout()).isEqualTo(5_000);
         Assertions.assertThat(writeOptions.getFlushInterval()).isEqualTo(500);
         Assertions.assertThat(writeOptions.getJitterInterval()).isEqualTo(1_000);
         Assertions.assertThat(writeOptions.getRetryInterval()).isEqualTo(2_000);
         Assertions.assertThat(writeOptions.getWriteScheduler()).isEqualTo(Schedulers.computation());
         Assertions.assertThat(writeOptions.getBackpressureStrategy()).isEqualTo(BackpressureOverflowStrategy.ERROR);
+        Assertions.assertThat(writeOptions.getMaxConcurrentRequests()).isEqualTo(4);
+        Assertions.assertThat(writeOptions.isPreserveWriteOrder()).isTrue();
+        Assertions.assertThat(writeOptions.isCoalesce()).isTrue();
+        Assertions.assertThat(writeOptions.isSerializeOnWrite()).isTrue();
+        Assertions.assertThat(writeOptions.isRetainEventPayload()).isTrue();
+        Assertions.assertThat(writeOptions.getCompressionThreads()).isEqualTo(2);
+        Assertions.assertThat(writeOptions.getSpoolDirectory()).isEqualTo("/var/spool/influxdb");
+        Assertions.assertThat(writeOptions.getSpoolMaxSize()).isEqualTo(1024);
+        Assertions.assertThat(writeOptions.getSpoolMaxAge()).isEqualTo(60_000);
+        Assertions.assertThat(writeOptions.isSpoolSync()).isTrue();
+        Assertions.assertThat(writeOptions.isAdaptiveBatching()).isTrue();
+        Assertions.assertThat(writeOptions.getMinBatchSize()).isEqualTo(100);
+        Assertions.assertThat(writeOptions.getMaxBatchSize()).isEqualTo(50_000);
+        Assertions.assertThat(writeOptions.getMaxFlushInterval()).isEqualTo(5_000);
+        Assertions.assertThat(writeOptions.getTargetLatency()).isEqualTo(200);
+        Assertions.assertThat(writeOptions.getMaxRetries()).isEqualTo(3);
+        Assertions.assertThat(writeOptions.getMaxRetryDelay()).isEqualTo(10_000);
+        Assertions.assertThat(writeOptions.getExponentialBase()).isEqualTo(3);
+        Assertions.assertThat(writeOptions.getMaxRetryTime()).isEqualTo(60_000);
+        Assertions.assertThat(writeOptions.getRetryBudget()).isEqualTo(0.2);
+        Assertions.assertThat(writeOptions.getRetryPolicy()).isSameAs(retryPolicy);
+    }
+
+    @Test
+    void maxConcurrentRequestsPositive() {
+
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().maxConcurrentRequests(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void spoolLimits() {
+
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().spoolMaxSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().spoolMaxAge(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void adaptiveBatchingBounds() {
+
+        WriteOptions writeOptions = WriteOptions.builder()
+                .batchSize(500)
+                .flushInterval(2_000)
+                .minBatchSize(1_000)
+                .maxBatchSize(100)
+                .maxFlushInterval(1_000)
+                .build();
+
+        // the bounds contain the configured values
+        Assertions.assertThat(writeOptions.getMinBatchSize()).isEqualTo(500);
+        Assertions.assertThat(writeOptions.getMaxBatchSize()).isEqualTo(500);
+        Assertions.assertThat(writeOptions.getMaxFlushInterval()).isEqualTo(2_000);
+
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().minBatchSize(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().targetLatency(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void retryLimits() {
+
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().maxRetries(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().maxRetryDelay(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().exponentialBase(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> WriteOptions.builder().retryBudget(-0.1))
+                .isInstanceOf(IllegalArgumentException.class);
     }
-}
\ No newline at end of file
+}
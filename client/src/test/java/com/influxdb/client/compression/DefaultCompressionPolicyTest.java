@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import java.util.zip.Deflater;
+
+import com.influxdb.client.compression.CompressionPolicy.RequestType;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class DefaultCompressionPolicyTest {
+
+    @Test
+    void defaults() {
+
+        DefaultCompressionPolicy policy = DefaultCompressionPolicy.DEFAULTS;
+
+        Assertions.assertThat(policy.getMinSize()).isEqualTo(0);
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, 10)).isInstanceOf(GzipCodec.class);
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, -1)).isInstanceOf(GzipCodec.class);
+        Assertions.assertThat(policy.getRequestCodec(RequestType.QUERY, 10)).isNull();
+        Assertions.assertThat(policy.getRequestCodec(RequestType.OTHER, 10)).isNull();
+        Assertions.assertThat(policy.getResponseCodec(RequestType.QUERY)).isInstanceOf(GzipCodec.class);
+        Assertions.assertThat(policy.getResponseCodec(RequestType.WRITE)).isNull();
+        Assertions.assertThat(policy.getResponseCodec(RequestType.OTHER)).isNull();
+    }
+
+    @Test
+    void minSize() {
+
+        DefaultCompressionPolicy policy = DefaultCompressionPolicy.builder().minSize(1024).build();
+
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, 50)).isNull();
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, 1024)).isNotNull();
+        // unknown size
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, -1)).isNotNull();
+    }
+
+    @Test
+    void codecBySize() {
+
+        GzipCodec fastest = new GzipCodec(Deflater.BEST_SPEED);
+        GzipCodec best = new GzipCodec(Deflater.BEST_COMPRESSION);
+
+        DefaultCompressionPolicy policy = DefaultCompressionPolicy.builder()
+                .codec(best)
+                .codec(1024 * 1024, fastest)
+                .build();
+
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, 1024)).isSameAs(best);
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, -1)).isSameAs(best);
+        Assertions.assertThat(policy.getRequestCodec(RequestType.WRITE, 1024 * 1024)).isSameAs(fastest);
+        Assertions.assertThat(policy.getResponseCodec(RequestType.QUERY)).isSameAs(best);
+    }
+
+    @Test
+    void requestTypes() {
+
+        DefaultCompressionPolicy policy = DefaultCompressionPolicy.builder()
+                .requests(RequestType.WRITE, RequestType.OTHER)
+                .responses()
+                .build();
+
+        Assertions.assertThat(policy.getRequestCodec(RequestType.OTHER, 10)).isNotNull();
+        Assertions.assertThat(policy.getResponseCodec(RequestType.QUERY)).isNull();
+    }
+}
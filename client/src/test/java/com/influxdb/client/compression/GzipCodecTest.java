@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class GzipCodecTest {
+
+    @Test
+    void compressIsGzip() throws IOException {
+
+        String content = content(10_000);
+
+        Buffer compressed = compress(new GzipCodec(), content);
+
+        GZIPInputStream stream = new GZIPInputStream(new ByteArrayInputStream(compressed.readByteArray()));
+        Assertions.assertThat(Okio.buffer(Okio.source(stream)).readUtf8()).isEqualTo(content);
+    }
+
+    @Test
+    void decompressGzip() throws IOException {
+
+        String content = content(10_000);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream stream = new GZIPOutputStream(compressed)) {
+            stream.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Buffer source = new Buffer().write(compressed.toByteArray());
+
+        Assertions.assertThat(decompress(new GzipCodec(), source)).isEqualTo(content);
+    }
+
+    @Test
+    void roundTripByPooledStreams() throws IOException {
+
+        GzipCodec codec = new GzipCodec(Deflater.BEST_SPEED, 1);
+
+        for (int i = 1; i <= 5; i++) {
+
+            String content = content(i * 3_000);
+
+            Assertions.assertThat(decompress(codec, compress(codec, content))).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void emptyContent() throws IOException {
+
+        GzipCodec codec = new GzipCodec();
+
+        Buffer compressed = compress(codec, "");
+
+        Assertions.assertThat(compressed.size()).isEqualTo(20);
+        Assertions.assertThat(decompress(codec, compressed)).isEmpty();
+    }
+
+    @Test
+    void level() throws IOException {
+
+        String content = content(10_000);
+
+        for (int level : new int[]{Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION, Deflater.BEST_COMPRESSION}) {
+
+            GzipCodec codec = new GzipCodec(level);
+            Assertions.assertThat(codec.getLevel()).isEqualTo(level);
+
+            // header + deflate stream + trailer
+            Assertions.assertThat(compress(codec, content).size()).isEqualTo(10 + deflate(level, content) + 8);
+        }
+
+        Assertions.assertThatThrownBy(() -> new GzipCodec(10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a compression level from 1 to 9 or -1 for level");
+    }
+
+    @Test
+    void corruptedContent() throws IOException {
+
+        GzipCodec codec = new GzipCodec();
+
+        byte[] compressed = compress(codec, content(1_000)).readByteArray();
+        // CRC32
+        compressed[compressed.length - 8] ^= 0xff;
+
+        Assertions.assertThatThrownBy(() -> decompress(codec, new Buffer().write(compressed)))
+                .isInstanceOf(IOException.class)
+                .hasMessage("The CRC32 of the gzip content doesn't match.");
+
+        Assertions.assertThatThrownBy(() -> decompress(codec, new Buffer().writeUtf8("not gzip content")))
+                .isInstanceOf(IOException.class)
+                .hasMessage("The content is not in the gzip format.");
+    }
+
+    private Buffer compress(final GzipCodec codec, final String content) throws IOException {
+
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(codec.compress(compressed))) {
+            sink.writeUtf8(content);
+        }
+
+        return compressed;
+    }
+
+    private String decompress(final GzipCodec codec, final Buffer compressed) throws IOException {
+
+        try (BufferedSource source = Okio.buffer(codec.decompress(compressed))) {
+            return source.readUtf8();
+        }
+    }
+
+    private int deflate(final int level, final String content) {
+
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        byte[] output = new byte[input.length];
+
+        Deflater deflater = new Deflater(level, true);
+        deflater.setInput(input);
+        deflater.finish();
+        try {
+            return deflater.deflate(output);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private String content(final int lines) {
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("h2o,location=coyote_creek water_level=").append(i).append("i ").append(i).append('\n');
+        }
+
+        return content.toString();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.client.WriteOptions;
+
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class AdaptiveBatchingTest {
+
+    private final WriteOptions writeOptions = WriteOptions.builder()
+            .batchSize(100)
+            .minBatchSize(10)
+            .maxBatchSize(150)
+            .flushInterval(1_000)
+            .maxFlushInterval(3_000)
+            .targetLatency(500)
+            .build();
+
+    @Test
+    void initialValues() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(100);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(1_000);
+    }
+
+    @Test
+    void additiveIncrease() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+
+        batching.onSuccess(100);
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(110);
+
+        for (int i = 0; i < 10; i++) {
+            batching.onSuccess(100);
+        }
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(150);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(1_000);
+    }
+
+    @Test
+    void multiplicativeDecreaseOnOverload() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+
+        batching.onOverload();
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(50);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(2_000);
+
+        batching.onOverload();
+        batching.onOverload();
+        batching.onOverload();
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(10);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(3_000);
+
+        // recovery
+        batching.onSuccess(100);
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(20);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(2_900);
+    }
+
+    @Test
+    void decreaseOnLatency() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+
+        batching.onSuccess(100);
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(110);
+
+        // smoothed latency: 100 * 0.8 + 3_000 * 0.2 = 680 ms
+        batching.onSuccess(3_000);
+        Assertions.assertThat(batching.getBatchSize()).isEqualTo(55);
+        Assertions.assertThat(batching.getFlushInterval()).isEqualTo(2_000);
+    }
+
+    @Test
+    void boundaryByCount() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> items = PublishProcessor.create();
+
+        TestSubscriber<Object> boundary = batching.boundary(items, scheduler).test();
+
+        batching.onOverload();
+        batching.onOverload();
+        batching.onOverload();
+        batching.onOverload();
+
+        for (int i = 0; i < 25; i++) {
+            items.onNext(i);
+        }
+
+        // the current batch size is 10
+        boundary.assertValueCount(2);
+
+        items.onComplete();
+        boundary.assertComplete();
+    }
+
+    @Test
+    void boundaryByInterval() {
+
+        AdaptiveBatching batching = new AdaptiveBatching(writeOptions);
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> items = PublishProcessor.create();
+
+        TestSubscriber<Object> boundary = batching.boundary(items, scheduler).test();
+
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(1);
+
+        // the next interval is used from the next boundary
+        batching.onOverload();
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(2);
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(2);
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(3);
+
+        // the count restarts the interval
+        scheduler.advanceTimeBy(1_500, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 50; i++) {
+            items.onNext(i);
+        }
+        boundary.assertValueCount(4);
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(4);
+        scheduler.advanceTimeBy(1_000, TimeUnit.MILLISECONDS);
+        boundary.assertValueCount(5);
+
+        boundary.dispose();
+    }
+}
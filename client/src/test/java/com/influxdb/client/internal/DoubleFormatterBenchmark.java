@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the shortest double formatting with the {@link java.text.NumberFormat}.
+ * <p>
+ * Run by: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.influxdb.client.internal.DoubleFormatterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleFormatterBenchmark {
+
+    @Param({"sensor", "random"})
+    public String values;
+
+    private final StringBuilder sink = new StringBuilder();
+    private double[] data;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        data = new double[1024];
+        for (int i = 0; i < data.length; i++) {
+            // sensor: 3 fraction digits, random: full precision
+            data[i] = "sensor".equals(values)
+                    ? Math.round(random.nextDouble() * 100_000) / 1_000.0
+                    : random.nextGaussian() * 1_000;
+        }
+    }
+
+    @Benchmark
+    public int numberFormat() throws IOException {
+        sink.setLength(0);
+        LineProtocolEscaper.appendDouble(sink, next(), true);
+        return sink.length();
+    }
+
+    @Benchmark
+    public int shortest() throws IOException {
+        sink.setLength(0);
+        LineProtocolEscaper.appendDouble(sink, next(), false);
+        return sink.length();
+    }
+
+    private double next() {
+        index = (index + 1) & (data.length - 1);
+        return data[index];
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DoubleFormatterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
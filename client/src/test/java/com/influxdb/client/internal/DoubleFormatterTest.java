@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointBatch;
+import com.influxdb.client.write.PointSettings;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class DoubleFormatterTest {
+
+    @Test
+    void plainNotation() throws IOException {
+
+        Assertions.assertThat(format(0.0)).isEqualTo("0.0");
+        Assertions.assertThat(format(-0.0)).isEqualTo("-0.0");
+        Assertions.assertThat(format(20.0)).isEqualTo("20.0");
+        Assertions.assertThat(format(22.5)).isEqualTo("22.5");
+        Assertions.assertThat(format(2.927)).isEqualTo("2.927");
+        Assertions.assertThat(format(-250.69)).isEqualTo("-250.69");
+        Assertions.assertThat(format(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+        Assertions.assertThat(format(1e-5)).isEqualTo("0.00001");
+        Assertions.assertThat(format(1e20)).isEqualTo("100000000000000000000.0");
+        Assertions.assertThat(format(1.1F)).isEqualTo("1.100000023841858");
+        Assertions.assertThat(format(Double.MIN_VALUE)).isEqualTo("0." + zeros(323) + "49");
+        Assertions.assertThat(format(Double.MAX_VALUE)).isEqualTo("17976931348623157" + zeros(292) + ".0");
+    }
+
+    @Test
+    void shortest() throws IOException {
+
+        // NumberFormat: 99999999999999990000000.0
+        Assertions.assertThat(format(1.0E23)).isEqualTo("1" + zeros(23) + ".0");
+        // NumberFormat: 282879384806159008.0
+        Assertions.assertThat(format(2.82879384806159E17)).isEqualTo("282879384806159000.0");
+    }
+
+    @Test
+    void sameAsNumberFormat() throws IOException {
+
+        NumberFormat numberFormat = NumberFormat.getInstance(Locale.ENGLISH);
+        numberFormat.setMaximumFractionDigits(340);
+        numberFormat.setGroupingUsed(false);
+        numberFormat.setMinimumFractionDigits(1);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+
+            double[] values = {
+                    Math.round(random.nextDouble() * 1_000_000) / 1_000.0,
+                    random.nextFloat(),
+                    random.nextInt(),
+                    random.nextGaussian()};
+
+            for (double value : values) {
+                Assertions.assertThat(format(value)).isEqualTo(numberFormat.format(value));
+            }
+        }
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+
+            double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isFinite(value)) {
+                continue;
+            }
+
+            String formatted = format(value);
+
+            Assertions.assertThat(Double.parseDouble(formatted)).isEqualTo(value);
+            Assertions.assertThat(new BigDecimal(formatted).stripTrailingZeros().precision()).isLessThanOrEqualTo(17);
+            Assertions.assertThat(formatted).doesNotContain("E").contains(".").doesNotEndWith(".");
+        }
+    }
+
+    @Test
+    void notFinite() {
+
+        Assertions.assertThatThrownBy(() -> format(Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The value has to be finite: NaN");
+    }
+
+    @Test
+    void compatible() {
+
+        PointSettings settings = new PointSettings();
+        Assertions.assertThat(settings.isCompatibleDoubleFormat()).isFalse();
+
+        Point point = Point.measurement("h2o").addField("level", 1.0E23);
+
+        Assertions.assertThat(point.toLineProtocol(settings)).isEqualTo("h2o level=1" + zeros(23) + ".0");
+        Assertions.assertThat(point.toLineProtocol(settings.compatibleDoubleFormat(true)))
+                .isEqualTo("h2o level=99999999999999990000000.0");
+
+        PointBatch batch = PointBatch.builder("h2o").doubleField("level").build();
+        batch.addRow().field(0, 1.0E23);
+
+        Assertions.assertThat(batch.toLineProtocol(settings)).isEqualTo("h2o level=99999999999999990000000.0");
+        Assertions.assertThat(batch.toLineProtocol(settings.compatibleDoubleFormat(false)))
+                .isEqualTo("h2o level=1" + zeros(23) + ".0");
+    }
+
+    private String format(final double value) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        DoubleFormatter.format(sb, value);
+        return sb.toString();
+    }
+
+    private String zeros(final int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append('0');
+        }
+        return sb.toString();
+    }
+}
@@ -22,16 +22,29 @@
 package com.influxdb.client.internal;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
 
+import com.influxdb.client.compression.CompressionCodec;
+import com.influxdb.client.compression.DefaultCompressionPolicy;
+import com.influxdb.client.compression.GzipCodec;
 import com.influxdb.test.AbstractMockServerTest;
 
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
+import okhttp3.Response;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import okio.Sink;
+import okio.Source;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -96,8 +109,138 @@ class GzipInterceptorTest extends AbstractMockServerTest {
         Assertions.assertThat(recordedRequest.getHeader("Accept-Encoding")).isEqualTo("gzip");
     }
 
+    @Test
+    void policy() throws IOException, InterruptedException {
+
+        interceptor = new GzipInterceptor(DefaultCompressionPolicy.builder().minSize(1024).build());
+
+        Assertions.assertThat(interceptor.isEnabledGzip()).isTrue();
+
+        // small body
+        RecordedRequest recordedRequest = newCall("/api/v2/write");
+        Assertions.assertThat(recordedRequest.getHeader("Content-Encoding")).isNull();
+        Assertions.assertThat(recordedRequest.getBody().readUtf8()).isEqualTo("{name: \"Tom Type\"}");
+
+        // large body
+        recordedRequest = newCall("/api/v2/write", largeBody());
+        Assertions.assertThat(recordedRequest.getHeader("Content-Encoding")).isEqualTo("gzip");
+        Assertions.assertThat(recordedRequest.getBodySize()).isLessThan(largeBody().length());
+        Assertions.assertThat(ungzip(recordedRequest.getBody())).isEqualTo(largeBody());
+    }
+
+    @Test
+    void decompressResponse() throws IOException, InterruptedException {
+
+        interceptor.enableGzip();
+
+        Buffer compressed = new Buffer();
+        try (BufferedSink sink = Okio.buffer(new GzipSink(compressed))) {
+            sink.writeUtf8("#datatype,string,long\n,result,table");
+        }
+        mockServer.enqueue(new MockResponse().setBody(compressed).setHeader("Content-Encoding", "gzip"));
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .build();
+
+        Request request = new Request.Builder()
+                .url(url + "/api/v2/query")
+                .post(RequestBody.create(MediaType.parse("application/json"), "{query: \"from()\"}"))
+                .build();
+
+        try (Response response = okHttpClient.newCall(request).execute()) {
+            Assertions.assertThat(response.header("Content-Encoding")).isNull();
+            Assertions.assertThat(response.body().string()).isEqualTo("#datatype,string,long\n,result,table");
+        }
+
+        Assertions.assertThat(mockServer.takeRequest().getHeader("Accept-Encoding")).isEqualTo("gzip");
+    }
+
+    @Test
+    void compressFailedBody() {
+
+        AtomicBoolean closed = new AtomicBoolean();
+        GzipCodec gzip = new GzipCodec();
+        CompressionCodec codec = new CompressionCodec() {
+            @Nonnull
+            @Override
+            public String getEncoding() {
+                return gzip.getEncoding();
+            }
+
+            @Nonnull
+            @Override
+            public Sink compress(@Nonnull final Sink sink) {
+                return new ForwardingSink(gzip.compress(sink)) {
+                    @Override
+                    public void close() throws IOException {
+                        closed.set(true);
+                        super.close();
+                    }
+                };
+            }
+
+            @Nonnull
+            @Override
+            public Source decompress(@Nonnull final Source source) {
+                return gzip.decompress(source);
+            }
+        };
+        interceptor = new GzipInterceptor(DefaultCompressionPolicy.builder().codec(codec).build());
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .retryOnConnectionFailure(false)
+                .build();
+
+        Request request = new Request.Builder()
+                .url(url + "/api/v2/write")
+                .post(new RequestBody() {
+                    @Override
+                    public MediaType contentType() {
+                        return MediaType.parse("text/plain");
+                    }
+
+                    @Override
+                    public void writeTo(@Nonnull final BufferedSink sink) throws IOException {
+                        sink.writeUtf8("h2o level=1i");
+                        throw new IOException("The body is not available");
+                    }
+                })
+                .build();
+
+        Assertions.assertThatThrownBy(() -> okHttpClient.newCall(request).execute())
+                .isInstanceOf(IOException.class)
+                .hasMessage("The body is not available");
+
+        // the compressor is returned into the pool
+        Assertions.assertThat(closed).isTrue();
+    }
+
     @Nonnull
     private RecordedRequest newCall(@Nonnull final String path) throws IOException, InterruptedException {
+        return newCall(path, "{name: \"Tom Type\"}");
+    }
+
+    @Nonnull
+    private String largeBody() {
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            body.append("h2o,location=coyote_creek water_level=").append(i).append("i\n");
+        }
+
+        return body.toString();
+    }
+
+    @Nonnull
+    private String ungzip(@Nonnull final Buffer body) throws IOException {
+        return Okio.buffer(new GzipSource(body)).readUtf8();
+    }
+
+    @Nonnull
+    private RecordedRequest newCall(@Nonnull final String path, @Nonnull final String body)
+            throws IOException, InterruptedException {
 
         mockServer.enqueue(new MockResponse());
 
@@ -108,7 +251,7 @@ class GzipInterceptorTest extends AbstractMockServerTest {
         Request request = new Request.Builder()
                 .url(url + path)
                 .addHeader("accept", "application/json")
-                .post(RequestBody.create(MediaType.parse("application/json"), "{name: \"Tom Type\"}"))
+                .post(RequestBody.create(MediaType.parse("application/json"), body))
                 .build();
 
         okHttpClient.newCall(request).execute();
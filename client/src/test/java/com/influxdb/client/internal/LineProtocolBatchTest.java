@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import javax.annotation.Nonnull;
+
+import com.influxdb.client.InfluxDBClientOptions;
+import com.influxdb.client.write.Point;
+
+import okio.Buffer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class LineProtocolBatchTest {
+
+    @Test
+    void joinRecords() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+
+        Assertions.assertThat(batch.append("h2o,location=europe level=1i")).isTrue();
+        Assertions.assertThat(batch.append("")).isFalse();
+        Assertions.assertThat(batch.append((String) null)).isFalse();
+        Assertions.assertThat(batch.append("h2o,location=europe level=2i")).isTrue();
+
+        Assertions.assertThat(batch.count()).isEqualTo(2);
+        Assertions.assertThat(batch.toLineProtocol())
+                .isEqualTo("h2o,location=europe level=1i\nh2o,location=europe level=2i");
+    }
+
+    @Test
+    void requestBodyIsRepeatable() throws IOException {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        batch.append("h2o,location=česko level=1i");
+
+        Buffer first = new Buffer();
+        batch.toRequestBody().writeTo(first);
+        Buffer second = new Buffer();
+        batch.toRequestBody().writeTo(second);
+
+        Assertions.assertThat(batch.toRequestBody().contentLength()).isEqualTo(batch.size());
+        Assertions.assertThat(first.readUtf8()).isEqualTo("h2o,location=česko level=1i");
+        Assertions.assertThat(second.readUtf8()).isEqualTo("h2o,location=česko level=1i");
+    }
+
+    @Test
+    void release() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        batch.append("h2o level=1i");
+        batch.release();
+
+        Assertions.assertThat(batch.isEmpty()).isTrue();
+        Assertions.assertThat(batch.size()).isEqualTo(0);
+    }
+
+    @Test
+    void split() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        batch.append("h2o,location=česko level=1i");
+        batch.append("h2o level=2i");
+        batch.append("h2o level=3i");
+        batch.append("h2o level=4i");
+
+        LineProtocolBatch[] halves = batch.split();
+
+        Assertions.assertThat(halves).hasSize(2);
+        Assertions.assertThat(halves[0].toLineProtocol()).isEqualTo("h2o,location=česko level=1i\nh2o level=2i");
+        Assertions.assertThat(halves[0].count()).isEqualTo(2);
+        Assertions.assertThat(halves[1].toLineProtocol()).isEqualTo("h2o level=3i\nh2o level=4i");
+        Assertions.assertThat(halves[1].count()).isEqualTo(2);
+
+        // not consumed
+        Assertions.assertThat(batch.count()).isEqualTo(4);
+        Assertions.assertThat(batch.size()).isEqualTo(halves[0].size() + halves[1].size() + 1);
+    }
+
+    @Test
+    void splitLongFirstRecord() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        batch.append("h2o,location=europe,sensor=first-sensor-with-long-name level=1i");
+        batch.append("h2o level=2i");
+
+        LineProtocolBatch[] halves = batch.split();
+
+        Assertions.assertThat(halves[0].toLineProtocol())
+                .isEqualTo("h2o,location=europe,sensor=first-sensor-with-long-name level=1i");
+        Assertions.assertThat(halves[0].count()).isEqualTo(1);
+        Assertions.assertThat(halves[1].toLineProtocol()).isEqualTo("h2o level=2i");
+        Assertions.assertThat(halves[1].count()).isEqualTo(1);
+    }
+
+    @Test
+    void splitOneRecord() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+        batch.append("h2o level=1i");
+
+        Assertions.assertThat(batch.split()).isNull();
+    }
+
+    @Test
+    void appendPoints() {
+
+        InfluxDBClientOptions options = InfluxDBClientOptions.builder()
+                .url("http://localhost:9999")
+                .authenticateToken("my-token".toCharArray())
+                .build();
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+
+        Point empty = Point.measurement("h2o").addTag("location", "europe");
+        Point emoji = Point.measurement("h2o").addTag("location", "europe").addField("level", "\uD83D\uDE00 ok");
+        Point level = Point.measurement("h2o").addTag("location", "europe").addField("level", 2);
+
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataPoint(empty, options))).isFalse();
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataPoint(emoji, options))).isTrue();
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataPoint(empty, options))).isFalse();
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataPoint(level, options))).isTrue();
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataRecord("h2o level=3i"))).isTrue();
+
+        Assertions.assertThat(batch.count()).isEqualTo(3);
+        Assertions.assertThat(batch.toLineProtocol()).isEqualTo("h2o,location=europe level=\"\uD83D\uDE00 ok\"\n"
+                + "h2o,location=europe level=2i\n"
+                + "h2o level=3i");
+    }
+
+    @Test
+    void appendFailedRecord() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+
+        AbstractWriteClient.BatchWriteData failing = new AbstractWriteClient.BatchWriteData() {
+            @Override
+            public String toLineProtocol() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+                // the partially encoded record with the dangling high surrogate
+                sink.append("h2o,location=europe level=\"\uD83D");
+                throw new IllegalStateException("the field is not serializable");
+            }
+        };
+
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataRecord("h2o level=1i"))).isTrue();
+        Assertions.assertThatThrownBy(() -> batch.append(failing))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("the field is not serializable");
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataRecord("h2o level=2i"))).isTrue();
+
+        Assertions.assertThat(batch.count()).isEqualTo(2);
+        Assertions.assertThat(batch.toLineProtocol()).isEqualTo("h2o level=1i\nh2o level=2i");
+        Assertions.assertThat(batch.size()).isEqualTo("h2o level=1i\nh2o level=2i".length());
+    }
+
+    @Test
+    void appendFailedFirstRecord() {
+
+        LineProtocolBatch batch = new LineProtocolBatch();
+
+        AbstractWriteClient.BatchWriteData failing = new AbstractWriteClient.BatchWriteData() {
+            @Override
+            public String toLineProtocol() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean appendLineProtocol(@Nonnull final Appendable sink) throws IOException {
+                sink.append("h2o level=");
+                throw new IOException("broken");
+            }
+        };
+
+        Assertions.assertThatThrownBy(() -> batch.append(failing)).hasCauseInstanceOf(IOException.class);
+        Assertions.assertThat(batch.append(new AbstractWriteClient.BatchWriteDataRecord("h2o level=1i"))).isTrue();
+
+        Assertions.assertThat(batch.count()).isEqualTo(1);
+        Assertions.assertThat(batch.toLineProtocol()).isEqualTo("h2o level=1i");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class LineProtocolEscaperTest {
+
+    @Test
+    void escapeKey() throws IOException {
+
+        StringWriter sink = new StringWriter();
+        LineProtocolEscaper.escapeKey(sink, "my tag,key=value");
+
+        Assertions.assertThat(sink.toString()).isEqualTo("my\\ tag\\,key\\=value");
+        Assertions.assertThat(LineProtocolEscaper.escapeKey("location")).isEqualTo("location");
+    }
+
+    @Test
+    void escapeValue() throws IOException {
+
+        StringWriter sink = new StringWriter();
+        LineProtocolEscaper.escapeValue(sink, "a \"quoted\" \\ value");
+
+        Assertions.assertThat(sink.toString()).isEqualTo("a \\\"quoted\\\" \\\\ value");
+    }
+
+    @Test
+    void appendLong() throws IOException {
+
+        long[] values = {0, 1, 9, 10, 99, 100, 1_234_567_890, -1, -10, -987_654_321_012L,
+                999_999_999_999_999_999L, 1_000_000_000_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        for (long value : values) {
+
+            // not the StringBuilder => the digits are written one by one
+            StringWriter sink = new StringWriter();
+            LineProtocolEscaper.appendLong(sink, value);
+
+            StringBuilder builder = new StringBuilder();
+            LineProtocolEscaper.appendLong(builder, value);
+
+            Assertions.assertThat(sink.toString()).isEqualTo(Long.toString(value));
+            Assertions.assertThat(builder.toString()).isEqualTo(Long.toString(value));
+        }
+    }
+
+    @Test
+    void appendLongRandom() throws IOException {
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+
+            long value = random.nextLong() >> random.nextInt(64);
+
+            StringWriter sink = new StringWriter();
+            LineProtocolEscaper.appendLong(sink, value);
+
+            Assertions.assertThat(sink.toString()).isEqualTo(Long.toString(value));
+        }
+    }
+}
@@ -21,12 +21,17 @@
  */
 package com.influxdb.client.internal;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.Instant;
 
 import com.influxdb.annotations.Column;
 import com.influxdb.annotations.Measurement;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.influxdb.client.write.PointSettings;
+import com.influxdb.exceptions.InfluxException;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -92,6 +97,188 @@ class MeasurementMapperTest {
         Assertions.assertThat(point.toLineProtocol()).isEqualTo("pojo,tag=value value=\"to-string\"");
     }
 
+    @Test
+    void appendLineProtocol() throws IOException {
+
+        Pojo pojo = new Pojo();
+        pojo.tag = "tag val";
+        pojo.value = 15;
+        pojo.valueWithoutDefaultName = 20;
+        pojo.valueWithEmptyName = 25.5;
+        pojo.timestamp = Instant.parse("1970-01-01T00:00:10.999999999Z");
+
+        StringBuilder sb = new StringBuilder();
+        Assertions.assertThat(mapper.appendLineProtocol(pojo, WritePrecision.MS, null, sb)).isTrue();
+
+        Assertions.assertThat(sb.toString())
+                .isEqualTo("pojo,tag=tag\\ val value=\"15\",valueWithEmptyName=25.5,valueWithoutDefaultName=20i 10999")
+                .isEqualTo(mapper.toPoint(pojo, WritePrecision.MS).toLineProtocol());
+    }
+
+    @Test
+    void appendLineProtocolTypes() throws IOException {
+
+        Types types = new Types();
+        types.primitiveDouble = 1.5;
+        types.primitiveLong = 2;
+        types.primitiveInt = 3;
+        types.primitiveBoolean = true;
+        types.primitiveFloat = 4.5F;
+        types.boxedBoolean = false;
+        types.bigDecimal = new BigDecimal("6.25");
+        types.bigInteger = BigInteger.valueOf(7);
+        types.string = "say \"hi\"";
+
+        String expected = "types,tag\\ key=tag\\=value bigDecimal=6.25,bigInteger=7i,boxedBoolean=false,"
+                + "field\\ key=\"4.5\",primitiveBoolean=true,primitiveDouble=1.5,primitiveInt=3i,primitiveLong=2i,"
+                + "string=\"say \\\"hi\\\"\"";
+
+        types.tag = "tag=value";
+
+        StringBuilder sb = new StringBuilder();
+        mapper.appendLineProtocol(types, WritePrecision.NS, null, sb);
+
+        Assertions.assertThat(sb.toString())
+                .isEqualTo(expected)
+                .isEqualTo(mapper.toPoint(types, WritePrecision.NS).toLineProtocol());
+    }
+
+    @Test
+    void appendLineProtocolDefaultTags() throws IOException {
+
+        PointSettings settings = new PointSettings()
+                .addDefaultTag("a", "default-a")
+                .addDefaultTag("tag", "default-tag")
+                .addDefaultTag("z", "default-z");
+
+        Pojo pojo = new Pojo();
+        pojo.value = 15;
+
+        StringBuilder sb = new StringBuilder();
+        mapper.appendLineProtocol(pojo, WritePrecision.NS, settings, sb);
+        Assertions.assertThat(sb.toString())
+                .isEqualTo("pojo,a=default-a,tag=default-tag,z=default-z value=\"15\"")
+                .isEqualTo(mapper.toPoint(pojo, WritePrecision.NS).toLineProtocol(settings));
+
+        pojo.tag = "value";
+
+        sb.setLength(0);
+        mapper.appendLineProtocol(pojo, WritePrecision.NS, settings, sb);
+        Assertions.assertThat(sb.toString()).isEqualTo("pojo,a=default-a,tag=value,z=default-z value=\"15\"");
+
+        settings.addDefaultTag("b", "default-b");
+
+        sb.setLength(0);
+        mapper.appendLineProtocol(pojo, WritePrecision.NS, settings, sb);
+        Assertions.assertThat(sb.toString())
+                .isEqualTo("pojo,a=default-a,b=default-b,tag=value,z=default-z value=\"15\"");
+    }
+
+    @Test
+    void appendLineProtocolWithoutFields() throws IOException {
+
+        Types types = new Types();
+        types.primitiveFloat = 1;
+        types.primitiveDouble = Double.NaN;
+
+        Pojo pojo = new Pojo();
+        pojo.tag = "value";
+        pojo.valueWithEmptyName = Double.POSITIVE_INFINITY;
+
+        StringBuilder sb = new StringBuilder();
+        Assertions.assertThat(mapper.appendLineProtocol(pojo, WritePrecision.NS, null, sb)).isFalse();
+        Assertions.assertThat(sb.toString()).isEmpty();
+
+        Assertions.assertThat(mapper.appendLineProtocol(types, WritePrecision.NS, null, sb)).isTrue();
+        Assertions.assertThat(sb.toString()).doesNotContain("primitiveDouble");
+    }
+
+    @Test
+    void notMeasurement() {
+
+        Assertions.assertThatThrownBy(() -> mapper.appendLineProtocol(new Object(), WritePrecision.NS, null, new StringBuilder()))
+                .isInstanceOf(InfluxException.class)
+                .hasMessage("Measurement type 'class java.lang.Object' does not have a @Measurement annotation.");
+    }
+
+    @Test
+    void appendLineProtocolTimestampNotInstant() throws IOException {
+
+        ObjectTimestamp measurement = new ObjectTimestamp();
+        measurement.value = 1;
+        measurement.time = Instant.parse("1970-01-01T00:00:10Z");
+
+        // serialized by the Point
+        StringBuilder sb = new StringBuilder();
+        Assertions.assertThat(mapper.appendLineProtocol(measurement, WritePrecision.S, null, sb)).isTrue();
+        Assertions.assertThat(sb.toString()).isEqualTo("object value=1i 10");
+
+        measurement.time = 10L;
+
+        sb.setLength(0);
+        Assertions.assertThatThrownBy(() -> mapper.appendLineProtocol(measurement, WritePrecision.S, null, sb))
+                .isInstanceOf(ClassCastException.class);
+        Assertions.assertThat(sb.toString()).isEmpty();
+    }
+
+    @Test
+    void appendLineProtocolTimestampOverflow() {
+
+        Pojo pojo = new Pojo();
+        pojo.tag = "value";
+        pojo.value = 15;
+        pojo.timestamp = Instant.parse("3000-01-01T00:00:00Z");
+
+        StringBuilder sb = new StringBuilder();
+        Assertions.assertThatThrownBy(() -> mapper.appendLineProtocol(pojo, WritePrecision.NS, null, sb))
+                .isInstanceOf(ArithmeticException.class);
+        Assertions.assertThat(sb.toString()).isEmpty();
+    }
+
+    @Measurement(name = "object")
+    private static class ObjectTimestamp {
+
+        @Column
+        private long value;
+
+        @Column(timestamp = true)
+        private Object time;
+    }
+
+    @Measurement(name = "types")
+    private static class Types {
+
+        @Column(name = "tag key", tag = true)
+        private String tag;
+
+        @Column
+        private double primitiveDouble;
+
+        @Column
+        private long primitiveLong;
+
+        @Column
+        private int primitiveInt;
+
+        @Column
+        private boolean primitiveBoolean;
+
+        @Column(name = "field key")
+        private float primitiveFloat;
+
+        @Column
+        private Boolean boxedBoolean;
+
+        @Column
+        private BigDecimal bigDecimal;
+
+        @Column
+        private BigInteger bigInteger;
+
+        @Column
+        private String string;
+    }
+
     @Measurement(name = "pojo")
     private static class Pojo {
 
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.influxdb.client.InfluxDBClientOptions;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+import com.influxdb.client.service.WriteService;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import retrofit2.Retrofit;
+
+@RunWith(JUnitPlatform.class)
+class SharedWriteApisTest {
+
+    private final InfluxDBClientOptions options = InfluxDBClientOptions.builder()
+            .url("http://localhost:9999")
+            .authenticateToken("my-token".toCharArray())
+            .build();
+
+    private final WriteService service = new Retrofit.Builder()
+            .baseUrl("http://localhost:9999")
+            .build()
+            .create(WriteService.class);
+
+    private final List<Scheduler> schedulers = new ArrayList<>();
+
+    private final SharedWriteApis sharedWriteApis = new SharedWriteApis((writeOptions, writeScheduler) -> {
+        schedulers.add(writeScheduler);
+        return new WriteApiImpl(writeOptions, service, options,
+                new GzipInterceptor(), writeScheduler);
+    });
+
+    @Test
+    void pipelinePerOptions() {
+
+        WriteOptions writeOptions = WriteOptions.builder().build();
+
+        WriteApi handle1 = sharedWriteApis.handle(writeOptions);
+        WriteApi handle2 = sharedWriteApis.handle(writeOptions);
+        WriteApi handle3 = sharedWriteApis.handle(WriteOptions.DEFAULTS);
+
+        Assertions.assertThat(handle1).isNotSameAs(handle2);
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(2);
+
+        handle1.close();
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(2);
+
+        handle2.close();
+        handle2.close();
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(1);
+
+        handle3.close();
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(0);
+
+        // new pipeline
+        sharedWriteApis.handle(writeOptions);
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sharedScheduler() {
+
+        Scheduler custom = Schedulers.single();
+
+        sharedWriteApis.handle(WriteOptions.DEFAULTS);
+        sharedWriteApis.handle(WriteOptions.builder().build());
+        sharedWriteApis.handle(WriteOptions.builder().writeScheduler(custom).build());
+
+        Assertions.assertThat(schedulers).hasSize(3);
+        Assertions.assertThat(schedulers.get(0)).isNotEqualTo(Schedulers.newThread());
+        Assertions.assertThat(schedulers.get(1)).isSameAs(schedulers.get(0));
+        Assertions.assertThat(schedulers.get(2)).isSameAs(custom);
+    }
+
+    @Test
+    void close() {
+
+        sharedWriteApis.handle(WriteOptions.DEFAULTS);
+        sharedWriteApis.close();
+
+        Assertions.assertThat(sharedWriteApis.size()).isEqualTo(0);
+        Assertions.assertThatThrownBy(() -> sharedWriteApis.handle(WriteOptions.DEFAULTS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
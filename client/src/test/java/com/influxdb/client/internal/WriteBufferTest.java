@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.exceptions.InfluxException;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteBufferTest {
+
+    private List<BackpressureEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        events = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void accounting() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_LATEST, 0);
+
+        Assertions.assertThat(buffer.acquire(4)).isTrue();
+        Assertions.assertThat(buffer.acquire(6)).isTrue();
+
+        Batch batch = new Batch(10, 100);
+        buffer.onNext(batch);
+
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(10);
+        Assertions.assertThat(buffer.getBytes()).isEqualTo(100);
+
+        buffer.release(batch);
+
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(0);
+        Assertions.assertThat(buffer.getBytes()).isEqualTo(0);
+        Assertions.assertThat(events).isEmpty();
+    }
+
+    @Test
+    void dropLatest() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_LATEST, 0);
+
+        Assertions.assertThat(buffer.acquire(8)).isTrue();
+        Assertions.assertThat(buffer.acquire(3)).isFalse();
+        Assertions.assertThat(buffer.acquire(2)).isTrue();
+
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(10);
+        Assertions.assertThat(events).hasSize(1);
+        Assertions.assertThat(events.get(0).getBufferedPoints()).isEqualTo(8);
+        Assertions.assertThat(events.get(0).getDroppedPoints()).isEqualTo(3);
+    }
+
+    @Test
+    void error() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.ERROR, 0);
+
+        Assertions.assertThat(buffer.acquire(10)).isTrue();
+        Assertions.assertThatThrownBy(() -> buffer.acquire(1))
+                .isInstanceOf(InfluxException.class)
+                .hasMessage("The write buffer is full: 10 points, 0 bytes. Try increase WriteOptions.bufferLimit.");
+
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(10);
+        Assertions.assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void dropOldest() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_OLDEST, 0);
+
+        Batch oldest = new Batch(5, 50);
+        Batch newer = new Batch(5, 50);
+
+        buffer.acquire(5);
+        buffer.onNext(oldest);
+        buffer.acquire(5);
+        buffer.onNext(newer);
+
+        Assertions.assertThat(buffer.acquire(3)).isTrue();
+
+        Assertions.assertThat(oldest.discarded).isTrue();
+        Assertions.assertThat(newer.discarded).isFalse();
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(8);
+        Assertions.assertThat(buffer.getBytes()).isEqualTo(50);
+        Assertions.assertThat(events).hasSize(1);
+        Assertions.assertThat(events.get(0).getDroppedPoints()).isEqualTo(5);
+
+        // only the not dropped batch is written
+        TestSubscriber<Batch> subscriber = Flowable.fromPublisher(buffer).test();
+        subscriber.assertValuesOnly(newer);
+    }
+
+    @Test
+    void dropOldestNothingToEvict() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_OLDEST, 0);
+
+        // the window never closes => the points are not batched and cannot be dropped
+        Assertions.assertThat(buffer.acquire(5)).isTrue();
+        Assertions.assertThat(buffer.acquire(5)).isTrue();
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertThat(buffer.acquire(3)).isFalse();
+        }
+
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(10);
+        Assertions.assertThat(events).hasSize(100);
+        Assertions.assertThat(events).allSatisfy(event -> {
+            Assertions.assertThat(event.getDroppedPoints()).isEqualTo(3);
+            Assertions.assertThat(event.getBufferedPoints()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    void dropOldestPartiallyEvicted() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_OLDEST, 0);
+
+        Batch oldest = new Batch(2, 20);
+
+        buffer.acquire(2);
+        buffer.onNext(oldest);
+        // still in the open window
+        buffer.acquire(8);
+
+        // the evicted batch is not enough for the new points
+        Assertions.assertThat(buffer.acquire(5)).isFalse();
+
+        Assertions.assertThat(oldest.discarded).isTrue();
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(8);
+        Assertions.assertThat(events).hasSize(1);
+        Assertions.assertThat(events.get(0).getDroppedPoints()).isEqualTo(7);
+    }
+
+    @Test
+    void bytesLimit() {
+
+        WriteBuffer<Batch> buffer = create(1_000, 100, BackpressureOverflowStrategy.DROP_LATEST, 0);
+
+        Assertions.assertThat(buffer.acquire(1)).isTrue();
+        buffer.onNext(new Batch(1, 100));
+
+        Assertions.assertThat(buffer.acquire(1)).isFalse();
+        Assertions.assertThat(events).hasSize(1);
+        Assertions.assertThat(events.get(0).getBufferedBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void bytesLimitDropOldest() {
+
+        WriteBuffer<Batch> buffer = create(1_000, 100, BackpressureOverflowStrategy.DROP_OLDEST, 0);
+
+        Batch oldest = new Batch(1, 60);
+        Batch newer = new Batch(1, 60);
+
+        buffer.acquire(1);
+        buffer.onNext(oldest);
+        buffer.acquire(1);
+        buffer.onNext(newer);
+
+        Assertions.assertThat(oldest.discarded).isTrue();
+        Assertions.assertThat(buffer.getBytes()).isEqualTo(60);
+        Assertions.assertThat(buffer.getPoints()).isEqualTo(1);
+    }
+
+    @Test
+    void blocking() throws InterruptedException {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_LATEST, 5_000);
+
+        Batch batch = new Batch(10, 100);
+        buffer.acquire(10);
+        buffer.onNext(batch);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            buffer.release(batch);
+        });
+        releaser.start();
+
+        long start = System.nanoTime();
+        Assertions.assertThat(buffer.acquire(1)).isTrue();
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(50);
+        Assertions.assertThat(events).isEmpty();
+        releaser.join();
+    }
+
+    @Test
+    void blockingTimeout() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_LATEST, 100);
+
+        buffer.acquire(10);
+
+        long start = System.nanoTime();
+        Assertions.assertThat(buffer.acquire(1)).isFalse();
+
+        Assertions.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+        Assertions.assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void publisher() {
+
+        WriteBuffer<Batch> buffer = create(1_000, 0, BackpressureOverflowStrategy.DROP_OLDEST, 0);
+
+        TestSubscriber<Batch> subscriber = Flowable.fromPublisher(buffer).test(1);
+
+        Batch first = new Batch(1, 10);
+        Batch second = new Batch(1, 10);
+        Flowable.just(first, second).subscribe(buffer);
+
+        subscriber.assertValuesOnly(first);
+
+        subscriber.request(1);
+        subscriber.assertValues(first, second).assertComplete();
+    }
+
+    @Test
+    void batchIsAlwaysAccepted() {
+
+        WriteBuffer<Batch> buffer = create(10, 0, BackpressureOverflowStrategy.DROP_LATEST, 0);
+
+        // larger than limit => accepted into empty buffer
+        Assertions.assertThat(buffer.acquire(100)).isTrue();
+        Assertions.assertThat(buffer.acquire(1)).isFalse();
+    }
+
+    private WriteBuffer<Batch> create(final int points,
+                                      final long bytes,
+                                      final BackpressureOverflowStrategy strategy,
+                                      final long timeout) {
+        return new WriteBuffer<>(points, bytes, strategy, timeout, events::add);
+    }
+
+    private static final class Batch implements WriteBuffer.Item {
+
+        private final long points;
+        private final long bytes;
+        private boolean discarded;
+
+        private Batch(final long points, final long bytes) {
+            this.points = points;
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long points() {
+            return points;
+        }
+
+        @Override
+        public long bytes() {
+            return bytes;
+        }
+
+        @Override
+        public void discard() {
+            discarded = true;
+        }
+    }
+}
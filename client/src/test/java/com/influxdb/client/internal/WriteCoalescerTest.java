@@ -0,0 +1,177 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.influxdb.annotations.Column;
+import com.influxdb.annotations.Measurement;
+import com.influxdb.client.InfluxDBClientOptions;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataMeasurement;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataPoint;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataRecord;
+import com.influxdb.client.write.Point;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteCoalescerTest {
+
+    private final InfluxDBClientOptions options = InfluxDBClientOptions.builder()
+            .url("http://localhost:9999")
+            .authenticateToken("my-token".toCharArray())
+            .build();
+
+    private final WriteCoalescer coalescer = new WriteCoalescer(options);
+
+    @Test
+    void mergeFields() {
+
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "europe")
+                .addField("level", 1).addField("state", "ok").time(1L, WritePrecision.S)));
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "europe")
+                .addField("level", 2).addField("temperature", 21.5).time(1L, WritePrecision.S)));
+
+        Assertions.assertThat(lineProtocol())
+                .containsExactly("h2o,location=europe level=2i,state=\"ok\",temperature=21.5 1");
+        Assertions.assertThat(coalescer.getData().get(0).count()).isEqualTo(2);
+    }
+
+    @Test
+    void duplicates() {
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.add(point(Point.measurement("h2o").addField("level", 1).time(1L, WritePrecision.S)));
+        }
+
+        Assertions.assertThat(lineProtocol()).containsExactly("h2o level=1i 1");
+        Assertions.assertThat(coalescer.getData().get(0).count()).isEqualTo(3);
+    }
+
+    @Test
+    void differentSeriesAndTimestamps() {
+
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "europe")
+                .addField("level", 1).time(1L, WritePrecision.S)));
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "us")
+                .addField("level", 2).time(1L, WritePrecision.S)));
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "europe")
+                .addField("level", 3).time(2L, WritePrecision.S)));
+        coalescer.add(point(Point.measurement("h2o").addTag("location", "europe")
+                .addField("level", 4).time(1L, WritePrecision.S)));
+
+        Assertions.assertThat(lineProtocol()).containsExactly(
+                "h2o,location=europe level=4i 1",
+                "h2o,location=us level=2i 1",
+                "h2o,location=europe level=3i 2");
+    }
+
+    @Test
+    void notDefinedFieldKeepsValue() {
+
+        coalescer.add(point(Point.measurement("h2o").addField("level", 1.5).time(1L, WritePrecision.S)));
+        coalescer.add(point(Point.measurement("h2o").addField("level", Double.NaN)
+                .addField("state", "ok").time(1L, WritePrecision.S)));
+
+        Assertions.assertThat(lineProtocol()).containsExactly("h2o level=1.5,state=\"ok\" 1");
+    }
+
+    @Test
+    void userPointIsNotModified() {
+
+        Point first = Point.measurement("h2o").addField("level", 1).time(1L, WritePrecision.S);
+
+        coalescer.add(point(first));
+        coalescer.add(point(Point.measurement("h2o").addField("state", "ok").time(1L, WritePrecision.S)));
+
+        Assertions.assertThat(lineProtocol()).containsExactly("h2o level=1i,state=\"ok\" 1");
+        Assertions.assertThat(first.toLineProtocol()).isEqualTo("h2o level=1i 1");
+    }
+
+    @Test
+    void withoutTimestampAndRecords() {
+
+        coalescer.add(point(Point.measurement("h2o").addField("level", 1)));
+        coalescer.add(point(Point.measurement("h2o").addField("level", 2)));
+        coalescer.add(new BatchWriteDataRecord("h2o level=3i 1"));
+        coalescer.add(new BatchWriteDataRecord("h2o level=3i 1"));
+
+        Assertions.assertThat(lineProtocol())
+                .containsExactly("h2o level=1i", "h2o level=2i", "h2o level=3i 1", "h2o level=3i 1");
+    }
+
+    @Test
+    void measurements() {
+
+        MeasurementMapper mapper = new MeasurementMapper();
+
+        H2O first = new H2O("europe", 1L, null, Instant.ofEpochSecond(1));
+        H2O second = new H2O("europe", null, "ok", Instant.ofEpochSecond(1));
+
+        coalescer.add(new BatchWriteDataMeasurement(first, WritePrecision.S, options, mapper));
+        coalescer.add(new BatchWriteDataMeasurement(second, WritePrecision.S, options, mapper));
+        coalescer.add(new BatchWriteDataMeasurement(null, WritePrecision.S, options, mapper));
+
+        Assertions.assertThat(lineProtocol()).containsExactly("h2o,location=europe level=1i,state=\"ok\" 1");
+    }
+
+    private BatchWriteData point(final Point point) {
+        return new BatchWriteDataPoint(point, options);
+    }
+
+    private List<String> lineProtocol() {
+        return coalescer.getData().stream()
+                .map(BatchWriteData::toLineProtocol)
+                .filter(it -> it != null)
+                .collect(Collectors.toList());
+    }
+
+    @Measurement(name = "h2o")
+    private static class H2O {
+
+        @Column(tag = true)
+        private String location;
+
+        @Column
+        private Long level;
+
+        @Column
+        private String state;
+
+        @Column(timestamp = true)
+        private Instant time;
+
+        private H2O(final String location, final Long level, final String state, final Instant time) {
+            this.location = location;
+            this.level = level;
+            this.state = state;
+            this.time = time;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import com.influxdb.client.write.WriteDrainResult;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteDrainTest {
+
+    @Test
+    void awaitSettled() {
+
+        WriteDrain drain = new WriteDrain();
+        WriteDrain.Epoch epoch = drain.accept(3);
+
+        WriteDrain.Barrier barrier = drain.await();
+        Assertions.assertThat(barrier.getFuture()).isNotDone();
+
+        drain.settle(epoch, 2, WriteDrain.Outcome.WRITTEN);
+        Assertions.assertThat(barrier.getFuture()).isNotDone();
+        Assertions.assertThat(barrier.toResult(false).getUnflushedPoints()).isEqualTo(1);
+
+        drain.settle(epoch, 1, WriteDrain.Outcome.FAILED);
+        Assertions.assertThat(barrier.getFuture()).isDone();
+
+        WriteDrainResult result = barrier.toResult(true);
+        Assertions.assertThat(result.getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(result.getFailedPoints()).isEqualTo(1);
+        Assertions.assertThat(result.getUnflushedPoints()).isEqualTo(0);
+    }
+
+    @Test
+    void awaitAlreadySettled() {
+
+        WriteDrain drain = new WriteDrain();
+        drain.settle(drain.accept(2), 2, WriteDrain.Outcome.WRITTEN);
+
+        WriteDrain.Barrier barrier = drain.await();
+        Assertions.assertThat(barrier.getFuture()).isDone();
+        // settled before the barrier
+        Assertions.assertThat(barrier.toResult(true).getWrittenPoints()).isEqualTo(0);
+
+        Assertions.assertThat(drain.await().getFuture()).isDone();
+    }
+
+    @Test
+    void awaitInOrderOfEpochs() {
+
+        WriteDrain drain = new WriteDrain();
+
+        WriteDrain.Epoch firstEpoch = drain.accept(1);
+        WriteDrain.Barrier first = drain.await();
+
+        // accepted after the first await
+        WriteDrain.Epoch secondEpoch = drain.accept(2);
+        WriteDrain.Barrier second = drain.await();
+
+        drain.settle(firstEpoch, 1, WriteDrain.Outcome.WRITTEN);
+        Assertions.assertThat(first.getFuture()).isDone();
+        Assertions.assertThat(second.getFuture()).isNotDone();
+
+        drain.settle(secondEpoch, 2, WriteDrain.Outcome.WRITTEN);
+        Assertions.assertThat(second.getFuture()).isDone();
+
+        Assertions.assertThat(first.toResult(true).getWrittenPoints()).isEqualTo(1);
+        Assertions.assertThat(second.toResult(true).getWrittenPoints()).isEqualTo(3);
+    }
+
+    @Test
+    void laterPointsDoNotCompleteBarrier() {
+
+        WriteDrain drain = new WriteDrain();
+
+        // the earlier batch is retried
+        WriteDrain.Epoch retried = drain.accept(2);
+        WriteDrain.Barrier barrier = drain.await();
+
+        // the later batch of the same size is written meanwhile
+        WriteDrain.Epoch later = drain.accept(2);
+        drain.settle(later, 2, WriteDrain.Outcome.WRITTEN);
+
+        Assertions.assertThat(barrier.getFuture()).isNotDone();
+        WriteDrainResult timeout = barrier.toResult(false);
+        Assertions.assertThat(timeout.getWrittenPoints()).isEqualTo(0);
+        Assertions.assertThat(timeout.getUnflushedPoints()).isEqualTo(2);
+
+        drain.settle(retried, 2, WriteDrain.Outcome.WRITTEN);
+
+        Assertions.assertThat(barrier.getFuture()).isDone();
+        Assertions.assertThat(barrier.toResult(true).getWrittenPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void settlePointsOfEpochs() {
+
+        WriteDrain drain = new WriteDrain();
+
+        WriteDrain.Points points = new WriteDrain.Points();
+        points.add(drain.accept(2), 2);
+        WriteDrain.Barrier first = drain.await();
+        points.add(drain.accept(3), 3);
+        WriteDrain.Barrier second = drain.await();
+
+        // the oldest points are written
+        drain.settle(points, 3, WriteDrain.Outcome.DROPPED);
+
+        Assertions.assertThat(first.getFuture()).isDone();
+        Assertions.assertThat(first.toResult(true).getWrittenPoints()).isEqualTo(2);
+        Assertions.assertThat(second.getFuture()).isDone();
+        Assertions.assertThat(second.toResult(true).getWrittenPoints()).isEqualTo(3);
+        Assertions.assertThat(second.toResult(true).getDroppedPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void takePoints() {
+
+        WriteDrain drain = new WriteDrain();
+
+        WriteDrain.Points points = new WriteDrain.Points();
+        points.add(drain.accept(2), 2);
+        WriteDrain.Barrier barrier = drain.await();
+        points.add(drain.accept(3), 3);
+
+        WriteDrain.Points taken = points.take(3);
+
+        // the points of the sealed epoch and one point of the current epoch
+        drain.settle(taken, 3, WriteDrain.Outcome.FAILED);
+        Assertions.assertThat(barrier.getFuture()).isDone();
+        Assertions.assertThat(barrier.toResult(true).getWrittenPoints()).isEqualTo(2);
+
+        WriteDrain.Barrier next = drain.await();
+        Assertions.assertThat(next.getFuture()).isNotDone();
+
+        drain.settle(points, 0, WriteDrain.Outcome.FAILED);
+        Assertions.assertThat(next.getFuture()).isDone();
+        Assertions.assertThat(next.toResult(true).getFailedPoints()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.InfluxDBClientFactory;
+import com.influxdb.client.InfluxDBClientOptions;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteData;
+import com.influxdb.client.internal.AbstractWriteClient.BatchWriteDataPoint;
+import com.influxdb.client.write.Point;
+
+import io.reactivex.Flowable;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the cost of the write of the single point into the batching {@link WriteApi} (ns/point):
+ * the direct enqueue compared with the assembly of the reactive stream per write.
+ * <p>
+ * The points are collected into one batch which is written after the measured iteration,
+ * so the measurement doesn't include the requests to the server.
+ * <p>
+ * Run by: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.influxdb.client.internal.WriteEnqueueBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteEnqueueBenchmark {
+
+    private static final int POINTS = 1_000;
+    // the points written by the iteration are buffered until the tear down
+    private static final int BUFFER_LIMIT = 10_000_000;
+
+    private MockWebServer mockServer;
+    private InfluxDBClient client;
+    private WriteApi writeApi;
+    private InfluxDBClientOptions options;
+    private Point point;
+
+    @Setup(Level.Iteration)
+    public void setup() throws IOException {
+
+        mockServer = new MockWebServer();
+        mockServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(final RecordedRequest request) {
+                return new MockResponse().setResponseCode(204);
+            }
+        });
+        mockServer.start();
+
+        options = InfluxDBClientOptions.builder()
+                .url(mockServer.url("/").toString())
+                .authenticateToken("my-token".toCharArray())
+                .build();
+        client = InfluxDBClientFactory.create(options);
+        writeApi = client.getWriteApi(WriteOptions.builder()
+                .batchSize(BUFFER_LIMIT)
+                .bufferLimit(BUFFER_LIMIT)
+                .flushInterval(1_000_000)
+                .build());
+
+        point = Point.measurement("h2o")
+                .addTag("location", "europe")
+                .addField("level", 1.5)
+                .time(1L, WritePrecision.S);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+
+        // write the collected points
+        client.close();
+        mockServer.shutdown();
+    }
+
+    /**
+     * The direct enqueue of the {@link WriteApi#writePoint(String, String, Point)}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void enqueue() {
+
+        for (int i = 0; i < POINTS; i++) {
+            writeApi.writePoint("my-bucket", "my-org", point);
+        }
+    }
+
+    /**
+     * The reactive stream assembled per write - the list of one point is mapped by the {@link Flowable}
+     * and every point is written by its own {@link Flowable}.
+     */
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void reactive() {
+
+        AbstractWriteClient writeClient = (AbstractWriteClient) writeApi;
+
+        for (int i = 0; i < POINTS; i++) {
+            Flowable.fromIterable(Collections.singletonList(point))
+                    .filter(Objects::nonNull)
+                    .map(it -> new BatchWriteDataPoint(it, options))
+                    .subscribe(it -> writeClient.write("my-bucket", "my-org", point.getPrecision(),
+                            Flowable.<BatchWriteData>just(it)));
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WriteEnqueueBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.PublishProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of the concurrent producers of the batching: the lock-free {@link WriteIngestion}
+ * compared with the serialized {@link PublishProcessor}.
+ * <p>
+ * Run by: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.influxdb.client.internal.WriteIngestionBenchmark}
+ * <p>
+ * The benchmark is executed by 1, 2, 4, 8, 16 and 32 producer threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteIngestionBenchmark {
+
+    private static final int[] PRODUCERS = {1, 2, 4, 8, 16, 32};
+
+    @Param({"ingestion", "serialized"})
+    public String frontEnd;
+
+    private final AtomicLong consumed = new AtomicLong();
+    private WriteIngestion<Object> ingestion;
+    private FlowableProcessor<Object> serialized;
+
+    @Setup
+    public void setup() {
+
+        // the batching stage consumes the items
+        PublishProcessor<Object> processor = PublishProcessor.create();
+        processor.subscribe(item -> consumed.lazySet(consumed.get() + 1));
+
+        ingestion = new WriteIngestion<>(processor, item -> { });
+        serialized = processor.toSerialized();
+    }
+
+    @Benchmark
+    public void offer() {
+
+        if ("ingestion".equals(frontEnd)) {
+            ingestion.offer(Boolean.TRUE);
+        } else {
+            serialized.onNext(Boolean.TRUE);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+
+        for (int producers : PRODUCERS) {
+            new Runner(new OptionsBuilder()
+                    .include(WriteIngestionBenchmark.class.getSimpleName())
+                    .threads(producers)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+@RunWith(JUnitPlatform.class)
+class WriteIngestionTest {
+
+    private final List<Integer> rejected = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void offer() {
+
+        SerialSubscriber subscriber = new SerialSubscriber();
+        WriteIngestion<Integer> ingestion = new WriteIngestion<>(subscriber, rejected::add);
+
+        Assertions.assertThat(ingestion.offer(1)).isTrue();
+        Assertions.assertThat(ingestion.offer(2)).isTrue();
+
+        Assertions.assertThat(subscriber.items).containsExactly(1, 2);
+        Assertions.assertThat(subscriber.completed.get()).isEqualTo(0);
+    }
+
+    @Test
+    void complete() {
+
+        SerialSubscriber subscriber = new SerialSubscriber();
+        WriteIngestion<Integer> ingestion = new WriteIngestion<>(subscriber, rejected::add);
+
+        ingestion.offer(1);
+        ingestion.complete();
+        ingestion.complete();
+
+        Assertions.assertThat(ingestion.offer(2)).isFalse();
+        Assertions.assertThat(subscriber.items).containsExactly(1);
+        Assertions.assertThat(subscriber.completed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentProducers() throws InterruptedException {
+
+        int producers = 8;
+        int items = 10_000;
+
+        SerialSubscriber subscriber = new SerialSubscriber();
+        WriteIngestion<Integer> ingestion = new WriteIngestion<>(subscriber, rejected::add);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int producer = 0; producer < producers; producer++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < items; i++) {
+                    ingestion.offer(i);
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        ingestion.complete();
+
+        Assertions.assertThat(subscriber.items).hasSize(producers * items);
+        Assertions.assertThat(subscriber.concurrentSignals.get()).isEqualTo(0);
+        Assertions.assertThat(subscriber.completed.get()).isEqualTo(1);
+    }
+
+    @Test
+    void completeConcurrentlyWithOffer() throws InterruptedException {
+
+        int producers = 4;
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int run = 0; run < 500; run++) {
+
+                rejected.clear();
+                SerialSubscriber subscriber = new SerialSubscriber();
+                WriteIngestion<Integer> ingestion = new WriteIngestion<>(subscriber, rejected::add);
+
+                AtomicInteger accepted = new AtomicInteger();
+                CountDownLatch started = new CountDownLatch(producers);
+                CountDownLatch finished = new CountDownLatch(producers);
+                for (int producer = 0; producer < producers; producer++) {
+                    executor.submit(() -> {
+                        started.countDown();
+                        while (ingestion.offer(1)) {
+                            accepted.incrementAndGet();
+                        }
+                        finished.countDown();
+                    });
+                }
+
+                started.await();
+                ingestion.complete();
+                Assertions.assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+
+                // every accepted item is emitted or rejected
+                Assertions.assertThat(subscriber.items.size() + rejected.size()).isEqualTo(accepted.get());
+                Assertions.assertThat(subscriber.completed.get()).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Counts the signals which overlap with the other signals.
+     */
+    private static final class SerialSubscriber implements Subscriber<Integer> {
+
+        private final List<Integer> items = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger concurrentSignals = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+
+        @Override
+        public void onSubscribe(@Nonnull final Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(@Nonnull final Integer item) {
+            if (active.incrementAndGet() != 1) {
+                concurrentSignals.incrementAndGet();
+            }
+            items.add(item);
+            active.decrementAndGet();
+        }
+
+        @Override
+        public void onError(@Nonnull final Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            if (active.incrementAndGet() != 1) {
+                concurrentSignals.incrementAndGet();
+            }
+            completed.incrementAndGet();
+            active.decrementAndGet();
+        }
+    }
+}
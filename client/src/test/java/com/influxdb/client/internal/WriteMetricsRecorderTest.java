@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.influxdb.client.write.WriteMetrics;
+import com.influxdb.client.write.WriteMetricsListener;
+import com.influxdb.client.write.events.ListenerRegistration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteMetricsRecorderTest {
+
+    private final WriteMetricsRecorder recorder = new WriteMetricsRecorder();
+
+    @Test
+    void snapshot() {
+
+        recorder.onEnqueued(10);
+        recorder.onEnqueued(5);
+        recorder.onDropped(2);
+        recorder.onBatch(8, 100, 1_000);
+        recorder.onBatch(5, 60, 3_000);
+        recorder.onRequest(503, 20_000);
+        recorder.onRequest(204, 10_000);
+        recorder.onRequest(204, 30_000);
+        recorder.onRetry(503);
+        recorder.onRetry(0);
+        recorder.onRetry(503);
+        recorder.onWritten(8, 100);
+        recorder.onFailed(5);
+
+        WriteMetrics metrics = recorder.snapshot(3, 40, 1);
+
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(15);
+        Assertions.assertThat(metrics.getPointsDropped()).isEqualTo(2);
+        Assertions.assertThat(metrics.getPointsWritten()).isEqualTo(8);
+        Assertions.assertThat(metrics.getPointsFailed()).isEqualTo(5);
+        Assertions.assertThat(metrics.getQueuedPoints()).isEqualTo(3);
+        Assertions.assertThat(metrics.getQueuedBytes()).isEqualTo(40);
+        Assertions.assertThat(metrics.getInFlightRequests()).isEqualTo(1);
+
+        Assertions.assertThat(metrics.getBatchPoints().getCount()).isEqualTo(2);
+        Assertions.assertThat(metrics.getBatchPoints().getTotal()).isEqualTo(13);
+        Assertions.assertThat(metrics.getBatchPoints().getMax()).isEqualTo(8);
+        Assertions.assertThat(metrics.getBatchBytes().getMean()).isEqualTo(80);
+        Assertions.assertThat(metrics.getSerializationTime().getTotal()).isEqualTo(4_000);
+        Assertions.assertThat(metrics.getRequestLatency().getCount()).isEqualTo(3);
+        Assertions.assertThat(metrics.getRequestLatency().getMax()).isEqualTo(30_000);
+        Assertions.assertThat(metrics.getRequestLatency().getMean()).isEqualTo(20_000);
+
+        Assertions.assertThat(metrics.getRetries())
+                .containsOnly(Assertions.entry(503, 2L), Assertions.entry(0, 1L));
+        Assertions.assertThat(metrics.getRetriesTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void emptySnapshot() {
+
+        WriteMetrics metrics = recorder.snapshot(0, 0, 0);
+
+        Assertions.assertThat(metrics.getPointsEnqueued()).isEqualTo(0);
+        Assertions.assertThat(metrics.getBatchPoints().getCount()).isEqualTo(0);
+        Assertions.assertThat(metrics.getBatchPoints().getMean()).isEqualTo(0);
+        Assertions.assertThat(metrics.getRetries()).isEmpty();
+    }
+
+    @Test
+    void listener() {
+
+        List<String> measurements = new ArrayList<>();
+        ListenerRegistration registration = recorder.addListener(new WriteMetricsListener() {
+            @Override
+            public void onEnqueued(final long points) {
+                measurements.add("enqueued " + points);
+            }
+
+            @Override
+            public void onRetry(final int statusCode) {
+                measurements.add("retry " + statusCode);
+            }
+        });
+
+        recorder.onEnqueued(3);
+        recorder.onDropped(1);
+        recorder.onRetry(429);
+
+        registration.dispose();
+        registration.dispose();
+
+        recorder.onEnqueued(4);
+
+        Assertions.assertThat(measurements).containsExactly("enqueued 3", "retry 429");
+        Assertions.assertThat(recorder.snapshot(0, 0, 0).getPointsEnqueued()).isEqualTo(7);
+    }
+
+    @Test
+    void failingListenerIsIgnored() {
+
+        List<Long> measurements = new ArrayList<>();
+        recorder.addListener(new WriteMetricsListener() {
+            @Override
+            public void onEnqueued(final long points) {
+                throw new IllegalStateException("failed listener");
+            }
+        });
+        recorder.addListener(new WriteMetricsListener() {
+            @Override
+            public void onEnqueued(final long points) {
+                measurements.add(points);
+            }
+        });
+
+        recorder.onEnqueued(2);
+
+        Assertions.assertThat(measurements).containsExactly(2L);
+        Assertions.assertThat(recorder.snapshot(0, 0, 0).getPointsEnqueued()).isEqualTo(2);
+    }
+}
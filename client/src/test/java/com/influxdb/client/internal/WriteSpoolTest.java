@@ -0,0 +1,358 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.influxdb.client.InfluxDBClient;
+import com.influxdb.client.InfluxDBClientFactory;
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.write.WriteDrainResult;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteSpoolTest {
+
+    private Path directory;
+    private AtomicInteger dropped;
+    private AtomicLong droppedRecords;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("influxdb-spool");
+        dropped = new AtomicInteger();
+        droppedRecords = new AtomicLong();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    void appendReadAcknowledge() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+
+        WriteSpool.Entry entry = spool.append("my-bucket", "my-org", WritePrecision.S,
+                batch("h2o,location=česko level=1i", "h2o,location=europe level=2i"));
+
+        Assertions.assertThat(entry.getBucket()).isEqualTo("my-bucket");
+        Assertions.assertThat(entry.getOrganization()).isEqualTo("my-org");
+        Assertions.assertThat(entry.getPrecision()).isEqualTo(WritePrecision.S);
+
+        LineProtocolBatch batch = spool.read(entry);
+        Assertions.assertThat(batch).isNotNull();
+        Assertions.assertThat(batch.count()).isEqualTo(2);
+        Assertions.assertThat(batch.toLineProtocol())
+                .isEqualTo("h2o,location=česko level=1i\nh2o,location=europe level=2i");
+
+        spool.acknowledge(entry);
+        spool.close();
+
+        WriteSpool reopened = open(1024 * 1024, 0);
+        Assertions.assertThat(reopened.recovered()).isEmpty();
+        Assertions.assertThat(segments()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void recover() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+
+        WriteSpool.Entry first = spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.append("b2", "o2", WritePrecision.MS, batch("h2o level=2i", "h2o level=3i"));
+        spool.acknowledge(first);
+        spool.append("b3", "o3", WritePrecision.US, batch("h2o level=4i"));
+        spool.close();
+
+        WriteSpool reopened = open(1024 * 1024, 0);
+        List<WriteSpool.Entry> recovered = reopened.recovered();
+
+        Assertions.assertThat(recovered).hasSize(2);
+        Assertions.assertThat(recovered.get(0).getBucket()).isEqualTo("b2");
+        Assertions.assertThat(recovered.get(0).getOrganization()).isEqualTo("o2");
+        Assertions.assertThat(recovered.get(0).getPrecision()).isEqualTo(WritePrecision.MS);
+        Assertions.assertThat(reopened.read(recovered.get(0)).toLineProtocol())
+                .isEqualTo("h2o level=2i\nh2o level=3i");
+        Assertions.assertThat(recovered.get(1).getBucket()).isEqualTo("b3");
+        Assertions.assertThat(reopened.read(recovered.get(1)).toLineProtocol()).isEqualTo("h2o level=4i");
+
+        // recovered segment is deleted after acknowledge
+        recovered.forEach(reopened::acknowledge);
+        Assertions.assertThat(segments()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void sync() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0, true);
+
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=2i", "h2o level=3i"));
+        spool.close();
+
+        WriteSpool reopened = open(1024 * 1024, 0, true);
+        List<WriteSpool.Entry> recovered = reopened.recovered();
+
+        Assertions.assertThat(recovered).hasSize(2);
+        Assertions.assertThat(recovered.get(1).getCount()).isEqualTo(2);
+        Assertions.assertThat(reopened.read(recovered.get(1)).toLineProtocol())
+                .isEqualTo("h2o level=2i\nh2o level=3i");
+        reopened.close();
+    }
+
+    @Test
+    void recoveredAccounted() throws IOException, InterruptedException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=2i", "h2o level=3i"));
+        spool.close();
+
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setResponseCode(204).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setResponseCode(204).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        server.start();
+
+        InfluxDBClient client = InfluxDBClientFactory.create(server.url("/").toString(), "my-token".toCharArray());
+        try {
+            WriteApi writeApi = client.getWriteApi(WriteOptions.builder().spoolDirectory(directory.toString()).build());
+
+            // the flush waits for the recovered batches
+            WriteDrainResult result = writeApi.flush(10, TimeUnit.SECONDS);
+
+            Assertions.assertThat(result.isCompleted()).isTrue();
+            Assertions.assertThat(result.getWrittenPoints()).isEqualTo(3);
+            Assertions.assertThat(server.getRequestCount()).isEqualTo(2);
+            Assertions.assertThat(writeApi.getMetrics().getPointsEnqueued()).isEqualTo(3);
+            Assertions.assertThat(writeApi.getMetrics().getPointsWritten()).isEqualTo(3);
+            Assertions.assertThat(writeApi.getMetrics().getQueuedPoints()).isEqualTo(0);
+
+            writeApi.close(10, TimeUnit.SECONDS);
+        } finally {
+            client.close();
+            server.shutdown();
+        }
+
+        Assertions.assertThat(segments()).isEmpty();
+    }
+
+    @Test
+    void truncatedTail() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=2i"));
+        spool.close();
+
+        Path segment = segments().get(0);
+        long size = Files.size(segment);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(size - 3);
+        }
+
+        WriteSpool reopened = open(1024 * 1024, 0);
+        List<WriteSpool.Entry> recovered = reopened.recovered();
+
+        Assertions.assertThat(recovered).hasSize(1);
+        Assertions.assertThat(reopened.read(recovered.get(0)).toLineProtocol()).isEqualTo("h2o level=1i");
+        Assertions.assertThat(Files.size(segment)).isLessThan(size - 3);
+        reopened.close();
+    }
+
+    @Test
+    void corruptedRecord() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.close();
+
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write('x');
+        }
+
+        WriteSpool reopened = open(1024 * 1024, 0);
+
+        Assertions.assertThat(reopened.recovered()).isEmpty();
+        Assertions.assertThat(segments()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void maxSize() throws IOException {
+
+        // 80 bytes => 10 bytes segments => every batch in own segment
+        WriteSpool spool = open(80, 0);
+
+        WriteSpool.Entry first = spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        for (int i = 2; i <= 5; i++) {
+            spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=" + i + "i"));
+        }
+
+        Assertions.assertThat(spool.size()).isLessThanOrEqualTo(80);
+        Assertions.assertThat(dropped.get()).isGreaterThan(0);
+        Assertions.assertThat(spool.read(first)).isNull();
+        spool.close();
+
+        WriteSpool reopened = open(80, 0);
+        List<WriteSpool.Entry> recovered = reopened.recovered();
+        Assertions.assertThat(recovered).hasSize(5 - dropped.get());
+        Assertions.assertThat(reopened.read(recovered.get(recovered.size() - 1)).toLineProtocol())
+                .isEqualTo("h2o level=5i");
+        reopened.close();
+    }
+
+    @Test
+    void maxAge() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.close();
+
+        FileTime hourAgo = FileTime.fromMillis(System.currentTimeMillis() - 60 * 60 * 1000);
+        Files.setLastModifiedTime(segments().get(0), hourAgo);
+
+        WriteSpool reopened = open(1024 * 1024, 60 * 1000);
+
+        Assertions.assertThat(reopened.recovered()).isEmpty();
+        Assertions.assertThat(dropped.get()).isEqualTo(1);
+        Assertions.assertThat(droppedRecords.get()).isEqualTo(1);
+        Assertions.assertThat(segments()).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void closed() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        WriteSpool.Entry entry = spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+        spool.close();
+
+        Assertions.assertThat(spool.read(entry)).isNull();
+        Assertions.assertThatThrownBy(() -> spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=2i")))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("The spool is closed");
+    }
+
+    @Test
+    void droppedRecords() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        WriteSpool.Entry first = spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i", "h2o level=2i"));
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=3i", "h2o level=4i", "h2o level=5i"));
+        spool.acknowledge(first);
+        spool.close();
+
+        Files.setLastModifiedTime(segments().get(0), FileTime.fromMillis(System.currentTimeMillis() - 60 * 60 * 1000));
+
+        WriteSpool reopened = open(1024 * 1024, 60 * 1000);
+
+        // only the not acknowledged records are dropped
+        Assertions.assertThat(dropped.get()).isEqualTo(1);
+        Assertions.assertThat(droppedRecords.get()).isEqualTo(3);
+        reopened.close();
+    }
+
+    @Test
+    void lockedDirectory() throws IOException {
+
+        WriteSpool spool = open(1024 * 1024, 0);
+        spool.append("b1", "o1", WritePrecision.NS, batch("h2o level=1i"));
+
+        Assertions.assertThatThrownBy(() -> open(1024 * 1024, 0))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("The spool directory is used by another WriteApi");
+
+        spool.close();
+
+        // the lock is released by the close
+        WriteSpool reopened = open(1024 * 1024, 0);
+        Assertions.assertThat(reopened.recovered()).hasSize(1);
+        reopened.close();
+    }
+
+    @Test
+    void notSpoolFile() throws IOException {
+
+        Files.write(directory.resolve("readme.spool"), "not spool".getBytes());
+
+        WriteSpool spool = open(1024 * 1024, 0);
+
+        Assertions.assertThat(spool.recovered()).isEmpty();
+        Assertions.assertThat(directory.resolve("readme.spool")).exists();
+        spool.close();
+    }
+
+    private WriteSpool open(final long maxSize, final long maxAge) throws IOException {
+        return open(maxSize, maxAge, false);
+    }
+
+    private WriteSpool open(final long maxSize, final long maxAge, final boolean sync) throws IOException {
+        return new WriteSpool(directory, maxSize, maxAge, sync, (batches, records) -> {
+            dropped.addAndGet(batches);
+            droppedRecords.addAndGet(records);
+        });
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths.filter(path -> path.toString().endsWith(".spool")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private LineProtocolBatch batch(final String... records) {
+        LineProtocolBatch batch = new LineProtocolBatch();
+        for (String record : records) {
+            batch.append(record);
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+import com.influxdb.client.WriteOptions;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+@RunWith(JUnitPlatform.class)
+class DefaultWriteRetryPolicyTest {
+
+    @Test
+    void retryable() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.DEFAULTS);
+
+        Assertions.assertThat(policy.isRetryable(httpError(408, null))).isTrue();
+        Assertions.assertThat(policy.isRetryable(httpError(429, null))).isTrue();
+        Assertions.assertThat(policy.isRetryable(httpError(500, null))).isTrue();
+        Assertions.assertThat(policy.isRetryable(httpError(502, null))).isTrue();
+        Assertions.assertThat(policy.isRetryable(httpError(503, null))).isTrue();
+        Assertions.assertThat(policy.isRetryable(new IOException("Connection reset"))).isTrue();
+        Assertions.assertThat(policy.isRetryable(new SocketTimeoutException())).isTrue();
+
+        Assertions.assertThat(policy.isRetryable(httpError(400, null))).isFalse();
+        Assertions.assertThat(policy.isRetryable(httpError(401, null))).isFalse();
+        Assertions.assertThat(policy.isRetryable(httpError(413, null))).isFalse();
+        Assertions.assertThat(policy.isRetryable(httpError(501, null))).isFalse();
+        Assertions.assertThat(policy.isRetryable(httpError(505, null))).isFalse();
+        Assertions.assertThat(policy.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    @Test
+    void exponentialBackoff() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.builder()
+                .retryInterval(1_000)
+                .exponentialBase(2)
+                .maxRetryDelay(5_000)
+                .maxRetries(10)
+                .maxRetryTime(0)
+                .build());
+
+        HttpException error = httpError(503, null);
+
+        Assertions.assertThat(policy.retryDelay(error, 1, 0)).isEqualTo(1_000);
+        Assertions.assertThat(policy.retryDelay(error, 2, 0)).isEqualTo(2_000);
+        Assertions.assertThat(policy.retryDelay(error, 3, 0)).isEqualTo(4_000);
+        Assertions.assertThat(policy.retryDelay(error, 4, 0)).isEqualTo(5_000);
+        Assertions.assertThat(policy.retryDelay(error, 10, 0)).isEqualTo(5_000);
+    }
+
+    @Test
+    void retryAfter() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.DEFAULTS);
+
+        Assertions.assertThat(policy.retryDelay(httpError(429, "7"), 1, 0)).isEqualTo(7_000);
+        Assertions.assertThat(policy.retryDelay(httpError(429, "Wed, 21 Oct 2015 07:28:00 GMT"), 1, 0))
+                .isEqualTo(1_000);
+    }
+
+    @Test
+    void maxRetries() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.builder().maxRetries(2).build());
+
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(1_000);
+        Assertions.assertThat(policy.retryDelay(new IOException(), 2, 0)).isEqualTo(2_000);
+        Assertions.assertThat(policy.retryDelay(new IOException(), 3, 0)).isEqualTo(-1);
+
+        DefaultWriteRetryPolicy disabled = new DefaultWriteRetryPolicy(WriteOptions.builder().maxRetries(0).build());
+        Assertions.assertThat(disabled.retryDelay(new IOException(), 1, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void maxRetryTime() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.builder()
+                .retryInterval(1_000)
+                .maxRetryTime(10_000)
+                .build());
+
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 8_000)).isEqualTo(1_000);
+        Assertions.assertThat(policy.retryDelay(new IOException(), 2, 8_500)).isEqualTo(-1);
+        Assertions.assertThat(policy.retryDelay(httpError(429, "60"), 1, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void retryBudget() {
+
+        DefaultWriteRetryPolicy policy = new DefaultWriteRetryPolicy(WriteOptions.builder()
+                .retryBudget(0.5)
+                .build());
+
+        // reserve
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(1_000);
+        }
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(-1);
+
+        // two writes => one retry
+        policy.onWrite();
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(-1);
+        policy.onWrite();
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(1_000);
+        Assertions.assertThat(policy.retryDelay(new IOException(), 1, 0)).isEqualTo(-1);
+    }
+
+    private HttpException httpError(final int code, final String retryAfter) {
+
+        okhttp3.Response.Builder raw = new okhttp3.Response.Builder()
+                .code(code)
+                .message("error")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("http://localhost/").build());
+        if (retryAfter != null) {
+            raw.header("Retry-After", retryAfter);
+        }
+
+        return new HttpException(Response.error(ResponseBody.create(null, ""), raw.build()));
+    }
+}
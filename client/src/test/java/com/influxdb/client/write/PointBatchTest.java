@@ -0,0 +1,139 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import com.influxdb.client.domain.WritePrecision;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class PointBatchTest {
+
+    @Test
+    void lineProtocol() {
+
+        PointBatch batch = PointBatch.builder("h2o")
+                .tag("location")
+                .longField("level")
+                .doubleField("temperature")
+                .booleanField("ok")
+                .stringField("description")
+                .precision(WritePrecision.S)
+                .build();
+
+        batch.addRow(1L).tag(0, "europe").field(0, 2L).field(1, 22.5).field(2, true).field(3, "warm");
+        batch.addRow(2L).tag(0, "asia").field(1, 20.0);
+        batch.addRow().field(0, 3L);
+
+        Assertions.assertThat(batch.size()).isEqualTo(3);
+        Assertions.assertThat(batch.getPrecision()).isEqualTo(WritePrecision.S);
+        Assertions.assertThat(batch.toLineProtocol(null)).isEqualTo(
+                "h2o,location=europe description=\"warm\",level=2i,ok=true,temperature=22.5 1\n"
+                        + "h2o,location=asia temperature=20.0 2\n"
+                        + "h2o level=3i");
+    }
+
+    @Test
+    void sameAsPoint() {
+
+        PointSettings defaults = new PointSettings()
+                .addDefaultTag("expensive", "true")
+                .addDefaultTag("location", "default");
+
+        PointBatch batch = PointBatch.builder("h2 o")
+                .tag("z-tag")
+                .tag("location")
+                .tag("a,tag")
+                .longField("level")
+                .stringField("desc=ription")
+                .build();
+
+        batch.addRow(123L).tag(0, "z value").tag(2, "a=value").field(0, 2L).field(1, "esc\"ape\\");
+
+        Point point = Point.measurement("h2 o")
+                .addTag("z-tag", "z value")
+                .addTag("a,tag", "a=value")
+                .addField("level", 2L)
+                .addField("desc=ription", "esc\"ape\\")
+                .time(123L, WritePrecision.NS);
+
+        Assertions.assertThat(batch.toLineProtocol(defaults)).isEqualTo(point.toLineProtocol(defaults));
+    }
+
+    @Test
+    void skipRowWithoutFields() {
+
+        PointBatch batch = PointBatch.builder("h2o").tag("location").doubleField("level").build();
+
+        batch.addRow().tag(0, "europe").field(0, Double.NaN);
+        batch.addRow().tag(0, "europe");
+        batch.addRow().tag(0, "europe").field(0, 1.5);
+
+        Assertions.assertThat(batch.toLineProtocol(null)).isEqualTo("h2o,location=europe level=1.5");
+    }
+
+    @Test
+    void growAndClear() {
+
+        PointBatch batch = PointBatch.builder("h2o").stringField("level").capacity(1).build();
+
+        for (int i = 0; i < 100; i++) {
+            batch.addRow(i).field(0, "v" + i);
+        }
+
+        Assertions.assertThat(batch.size()).isEqualTo(100);
+        Assertions.assertThat(batch.toLineProtocol(null)).endsWith("h2o level=\"v99\" 99");
+
+        batch.clear();
+
+        Assertions.assertThat(batch.size()).isEqualTo(0);
+        Assertions.assertThat(batch.toLineProtocol(null)).isEmpty();
+
+        batch.addRow();
+
+        Assertions.assertThat(batch.toLineProtocol(null)).isEmpty();
+    }
+
+    @Test
+    void fieldTypeMismatch() {
+
+        PointBatch batch = PointBatch.builder("h2o").longField("level").build();
+        batch.addRow();
+
+        Assertions.assertThatThrownBy(() -> batch.field(batch.fieldIndex("level"), 1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The field 'level' is LONG not DOUBLE");
+    }
+
+    @Test
+    void rowNotStarted() {
+
+        PointBatch batch = PointBatch.builder("h2o").longField("level").build();
+
+        Assertions.assertThatThrownBy(() -> batch.field(0, 1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The row has to be started by addRow()");
+    }
+}
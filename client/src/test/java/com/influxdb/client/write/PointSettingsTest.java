@@ -23,6 +23,8 @@ package com.influxdb.client.write;
 
 import java.util.Map;
 
+import com.influxdb.client.internal.DefaultTags;
+
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -99,4 +101,48 @@ class PointSettingsTest {
                 .hasEntrySatisfying("id", value -> Assertions.assertThat(value).isEqualTo("132-987-655"))
                 .hasEntrySatisfying("customer", value -> Assertions.assertThat(value).isEqualTo("California Miner"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void defaultTagsRefresh() {
+
+        System.setProperty("mine-sensor.location", "europe");
+
+        defaults.addDefaultTag("location", "${mine-sensor.location}");
+
+        Assertions.assertThat(defaults.getDefaultTags()).containsEntry("location", "europe");
+
+        System.setProperty("mine-sensor.location", "asia");
+
+        Assertions.assertThat(defaults.getDefaultTags()).containsEntry("location", "europe");
+        Assertions.assertThat(defaults.refreshDefaultTags().getDefaultTags()).containsEntry("location", "asia");
+    }
+
+    @Test
+    void compiledDefaultTags() {
+
+        defaults.addDefaultTag("z tag", "z value")
+                .addDefaultTag("a,tag", "a=value")
+                .addDefaultTag("empty", "");
+
+        DefaultTags compiled = defaults.getCompiledDefaultTags();
+
+        Assertions.assertThat(compiled.size()).isEqualTo(2);
+        Assertions.assertThat(compiled.key(0)).isEqualTo("a,tag");
+        Assertions.assertThat(compiled.value(0)).isEqualTo("a=value");
+        Assertions.assertThat(compiled.escapedKey(0)).isEqualTo("a\\,tag");
+        Assertions.assertThat(compiled.escapedKey(1)).isEqualTo("z\\ tag");
+        Assertions.assertThat(compiled.escapedValue(0)).isEqualTo("a\\=value");
+        Assertions.assertThat(compiled.escapedValue(1)).isEqualTo("z\\ value");
+        Assertions.assertThat(defaults.getCompiledDefaultTags()).isSameAs(compiled);
+
+        defaults.addDefaultTag("m tag", "m value");
+
+        DefaultTags recompiled = defaults.getCompiledDefaultTags();
+
+        Assertions.assertThat(recompiled).isNotSameAs(compiled);
+        Assertions.assertThat(recompiled.size()).isEqualTo(3);
+        Assertions.assertThat(recompiled.key(1)).isEqualTo("m tag");
+        Assertions.assertThat(recompiled.escapedKey(1)).isEqualTo("m\\ tag");
+        Assertions.assertThat(recompiled.escapedValue(1)).isEqualTo("m\\ value");
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.Collections;
+
+import com.influxdb.client.domain.WritePrecision;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class PointTemplateTest {
+
+    @Test
+    void point() {
+
+        PointTemplate template = PointTemplate.builder("h2o")
+                .tag("location", "europe")
+                .tag("id", "132-987-655")
+                .build();
+
+        Point point = template.point().addField("level", 2).time(1L, WritePrecision.S);
+
+        Assertions.assertThat(point.toLineProtocol()).isEqualTo("h2o,id=132-987-655,location=europe level=2i 1");
+        Assertions.assertThat(point.getName()).isEqualTo("h2o");
+        Assertions.assertThat(point.getTags()).containsOnlyKeys("id", "location");
+        Assertions.assertThat(point.getPrecision()).isEqualTo(WritePrecision.S);
+    }
+
+    @Test
+    void escaping() {
+
+        PointTemplate template = PointTemplate.builder("h2 o,")
+                .tag("lo=cation", "eu rope")
+                .tag("empty", "")
+                .tag("null", null)
+                .build();
+
+        Point expected = Point.measurement("h2 o,")
+                .addTag("lo=cation", "eu rope")
+                .addTag("empty", "")
+                .addTag("null", null)
+                .addField("level", 2);
+
+        Assertions.assertThat(template.getSeriesKey(null)).isEqualTo("h2\\ o\\,,lo\\=cation=eu\\ rope");
+        Assertions.assertThat(template.point().addField("level", 2).toLineProtocol())
+                .isEqualTo(expected.toLineProtocol());
+    }
+
+    @Test
+    void defaultTags() {
+
+        PointSettings settings = new PointSettings()
+                .addDefaultTag("a", "default-a")
+                .addDefaultTag("location", "default-location")
+                .addDefaultTag("empty", "default-empty");
+
+        PointTemplate template = PointTemplate.builder("h2o")
+                .tag("location", "europe")
+                .tag("empty", "")
+                .build();
+
+        Point expected = Point.measurement("h2o")
+                .addTag("location", "europe")
+                .addTag("empty", "")
+                .addField("level", 2);
+
+        Assertions.assertThat(template.getSeriesKey(settings))
+                .isEqualTo("h2o,a=default-a,empty=default-empty,location=europe");
+        Assertions.assertThat(template.point().addField("level", 2).toLineProtocol(settings))
+                .isEqualTo(expected.toLineProtocol(settings));
+    }
+
+    @Test
+    void seriesKeyIsCached() {
+
+        PointSettings settings = new PointSettings().addDefaultTag("a", "default-a");
+
+        PointTemplate template = PointTemplate.builder("h2o").tag("location", "europe").build();
+
+        String seriesKey = template.getSeriesKey(settings);
+        Assertions.assertThat(template.getSeriesKey(settings)).isSameAs(seriesKey);
+        Assertions.assertThat(template.getSeriesKey(null)).isSameAs(template.getSeriesKey(null));
+
+        // changed default tags => new key
+        settings.addDefaultTag("b", "default-b");
+        Assertions.assertThat(template.getSeriesKey(settings)).isEqualTo("h2o,a=default-a,b=default-b,location=europe");
+    }
+
+    @Test
+    void refreshDefaultTags() {
+
+        System.setProperty("point.template.test", "v1");
+        try {
+            PointSettings settings = new PointSettings().addDefaultTag("version", "${point.template.test}");
+            PointTemplate template = PointTemplate.builder("h2o").build();
+
+            Assertions.assertThat(template.getSeriesKey(settings)).isEqualTo("h2o,version=v1");
+
+            System.setProperty("point.template.test", "v2");
+            Assertions.assertThat(template.getSeriesKey(settings)).isEqualTo("h2o,version=v1");
+
+            settings.refreshDefaultTags();
+            Assertions.assertThat(template.getSeriesKey(settings)).isEqualTo("h2o,version=v2");
+        } finally {
+            System.clearProperty("point.template.test");
+        }
+    }
+
+    @Test
+    void changedTagsDetachTemplate() {
+
+        PointTemplate template = PointTemplate.builder("h2o").tag("location", "europe").build();
+
+        Point point = template.point()
+                .addTag("location", "us")
+                .addTag("id", "1")
+                .addField("level", 2);
+
+        Assertions.assertThat(point.toLineProtocol()).isEqualTo("h2o,id=1,location=us level=2i");
+        Assertions.assertThat(template.point().addField("level", 3).toLineProtocol())
+                .isEqualTo("h2o,location=europe level=3i");
+    }
+
+    @Test
+    void templateIsImmutable() {
+
+        PointTemplate template = PointTemplate.builder("h2o")
+                .tags(Collections.singletonMap("location", "europe"))
+                .build();
+
+        Assertions.assertThatThrownBy(() -> template.getTags().put("id", "1"))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        template.point().addTag("id", "1");
+        Assertions.assertThat(template.getTags()).containsOnlyKeys("location");
+    }
+
+    @Test
+    void measurementRequired() {
+
+        Assertions.assertThatThrownBy(() -> PointTemplate.builder(""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expecting a non-empty string for measurement");
+    }
+}
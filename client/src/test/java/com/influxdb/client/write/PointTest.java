@@ -21,8 +21,11 @@
  */
 package com.influxdb.client.write;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.influxdb.client.domain.WritePrecision;
 
@@ -266,4 +269,97 @@ class PointTest {
         Assertions.assertThat(Point.measurement("h2o").addField("level", 2).hasFields()).isTrue();
         Assertions.assertThat(Point.measurement("h2o").addTag("location", "europe").addField("level", 3).hasFields()).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void appendLineProtocol() throws IOException {
+
+        PointSettings defaults = new PointSettings().addDefaultTag("expensive", "true");
+
+        StringBuilder sb = new StringBuilder("h2o,location=asia level=1i\n");
+
+        boolean appended = Point.measurement("h2 o")
+                .addTag("loc ation", "eu,rope")
+                .addField("lev=el", 2)
+                .addField("description", "a \"b\"")
+                .time(123L, WritePrecision.S)
+                .appendLineProtocol(sb, defaults);
+
+        Assertions.assertThat(appended).isTrue();
+        Assertions.assertThat(sb.toString()).isEqualTo("h2o,location=asia level=1i\n"
+                + "h2\\ o,expensive=true,loc\\ ation=eu\\,rope description=\"a \\\"b\\\"\",lev\\=el=2i 123");
+    }
+
+    @Test
+    void appendLineProtocolWithoutFields() throws IOException {
+
+        StringBuilder sb = new StringBuilder();
+
+        boolean appended = Point.measurement("h2o")
+                .addTag("location", "europe")
+                .addField("level", Double.NaN)
+                .appendLineProtocol(sb, null);
+
+        Assertions.assertThat(appended).isFalse();
+        Assertions.assertThat(sb.toString()).isEmpty();
+    }
+
+    @Test
+    void defaultTagsMerge() {
+
+        Point point = Point.measurement("h2o")
+                .addTag("b", "point-b")
+                .addTag("d", "")
+                .addTag("f", null)
+                .addTag("g", "point-g")
+                .addField("level", 2);
+
+        PointSettings defaults = new PointSettings()
+                .addDefaultTag("a", "default-a")
+                .addDefaultTag("b", "default-b")
+                .addDefaultTag("d", "default-d")
+                .addDefaultTag("e", "default e")
+                .addDefaultTag("f", "default-f");
+
+        Assertions.assertThat(point.toLineProtocol(defaults))
+                .isEqualTo("h2o,a=default-a,b=point-b,d=default-d,e=default\\ e,f=default-f,g=point-g level=2i");
+    }
+
+    @Test
+    void accessors() {
+
+        Point point = Point.measurement("h2o")
+                .addTag("location", "europe")
+                .addField("level", 2)
+                .time(123L, WritePrecision.S);
+
+        Assertions.assertThat(point.getName()).isEqualTo("h2o");
+        Assertions.assertThat(point.getTags()).containsOnly(Assertions.entry("location", "europe"));
+        Assertions.assertThat(point.getFields()).containsOnly(Assertions.entry("level", 2L));
+        Assertions.assertThat(point.getTime()).isEqualTo(123L);
+        Assertions.assertThatThrownBy(() -> point.getTags().put("id", "1"))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        Assertions.assertThat(Point.measurement("h2o").getTime()).isNull();
+    }
+
+    @Test
+    void addTagsAndFields() {
+
+        Map<String, String> tags = new HashMap<>();
+        tags.put("location", "europe");
+        tags.put("id", "132-987-655");
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("level", 2);
+        fields.put("accepted", true);
+        fields.put("description", "warning");
+
+        Point point = Point.measurement("h2o")
+                .addTag("location", "us")
+                .addTags(tags)
+                .addFields(fields);
+
+        Assertions.assertThat(point.toLineProtocol())
+                .isEqualTo("h2o,id=132-987-655,location=europe accepted=true,description=\"warning\",level=2i");
+    }
+}
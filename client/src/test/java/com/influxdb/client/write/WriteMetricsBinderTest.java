@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.influxdb.client.write;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.WriteOptions;
+import com.influxdb.client.domain.WritePrecision;
+import com.influxdb.client.internal.AbstractInfluxDBClientTest;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.runner.JUnitPlatform;
+import org.junit.runner.RunWith;
+
+@RunWith(JUnitPlatform.class)
+class WriteMetricsBinderTest extends AbstractInfluxDBClientTest {
+
+    private WriteApi writeApi;
+
+    @AfterEach
+    void tearDown() {
+        if (writeApi != null) {
+            writeApi.close();
+        }
+    }
+
+    @Test
+    void bindTo() {
+
+        mockServer.enqueue(createErrorResponse("token is temporarily over quota", true, 429));
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi(WriteOptions.builder().retryInterval(100).build());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new WriteMetricsBinder(writeApi, Tags.of("app", "sensors")).bindTo(registry);
+
+        writeApi.writeRecords("b1", "org1", WritePrecision.S, Arrays.asList("h2o level=1i 1", "h2o level=2i 2"));
+
+        WriteDrainResult result = writeApi.flush(10, TimeUnit.SECONDS);
+        Assertions.assertThat(result.isCompleted()).isTrue();
+
+        Assertions.assertThat(registry.get("influxdb.write.points.enqueued").tag("app", "sensors").counter().count())
+                .isEqualTo(2);
+        Assertions.assertThat(registry.get("influxdb.write.points.written").counter().count()).isEqualTo(2);
+        Assertions.assertThat(registry.get("influxdb.write.points.dropped").counter().count()).isEqualTo(0);
+        Assertions.assertThat(registry.get("influxdb.write.points.failed").counter().count()).isEqualTo(0);
+        Assertions.assertThat(registry.get("influxdb.write.batch.points").summary().totalAmount()).isEqualTo(2);
+        Assertions.assertThat(registry.get("influxdb.write.batch.bytes").summary().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("influxdb.write.serialization").timer().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("influxdb.write.requests").tag("status", "429").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(registry.get("influxdb.write.requests").tag("status", "200").timer().count())
+                .isEqualTo(1);
+        Assertions.assertThat(registry.get("influxdb.write.retries").tag("status", "429").counter().count())
+                .isEqualTo(1);
+        Assertions.assertThat(registry.get("influxdb.write.queue.points").gauge().value()).isEqualTo(0);
+        Assertions.assertThat(registry.get("influxdb.write.requests.inflight").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    void close() {
+
+        mockServer.enqueue(createResponse("{}"));
+
+        writeApi = influxDBClient.getWriteApi();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WriteMetricsBinder binder = new WriteMetricsBinder(writeApi);
+        binder.bindTo(registry);
+        binder.close();
+
+        writeApi.writeRecord("b1", "org1", WritePrecision.S, "h2o level=1i 1");
+        writeApi.flush(10, TimeUnit.SECONDS);
+
+        Assertions.assertThat(registry.get("influxdb.write.points.enqueued").counter().count()).isEqualTo(0);
+        Assertions.assertThat(registry.get("influxdb.write.points.written").counter().count()).isEqualTo(0);
+    }
+}
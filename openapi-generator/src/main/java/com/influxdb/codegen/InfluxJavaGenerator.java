@@ -325,6 +325,42 @@ public class InfluxJavaGenerator extends JavaClientCodegen implements CodegenCon
             });
         });
 
+        //
+        // For operations with plain text body generate additional implementation with streamed RequestBody
+        //
+        List<CodegenOperation> operationToStream = operations.stream()
+                .filter(operation -> operation.bodyParam != null && "String".equals(operation.bodyParam.dataType))
+                .collect(Collectors.toList());
+
+        operationToStream.forEach(operation -> {
+
+            CodegenOperation codegenOperation = new CodegenOperation();
+            codegenOperation.baseName = operation.baseName + "RequestBody";
+            codegenOperation.summary = operation.summary;
+            codegenOperation.notes = operation.notes;
+            codegenOperation.allParams = operation.allParams.stream()
+                    .map(parameter -> {
+
+                        if (!parameter.isBodyParam) {
+                            return parameter;
+                        }
+
+                        CodegenParameter body = parameter.copy();
+                        body.dataType = "RequestBody";
+
+                        return body;
+                    })
+                    .collect(Collectors.toList());
+            codegenOperation.hasAuthMethods = operation.hasAuthMethods;
+            codegenOperation.authMethods = operation.authMethods;
+            codegenOperation.httpMethod = operation.httpMethod;
+            codegenOperation.path = operation.path;
+            codegenOperation.returnType = operation.returnType;
+            codegenOperation.operationId = operation.operationId + "RequestBody";
+
+            operations.add(operations.indexOf(operation) + 1, codegenOperation);
+        });
+
         //
         // For basic auth add authorization header
         //